@@ -0,0 +1,86 @@
+package com.fintech.foundations.bench;
+
+import java.math.BigDecimal;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.ThreadParams;
+
+import com.fintech.foundations.Day4.AccountLookupSystem;
+
+/**
+ * AccountLookupSystem.deposit / withdraw over 1,024 accounts under 1, 4 and
+ * 16 threads (the nested classes). Each thread starts at a different
+ * account, so threads contend on some accounts but not all.
+ *
+ * Balances are reset before every iteration, so withdrawals never start
+ * failing for lack of funds.
+ *
+ * @author Jesse De Oliveira
+ * @since 2026-10-18
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+@State(Scope.Benchmark)
+public abstract class AccountLookupBenchmark {
+
+    private static final int ACCOUNTS = 1024;
+
+    private final String[] numbers = new String[ACCOUNTS];
+    private final BigDecimal amount = new BigDecimal("10.00");
+
+    /** Per-thread position in the account list */
+    @State(Scope.Thread)
+    public static class Cursor {
+        int next;
+
+        @Setup
+        public void setup(ThreadParams params) {
+            next = params.getThreadIndex() * 64;
+        }
+    }
+
+    @Setup(Level.Iteration)
+    public void resetBalances() {
+        for (int i = 0; i < ACCOUNTS; i++) {
+            numbers[i] = String.valueOf(10_000_000 + i);
+            AccountLookupSystem.setBalance(numbers[i], new BigDecimal("1000000000.00"));
+        }
+    }
+
+    @Benchmark
+    public void deposit(Cursor cursor) {
+        AccountLookupSystem.deposit(numbers[cursor.next++ & (ACCOUNTS - 1)], amount);
+    }
+
+    @Benchmark
+    public boolean withdraw(Cursor cursor) {
+        return AccountLookupSystem.withdraw(numbers[cursor.next++ & (ACCOUNTS - 1)], amount);
+    }
+
+    @Threads(1)
+    public static class OneThread extends AccountLookupBenchmark {
+    }
+
+    @Threads(4)
+    public static class FourThreads extends AccountLookupBenchmark {
+    }
+
+    @Threads(16)
+    public static class SixteenThreads extends AccountLookupBenchmark {
+    }
+}
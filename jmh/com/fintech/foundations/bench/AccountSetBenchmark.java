@@ -0,0 +1,239 @@
+package com.fintech.foundations.bench;
+
+import java.util.HashSet;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.fintech.foundations.Day5.Weekend1.IntersectionArrays;
+import com.fintech.foundations.reconciliation.AccountSet;
+
+/**
+ * Set algebra on account lists: HashSet<Integer> vs IntHashSet vs AccountSet.
+ * One whole set operation per benchmark call.
+ *
+ * 3M x 3M random 8-digit accounts, plus a 10K list against 3M:
+ * - HashSet<Integer>: the boxed approach (copy + retainAll/addAll/removeAll)
+ * - IntHashSet: IntersectionArrays.intersection (intersection only, builds its set every call)
+ * - AccountSet: of / and / or / andNot
+ *
+ * Compliance-job sizes (AccountSet only): 30M PayShap-enabled, 20M dormant
+ * and 10M KYC-flagged accounts; three-way intersectAll vs chained and().
+ *
+ * Setup checks that all approaches agree on the shared accounts, and that
+ * intersectAll agrees with chained and(); the run fails if not.
+ *
+ * @author Jesse De Oliveira
+ * @since 2026-10-18
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 2, jvmArgsAppend = "-Xmx3g")
+public class AccountSetBenchmark {
+
+    @State(Scope.Benchmark)
+    public static class Accounts {
+        int[] first;
+        int[] second;
+        int[] sanctions;
+
+        @Setup
+        public void setup() {
+            Random random = new Random(42);
+            first = randomAccounts(random, 3_000_000);
+            second = randomAccounts(random, 3_000_000);
+            sanctions = randomAccounts(random, 10_000);
+        }
+    }
+
+    @State(Scope.Benchmark)
+    public static class BoxedSets {
+        HashSet<Integer> a;
+        HashSet<Integer> b;
+        HashSet<Integer> sanctions;
+
+        @Setup
+        public void setup(Accounts accounts) {
+            a = boxed(accounts.first);
+            b = boxed(accounts.second);
+            sanctions = boxed(accounts.sanctions);
+
+            HashSet<Integer> shared = new HashSet<>(a);
+            shared.retainAll(b);
+            int primitiveShared = IntersectionArrays.intersection(accounts.first, accounts.second).length;
+            int bitmapShared = AccountSet.of(accounts.first).countShared(AccountSet.of(accounts.second));
+            if (shared.size() != primitiveShared || primitiveShared != bitmapShared) {
+                throw new IllegalStateException("Shared accounts disagree: " + shared.size() + " / "
+                        + primitiveShared + " / " + bitmapShared);
+            }
+        }
+    }
+
+    @State(Scope.Benchmark)
+    public static class AccountSets {
+        AccountSet a;
+        AccountSet b;
+        AccountSet sanctions;
+
+        @Setup
+        public void setup(Accounts accounts) {
+            a = AccountSet.of(accounts.first);
+            b = AccountSet.of(accounts.second);
+            sanctions = AccountSet.of(accounts.sanctions);
+        }
+    }
+
+    @State(Scope.Benchmark)
+    public static class ComplianceSets {
+        AccountSet payshap;
+        AccountSet dormant;
+        AccountSet flagged;
+
+        @Setup
+        public void setup() {
+            Random random = new Random(7);
+            payshap = AccountSet.of(randomAccounts(random, 30_000_000));
+            dormant = AccountSet.of(randomAccounts(random, 20_000_000));
+            flagged = AccountSet.of(randomAccounts(random, 10_000_000));
+
+            int chained = payshap.and(dormant).and(flagged).size();
+            int multiWay = AccountSet.intersectAll(payshap, dormant, flagged).size();
+            if (chained != multiWay) {
+                throw new IllegalStateException("intersectAll disagrees with and().and(): " + multiWay
+                        + " vs " + chained);
+            }
+        }
+    }
+
+    //===========================================
+    //3M x 3M: HashSet<Integer>
+    //===========================================
+
+    @Benchmark
+    public HashSet<Integer> hashSetBuild(Accounts accounts) {
+        return boxed(accounts.first);
+    }
+
+    @Benchmark
+    public int hashSetAnd(BoxedSets sets) {
+        HashSet<Integer> result = new HashSet<>(sets.a);
+        result.retainAll(sets.b);
+        return result.size();
+    }
+
+    @Benchmark
+    public int hashSetOr(BoxedSets sets) {
+        HashSet<Integer> result = new HashSet<>(sets.a);
+        result.addAll(sets.b);
+        return result.size();
+    }
+
+    @Benchmark
+    public int hashSetAndNot(BoxedSets sets) {
+        HashSet<Integer> result = new HashSet<>(sets.a);
+        result.removeAll(sets.b);
+        return result.size();
+    }
+
+    @Benchmark
+    public int hashSetSanctionsAnd(BoxedSets sets) {
+        HashSet<Integer> result = new HashSet<>(sets.sanctions);
+        result.retainAll(sets.a);
+        return result.size();
+    }
+
+    //===========================================
+    //3M x 3M: IntHashSet (IntersectionArrays)
+    //===========================================
+
+    @Benchmark
+    public int intersectionArraysAnd(Accounts accounts) {
+        return IntersectionArrays.intersection(accounts.first, accounts.second).length;
+    }
+
+    @Benchmark
+    public int intersectionArraysSanctionsAnd(Accounts accounts) {
+        return IntersectionArrays.intersection(accounts.sanctions, accounts.first).length;
+    }
+
+    //===========================================
+    //3M x 3M: AccountSet
+    //===========================================
+
+    @Benchmark
+    public AccountSet accountSetBuild(Accounts accounts) {
+        return AccountSet.of(accounts.first);
+    }
+
+    @Benchmark
+    public int accountSetAnd(AccountSets sets) {
+        return sets.a.and(sets.b).size();
+    }
+
+    @Benchmark
+    public int accountSetOr(AccountSets sets) {
+        return sets.a.or(sets.b).size();
+    }
+
+    @Benchmark
+    public int accountSetAndNot(AccountSets sets) {
+        return sets.a.andNot(sets.b).size();
+    }
+
+    @Benchmark
+    public int accountSetSanctionsAnd(AccountSets sets) {
+        return sets.sanctions.and(sets.a).size();
+    }
+
+    //===========================================
+    //COMPLIANCE SIZES: 30M / 20M / 10M
+    //===========================================
+
+    @Benchmark
+    public int chainedAnd(ComplianceSets sets) {
+        return sets.payshap.and(sets.dormant).and(sets.flagged).size();
+    }
+
+    @Benchmark
+    public int intersectAll(ComplianceSets sets) {
+        return AccountSet.intersectAll(sets.payshap, sets.dormant, sets.flagged).size();
+    }
+
+    @Benchmark
+    public int countShared(ComplianceSets sets) {
+        return sets.payshap.countShared(sets.dormant);
+    }
+
+    @Benchmark
+    public int unionAll(ComplianceSets sets) {
+        return AccountSet.unionAll(sets.payshap, sets.dormant, sets.flagged).size();
+    }
+
+    private static int[] randomAccounts(Random random, int count) {
+        int[] accounts = new int[count];
+        for (int i = 0; i < count; i++) {
+            accounts[i] = random.nextInt(AccountSet.MAX_ACCOUNT + 1);
+        }
+        return accounts;
+    }
+
+    private static HashSet<Integer> boxed(int[] accounts) {
+        HashSet<Integer> set = new HashSet<>();
+        for (int account : accounts) {
+            set.add(account);
+        }
+        return set;
+    }
+}
@@ -0,0 +1,99 @@
+package com.fintech.foundations.bench;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.WritableByteChannel;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.fintech.foundations.Money;
+import com.fintech.foundations.lending.AmortizationSchedule;
+
+/**
+ * One 360-row schedule per operation, streamed to a discarding channel:
+ * AmortizationSchedule binary and CSV vs CSV rows built with String.format.
+ *
+ * Run with the GC profiler to compare allocation per schedule:
+ *   gradle jmh -PjmhArgs='Amortization -prof gc'
+ * gc.alloc.rate.norm should be ~0 B/op for binary and csv.
+ *
+ * @author Jesse De Oliveira
+ * @since 2026-10-18
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+@State(Scope.Thread)
+public class AmortizationBenchmark {
+
+    private final AmortizationSchedule schedule = new AmortizationSchedule(360);
+    private final DiscardChannel discard = new DiscardChannel();
+    private int loan;
+
+    private void nextLoan() {
+        int i = loan++;
+        schedule.generate(5_000_000 + (i % 1000) * 100_000L, 900 + 25 * (i % 20), 360);
+    }
+
+    @Benchmark
+    public long binary() throws IOException {
+        nextLoan();
+        schedule.writeBinary(discard, loan);
+        return discard.bytes;
+    }
+
+    @Benchmark
+    public long csv() throws IOException {
+        nextLoan();
+        schedule.writeCsv(discard, loan);
+        return discard.bytes;
+    }
+
+    @Benchmark
+    public long csvStringFormat() throws IOException {
+        nextLoan();
+        for (int row = 0; row < schedule.rows(); row++) {
+            String line = String.format("%d,%d,%s,%s,%s,%s%n", loan, row + 1,
+                    Money.toBigDecimal(schedule.instalmentCents(row)),
+                    Money.toBigDecimal(schedule.interestCents(row)),
+                    Money.toBigDecimal(schedule.capitalCents(row)),
+                    Money.toBigDecimal(schedule.balanceCents(row)));
+            discard.write(ByteBuffer.wrap(line.getBytes(StandardCharsets.US_ASCII)));
+        }
+        return discard.bytes;
+    }
+
+    /** Counts bytes and drops them. */
+    private static final class DiscardChannel implements WritableByteChannel {
+        long bytes;
+
+        @Override
+        public int write(ByteBuffer source) {
+            int n = source.remaining();
+            source.position(source.limit());
+            bytes += n;
+            return n;
+        }
+
+        @Override
+        public boolean isOpen() {
+            return true;
+        }
+
+        @Override
+        public void close() {
+        }
+    }
+}
@@ -0,0 +1,109 @@
+package com.fintech.foundations.bench;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.fintech.foundations.Day4.CharacterFrequencyCounter;
+import com.fintech.foundations.Day4.FirstUniqueCharacter;
+import com.fintech.foundations.Day5.ValidAnagram;
+import com.fintech.foundations.collections.CharCounter;
+import com.fintech.foundations.collections.CharHistogram;
+
+/**
+ * Character frequency on 1 KB and 1 MB payment descriptions: the
+ * CharHistogram kernel and the classes it backs, vs the legacy
+ * HashMap<Character, Integer> counter. Bytes/s = ops/s × size.
+ *
+ * @author Jesse De Oliveira
+ * @since 2026-10-18
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+@State(Scope.Benchmark)
+public class CharacterFrequencyBenchmark {
+
+    @Param({"1024", "1048576"})
+    int size;
+
+    private String text;
+    private String anagram;
+    private byte[] bytes;
+    private final int[] byteCounts = new int[CharHistogram.ALL_BYTES];
+
+    @Setup
+    public void setup() {
+        String[] words = {"PAYSHAP", "REF", "INV", "2024", "CARD", "PURCHASE", "TAKEALOT", "CHECKERS",
+                "SALARY", "DEBIT", "ORDER", "EFT", "ATM", "CASH", "WITHDRAWAL", "Sandton", "Cape Town"};
+        Random random = new Random(42);
+        // Payment descriptions joined into one field of exactly `size` chars
+        StringBuilder sb = new StringBuilder(size + 16);
+        while (sb.length() < size) {
+            sb.append(words[random.nextInt(words.length)]).append(' ').append(random.nextInt(100_000)).append(' ');
+        }
+        text = sb.substring(0, size);
+        char[] shuffled = text.toCharArray();
+        for (int i = shuffled.length - 1; i > 0; i--) {
+            int j = random.nextInt(i + 1);
+            char c = shuffled[i];
+            shuffled[i] = shuffled[j];
+            shuffled[j] = c;
+        }
+        anagram = new String(shuffled);
+        bytes = text.getBytes(StandardCharsets.US_ASCII);
+    }
+
+    @Benchmark
+    public int[] histogram() {
+        return CharHistogram.histogram(text);
+    }
+
+    @Benchmark
+    public int[] countBytes() {
+        Arrays.fill(byteCounts, 0);
+        CharHistogram.countBytes(bytes, 0, bytes.length, byteCounts);
+        return byteCounts;
+    }
+
+    @Benchmark
+    public CharCounter characterFrequencyCounter() {
+        return CharacterFrequencyCounter.count(text);
+    }
+
+    @Benchmark
+    public int firstUniqChar() {
+        return FirstUniqueCharacter.firstUniqChar(text);
+    }
+
+    @Benchmark
+    public boolean isAnagram() {
+        return ValidAnagram.isAnagram(text, anagram);
+    }
+
+    /** The original per-char HashMap counter (countCharacters now counts in a CharCounter first) */
+    @Benchmark
+    public HashMap<Character, Integer> hashMapLegacy() {
+        HashMap<Character, Integer> counts = new HashMap<>();
+        for (int i = 0; i < text.length(); i++) {
+            counts.put(text.charAt(i), counts.getOrDefault(text.charAt(i), 0) + 1);
+        }
+        return counts;
+    }
+}
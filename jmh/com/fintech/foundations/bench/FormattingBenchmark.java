@@ -0,0 +1,62 @@
+package com.fintech.foundations.bench;
+
+import java.math.BigDecimal;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.fintech.foundations.MethodsBasics;
+import com.fintech.foundations.format.ZarFormatter;
+
+/**
+ * Rand formatting: MethodsBasics.formatCurrency and ZarFormatter format/parse,
+ * cycling through 1,024 different amounts.
+ *
+ * @author Jesse De Oliveira
+ * @since 2026-10-18
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+@State(Scope.Thread)
+public class FormattingBenchmark {
+
+    private final BigDecimal[] amounts = new BigDecimal[1024];
+    private final String[] texts = new String[1024];
+    private final char[] chars = new char[ZarFormatter.MAX_CHARS];
+    private int next;
+
+    @Setup
+    public void setup() {
+        for (int i = 0; i < amounts.length; i++) {
+            amounts[i] = BigDecimal.valueOf(i * 12_345L + 7, 3);
+            texts[i] = ZarFormatter.formatCents(i * 1_234_567L + 89);
+        }
+    }
+
+    @Benchmark
+    public String formatCurrency() {
+        return MethodsBasics.formatCurrency(amounts[next++ & 1023]);
+    }
+
+    @Benchmark
+    public int formatCentsIntoChars() {
+        return ZarFormatter.formatCents((next++ & 0xFFFF) * 12_345L + 7, chars, 0);
+    }
+
+    @Benchmark
+    public long parseCents() {
+        return ZarFormatter.parseCents(texts[next++ & 1023]);
+    }
+}
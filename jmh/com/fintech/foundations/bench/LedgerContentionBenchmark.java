@@ -0,0 +1,144 @@
+package com.fintech.foundations.bench;
+
+import java.math.BigDecimal;
+import java.util.HashMap;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.ThreadParams;
+
+import com.fintech.foundations.ledger.LedgerEngine;
+
+/**
+ * Contention: LedgerEngine vs the original HashMap ledger under 1, 4 and
+ * 16 threads (the nested classes), alternating deposits and withdrawals.
+ *
+ * The original AccountLookupSystem map is NOT thread-safe, so the
+ * only correct way to share it between threads is one global lock.
+ * That is what we compare against here.
+ *
+ * Modes:
+ * - spread: every thread posts to its own block of accounts (PayShap ingest)
+ * - hot: every thread posts to the same 4 accounts (merchant settlement)
+ *
+ * @author Jesse De Oliveira
+ * @since 2026-10-18
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+@State(Scope.Benchmark)
+public abstract class LedgerContentionBenchmark {
+
+    private static final int ACCOUNTS = 10_000;
+    private static final BigDecimal ONE_RAND = new BigDecimal("1.00");
+
+    private final String[] accountNums = new String[ACCOUNTS];
+    private final GlobalLockMap map = new GlobalLockMap();
+    private final LedgerEngine ledger = new LedgerEngine();
+
+    /**
+     * The original design: HashMap read-modify-write, made safe with a global lock.
+     */
+    static class GlobalLockMap {
+        private final HashMap<String, BigDecimal> accounts = new HashMap<>();
+
+        synchronized void setBalance(String accountNum, BigDecimal balance) {
+            accounts.put(accountNum, balance);
+        }
+
+        synchronized void deposit(String accountNum, BigDecimal amount) {
+            accounts.put(accountNum, accounts.getOrDefault(accountNum, BigDecimal.ZERO).add(amount));
+        }
+
+        synchronized boolean withdraw(String accountNum, BigDecimal amount) {
+            BigDecimal current = accounts.getOrDefault(accountNum, BigDecimal.ZERO);
+            if (current.compareTo(amount) >= 0) {
+                accounts.put(accountNum, current.subtract(amount));
+                return true;
+            }
+            return false;
+        }
+    }
+
+    /** Per-thread block of accounts and deposit/withdraw toggle */
+    @State(Scope.Thread)
+    public static class Cursor {
+        @Param({"spread", "hot"})
+        public String mode;
+
+        int base;
+        int span;
+        int next;
+
+        @Setup
+        public void setup(ThreadParams params) {
+            boolean hot = mode.equals("hot");
+            int block = ACCOUNTS / params.getThreadCount();
+            base = hot ? 0 : params.getThreadIndex() * block;
+            span = hot ? 4 : block;
+        }
+
+        /** @return Index of the next account to post to */
+        int nextAccount() {
+            int i = next++;
+            return base + (i >>> 1) % span;
+        }
+    }
+
+    @Setup
+    public void setup() {
+        for (int i = 0; i < ACCOUNTS; i++) {
+            accountNums[i] = String.format("%08d", 10_000_000 + i);
+            map.setBalance(accountNums[i], new BigDecimal("1000.00"));
+            ledger.setBalance(accountNums[i], new BigDecimal("1000.00"));
+        }
+    }
+
+    @Benchmark
+    public boolean globalLockMap(Cursor cursor) {
+        boolean deposit = (cursor.next & 1) == 0;
+        String accountNum = accountNums[cursor.nextAccount()];
+        if (deposit) {
+            map.deposit(accountNum, ONE_RAND);
+            return true;
+        }
+        return map.withdraw(accountNum, ONE_RAND);
+    }
+
+    @Benchmark
+    public boolean ledgerEngine(Cursor cursor) {
+        boolean deposit = (cursor.next & 1) == 0;
+        String accountNum = accountNums[cursor.nextAccount()];
+        if (deposit) {
+            ledger.deposit(accountNum, ONE_RAND);
+            return true;
+        }
+        return ledger.withdraw(accountNum, ONE_RAND);
+    }
+
+    @Threads(1)
+    public static class OneThread extends LedgerContentionBenchmark {
+    }
+
+    @Threads(4)
+    public static class FourThreads extends LedgerContentionBenchmark {
+    }
+
+    @Threads(16)
+    public static class SixteenThreads extends LedgerContentionBenchmark {
+    }
+}
@@ -0,0 +1,262 @@
+package com.fintech.foundations.bench;
+
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.fintech.foundations.collections.IntHashSet;
+import com.fintech.foundations.collections.IntIntMap;
+import com.fintech.foundations.collections.LongIntMap;
+
+/**
+ * Primitive collections vs boxed JDK collections at 10M keys: one insert
+ * or one lookup per operation.
+ *
+ * Keys are 10M account numbers (~63% distinct, so counting hits repeats,
+ * like a reconciliation job) and 10M distinct transaction IDs. Lookups run
+ * against a collection filled with every key; inserts go into a collection
+ * that starts empty each iteration.
+ *
+ * Run with the GC profiler to compare allocation per insert (boxed keys,
+ * values and entries vs amortized array growth):
+ *   gradle jmh -PjmhArgs='PrimitiveCollections -prof gc'
+ *
+ * @author Jesse De Oliveira
+ * @since 2026-10-18
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 2, jvmArgsAppend = "-Xmx3g")
+@State(Scope.Thread)
+public class PrimitiveCollectionsBenchmark {
+
+    static final int SIZE = 10_000_000;
+
+    private int next;
+
+    /** @return Next key index, wrapping at SIZE */
+    private int nextIndex() {
+        int i = next;
+        next = i + 1 == SIZE ? 0 : i + 1;
+        return i;
+    }
+
+    @State(Scope.Benchmark)
+    public static class Keys {
+        final int[] accounts = new int[SIZE];
+        final long[] transactionIds = new long[SIZE];
+
+        @Setup
+        public void setup() {
+            Random random = new Random(42);
+            for (int i = 0; i < SIZE; i++) {
+                accounts[i] = 10_000_000 + random.nextInt(SIZE);      // ~63% distinct, many repeats
+                transactionIds[i] = random.nextLong() & Long.MAX_VALUE;  // Snowflake-sized, all distinct
+            }
+        }
+    }
+
+    //===========================================
+    //COUNTING: HashMap<Integer, Integer> vs IntIntMap
+    //===========================================
+
+    @State(Scope.Thread)
+    public static class BoxedCounts {
+        HashMap<Integer, Integer> filled;
+        HashMap<Integer, Integer> growing;
+
+        @Setup
+        public void fill(Keys keys) {
+            filled = new HashMap<>();
+            for (int account : keys.accounts) {
+                filled.merge(account, 1, Integer::sum);
+            }
+        }
+
+        @Setup(Level.Iteration)
+        public void reset() {
+            growing = new HashMap<>();
+        }
+    }
+
+    @State(Scope.Thread)
+    public static class PrimitiveCounts {
+        IntIntMap filled;
+        IntIntMap growing;
+
+        @Setup
+        public void fill(Keys keys) {
+            filled = new IntIntMap();
+            for (int account : keys.accounts) {
+                filled.addTo(account, 1);
+            }
+        }
+
+        @Setup(Level.Iteration)
+        public void reset() {
+            growing = new IntIntMap();
+        }
+    }
+
+    @Benchmark
+    public Integer hashMapCount(Keys keys, BoxedCounts counts) {
+        return counts.growing.merge(keys.accounts[nextIndex()], 1, Integer::sum);
+    }
+
+    @Benchmark
+    public int intIntMapCount(Keys keys, PrimitiveCounts counts) {
+        return counts.growing.addTo(keys.accounts[nextIndex()], 1);
+    }
+
+    @Benchmark
+    public int hashMapGet(Keys keys, BoxedCounts counts) {
+        return counts.filled.getOrDefault(keys.accounts[nextIndex()], 0);
+    }
+
+    @Benchmark
+    public int intIntMapGet(Keys keys, PrimitiveCounts counts) {
+        return counts.filled.getOrDefault(keys.accounts[nextIndex()], 0);
+    }
+
+    //===========================================
+    //MEMBERSHIP: HashSet<Integer> vs IntHashSet
+    //===========================================
+
+    @State(Scope.Thread)
+    public static class BoxedSet {
+        HashSet<Integer> filled;
+        HashSet<Integer> growing;
+
+        @Setup
+        public void fill(Keys keys) {
+            filled = new HashSet<>();
+            for (int account : keys.accounts) {
+                filled.add(account);
+            }
+        }
+
+        @Setup(Level.Iteration)
+        public void reset() {
+            growing = new HashSet<>();
+        }
+    }
+
+    @State(Scope.Thread)
+    public static class PrimitiveSet {
+        IntHashSet filled;
+        IntHashSet growing;
+
+        @Setup
+        public void fill(Keys keys) {
+            filled = new IntHashSet();
+            for (int account : keys.accounts) {
+                filled.add(account);
+            }
+        }
+
+        @Setup(Level.Iteration)
+        public void reset() {
+            growing = new IntHashSet();
+        }
+    }
+
+    @Benchmark
+    public boolean hashSetAdd(Keys keys, BoxedSet set) {
+        return set.growing.add(keys.accounts[nextIndex()]);
+    }
+
+    @Benchmark
+    public boolean intHashSetAdd(Keys keys, PrimitiveSet set) {
+        return set.growing.add(keys.accounts[nextIndex()]);
+    }
+
+    @Benchmark
+    public boolean hashSetContains(Keys keys, BoxedSet set) {
+        return set.filled.contains(keys.accounts[nextIndex()] + 1);  // Hits and misses
+    }
+
+    @Benchmark
+    public boolean intHashSetContains(Keys keys, PrimitiveSet set) {
+        return set.filled.contains(keys.accounts[nextIndex()] + 1);
+    }
+
+    //===========================================
+    //ID → ROW: HashMap<Long, Integer> vs LongIntMap
+    //===========================================
+
+    @State(Scope.Thread)
+    public static class BoxedIds {
+        HashMap<Long, Integer> filled;
+        HashMap<Long, Integer> growing;
+
+        @Setup
+        public void fill(Keys keys) {
+            filled = new HashMap<>();
+            for (int i = 0; i < SIZE; i++) {
+                filled.put(keys.transactionIds[i], i);
+            }
+        }
+
+        @Setup(Level.Iteration)
+        public void reset() {
+            growing = new HashMap<>();
+        }
+    }
+
+    @State(Scope.Thread)
+    public static class PrimitiveIds {
+        LongIntMap filled;
+        LongIntMap growing;
+
+        @Setup
+        public void fill(Keys keys) {
+            filled = new LongIntMap();
+            for (int i = 0; i < SIZE; i++) {
+                filled.put(keys.transactionIds[i], i);
+            }
+        }
+
+        @Setup(Level.Iteration)
+        public void reset() {
+            growing = new LongIntMap();
+        }
+    }
+
+    @Benchmark
+    public Integer hashMapPutLong(Keys keys, BoxedIds ids) {
+        int i = nextIndex();
+        return ids.growing.put(keys.transactionIds[i], i);
+    }
+
+    @Benchmark
+    public int longIntMapPut(Keys keys, PrimitiveIds ids) {
+        int i = nextIndex();
+        ids.growing.put(keys.transactionIds[i], i);
+        return i;
+    }
+
+    @Benchmark
+    public Integer hashMapGetLong(Keys keys, BoxedIds ids) {
+        return ids.filled.get(keys.transactionIds[nextIndex()]);
+    }
+
+    @Benchmark
+    public int longIntMapGet(Keys keys, PrimitiveIds ids) {
+        return ids.filled.getOrDefault(keys.transactionIds[nextIndex()], -1);
+    }
+}
@@ -0,0 +1,165 @@
+package com.fintech.foundations.bench;
+
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.PrintStream;
+import java.math.BigDecimal;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.fintech.foundations.Transaction;
+import com.fintech.foundations.TransactionView;
+import com.fintech.foundations.format.ReceiptRenderer;
+
+/**
+ * Statement run: legacy receipt printing vs ReceiptRenderer, writing
+ * batches of 1,000 receipts to a file (scores are receipts/s).
+ *
+ * - Legacy: the original displayReceipt() body (15 println calls on an
+ *   auto-flushing PrintStream, like System.out, new DateTimeFormatter per receipt)
+ * - Renderer: ReceiptRenderer.writeAll into a FileChannel, one write per 1 MB
+ *
+ * Setup first checks that render() and append() produce exactly the
+ * legacy bytes for every transaction type, and fails the run if not.
+ * Target: renderer at least 20x faster.
+ *
+ * @author Jesse De Oliveira
+ * @since 2026-10-18
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+@State(Scope.Thread)
+public class ReceiptRendererBenchmark {
+
+    private static final int RECEIPTS = 200_000;
+    private static final int BATCH = 1_000;
+
+    private final List<Transaction> transactions = new ArrayList<>(RECEIPTS);
+    private final ReceiptRenderer renderer = new ReceiptRenderer();
+    private int next;
+
+    private Path file;
+    private PrintStream legacyOut;
+    private FileChannel channel;
+
+    /**
+     * The original Transaction.displayReceipt() body, printing to any stream.
+     */
+    static void legacyReceipt(TransactionView t, PrintStream out) {
+        DateTimeFormatter formatter = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss");
+
+        out.println("\n╔════════════════════════════════════════════╗");
+        out.println("║         TRANSACTION RECEIPT                ║");
+        out.println("║    Cape Town Fintech Portfolio Demo       ║");
+        out.println("╠════════════════════════════════════════════╣");
+        out.println("   Transaction ID: " + t.getTransactionId());
+        out.println("   Account: " + t.getAccountNumber());
+        out.println("   Date: " + t.getTimestamp().format(formatter));
+        out.println("   Type: " + t.getTransactionType().name());
+        out.println("   Status: " + t.getStatus().toUpperCase());
+        out.println("─────────────────────────────────────────────");
+        out.println("   Amount: R " + t.getAmount());
+        out.println("   VAT (15%): R" + t.getVatAmount());
+        out.println("─────────────────────────────────────────────");
+        out.println("   TOTAL: R " + t.getTotalAmount());
+        out.println("╚════════════════════════════════════════════╝");
+
+        if (t.getVatCents() > 0) {
+            out.println("\n VAT applied: South African standard rate (15%)");
+        } else {
+            out.println("\n VAT exempt: " + t.getTransactionType().getDescription());
+        }
+        out.println();
+    }
+
+    @Setup
+    public void setup() {
+        String[] types = {"payshap", "eft", "international", "card_purchase"};
+        for (int i = 0; i < RECEIPTS; i++) {
+            String account = String.valueOf(10_000_000 + i % 90_000_000);
+            BigDecimal amount = BigDecimal.valueOf(1 + (i * 7919L) % 5_000_000, 2);
+            transactions.add(new Transaction(account, amount, types[i & 3]));
+        }
+
+        // Correctness: identical bytes for every type
+        for (int i = 0; i < types.length; i++) {
+            ByteArrayOutputStream legacy = new ByteArrayOutputStream();
+            legacyReceipt(transactions.get(i), new PrintStream(legacy, true, StandardCharsets.UTF_8));
+            String expected = legacy.toString(StandardCharsets.UTF_8).replace(System.lineSeparator(), "\n");
+
+            ByteBuffer rendered = ByteBuffer.allocate(ReceiptRenderer.MAX_RECEIPT_BYTES);
+            renderer.render(transactions.get(i), rendered);
+            byte[] bytes = new byte[rendered.position()];
+            rendered.flip().get(bytes);
+            if (!expected.equals(new String(bytes, StandardCharsets.UTF_8))) {
+                throw new IllegalStateException(types[i] + " receipt differs from the legacy output");
+            }
+            StringBuilder appended = renderer.append(transactions.get(i), new StringBuilder("> "));
+            if (!appended.toString().equals("> " + expected)) {
+                throw new IllegalStateException(types[i] + " append() differs from the legacy output");
+            }
+        }
+    }
+
+    @Setup(Level.Iteration)
+    public void openFile() throws IOException {
+        file = Files.createTempFile("receipts", ".txt");
+        legacyOut = new PrintStream(new BufferedOutputStream(new FileOutputStream(file.toFile())), true,
+                StandardCharsets.UTF_8);
+        channel = FileChannel.open(file, StandardOpenOption.WRITE);
+    }
+
+    @TearDown(Level.Iteration)
+    public void deleteFile() throws IOException {
+        legacyOut.close();
+        channel.close();
+        Files.deleteIfExists(file);
+    }
+
+    private List<Transaction> nextBatch() {
+        int from = next;
+        next = from + BATCH == RECEIPTS ? 0 : from + BATCH;
+        return transactions.subList(from, from + BATCH);
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(BATCH)
+    public void legacyPrintln() {
+        for (Transaction transaction : nextBatch()) {
+            legacyReceipt(transaction, legacyOut);
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(BATCH)
+    public int rendererWriteAll() throws IOException {
+        return renderer.writeAll(nextBatch(), channel);
+    }
+}
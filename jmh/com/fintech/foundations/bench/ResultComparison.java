@@ -0,0 +1,98 @@
+package com.fintech.foundations.bench;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Compares two JMH result files ("-rf json") and flags regressions between
+ * releases: any benchmark whose throughput dropped by more than 10%.
+ *
+ * Usage: gradle jmhCompare -Pbaseline=old.json [-Pcurrent=new.json]
+ * (exits with status 1 if anything regressed)
+ *
+ * @author Jesse De Oliveira
+ * @since 2026-10-18
+ */
+public final class ResultComparison {
+
+    private static final double REGRESSION_THRESHOLD = 0.10;
+
+    private static final Pattern BENCHMARK = Pattern.compile("\"benchmark\"\\s*:\\s*\"([^\"]+)\"");
+    private static final Pattern THREADS = Pattern.compile("\"threads\"\\s*:\\s*(\\d+)");
+    private static final Pattern PARAMS = Pattern.compile("\"params\"\\s*:\\s*\\{([^}]*)\\}");
+    private static final Pattern PAIR = Pattern.compile("\"([^\"]+)\"\\s*:\\s*\"([^\"]*)\"");
+    private static final Pattern SCORE = Pattern.compile("\"score\"\\s*:\\s*([0-9.eE+-]+)");
+
+    private ResultComparison() {
+    }
+
+    public static void main(String[] args) throws IOException {
+        if (args.length != 2) {
+            System.err.println("Usage: ResultComparison baseline.json current.json");
+            System.exit(2);
+        }
+        int regressions = compare(Paths.get(args[0]), Paths.get(args[1]), REGRESSION_THRESHOLD);
+        System.out.println(regressions == 0 ? "No regressions" : regressions + " regression(s)");
+        System.exit(regressions == 0 ? 0 : 1);
+    }
+
+    /**
+     * Reads the primary scores from a JMH JSON result file.
+     *
+     * @return Result key (benchmark + threads + params) → score
+     */
+    public static Map<String, Double> readScores(Path file) throws IOException {
+        String json = new String(Files.readAllBytes(file), StandardCharsets.UTF_8);
+        Map<String, Double> scores = new LinkedHashMap<>();
+        for (String entry : json.split("\"benchmark\"")) {
+            Matcher benchmark = BENCHMARK.matcher("\"benchmark\"" + entry);
+            Matcher threads = THREADS.matcher(entry);
+            Matcher score = SCORE.matcher(entry);
+            if (!benchmark.find() || !threads.find() || !score.find()) {
+                continue;
+            }
+            Map<String, String> params = new LinkedHashMap<>();
+            Matcher paramBlock = PARAMS.matcher(entry);
+            if (paramBlock.find()) {
+                Matcher pair = PAIR.matcher(paramBlock.group(1));
+                while (pair.find()) {
+                    params.put(pair.group(1), pair.group(2));
+                }
+            }
+            String key = benchmark.group(1) + " threads=" + threads.group(1) + (params.isEmpty() ? "" : " " + params);
+            scores.put(key, Double.parseDouble(score.group(1)));
+        }
+        return scores;
+    }
+
+    /**
+     * Prints the change per benchmark between two result files.
+     *
+     * @param threshold Fractional drop that counts as a regression (0.10 = 10%)
+     * @return Number of regressions found
+     */
+    public static int compare(Path baseline, Path current, double threshold) throws IOException {
+        Map<String, Double> before = readScores(baseline);
+        Map<String, Double> after = readScores(current);
+        int regressions = 0;
+        for (Map.Entry<String, Double> entry : after.entrySet()) {
+            Double old = before.get(entry.getKey());
+            if (old == null) {
+                System.out.printf("%-90s %16s%n", entry.getKey(), "new");
+                continue;
+            }
+            double change = (entry.getValue() - old) / old;
+            boolean regression = change < -threshold;
+            regressions += regression ? 1 : 0;
+            System.out.printf("%-90s %+15.1f%% %s%n", entry.getKey(), change * 100, regression ? "REGRESSION" : "");
+        }
+        return regressions;
+    }
+}
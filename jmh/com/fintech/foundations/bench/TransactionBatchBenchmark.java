@@ -0,0 +1,128 @@
+package com.fintech.foundations.bench;
+
+import java.math.BigDecimal;
+import java.util.Random;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.fintech.foundations.Money;
+import com.fintech.foundations.RejectionReport;
+import com.fintech.foundations.Transaction;
+import com.fintech.foundations.TransactionBatch;
+
+/**
+ * Import of a 1M-row bank file: constructor loop vs TransactionBatch
+ * (scores are rows/s).
+ *
+ * The loop is how imports were written before: new Transaction(...) per
+ * row, with a try/catch around each row to skip bad data. About 1% of rows
+ * are invalid, like a real bank file.
+ *
+ * "originalLoop" replays the per-row work the constructor did before
+ * this change set (regex account check, UUID ID, toLowerCase().trim()),
+ * so the speedup against the first version of Transaction stays visible.
+ *
+ * Setup checks that the loop and the batch accept the same rows.
+ *
+ * @author Jesse De Oliveira
+ * @since 2026-10-18
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+@State(Scope.Thread)
+public class TransactionBatchBenchmark {
+
+    private static final int ROWS = 1_000_000;
+    private static final String[] TYPE_CODES = {"payshap", "eft", "international", "card_purchase"};
+
+    private final String[] accounts = new String[ROWS];
+    private final long[] cents = new long[ROWS];
+    private final BigDecimal[] amounts = new BigDecimal[ROWS];
+    private final String[] types = new String[ROWS];
+    private final RejectionReport report = new RejectionReport(ROWS / 50);
+
+    @Setup
+    public void setup() {
+        Random random = new Random(42);
+        for (int i = 0; i < ROWS; i++) {
+            accounts[i] = Integer.toString(10_000_000 + random.nextInt(90_000_000));
+            cents[i] = 1 + random.nextInt(10_000_000);
+            types[i] = TYPE_CODES[random.nextInt(TYPE_CODES.length)];
+            if (i % 100 == 0) {
+                accounts[i] = "1234X678";  // 1% bad rows
+            }
+            amounts[i] = Money.toBigDecimal(cents[i]);
+        }
+
+        int loopAccepted = constructorLoop();
+        int batchAccepted = transactionBatch().length;
+        if (loopAccepted != batchAccepted || originalLoop() != batchAccepted) {
+            throw new IllegalStateException("Accepted rows differ: loop " + loopAccepted + ", batch " + batchAccepted);
+        }
+    }
+
+    /** Constructor loop plus the per-row work the original constructor did */
+    @Benchmark
+    @OperationsPerInvocation(ROWS)
+    public int originalLoop() {
+        Transaction[] accepted = new Transaction[ROWS];
+        String[] ids = new String[ROWS];
+        int count = 0;
+        for (int i = 0; i < ROWS; i++) {
+            try {
+                if (!accounts[i].matches("\\d{8}")) {
+                    throw new IllegalArgumentException("Account number must be 8 digits. Got: " + accounts[i]);
+                }
+                String type = types[i].toLowerCase().trim();
+                ids[count] = "TXN-" + UUID.randomUUID().toString();
+                accepted[count] = new Transaction(accounts[i], amounts[i], type);
+                count++;
+            } catch (IllegalArgumentException e) {
+                // Skip bad row
+            }
+        }
+        return count;
+    }
+
+    /** One constructor call per row; bad rows are skipped via the exception */
+    @Benchmark
+    @OperationsPerInvocation(ROWS)
+    public int constructorLoop() {
+        Transaction[] accepted = new Transaction[ROWS];
+        int count = 0;
+        for (int i = 0; i < ROWS; i++) {
+            try {
+                accepted[count] = new Transaction(accounts[i], amounts[i], types[i]);
+                count++;
+            } catch (IllegalArgumentException e) {
+                // Skip bad row
+            }
+        }
+        return count;
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(ROWS)
+    public Transaction[] transactionBatch() {
+        return new TransactionBatch()
+                .accountNumbers(accounts)
+                .amountsCents(cents)
+                .types(types)
+                .build(report);
+    }
+}
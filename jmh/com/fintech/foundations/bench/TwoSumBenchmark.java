@@ -0,0 +1,80 @@
+package com.fintech.foundations.bench;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.fintech.foundations.Day3.TwoSum;
+
+/**
+ * TwoSum.twoSum vs twoSumBruteForce, worst case: the pair is the last two
+ * elements. Brute force stops at 10K elements (100K is ~5 billion
+ * comparisons per call).
+ *
+ * @author Jesse De Oliveira
+ * @since 2026-10-18
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+public class TwoSumBenchmark {
+
+    /** Worst-case input for a given size */
+    public abstract static class Input {
+        int[] nums;
+        int target;
+
+        void fill(int size) {
+            nums = new int[size];
+            for (int i = 0; i < size; i++) {
+                nums[i] = i * 2;
+            }
+            nums[size - 1] = 1;
+            target = nums[size - 2] + 1;
+        }
+    }
+
+    @State(Scope.Benchmark)
+    public static class HashInput extends Input {
+        @Param({"1000", "10000", "100000"})
+        int size;
+
+        @Setup
+        public void setup() {
+            fill(size);
+        }
+    }
+
+    @State(Scope.Benchmark)
+    public static class BruteForceInput extends Input {
+        @Param({"1000", "10000"})
+        int size;
+
+        @Setup
+        public void setup() {
+            fill(size);
+        }
+    }
+
+    @Benchmark
+    public int[] twoSum(HashInput input) {
+        return TwoSum.twoSum(input.nums, input.target);
+    }
+
+    @Benchmark
+    public int[] twoSumBruteForce(BruteForceInput input) {
+        return TwoSum.twoSumBruteForce(input.nums, input.target);
+    }
+}
@@ -0,0 +1,94 @@
+package com.fintech.foundations.bench;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.fintech.foundations.TransactionType;
+import com.fintech.foundations.VatEngine;
+
+/**
+ * VAT: the cents path used by Transaction.calculateVAT vs the BigDecimal API,
+ * vs the legacy per-call BigDecimal logic, and the column methods over
+ * 1M random rows (scores are VAT computations/s).
+ *
+ * Target: well over 50M VAT computations per second for the cents paths.
+ *
+ * @author Jesse De Oliveira
+ * @since 2026-10-18
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+@State(Scope.Thread)
+public class VatBenchmark {
+
+    private static final int ROWS = 1_000_000;
+
+    private final TransactionType[] types = TransactionType.values();
+    private final BigDecimal amount = new BigDecimal("1234.56");
+    private int next;
+
+    private final long[] amounts = new long[ROWS];
+    private final byte[] typeOrdinals = new byte[ROWS];
+    private final long[] vatOut = new long[ROWS];
+
+    @Setup
+    public void setup() {
+        Random random = new Random(42);
+        for (int i = 0; i < ROWS; i++) {
+            amounts[i] = 1 + random.nextInt(10_000_000);  // R 0.01 to R 100,000
+            typeOrdinals[i] = (byte) random.nextInt(types.length);
+        }
+    }
+
+    @Benchmark
+    public long vatCents() {
+        int i = next++;
+        return VatEngine.vatCents(types[i & 3], 100_000 + (i & 0xFFFF));
+    }
+
+    @Benchmark
+    public BigDecimal calculateVatBigDecimal() {
+        return VatEngine.calculateVat(amount, types[next++ & 3]);
+    }
+
+    /** The original per-transaction logic: new BigDecimal constants on every call */
+    @Benchmark
+    public long legacyBigDecimal() {
+        int i = next++ & 0xFFFF;
+        BigDecimal vatRate = types[typeOrdinals[i]].isVatable() ? new BigDecimal("15.00") : new BigDecimal("0.00");
+        BigDecimal hundred = new BigDecimal("100.00");
+        BigDecimal vat = BigDecimal.valueOf(amounts[i], 2).multiply(vatRate)
+                .divide(hundred, 2, RoundingMode.HALF_UP);
+        return vat.unscaledValue().longValue();
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(ROWS)
+    public long[] vatCentsColumn() {
+        VatEngine.vatCents(amounts, typeOrdinals, vatOut);
+        return vatOut;
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(ROWS)
+    public long totalVatCents() {
+        return VatEngine.totalVatCents(amounts, typeOrdinals);
+    }
+}
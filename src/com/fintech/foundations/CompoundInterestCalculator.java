@@ -2,8 +2,14 @@
 
 package com.fintech.foundations;
 import java.util.Scanner;
+import java.io.IOException;
 import java.math.BigDecimal;
 import java.math.RoundingMode;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import com.fintech.foundations.format.ZarFormatter;
+import com.fintech.foundations.validation.RecordValidator;
 
 /**
  * Compound Interest Calculator for South African banking.
@@ -17,13 +23,20 @@ import java.math.RoundingMode;
  * - Retirement planning
  * - Loan calculations
  * 
+ * Run with a file argument to project many "principal,rate,years" scenarios
+ * without prompts: java com.fintech.foundations.CompoundInterestCalculator scenarios.csv
+ * 
  * @author Jesse De Oliveira
  * @version 1.0
  * @since 2026-02-03
  */
 
 public class CompoundInterestCalculator {
-	public static void main(String[] args) {
+	public static void main(String[] args) throws IOException {
+		if (args.length > 0) {
+			calculateFile(Path.of(args[0]));
+			return;
+		}
 		Scanner scanner = new Scanner(System.in);
 		
 		System.out.println("╔════════════════════════════════════════════╗");
@@ -158,8 +171,7 @@ public class CompoundInterestCalculator {
         System.out.println("\n╔════════════════════════════════════════════╗");
         System.out.println("║         YEAR-BY-YEAR BREAKDOWN             ║");
         System.out.println("╠════════════════════════════════════════════╣");
-        System.out.println(String.format("  Year 0: R %,.2f (initial)", 
-                                        principal.doubleValue()));
+        System.out.println("  Year 0: " + ZarFormatter.format(principal) + " (initial)");
         
         for (int year = 1; year <= years; year++) {
         	// Calculate interest for this year
@@ -169,10 +181,8 @@ public class CompoundInterestCalculator {
             finalAmount = finalAmount.add(interest);
             
             // Display this year
-            System.out.println(String.format("  Year %d: R %,.2f (+ R %,.2f)", 
-                                            year, 
-                                            finalAmount.doubleValue(),
-                                            interest.doubleValue()));
+            System.out.println("  Year " + year + ": " + ZarFormatter.format(finalAmount)
+                    + " (+ " + ZarFormatter.format(interest) + ")");
         }
         
         // ═══════════════════════════════════════════════════════
@@ -186,16 +196,13 @@ public class CompoundInterestCalculator {
         System.out.println("╠════════════════════════════════════════════╣");
         System.out.println("║              FINAL SUMMARY                 ║");
         System.out.println("╠═══════════════════════════════════════5-100═════╣");
-        System.out.println(String.format("  Initial Investment:  R %,.2f", 
-                                        principal.doubleValue()));
+        System.out.println("  Initial Investment:  " + ZarFormatter.format(principal));
         System.out.println(String.format("  Interest Rate:       %.2f%% per year", 
                                         annualRate.doubleValue()));
         System.out.println(String.format("  Time Period:         %d years", years));
         System.out.println("─────────────────────────────────────────────");
-        System.out.println(String.format("  💰 Final Balance:    R %,.2f", 
-                                        finalAmount.doubleValue()));
-        System.out.println(String.format("  📈 Interest Earned:  R %,.2f", 
-                                        totalInterest.doubleValue()));
+        System.out.println("  💰 Final Balance:    " + ZarFormatter.format(finalAmount));
+        System.out.println("  📈 Interest Earned:  " + ZarFormatter.format(totalInterest));
         
         // Calculate effective gain percentage
         BigDecimal gainPercentage = totalInterest
@@ -222,6 +229,47 @@ public class CompoundInterestCalculator {
         }
         
 	}
-}
- 
 	
+	/**
+	 * Non-interactive mode: validates every "principal,rate,years" line of a
+	 * file with the limits of the prompts in main() and projects it in long cents.
+	 * Interest is credited yearly, rounded HALF_UP to the cent (the prompts keep
+	 * full precision and round only for display, so results can differ by cents).
+	 * Bad lines are written to "<file>.rejects".
+	 */
+	static void calculateFile(Path file) throws IOException {
+		RecordValidator validator = new RecordValidator()
+			.amount(1, 100_000_000_00L)    // Principal: up to R 100 million
+			.rate(1, 50_00)                // Rate: up to 50.00% (basis points)
+			.integer(1, 50);               // Years: 1-50
+		long[] totals = new long[2];       // Principal, interest (cents)
+		Path rejectFile = Path.of(file + ".rejects");
+		
+		try (RecordValidator.RejectChannel rejects = new RecordValidator.RejectChannel(FileChannel.open(rejectFile,
+				StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING))) {
+			validator.run(file, (line, values) -> {
+				long balance = values[0];
+				for (int year = 0; year < values[2]; year++) {
+					balance += yearlyInterestCents(balance, values[1]);
+				}
+				totals[0] = Math.addExact(totals[0], values[0]);
+				totals[1] = Math.addExact(totals[1], balance - values[0]);
+			}, rejects);
+		}
+		
+		System.out.println(validator);
+		System.out.println("  Total Invested:   " + ZarFormatter.formatCents(totals[0]));
+		System.out.println("  Interest Earned:  " + ZarFormatter.formatCents(totals[1]));
+		System.out.println("  Final Balances:   " + ZarFormatter.formatCents(Math.addExact(totals[0], totals[1])));
+		System.out.println("Rejected lines: " + rejectFile);
+	}
+	
+	/**
+	 * One year of interest, rounded HALF_UP to the cent.
+	 * Split by 10,000 so balance × rate cannot overflow (R 100 million at 50% for 50 years fits).
+	 */
+	static long yearlyInterestCents(long balanceCents, long rateBasisPoints) {
+		return balanceCents / 10_000 * rateBasisPoints
+				+ (balanceCents % 10_000 * rateBasisPoints + 5_000) / 10_000;
+	}
+}
@@ -1,5 +1,5 @@
 package com.fintech.foundations.Day3;
-import java.util.HashMap;
+import com.fintech.foundations.collections.IntIntMap;
 
 /**
 * LeetCode #1 - Two Sum
@@ -49,15 +49,18 @@ public class TwoSum {
 	/**
      * OPTIMAL SOLUTION (This is what you use in interviews)
      * Time Complexity: O(n) - single pass through array
-     * Space Complexity: O(n) - HashMap stores up to n elements
+     * Space Complexity: O(n) - IntIntMap stores up to n elements
      * 
-     * Key insight: Use HashMap to remember what we've seen.
+     * Key insight: Use a hash map to remember what we've seen.
      * For each number, check if we've seen its complement.
+     * 
+     * IntIntMap instead of HashMap<Integer, Integer>: no Integer boxing,
+     * ~8 bytes per slot instead of ~60 bytes per entry.
      */
     public static int[] twoSum(int[] nums, int target) {
-    	// HashMap stores: number → index
+    	// Map stores: number → index
         // This lets us check "have we seen this number?" in O(1) time
-        HashMap<Integer, Integer> map = new HashMap<>();
+        IntIntMap map = new IntIntMap(nums.length);
         
      // Go through array once
         for (int i = 0; i < nums.length; i++) {
@@ -65,12 +68,13 @@ public class TwoSum {
             // If current number is 2 and target is 9, we need 7
             int complement = target - nums[i];
             
-            // Check if we've already seen the complement
-            if (map.containsKey(complement)) {
+            // Check if we've already seen the complement (-1 = not seen)
+            int seenAt = map.getOrDefault(complement, -1);
+            if (seenAt != -1) {
                 // Found it! Return the two indices
-                // map.get(complement) = index where we saw complement
+                // seenAt = index where we saw complement
                 // i = current index
-                return new int[] {map.get(complement), i};
+                return new int[] {seenAt, i};
             }
             
             // Haven't found complement yet
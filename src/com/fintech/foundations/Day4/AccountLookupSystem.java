@@ -1,19 +1,19 @@
 package com.fintech.foundations.Day4;
 
-import java.util.HashMap;
 import java.math.BigDecimal;
+import com.fintech.foundations.ledger.LedgerEngine;
 
 public class AccountLookupSystem {
     
-    // Class-level HashMap for account storage
-    private static HashMap<String, BigDecimal> accounts = new HashMap<>();
+    // Class-level ledger for account storage (thread-safe, per-account CAS)
+    private static final LedgerEngine accounts = new LedgerEngine();
     
     /**
      * Creates or updates account balance.
      * Time: O(1), Space: O(n) for n accounts
      */
     public static void setBalance(String accountNum, BigDecimal balance) {
-        accounts.put(accountNum, balance);
+        accounts.setBalance(accountNum, balance);
     }
     
     /**
@@ -21,15 +21,15 @@ public class AccountLookupSystem {
      * Time: O(1)
      */
     public static BigDecimal getBalance(String accountNum) {
-        return accounts.getOrDefault(accountNum, BigDecimal.ZERO);
+        return accounts.getBalance(accountNum);
     }
     
-    /**q
+    /**
      * Checks if account exists.
      * Time: O(1)
      */
     public static boolean accountExists(String accountNum) {
-        return accounts.containsKey(accountNum);
+        return accounts.accountExists(accountNum);
     }
     
     /**
@@ -37,26 +37,27 @@ public class AccountLookupSystem {
      * Time: O(1)
      */
     public static void deposit(String accountNum, BigDecimal amount) {
-        BigDecimal current = getBalance(accountNum);
-        BigDecimal newBalance = current.add(amount);
-        setBalance(accountNum, newBalance);
+        accounts.deposit(accountNum, amount);
     }
     
     /**
      * Withdraws money from account.
      * Time: O(1)
      * Returns true if successful, false if insufficient funds
+     * (balance check and debit are atomic - safe across threads)
      */
     public static boolean withdraw(String accountNum, BigDecimal amount) {
-        BigDecimal current = getBalance(accountNum);
-        
-        if (current.compareTo(amount) >= 0) {
-            BigDecimal newBalance = current.subtract(amount);
-            setBalance(accountNum, newBalance);
-            return true;
-        }
-        
-        return false;  // Insufficient funds
+        return accounts.withdraw(accountNum, amount);
+    }
+    
+    /**
+     * Moves money between accounts.
+     * Time: O(1)
+     * Returns true if successful, false if insufficient funds
+     * (debit and credit never lose or create money - see LedgerEngine.transferCents)
+     */
+    public static boolean transfer(String fromAccount, String toAccount, BigDecimal amount) {
+        return accounts.transfer(fromAccount, toAccount, amount);
     }
     
     /**
@@ -93,5 +94,12 @@ public class AccountLookupSystem {
         success = withdraw("002", new BigDecimal("10000.00"));
         System.out.println("Success: " + success);
         System.out.println("Balance unchanged: R " + getBalance("002"));
+        System.out.println();
+        
+        // Test 5: Transfer
+        System.out.println("Transferring R 2500 from account 003 to account 002...");
+        success = transfer("003", "002", new BigDecimal("2500.00"));
+        System.out.println("Success: " + success);
+        System.out.println("003: R " + getBalance("003") + ", 002: R " + getBalance("002"));
     }
 }
\ No newline at end of file
@@ -2,26 +2,40 @@ package com.fintech.foundations.Day4;
 
 import java.util.HashMap;
 
+import com.fintech.foundations.collections.CharCounter;
+
 public class CharacterFrequencyCounter {
     
+    /**
+     * Counts frequency of each character in string.
+     * 
+     * Pattern: Counting with a char-indexed array (CharHistogram kernel)
+     * Time: O(n), Space: O(1) - 128 slots (65,536 if non-ASCII)
+     * 
+     * @param s Input string
+     * @return Counter with character counts (no boxing)
+     */
+    public static CharCounter count(String s) {
+        return new CharCounter(s);
+    }
+    
     /**
      * Counts frequency of each character in string.
      * 
      * Pattern: Counting with HashMap
      * Time: O(n), Space: O(k) where k = unique chars
      * 
+     * Counts in a CharCounter first, so only the k results are boxed
+     * (not every character). Prefer count() in hot paths.
+     * 
      * @param s Input string
      * @return HashMap with character counts
      */
     public static HashMap<Character, Integer> countCharacters(String s) {
         HashMap<Character, Integer> freq = new HashMap<>();
         
-        // Count each character
-        for (char c : s.toCharArray()) {
-            // getOrDefault returns 0 if key doesn't exist
-            // Then we add 1
-            freq.put(c, freq.getOrDefault(c, 0) + 1);
-        }
+        // Copy each non-zero count into the map
+        count(s).forEach(freq::put);
         
         return freq;
     }
@@ -50,12 +64,13 @@ public class CharacterFrequencyCounter {
         
         // Test 3: Find most frequent character
         String test3 = "programming";
-        HashMap<Character, Integer> result3 = countCharacters(test3);
+        CharCounter result3 = count(test3);
         
         char mostFrequent = ' ';
         int maxCount = 0;
         
-        for (char c : result3.keySet()) {
+        for (int i = 0; i < test3.length(); i++) {
+            char c = test3.charAt(i);
             if (result3.get(c) > maxCount) {
                 maxCount = result3.get(c);
                 mostFrequent = c;
@@ -1,35 +1,21 @@
 package com.fintech.foundations.Day4;
 
-import java.util.HashMap;
+import com.fintech.foundations.collections.CharHistogram;
 
 public class FirstUniqueCharacter {
     
     /**
      * Finds index of first non-repeating character.
      * 
-     * Pattern: Frequency map + iteration
-     * Time: O(n), Space: O(1) - max 26 lowercase letters
+     * Pattern: Frequency count + iteration (CharHistogram kernel)
+     * Time: O(n), Space: O(1) - char-indexed count array
      * 
      * @param s Input string
      * @return Index of first unique char, or -1 if none
      */
     public static int firstUniqChar(String s) {
-        // Step 1: Build frequency map
-        HashMap<Character, Integer> freq = new HashMap<>();
-        
-        for (char c : s.toCharArray()) {
-            freq.put(c, freq.getOrDefault(c, 0) + 1);
-        }
-        
-        // Step 2: Find first character with count = 1
-        for (int i = 0; i < s.length(); i++) {
-            char c = s.charAt(i);
-            if (freq.get(c) == 1) {
-                return i;  // Found first unique
-            }
-        }
-        
-        return -1;  // No unique character
+        // Count into an int[] histogram, then find the first count of 1 (-1 if none)
+        return CharHistogram.firstUnique(s);
     }
     
     /**
@@ -1,12 +1,12 @@
 package com.fintech.foundations.Day5;
 
-import java.util.HashSet;
+import com.fintech.foundations.collections.IntHashSet;
 
 /**
  * LeetCode #217 - Contains Duplicate
  * 
  * Problem: Check if array has any duplicates
- * Pattern: Lookup (HashSet existence check)
+ * Pattern: Lookup (hash set existence check)
  * 
  * Fintech context: Detect duplicate PayShap transaction IDs
  * in a batch processing system to prevent double-charging.
@@ -16,23 +16,21 @@ public class ContainsDuplicate {
     /**
      * Checks if array contains any duplicates.
      * 
-     * Approach: HashSet to track seen elements
+     * Approach: IntHashSet to track seen elements (no Integer boxing)
      * Time: O(n), Space: O(n)
      * 
      * @param nums Array of transaction IDs (as integers)
      * @return true if duplicates exist, false otherwise
      */
     public static boolean containsDuplicate(int[] nums) {
-        HashSet<Integer> seen = new HashSet<>();
+        IntHashSet seen = new IntHashSet(nums.length);
         
         for (int num : nums) {
-            // Have we seen this transaction ID before?
-            if (seen.contains(num)) {
+            // Remember this transaction ID
+            // add() returns false if we have seen it before
+            if (!seen.add(num)) {
                 return true;  // Duplicate found!
             }
-            
-            // Remember this transaction ID
-            seen.add(num);
         }
         
         // No duplicates found
@@ -1,5 +1,5 @@
 package com.fintech.foundations.Day5;
-import java.util.HashMap;
+import com.fintech.foundations.collections.CharHistogram;
 
 /**
  * LeetCode #242 - Valid Anagram
@@ -15,8 +15,9 @@ public class ValidAnagram {
     /**
      * Checks if two strings are anagrams.
      * 
-     * Approach: Compare frequency maps
-     * Time: O(n), Space: O(1) - max 26 letters
+     * Approach: Count s up and t down in one char-indexed histogram
+     * (CharHistogram kernel, one loop over both strings)
+     * Time: O(n), Space: O(1) - 128 slots (65,536 if non-ASCII)
      * 
      * @param s First string
      * @param t Second string
@@ -24,35 +25,8 @@ public class ValidAnagram {
      */
 
 public static boolean isAnagram(String s, String t) {
-        if (s.length() != t.length()) {
-            return false;
-        }
-        
-        HashMap<Character, Integer> freq = new HashMap<>();
-        
-        // Increment for s
-        for (char c : s.toCharArray()) {
-            freq.put(c, freq.getOrDefault(c, 0) + 1);
-        }
-        
-        // Decrement for t
-        for (char c : t.toCharArray()) {
-            freq.put(c, freq.getOrDefault(c, 0) - 1);
-            
-            // If count goes negative, not an anagram
-            if (freq.get(c) < 0) {
-                return false;
-            }
-        }
-        
-        // All counts should be 0
-        for (int count : freq.values()) {
-            if (count != 0) {
-                return false;
-            }
-        }
-        
-        return true;
+        // Different lengths are rejected before counting
+        return CharHistogram.isAnagram(s, t);
     }
 
 /**
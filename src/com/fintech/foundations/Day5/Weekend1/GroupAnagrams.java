@@ -13,6 +13,10 @@ import java.util.Arrays;
  * Fintech context: Group similar PayShap transaction descriptions
  * that might have typos or different word orders but refer to
  * the same merchant (e.g., "ABC Store", "Store ABC", "Stoer ABC")
+ * 
+ * For millions of references use reconciliation.CanonicalGrouper:
+ * count-vector keys (no sort, no String per input), pluggable
+ * normalizers and parallel grouping.
  */
 public class GroupAnagrams {
     
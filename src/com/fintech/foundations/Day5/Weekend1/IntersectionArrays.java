@@ -1,22 +1,25 @@
 package com.fintech.foundations.Day5.Weekend1;
-import java.util.HashSet;
-import java.util.ArrayList;
+import com.fintech.foundations.collections.IntHashSet;
 
 /**
  * LeetCode #349 - Intersection of Two Arrays
  * 
  * Problem: Find unique common elements between two arrays
- * Pattern: Lookup (HashSet for O(1) contains check)
+ * Pattern: Lookup (hash set for O(1) contains check)
  * 
  * Fintech context: Find common transaction IDs between
  * two PayShap processing batches to detect duplicates.
+ * 
+ * For account lists of millions (sanctions, dormant, PayShap-enabled),
+ * use reconciliation.AccountSet: compressed bitmaps, union/difference
+ * and multi-way intersection (see AccountSetBenchmark in jmh/).
  */
 public class IntersectionArrays {
     
     /**
      * Finds intersection of two arrays.
      * 
-     * Approach: Use HashSet for fast lookup
+     * Approach: Use IntHashSet for fast lookup (no Integer boxing)
      * Time: O(n + m) where n, m are array lengths
      * Space: O(n) to store first array in set
      * 
@@ -26,25 +29,21 @@ public class IntersectionArrays {
      */
     public static int[] intersection(int[] nums1, int[] nums2) {
         // Put all elements from nums1 in a set (removes duplicates)
-        HashSet<Integer> set1 = new HashSet<>();
+        IntHashSet set1 = new IntHashSet(nums1.length);
         for (int num : nums1) {
             set1.add(num);
         }
         
         // Find common elements
-        HashSet<Integer> result = new HashSet<>();
+        IntHashSet result = new IntHashSet();
         for (int num : nums2) {
             if (set1.contains(num)) {
-                result.add(num);  // HashSet ensures uniqueness
+                result.add(num);  // Set ensures uniqueness
             }
         }
         
-        // Convert HashSet to array
-        int[] output = new int[result.size()];
-        int i = 0;
-        for (int num : result) {
-            output[i++] = num;
-        }
+        // Convert set to array
+        int[] output = result.toArray();
         
         return output;
     }
@@ -1,6 +1,12 @@
 package com.fintech.foundations;
 import java.util.Scanner;
+import java.io.IOException;
 import java.math.BigDecimal;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import com.fintech.foundations.format.ZarFormatter;
+import com.fintech.foundations.validation.RecordValidator;
 
 /**
  * Demonstrates proper input validation.
@@ -12,11 +18,18 @@ import java.math.BigDecimal;
  * 
  * Solution: Validate ALL user input before using it
  * 
+ * Run with a file argument to validate "age,amount,type" lines in bulk
+ * (same rules, no prompts): java com.fintech.foundations.InputValidation input.csv
+ * 
  * @author Jesse Smith
  */
 
 public class InputValidation {
-	public static void main(String[] args) {
+	public static void main(String[] args) throws IOException {
+		if (args.length > 0) {
+			validateFile(Path.of(args[0]));
+			return;
+		}
 		Scanner scanner = new Scanner(System.in);
 		
 		System.out.println("╔════════════════════════════════════════╗");
@@ -127,28 +140,27 @@ public class InputValidation {
         scanner.close();
         
 	}
+	
+	/**
+	 * Non-interactive mode: validates every "age,amount,type" line of a file
+	 * with the rules of the prompts in main(). Uses RecordValidator (no Scanner,
+	 * no exceptions per bad line); bad lines are written to "<file>.rejects".
+	 */
+	static void validateFile(Path file) throws IOException {
+		RecordValidator validator = new RecordValidator()
+			.integer(1, 150)                    // Age: 1-150
+			.amount(1, 1_000_000_00L)           // Amount: R 0.01 - R 1,000,000
+			.type(TransactionType.PAYSHAP, TransactionType.EFT, TransactionType.INTERNATIONAL);
+		long[] totalCents = new long[1];
+		Path rejectFile = Path.of(file + ".rejects");
+		
+		try (RecordValidator.RejectChannel rejects = new RecordValidator.RejectChannel(FileChannel.open(rejectFile,
+				StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING))) {
+			validator.run(file, (line, values) -> totalCents[0] += values[1], rejects);
+		}
+		
+		System.out.println(validator);
+		System.out.println("Total of valid amounts: " + ZarFormatter.formatCents(totalCents[0]));
+		System.out.println("Rejected lines: " + rejectFile);
+	}
 }
-
-
-
-
-
-
-
-
-
-
-
-
-
-
-
-
-
-
-
-
-
-
-
-
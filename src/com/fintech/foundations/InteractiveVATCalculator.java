@@ -1,8 +1,14 @@
 package com.fintech.foundations;
 
 import java.util.Scanner;
+import java.io.IOException;
 import java.math.BigDecimal;
-import java.math.RoundingMode;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+import com.fintech.foundations.format.ZarFormatter;
+import com.fintech.foundations.validation.RecordValidator;
 
 /**
  * Interactive VAT Calculator for South African transactions.
@@ -15,10 +21,17 @@ import java.math.RoundingMode;
  * 
  * This is a complete, production-quality CLI tool.
  * 
+ * Run with a file argument to total VAT over "amount,type" lines instead
+ * of prompting: java com.fintech.foundations.InteractiveVATCalculator input.csv
+ * 
  * @author Jesse De Oliveira
  */
 public class InteractiveVATCalculator {
-    public static void main(String[] args) {
+    public static void main(String[] args) throws IOException {
+        if (args.length > 0) {
+            calculateFile(Path.of(args[0]));
+            return;
+        }
         Scanner scanner = new Scanner(System.in);
         
         System.out.println("╔════════════════════════════════════════════╗");
@@ -58,29 +71,24 @@ public class InteractiveVATCalculator {
         System.out.println("  3. International (Forex) - 15% VAT");
         System.out.println("  4. Card Purchase (Merchant) - 15% VAT");
         
-        String transactionType = "";
-        validInput = false;
+        TransactionType transactionType = null;
         
-        while (!validInput) {
+        while (transactionType == null) {
             System.out.print("\nSelect transaction type (1-4): ");
             String choice = scanner.next();
             
             switch (choice) {
                 case "1":
-                    transactionType = "payshap";
-                    validInput = true;
+                    transactionType = TransactionType.PAYSHAP;
                     break;
                 case "2":
-                    transactionType = "eft";
-                    validInput = true;
+                    transactionType = TransactionType.EFT;
                     break;
                 case "3":
-                    transactionType = "international";
-                    validInput = true;
+                    transactionType = TransactionType.INTERNATIONAL;
                     break;
                 case "4":
-                    transactionType = "card_purchase";
-                    validInput = true;
+                    transactionType = TransactionType.CARD_PURCHASE;
                     break;
                 default:
                     System.out.println("❌ Invalid choice. Please select 1-4.");
@@ -88,28 +96,13 @@ public class InteractiveVATCalculator {
         }
         
         // ═══════════════════════════════════════════════════════
-        // CALCULATE VAT (Same logic as Transaction class)
+        // CALCULATE VAT (Same engine as Transaction class)
         // ═══════════════════════════════════════════════════════
-        BigDecimal vatRate;
-        String vatExplanation;
-        
-        switch (transactionType) {
-            case "international":
-            case "card_purchase":
-                vatRate = new BigDecimal("15.00");
-                vatExplanation = "Standard VAT applies";
-                break;
-            case "payshap":
-            case "eft":
-            default:
-                vatRate = new BigDecimal("0.00");
-                vatExplanation = "VAT exempt (financial transfer)";
-                break;
-        }
+        String vatExplanation = transactionType.isVatable()
+                ? "Standard VAT applies"
+                : "VAT exempt (financial transfer)";
         
-        BigDecimal hundred = new BigDecimal("100");
-        BigDecimal vat = amount.multiply(vatRate)
-                              .divide(hundred, 2, RoundingMode.HALF_UP);
+        BigDecimal vat = VatEngine.calculateVat(amount, transactionType);
         BigDecimal total = amount.add(vat);
         
         // ═══════════════════════════════════════════════════════
@@ -118,7 +111,7 @@ public class InteractiveVATCalculator {
         System.out.println("\n╔════════════════════════════════════════════╗");
         System.out.println("║         TRANSACTION RECEIPT                ║");
         System.out.println("╠════════════════════════════════════════════╣");
-        System.out.println("  Type: " + transactionType.toUpperCase());
+        System.out.println("  Type: " + transactionType.name());
         System.out.println("  " + vatExplanation);
         System.out.println("─────────────────────────────────────────────");
         System.out.println("  Amount:    R " + amount);
@@ -153,4 +146,32 @@ public class InteractiveVATCalculator {
             scanner.close();
         }
     }
-}
\ No newline at end of file
+
+    /**
+     * Non-interactive mode: validates every "amount,type" line of a file
+     * (amount positive, type code as in Transaction) and totals amount and VAT
+     * in cents with VatEngine. Bad lines are written to "<file>.rejects".
+     */
+    static void calculateFile(Path file) throws IOException {
+        RecordValidator validator = new RecordValidator()
+                .amount(1, Long.MAX_VALUE)
+                .type();
+        long[] totals = new long[2];  // Amount, VAT (cents)
+        Path rejectFile = Path.of(file + ".rejects");
+
+        try (RecordValidator.RejectChannel rejects = new RecordValidator.RejectChannel(FileChannel.open(rejectFile,
+                StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING))) {
+            validator.run(file, (line, values) -> {
+                totals[0] = Math.addExact(totals[0], values[0]);
+                totals[1] = Math.addExact(totals[1],
+                        VatEngine.vatCents(TransactionType.fromOrdinal((int) values[1]), values[0]));
+            }, rejects);
+        }
+
+        System.out.println(validator);
+        System.out.println("  Amount:    " + ZarFormatter.formatCents(totals[0]));
+        System.out.println("  VAT (15%): " + ZarFormatter.formatCents(totals[1]));
+        System.out.println("  TOTAL:     " + ZarFormatter.formatCents(Math.addExact(totals[0], totals[1])));
+        System.out.println("Rejected lines: " + rejectFile);
+    }
+}
@@ -1,7 +1,8 @@
 package com.fintech.foundations;
 
 import java.math.BigDecimal;
-import java.math.RoundingMode;
+
+import com.fintech.foundations.format.ZarFormatter;
 
 /**
  * Introduction to Methods - Code organization with functions.
@@ -17,6 +18,10 @@ import java.math.RoundingMode;
  */
 
 public class MethodsBasics {
+	
+	/** Upper limit for a single transaction (R 10 million) */
+	private static final BigDecimal MAX_AMOUNT = new BigDecimal("10000000");
+	
 	public static void main(String[] args) {
 		System.out.println("═══════════════════════════════════════");
         System.out.println("   METHODS DEMONSTRATION - FINTECH");
@@ -45,6 +50,11 @@ public class MethodsBasics {
       
       System.out.println("Raw amount: " + price);
       System.out.println("Formatted: " + formatted);
+      // Expected: Formatted: R 1,234,567.89
+      
+      // Example 4: Amounts beyond long cents still format
+      System.out.println("Huge: " + formatCurrency(new BigDecimal("-123456789012345678901.005")));
+      // Expected: Huge: R -123,456,789,012,345,678,901.01
 	}
 	/**
      * Calculates 15% VAT on a given amount.
@@ -53,9 +63,17 @@ public class MethodsBasics {
      * @return VAT amount (15% of input)
      */
 	public static BigDecimal calculateVat(BigDecimal amount) {
-		BigDecimal vatRate = new BigDecimal("15.00");
-        BigDecimal hundred = new BigDecimal("100");
-        return amount.multiply(vatRate).divide(hundred, 2, RoundingMode.HALF_UP);
+        return VatEngine.calculateVat(amount);
+	}
+	
+	/**
+     * Calculates 15% VAT on an amount in cents (no BigDecimal, no allocation).
+     * 
+     * @param amountCents The base amount in ZAR cents
+     * @return VAT amount in cents (15% of input, HALF_UP)
+     */
+	public static long calculateVat(long amountCents) {
+		return VatEngine.standardVatCents(amountCents);
 	}
 	
 	/**
@@ -72,8 +90,7 @@ public class MethodsBasics {
 		}
 		
 		// Must be less than R 10 million (reasonable limit)
-		BigDecimal maxAmount = new BigDecimal("10000000");
-		if (amount.compareTo(maxAmount) >= 0) {
+		if (amount.compareTo(MAX_AMOUNT) >= 0) {
 			return false;
 		}
 		
@@ -83,16 +100,14 @@ public class MethodsBasics {
 	/**
      * Formats amount as South African Rand with proper formatting.
      * 
+     * Delegates to ZarFormatter, which also handles amounts beyond long cents.
+     * 
      * @param amount Amount to format
      * @return Formatted string like "R 1,234.56"
      */
 	
 	public static String formatCurrency(BigDecimal amount) {
-		// Round to 2 decimal places
-		BigDecimal rounded = amount.setScale(2, RoundingMode.HALF_UP);
-		
-		// Format with R prefix
-		return "R " + rounded;
+		return ZarFormatter.format(amount);
 	}
 		
 
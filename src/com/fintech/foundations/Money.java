@@ -0,0 +1,251 @@
+package com.fintech.foundations;
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+
+/**
+ * Immutable ZAR amount stored as a whole number of cents (long).
+ *
+ * Why not BigDecimal everywhere?
+ * - BigDecimal allocates a new object on every add/multiply/divide
+ * - A long add is one CPU instruction, and cents are exact (no 0.1 + 0.2 problem)
+ * - A long holds up to R 92 233 720 368 547 758.07 - far beyond any SA balance
+ *
+ * Rules:
+ * - All arithmetic is exact; overflow throws ArithmeticException (never wraps)
+ * - Rate arithmetic (VAT, interest) rounds HALF_UP to the cent, like SARS
+ * - BigDecimal is only produced at the API edge (toBigDecimal)
+ *
+ * The static methods work on raw cents so hot loops can avoid
+ * creating Money objects at all.
+ *
+ * @author Jesse De Oliveira
+ * @version 1.0
+ * @since 2026-10-18
+ */
+public final class Money implements Comparable<Money> {
+
+	/** R 0.00 */
+	public static final Money ZERO = new Money(0);
+
+	/** Cents per rand */
+	public static final long CENTS_PER_RAND = 100;
+
+	/** Basis points per 100% (1 basis point = 0.01%) */
+	public static final long BASIS_POINTS = 10_000;
+
+	/** Amount in ZAR cents (R 12.34 = 1234) */
+	private final long cents;
+
+	private Money(long cents) {
+		this.cents = cents;
+	}
+
+	//===========================================
+	//FACTORIES
+	//===========================================
+
+	/**
+	 * Creates an amount from cents.
+	 * @param cents Amount in cents (e.g., 123456 = R 1,234.56)
+	 * @return Money value
+	*/
+	public static Money ofCents(long cents) {
+		return cents == 0 ? ZERO : new Money(cents);
+	}
+
+	/**
+	 * Converts an exact BigDecimal amount (e.g., "1000.00").
+	 *
+	 * @param amount Amount in ZAR with at most 2 decimal places
+	 * @return Money value
+	 * @throws ArithmeticException if the amount has fractions of a cent or overflows a long
+	*/
+	public static Money of(BigDecimal amount) {
+		return ofCents(toCents(amount));
+	}
+
+	/**
+	 * Converts a BigDecimal amount, rounding HALF_UP to the cent.
+	 *
+	 * @param amount Amount in ZAR (any scale)
+	 * @return Money value
+	 * @throws ArithmeticException if the amount overflows a long
+	*/
+	public static Money ofRounded(BigDecimal amount) {
+		return ofCents(amount.setScale(2, RoundingMode.HALF_UP).unscaledValue().longValueExact());
+	}
+
+	/**
+	 * Converts an exact BigDecimal amount to cents.
+	 *
+	 * @param amount Amount in ZAR with at most 2 decimal places
+	 * @return Amount in cents
+	 * @throws ArithmeticException if the amount has fractions of a cent or overflows a long
+	*/
+	public static long toCents(BigDecimal amount) {
+		return amount.setScale(2, RoundingMode.UNNECESSARY).unscaledValue().longValueExact();
+	}
+
+	/**
+	 * Converts cents to a BigDecimal with scale 2 (API edge only).
+	 * @param cents Amount in cents
+	 * @return Amount in ZAR (e.g., 1234 → 12.34)
+	*/
+	public static BigDecimal toBigDecimal(long cents) {
+		return BigDecimal.valueOf(cents, 2);
+	}
+
+	//===========================================
+	//PRIMITIVE ARITHMETIC (allocation-free)
+	//===========================================
+
+	/**
+	 * Calculates cents × numerator / denominator, rounded HALF_UP.
+	 *
+	 * Examples:
+	 * - 15% VAT on R 1000: multiplyRate(100000, 15, 100) = 15000 (R 150.00)
+	 * - 7.5% interest: multiplyRate(cents, 75, 1000)
+	 *
+	 * @param cents Amount in cents
+	 * @param numerator Rate numerator
+	 * @param denominator Rate denominator (must be positive)
+	 * @return Rounded result in cents
+	 * @throws ArithmeticException if the intermediate product overflows a long
+	*/
+	public static long multiplyRate(long cents, long numerator, long denominator) {
+		if (denominator <= 0) {
+			throw new IllegalArgumentException("Denominator must be positive. Got: " + denominator);
+		}
+		long product = Math.multiplyExact(cents, numerator);
+		long half = denominator / 2;
+
+		// HALF_UP rounds ties away from zero, so round the magnitude
+		if (product >= 0) {
+			long rounded = product / denominator;
+			return (product % denominator) >= denominator - half ? rounded + 1 : rounded;
+		}
+		long rounded = product / denominator;  // truncates toward zero
+		return (-(product % denominator)) >= denominator - half ? rounded - 1 : rounded;
+	}
+
+	/**
+	 * Calculates a percentage of an amount in basis points, rounded HALF_UP.
+	 * Example: 15% VAT = percentage(cents, 1500)
+	 *
+	 * @param cents Amount in cents
+	 * @param basisPoints Rate in basis points (1500 = 15.00%)
+	 * @return Rounded result in cents
+	*/
+	public static long percentage(long cents, long basisPoints) {
+		return multiplyRate(cents, basisPoints, BASIS_POINTS);
+	}
+
+	//===========================================
+	//VALUE ARITHMETIC
+	//===========================================
+
+	/** @return this + other (throws ArithmeticException on overflow) */
+	public Money plus(Money other) {
+		return ofCents(Math.addExact(cents, other.cents));
+	}
+
+	/** @return this - other (throws ArithmeticException on overflow) */
+	public Money minus(Money other) {
+		return ofCents(Math.subtractExact(cents, other.cents));
+	}
+
+	/** @return -this (throws ArithmeticException on overflow) */
+	public Money negate() {
+		return ofCents(Math.negateExact(cents));
+	}
+
+	/** @return this × numerator / denominator, rounded HALF_UP to the cent */
+	public Money multiplyRate(long numerator, long denominator) {
+		return ofCents(multiplyRate(cents, numerator, denominator));
+	}
+
+	/** @return this × basisPoints / 10 000, rounded HALF_UP to the cent */
+	public Money percentage(long basisPoints) {
+		return ofCents(percentage(cents, basisPoints));
+	}
+
+	//===========================================
+	//GETTERS
+	//===========================================
+
+	/** @return Amount in cents */
+	public long cents() {
+		return cents;
+	}
+
+	/** @return -1, 0 or 1 */
+	public int signum() {
+		return Long.signum(cents);
+	}
+
+	/** @return Amount in ZAR with scale 2 (API edge only) */
+	public BigDecimal toBigDecimal() {
+		return toBigDecimal(cents);
+	}
+
+	@Override
+	public int compareTo(Money other) {
+		return Long.compare(cents, other.cents);
+	}
+
+	@Override
+	public boolean equals(Object o) {
+		return o instanceof Money && ((Money) o).cents == cents;
+	}
+
+	@Override
+	public int hashCode() {
+		return Long.hashCode(cents);
+	}
+
+	/**
+	 * Returns the plain amount, e.g. "1234.56" (so "R " + money prints like BigDecimal did)
+	*/
+	@Override
+	public String toString() {
+		return toBigDecimal().toPlainString();
+	}
+
+	/**
+	 * Test cases
+	 */
+	public static void main(String[] args) {
+		// Test 1: 15% VAT on R 1000.00
+		System.out.println("VAT on R 1000.00: R " + Money.of(new BigDecimal("1000.00")).percentage(1500));
+		// Expected: 150.00
+
+		// Test 2: HALF_UP rounding (R 0.10 × 15% = 1.5 cents → 2 cents)
+		System.out.println("VAT on R 0.10: " + percentage(10, 1500) + " cents");
+		// Expected: 2
+
+		// Test 3: Negative tie rounds away from zero (like BigDecimal HALF_UP)
+		System.out.println("VAT on -R 0.10: " + percentage(-10, 1500) + " cents");
+		// Expected: -2
+
+		// Test 4: No 0.1 + 0.2 problem
+		System.out.println("R 0.10 + R 0.20 = R " + Money.ofCents(10).plus(Money.ofCents(20)));
+		// Expected: 0.30
+
+		// Test 5: Overflow is detected, never wraps
+		try {
+			Money.ofCents(Long.MAX_VALUE).plus(Money.ofCents(1));
+			System.out.println("FAIL: overflow wrapped");
+		} catch (ArithmeticException e) {
+			System.out.println("PASS: overflow rejected");
+		}
+
+		// Test 6: Fractions of a cent are rejected by the exact factory
+		try {
+			Money.of(new BigDecimal("10.005"));
+			System.out.println("FAIL: accepted fraction of a cent");
+		} catch (ArithmeticException e) {
+			System.out.println("PASS: fraction of a cent rejected (ofRounded gives R "
+				+ Money.ofRounded(new BigDecimal("10.005")) + ")");
+		}
+	}
+}
@@ -0,0 +1,158 @@
+package com.fintech.foundations;
+import java.util.Arrays;
+
+/**
+ * Compact, reusable list of rejected rows from a batch import.
+ *
+ * Stores only (row index, reason code) pairs in primitive arrays,
+ * so a 1M-row bank file with many bad rows costs a few MB, not
+ * one exception + message String per row.
+ *
+ * Reuse: call reset() between batches - the arrays are kept.
+ *
+ * @author Jesse De Oliveira
+ * @version 1.0
+ * @since 2026-10-18
+ */
+public class RejectionReport {
+
+	/** Why a row was rejected */
+	public enum Reason {
+		/** Account number missing or blank */
+		MISSING_ACCOUNT("Account number cannot be empty"),
+		/** Account number is not exactly 8 digits */
+		BAD_ACCOUNT_FORMAT("Account number must be 8 digits"),
+		/** Amount missing, zero or negative */
+		NON_POSITIVE_AMOUNT("Transaction amount must be positive"),
+		/** Amount has fractions of a cent or does not fit in a long */
+		BAD_AMOUNT_SCALE("Transaction amount must be in whole cents"),
+		/** Type missing or not one of payshap/eft/international/card_purchase */
+		UNKNOWN_TYPE("Invalid transaction type"),
+		/** Transfer source and destination are the same account */
+		SAME_ACCOUNT("Cannot transfer to the same account"),
+		/** Source account cannot cover the transfer */
+		INSUFFICIENT_FUNDS("Insufficient funds"),
+		/** No transaction with this ID is registered */
+		UNKNOWN_TRANSACTION("Transaction not found"),
+		/** Transaction was not in the expected status (e.g., already settled by another thread) */
+		STATUS_CONFLICT("Transaction is not in the expected status");
+
+		private final String message;
+
+		Reason(String message) {
+			this.message = message;
+		}
+
+		/** @return Human-readable message (matches the Transaction constructor errors) */
+		public String getMessage() {
+			return message;
+		}
+	}
+
+	private static final Reason[] REASONS = Reason.values();
+
+	/** Row index of each rejection */
+	private int[] rows;
+
+	/** Reason ordinal of each rejection */
+	private byte[] reasons;
+
+	/** Number of rejections recorded */
+	private int size;
+
+	/** Creates an empty report. */
+	public RejectionReport() {
+		this(16);
+	}
+
+	/**
+	 * Creates an empty report with room for some rejections before growing.
+	 * @param initialCapacity Expected number of rejections
+	*/
+	public RejectionReport(int initialCapacity) {
+		int capacity = Math.max(1, initialCapacity);
+		this.rows = new int[capacity];
+		this.reasons = new byte[capacity];
+	}
+
+	/**
+	 * Records a rejected row.
+	 * Time: O(1) amortized
+	*/
+	public void reject(int row, Reason reason) {
+		if (size == rows.length) {
+			int capacity = rows.length * 2;
+			rows = Arrays.copyOf(rows, capacity);
+			reasons = Arrays.copyOf(reasons, capacity);
+		}
+		rows[size] = row;
+		reasons[size] = (byte) reason.ordinal();
+		size++;
+	}
+
+	/** Clears the report for reuse (keeps the arrays). */
+	public void reset() {
+		size = 0;
+	}
+
+	/** @return Number of rejected rows */
+	public int size() {
+		return size;
+	}
+
+	/** @return true if no rows were rejected */
+	public boolean isEmpty() {
+		return size == 0;
+	}
+
+	/** @return Row index of the i-th rejection */
+	public int row(int i) {
+		checkIndex(i);
+		return rows[i];
+	}
+
+	/** @return Reason of the i-th rejection */
+	public Reason reason(int i) {
+		checkIndex(i);
+		return REASONS[reasons[i]];
+	}
+
+	/**
+	 * Counts rejections per reason.
+	 * @return Array indexed by Reason ordinal
+	*/
+	public int[] countsByReason() {
+		int[] counts = new int[REASONS.length];
+		for (int i = 0; i < size; i++) {
+			counts[reasons[i]]++;
+		}
+		return counts;
+	}
+
+	private void checkIndex(int i) {
+		if (i < 0 || i >= size) {
+			throw new IndexOutOfBoundsException("Rejection " + i + " of " + size);
+		}
+	}
+
+	/**
+	 * Returns a one-line summary, e.g. "3 rejected [BAD_ACCOUNT_FORMAT=2, UNKNOWN_TYPE=1]"
+	*/
+	@Override
+	public String toString() {
+		StringBuilder sb = new StringBuilder();
+		sb.append(size).append(" rejected [");
+		int[] counts = countsByReason();
+		boolean first = true;
+		for (Reason reason : REASONS) {
+			if (counts[reason.ordinal()] > 0) {
+				if (!first) {
+					sb.append(", ");
+				}
+				sb.append(reason).append('=').append(counts[reason.ordinal()]);
+				first = false;
+			}
+		}
+		return sb.append(']').toString();
+	}
+}
@@ -48,9 +48,7 @@ public class ScannerBasics {
         BigDecimal amount = scanner.nextBigDecimal();
         
         // Calculate VAT (15%)
-        BigDecimal vatRate = new BigDecimal("15.00");
-        BigDecimal hundred = new BigDecimal("100.00");
-        BigDecimal vat = amount.multiply(vatRate).divide(hundred, 2, java.math.RoundingMode.HALF_UP);
+        BigDecimal vat = VatEngine.calculateVat(amount);
         BigDecimal total = vat.add(amount);
         
         System.out.println("\n--- TRANSACTION SUMMARY ---");
@@ -0,0 +1,156 @@
+package com.fintech.foundations;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Time-ordered 64-bit ID generator (Snowflake layout), lock-free across threads.
+ *
+ * Bit layout (most significant first):
+ * - 1 bit:   sign (always 0, so IDs are positive)
+ * - 41 bits: milliseconds since 2026-01-01T00:00Z (about 69 years)
+ * - 10 bits: node ID (0-1023, one per JVM/server)
+ * - 12 bits: sequence within the millisecond (4096 IDs per ms per node)
+ *
+ * Why not UUID.randomUUID()?
+ * - UUID goes through SecureRandom (slow, can contend between threads)
+ * - A UUID String costs ~100 bytes per transaction; a long costs 8
+ * - Snowflake IDs sort by creation time, so stores can index by insertion order for free
+ *
+ * Thread safety: the last issued ID lives in one AtomicLong and every
+ * new ID is claimed with compare-and-set - no locks, no duplicates.
+ * If the wall clock moves backwards, or 4096 IDs are used up within one
+ * millisecond, the generator borrows from the next millisecond instead of
+ * waiting, so IDs stay unique and strictly increasing.
+ *
+ * @author Jesse De Oliveira
+ * @version 1.0
+ * @since 2026-10-18
+ */
+public class SnowflakeIdGenerator implements TransactionIdGenerator {
+
+	/** Custom epoch: 2026-01-01T00:00:00Z in epoch millis */
+	public static final long EPOCH_MILLIS = 1_767_225_600_000L;
+
+	private static final int NODE_BITS = 10;
+	private static final int SEQUENCE_BITS = 12;
+
+	/** Largest node ID (1023) */
+	public static final int MAX_NODE_ID = (1 << NODE_BITS) - 1;
+
+	private static final long SEQUENCE_MASK = (1L << SEQUENCE_BITS) - 1;
+	private static final int TIMESTAMP_SHIFT = NODE_BITS + SEQUENCE_BITS;
+
+	/** Node ID pre-shifted into position */
+	private final long nodeBits;
+
+	/** Last ID handed out (0 = none yet) */
+	private final AtomicLong lastId = new AtomicLong();
+
+	/**
+	 * Creates a generator for one node.
+	 *
+	 * @param nodeId Unique node number (0-1023)
+	 * @throws IllegalArgumentException if nodeId is out of range
+	*/
+	public SnowflakeIdGenerator(int nodeId) {
+		if (nodeId < 0 || nodeId > MAX_NODE_ID) {
+			throw new IllegalArgumentException(
+				"Node ID must be between 0 and " + MAX_NODE_ID + ". Got: " + nodeId
+			);
+		}
+		this.nodeBits = (long) nodeId << SEQUENCE_BITS;
+	}
+
+	/**
+	 * Generates the next ID (lock-free, allocation-free).
+	 * @return Unique, strictly increasing ID
+	*/
+	@Override
+	public long nextId() {
+		while (true) {
+			long previous = lastId.get();
+			long previousMillis = previous >>> TIMESTAMP_SHIFT;
+			long nowMillis = System.currentTimeMillis() - EPOCH_MILLIS;
+
+			long next;
+			if (nowMillis > previousMillis) {
+				next = (nowMillis << TIMESTAMP_SHIFT) | nodeBits;  // New millisecond, sequence 0
+			} else if ((previous & SEQUENCE_MASK) < SEQUENCE_MASK) {
+				next = previous + 1;  // Same millisecond (or clock went back), next sequence
+			} else {
+				next = ((previousMillis + 1) << TIMESTAMP_SHIFT) | nodeBits;  // Sequence used up, borrow next ms
+			}
+
+			if (lastId.compareAndSet(previous, next)) {
+				return next;
+			}
+			// Another thread claimed an ID first - retry with its value
+		}
+	}
+
+	//===========================================
+	//DECODING HELPERS
+	//===========================================
+
+	/** @return Epoch millis at which the ID was generated */
+	public static long timestampMillis(long id) {
+		return (id >>> TIMESTAMP_SHIFT) + EPOCH_MILLIS;
+	}
+
+	/** @return Node ID encoded in the ID */
+	public static int nodeId(long id) {
+		return (int) ((id >>> SEQUENCE_BITS) & MAX_NODE_ID);
+	}
+
+	/** @return Sequence number within the millisecond */
+	public static int sequence(long id) {
+		return (int) (id & SEQUENCE_MASK);
+	}
+
+	/**
+	 * Test cases
+	 */
+	public static void main(String[] args) throws InterruptedException {
+		SnowflakeIdGenerator generator = new SnowflakeIdGenerator(7);
+
+		// Test 1: Decode an ID
+		long id = generator.nextId();
+		System.out.println("ID: " + TransactionIdGenerator.format(id));
+		System.out.println("Node: " + nodeId(id) + ", sequence: " + sequence(id)
+			+ ", created: " + java.time.Instant.ofEpochMilli(timestampMillis(id)));
+		// Expected: node 7, created now
+
+		// Test 2: Text form round-trips
+		System.out.println("Round trip: " + (TransactionIdGenerator.parse(TransactionIdGenerator.format(id)) == id));
+		// Expected: true
+
+		// Test 3: 8 threads x 100,000 IDs - all unique and increasing per thread
+		int perThread = 100_000;
+		long[][] ids = new long[8][perThread];
+		Thread[] threads = new Thread[8];
+		boolean[] ordered = {true};
+		for (int t = 0; t < threads.length; t++) {
+			final long[] mine = ids[t];
+			threads[t] = new Thread(() -> {
+				for (int i = 0; i < perThread; i++) {
+					mine[i] = generator.nextId();
+					if (i > 0 && mine[i] <= mine[i - 1]) {
+						ordered[0] = false;
+					}
+				}
+			});
+			threads[t].start();
+		}
+		for (Thread thread : threads) {
+			thread.join();
+		}
+		java.util.HashSet<Long> unique = new java.util.HashSet<>();
+		for (long[] mine : ids) {
+			for (long value : mine) {
+				unique.add(value);
+			}
+		}
+		System.out.println("Unique IDs: " + unique.size() + " / " + (8 * perThread));
+		System.out.println("Increasing per thread: " + ordered[0]);
+		// Expected: 800000 / 800000, true
+	}
+}
@@ -1,6 +1,5 @@
 package com.fintech.foundations;
 import java.math.BigDecimal;
-import java.math.RoundingMode;
 
 public class TaxCalculator {
 	public static void main(String[] args) {
@@ -8,29 +7,28 @@ public class TaxCalculator {
 		BigDecimal amount = new BigDecimal("5000.00");
 		String transactionType = "payshap"; // try: international, card_purchase, pashap, eft
 		
-		//Determine tax rate (South African VAT)
-		BigDecimal taxRate;
+		//Determine tax rate (South African VAT) from the central rate table
+		TransactionType type;
+		try {
+			type = TransactionType.fromCode(transactionType);
+		} catch (IllegalArgumentException e) {
+			// Unknown codes are rejected, never taxed at 0%
+			System.out.println("Transaction rejected: " + e.getMessage());
+			return;
+		}
+		// Expected for "pashap": Transaction rejected: Invalid transaction type.
+		//   Must be: payshap, eft, international or card_purchase. Got: pashap
+		BigDecimal taxRate = VatEngine.ratePercent(type);
 		
-		if (transactionType.equals("international")) {
-			taxRate = new BigDecimal("15.00");  // 15% VAT
-			System.out.println("Transaction: International Purchase (VAT applies)");
-		} else if (transactionType.equals("card_purchase")) {
-			taxRate = new BigDecimal("15.00");
-			System.out.println("Transaction: Card Purchase (VAT applies)");
-		} else if (transactionType.equals("payshap")) {
-			taxRate = new BigDecimal("0.00");
-			System.out.println("Transaction: Payshap (No VAT - person-to-person transfer)");
-		} else if (transactionType.equals("eft")) {
-			taxRate = new BigDecimal("0.00"); // No VAT on bank transfers
-			System.out.println("Transaction: EFT (No VAT - bank transfer)");
+		if (type.isVatable()) {
+			System.out.println("Transaction: " + type.getDescription() + " (VAT applies)");
 		} else {
-			taxRate = new BigDecimal("0.00");
-			System.out.println("Transaction: Unknown");
+			System.out.println("Transaction: " + type.name() + " (No VAT - " 
+				+ type.getDescription().toLowerCase() + ")");
 		}
 		
 		// Calculate VAT: amount * (rate / 100)
-		BigDecimal hundred = new BigDecimal("100");
-		BigDecimal vat = amount.multiply(taxRate).divide(hundred, 2, RoundingMode.HALF_UP);
+		BigDecimal vat = VatEngine.calculateVat(amount, type);
 		
 		// Calculate total
 		BigDecimal total = amount.add(vat);
@@ -1,9 +1,8 @@
 package com.fintech.foundations;
 import java.math.BigDecimal;
-import java.math.RoundingMode;
 import java.time.LocalDateTime;
-import java.time.format.DateTimeFormatter;
-import java.util.UUID;
+import java.util.concurrent.atomic.AtomicReferenceFieldUpdater;
+import com.fintech.foundations.format.ReceiptRenderer;
 
 
 /**
@@ -21,17 +20,23 @@ import java.util.UUID;
  * @since 2026-01-30
  */
 
-public class Transaction {
+public class Transaction implements TransactionView {
 
 	//===========================================
 	//FIELDS (Private -  Encapsulation Principle)
 	//===========================================
 	
-	/** Unique transaction identifier (e.g., TXN-abc123) */
-	private String transactionId;
+	/** 
+	 * Shared ID generator for transactions created without an explicit one
+	 * (node 0, time-ordered, lock-free - see SnowflakeIdGenerator) 
+	*/
+	private static final TransactionIdGenerator DEFAULT_ID_GENERATOR = new SnowflakeIdGenerator(0);
+	
+	/** Unique transaction identifier (64-bit, rendered as TXN-0000a1b2c3d4e5f6) */
+	private long transactionId;
 	
-	/** Transaction amount in ZAR (South African Rand)*/
-	private BigDecimal amount;
+	/** Transaction amount in ZAR cents (South African Rand, see Money)*/
+	private long amountCents;
 	
 	/** 
 	 * Transaction type:
@@ -40,13 +45,13 @@ public class Transaction {
 	 * -international: Foreign Exchange (15% VAT)
 	 * -card_purchase: Merchant transaction (15% VAT)
 	*/
-	private String type;
+	private TransactionType type;
 	
 	/** Timestamp when transaction was created */
 	private LocalDateTime timestamp;
 	
-	/** VAT amount (15% for applicable transactions, 0% for transfers) */
-	private BigDecimal vatAmount;
+	/** VAT amount in cents (15% for applicable transactions, 0% for transfers) */
+	private long vatCents;
 	
 	/** Account number this transaction belongs to */
 	private String accountNumber;
@@ -56,8 +61,15 @@ public class Transaction {
 	 * - pending: Awaiting processing
 	 * - completed: Successfully processed
 	 * - failed: Processing failed 
+	 *
+	 *Changed only by compare-and-set (STATUS), so two settlement threads
+	 *racing from pending cannot both win.
 	*/
-	private String status;
+	private volatile TransactionStatus status;
+	
+	/** CAS access to status (no AtomicReference object per transaction) */
+	private static final AtomicReferenceFieldUpdater<Transaction, TransactionStatus> STATUS =
+		AtomicReferenceFieldUpdater.newUpdater(Transaction.class, TransactionStatus.class, "status");
 	
 	//===========================================
 	//CONSTRUCTOR
@@ -72,9 +84,23 @@ public class Transaction {
 	 *@param accountNumber The account number (8 digits, e.g., "12345678")
 	 *@param amount Transaction amount in ZAR (must be positive)
 	 *@param type Transaction type (payshap/eft/international/card_purchase)
-	 *@throws IllegalArgumentException if inputs are invalid
+	 *@throws IllegalArgumentException if inputs are invalid (including unknown types)
 	*/
 	public Transaction(String accountNumber, BigDecimal amount, String type) {
+		this(accountNumber, amount, type, DEFAULT_ID_GENERATOR);
+	}
+	
+	/** 
+	 *Creates a new Transaction using a specific ID generator.
+	 *
+	 *@param accountNumber The account number (8 digits, e.g., "12345678")
+	 *@param amount Transaction amount in ZAR (must be positive)
+	 *@param type Transaction type (payshap/eft/international/card_purchase)
+	 *@param idGenerator Source of the transaction ID (e.g., one SnowflakeIdGenerator per node)
+	 *@throws IllegalArgumentException if inputs are invalid (including unknown types)
+	*/
+	public Transaction(String accountNumber, BigDecimal amount, String type,
+			TransactionIdGenerator idGenerator) {
 		//====================================================
 		//VALIDATION (Critical for fintech - prevent bad data)
 		//====================================================
@@ -85,22 +111,34 @@ public class Transaction {
 				"Transaction amount must be positive. Got: " + amount
 			);
 		}
+		// Validate amount is whole cents and fits the ledger
+		long amountCents;
+		try {
+			amountCents = Money.toCents(amount);
+		} catch (ArithmeticException e) {
+			throw new IllegalArgumentException(
+				"Transaction amount must be in whole cents. Got: " + amount
+			);
+		}
 		// Validate account number exists
 		if (accountNumber == null || accountNumber.trim().isEmpty()) {
 			throw new IllegalArgumentException(
 				"Account number cannot be empty"	
 			);
 		}
-		// Validate account number format (8 digits)
-		if (!accountNumber.matches("\\d{8}")) {
+		// Validate account number format (8 digits, no regex compile per call)
+		if (!isValidAccountNumber(accountNumber)) {
 			throw new IllegalArgumentException(
 				"Account number must be 8 digits. Got: " + accountNumber	
 			);
 		}
-		// Validate transaction type exists
-		if (type == null || type.trim().isEmpty()) {
+		// Validate transaction type exists and is known
+		TransactionType transactionType = TransactionType.fromCode(type);
+		
+		// Validate ID generator exists
+		if (idGenerator == null) {
 			throw new IllegalArgumentException(
-				"Transaction type cannot be empty"	
+				"ID generator cannot be null"	
 			);
 		}
 		
@@ -108,35 +146,66 @@ public class Transaction {
         // INITIALIZATION
         // ───────────────────────────────────────────────────────────
 		
-		this.transactionId = generateTransactionId();
+		this.transactionId = idGenerator.nextId();
 		this.accountNumber = accountNumber;
-		this.amount = amount;
-		this.type = type.toLowerCase().trim();
+		this.amountCents = amountCents;
+		this.type = transactionType;
 		this.timestamp = LocalDateTime.now();
-		this.status = "pending";
-		this.vatAmount = calculateVAT();	
+		this.status = TransactionStatus.PENDING;
+		this.vatCents = calculateVAT();	
 	}
+	
+	/** 
+	 *Creates a Transaction from fields that were already validated
+	 *(used by TransactionBatch, which validates whole columns in one pass).
+	 *
+	 *@param transactionId Pre-generated ID
+	 *@param accountNumber Valid 8-digit account number
+	 *@param amountCents Positive amount in cents
+	 *@param type Transaction type
+	 *@param timestamp Creation time (shared by a batch)
+	*/
+	Transaction(long transactionId, String accountNumber, long amountCents,
+			TransactionType type, LocalDateTime timestamp) {
+		this.transactionId = transactionId;
+		this.accountNumber = accountNumber;
+		this.amountCents = amountCents;
+		this.type = type;
+		this.timestamp = timestamp;
+		this.status = TransactionStatus.PENDING;
+		this.vatCents = calculateVAT();
+	}
+	
 	//====================================================
-	//PRIVATE HELPER METHODS (Internal logic, not exposed)
+	//VALIDATION HELPERS
 	//====================================================
 	
 	/** 
-	 *Generates a unique transaction ID using UUID.
+	 *Checks the account number format: exactly 8 ASCII digits.
 	 *
-	 *Format: TXN-{UUID}
-	 *Example: TXN-a1b2c3d4-e5f6-7890-abcd-ef1234567890
+	 *Hand-written instead of matches("\\d{8}"), which compiles
+	 *a new regex Pattern on every call.
 	 *
-	 *Why UUID? 
-	 * - Globally unique (collision probability ~0) 
-	 * - No database needed for ID generation
-	 * - Industry standard for distributed systems
-	 * 
-	 * @return Unique transaction ID
+	 *@param accountNumber Account number to check (may be null)
+	 *@return true if valid
 	*/
-	private String generateTransactionId() {
-		return "TXN-" + UUID.randomUUID().toString();
+	public static boolean isValidAccountNumber(String accountNumber) {
+		if (accountNumber == null || accountNumber.length() != 8) {
+			return false;
+		}
+		for (int i = 0; i < 8; i++) {
+			char c = accountNumber.charAt(i);
+			if (c < '0' || c > '9') {
+				return false;
+			}
+		}
+		return true;
 	}
 	
+	//====================================================
+	//PRIVATE HELPER METHODS (Internal logic, not exposed)
+	//====================================================
+	
 	/** 
 	 *Calculates VAT based on South African tax regulations (SARS).
 	 *
@@ -151,29 +220,15 @@ public class Transaction {
 	 * - international (forex): 15% VAT
 	 * - card_purchase (merchant): 15% VAT
 	 * 
-	 * @return VAT amount in ZAR	
+	 * Rates come from the central VatEngine rate table.
+	 * 
+	 * @return VAT amount in cents	
 	*/
-	private BigDecimal calculateVAT() {
-		BigDecimal vatRate;
-		
-		// Determine VAT rate based on transaction type
-		switch (this.type) {
-		case "international":
-		case "card_purcahse":
-			vatRate = new BigDecimal("15.00"); // 15% standard VAT
-			break;
-		case "payshap":
-		case "eft":
-		default:
-			vatRate = new BigDecimal("0.00"); // Exempt from VAT 
-			break;
-		}
+	private long calculateVAT() {
+		// Calculate: amount * (rate / 10000 basis points), HALF_UP to the cent
+		// Example: 100000c * (1500 / 10000) = 15000c (R150)	
 		
-		// Calculate: amount * (vatRate / 100)
-		// Example: R1000 * (15 / 100) = R150	
-		
-		BigDecimal hundred = new BigDecimal("100.00");
-		return amount.multiply(vatRate).divide(hundred, 2, RoundingMode.HALF_UP);
+		return VatEngine.vatCents(type, amountCents);
 	}
 	
 	//=========================================
@@ -181,10 +236,22 @@ public class Transaction {
 	//=========================================
 	
 	/** 
-	 * Gets the transaction ID
-	 *@return Transaction ID (e.g., "TXN-abc123...") 
+	 * Gets the transaction ID as text (rendered on demand).
+	 *
+	 * Format: TXN-{16 hex digits}
+	 * Example: TXN-0005a1b2c3d40000
+	 * 
+	 *@return Transaction ID (e.g., "TXN-0005a1b2c3d40000") 
 	*/
 	public String getTransactionId() {
+		return TransactionIdGenerator.format(transactionId);
+	}
+	
+	/** 
+	 * Gets the numeric transaction ID (time-ordered, allocation-free).
+	 *@return 64-bit transaction ID 
+	*/
+	public long getId() {
 		return transactionId;
 	}
 	
@@ -193,14 +260,30 @@ public class Transaction {
 	 * @return amount in ZAR 
 	*/
 	public BigDecimal getAmount() {
-		return amount;
+		return Money.toBigDecimal(amountCents);
+	}
+	
+	/** 
+	 * Gets the transaction amount in cents (allocation-free).
+	 * @return amount in ZAR cents 
+	*/
+	public long getAmountCents() {
+		return amountCents;
 	}
 	
 	/** 
 	 * Gets the transaction type.
-	 * @return Type (payshap/eft/international/card_purcahse) 
+	 * @return Type (payshap/eft/international/card_purchase) 
 	*/
 	public String getType() {
+		return type.getCode();
+	}
+	
+	/** 
+	 * Gets the transaction type as an enum.
+	 * @return Type constant (e.g., TransactionType.PAYSHAP) 
+	*/
+	public TransactionType getTransactionType() {
 		return type;
 	}
 	
@@ -217,7 +300,15 @@ public class Transaction {
 	 * @return VAT in ZAR (0.00 for exempt transactions) 
 	*/
 	public BigDecimal getVatAmount() {
-		return vatAmount;
+		return Money.toBigDecimal(vatCents);
+	}
+	
+	/**
+	 * Gets the VAT amount in cents (allocation-free).
+	 * @return VAT in ZAR cents (0 for exempt transactions) 
+	*/
+	public long getVatCents() {
+		return vatCents;
 	}
 	
 	/**
@@ -233,6 +324,14 @@ public class Transaction {
 	 * @return Status (pending/completed/failed)
 	*/
 	public String getStatus() {
+		return status.getCode();
+	}
+	
+	/**
+	 * Gets the transaction status as an enum.
+	 * @return Status constant (e.g., TransactionStatus.PENDING)
+	*/
+	public TransactionStatus getTransactionStatus() {
 		return status;
 	}
 	
@@ -245,7 +344,7 @@ public class Transaction {
 	 *  @return Total amount (amount + VAT) in ZAR	
 	*/
 	public BigDecimal getTotalAmount() {
-		return amount.add(vatAmount);
+		return Money.toBigDecimal(Math.addExact(amountCents, vatCents));
 	}
 	
 	//=================================================
@@ -268,31 +367,60 @@ public class Transaction {
 	*/
 	
 	public void setStatus(String newStatus) {
-		String status = newStatus.toLowerCase().trim();
-		
-		// Validate status value
-		if (!status.equals("pending") &&
-			!status.equals("completed") &&
-			!status.equals("failed")) {
+		// Validate status value (allocation-free lookup, no toLowerCase().trim())
+		TransactionStatus status = TransactionStatus.lookup(newStatus);
+		if (status == null) {
 			throw new IllegalArgumentException(
 				"Invalid status. Must be: pending, completed or failed. Got: " + newStatus
 			);
 		}
-		
-		// Validate status transition 
-		if (this.status.equals("completed") && !status.equals("completed")) {
-			throw new IllegalStateException(
-				"Cannot change status of completed transaction"		
+		setStatus(status);
+	}
+	
+	/**
+	 * Updates transaction status atomically (same rules as setStatus(String)).
+	 * 
+	 * @param newStatus The new status
+	 * @throws IllegalArgumentException if status is null
+	 * @throws IllegalStateException if transition is not allowed
+	*/
+	public void setStatus(TransactionStatus newStatus) {
+		if (newStatus == null) {
+			throw new IllegalArgumentException(
+				"Invalid status. Must be: pending, completed or failed. Got: null"
 			);
 		}
-		
-		if (this.status.equals("failed") && !status.equals("failed")) {
+		// Validate status transition against the current value; retry if another thread changed it first
+		while (true) {
+			TransactionStatus current = this.status;
+			if (!current.canTransitionTo(newStatus)) {
+				throw new IllegalStateException(
+					"Cannot change status of " + current.getCode() + " transaction"
+				);
+			}
+			if (current == newStatus || STATUS.compareAndSet(this, current, newStatus)) {
+				return;
+			}
+		}
+	}
+	
+	/**
+	 * Moves the status from an expected value to a new one, if it still has the
+	 * expected value. Does not throw when another thread got there first.
+	 * Time: O(1), lock-free
+	 * 
+	 * @param expected Status the caller believes the transaction is in
+	 * @param newStatus The new status
+	 * @return true if the status was expected (and is now newStatus), false otherwise
+	 * @throws IllegalStateException if expected -> newStatus breaks the transition rules
+	*/
+	public boolean compareAndSetStatus(TransactionStatus expected, TransactionStatus newStatus) {
+		if (!expected.canTransitionTo(newStatus)) {
 			throw new IllegalStateException(
-				"Cannot change status of failed transaction"	
+				"Cannot change status of " + expected.getCode() + " transaction"
 			);
 		}
-		
-		this.status = status;
+		return expected == newStatus ? this.status == expected : STATUS.compareAndSet(this, expected, newStatus);
 	}
 	
 	//=================================================
@@ -300,36 +428,11 @@ public class Transaction {
 	//=================================================
 	
 	/**
-	 * Displays transaction details in a formatted receipt. 
+	 * Displays transaction details in a formatted receipt.
+	 * One print call per receipt (see ReceiptRenderer for batch output).
 	*/
 	public void displayReceipt() {
-		DateTimeFormatter formatter = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss");
-		
-		System.out.println("\n╔════════════════════════════════════════════╗");
-        System.out.println("║         TRANSACTION RECEIPT                ║");
-        System.out.println("║    Cape Town Fintech Portfolio Demo       ║");
-        System.out.println("╠════════════════════════════════════════════╣");
-        System.out.println("   Transaction ID: " + transactionId);
-        System.out.println("   Account: " + accountNumber);
-        System.out.println("   Date: " + timestamp.format(formatter));
-        System.out.println("   Type: " + type.toUpperCase());
-        System.out.println("   Status: " + status.toUpperCase());
-        System.out.println("─────────────────────────────────────────────");
-        System.out.println("   Amount: R " + amount);
-        System.out.println("   VAT (15%): R" + vatAmount);
-        System.out.println("─────────────────────────────────────────────");
-        System.out.println("   TOTAL: R " + getTotalAmount());
-        System.out.println("╚════════════════════════════════════════════╝");
-	
-	
-		// Show VAT explanation
-		if (vatAmount.compareTo(BigDecimal.ZERO) > 0) {
-			System.out.println("\n VAT applied: South African standard rate (15%)");
-		} else {
-			System.out.println("\n VAT exempt: " + 
-				(type.equals("payshap") ? "Person-to-person transfer" : "Bank transfer"));
-		}
-		System.out.println();
+		System.out.print(new ReceiptRenderer().render(this));
 	}
 	
 	//=================================================
@@ -345,7 +448,7 @@ public class Transaction {
 	public String toString() {
 		return String.format(
 			"Transaction[id=%s, account=%s, amount=%s, type=%s, status=%s, vat=%s]",
-			transactionId, accountNumber, amount, type, status, vatAmount
+			getTransactionId(), accountNumber, getAmount(), type.getCode(), status.getCode(), getVatAmount()
 		);							
 	}
 }
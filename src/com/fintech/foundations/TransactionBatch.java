@@ -0,0 +1,228 @@
+package com.fintech.foundations;
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.LocalDateTime;
+import java.util.Arrays;
+
+/**
+ * Builds many Transactions at once from columnar input (bank file imports).
+ *
+ * Constructing Transactions one by one validates each row with
+ * exceptions, and bad rows cost an exception + stack trace each.
+ * This builder validates whole columns in a single pass:
+ * - Account numbers: hand-written 8-digit check (no regex)
+ * - Types: allocation-free lookup (no toLowerCase().trim())
+ * - Bad rows go to a reusable RejectionReport instead of throwing
+ * - One timestamp is taken for the whole batch
+ *
+ * Usage:
+ * <pre>
+ * RejectionReport report = new RejectionReport();
+ * Transaction[] accepted = new TransactionBatch()
+ *     .accountNumbers(accounts)
+ *     .amountsCents(amounts)
+ *     .types(types)
+ *     .build(report);
+ * </pre>
+ *
+ * @author Jesse De Oliveira
+ * @version 1.0
+ * @since 2026-10-18
+ */
+public class TransactionBatch {
+
+	/** Shared generator for batches built without an explicit one */
+	private static final TransactionIdGenerator DEFAULT_ID_GENERATOR = new SnowflakeIdGenerator(1);
+
+	private String[] accountNumbers;
+	private long[] amountsCents;
+	private BigDecimal[] amounts;
+	private String[] types;
+	private TransactionIdGenerator idGenerator = DEFAULT_ID_GENERATOR;
+
+	/**
+	 * Sets the account number column.
+	 * @param accountNumbers One 8-digit account number per row
+	 * @return this builder
+	*/
+	public TransactionBatch accountNumbers(String[] accountNumbers) {
+		this.accountNumbers = accountNumbers;
+		return this;
+	}
+
+	/**
+	 * Sets the amount column in cents (replaces any BigDecimal column).
+	 * @param amountsCents One amount in ZAR cents per row
+	 * @return this builder
+	*/
+	public TransactionBatch amountsCents(long[] amountsCents) {
+		this.amountsCents = amountsCents;
+		this.amounts = null;
+		return this;
+	}
+
+	/**
+	 * Sets the amount column in ZAR (replaces any cents column).
+	 * @param amounts One amount per row (whole cents)
+	 * @return this builder
+	*/
+	public TransactionBatch amounts(BigDecimal[] amounts) {
+		this.amounts = amounts;
+		this.amountsCents = null;
+		return this;
+	}
+
+	/**
+	 * Sets the type column.
+	 * @param types One type code per row (payshap/eft/international/card_purchase)
+	 * @return this builder
+	*/
+	public TransactionBatch types(String[] types) {
+		this.types = types;
+		return this;
+	}
+
+	/**
+	 * Sets the ID generator (default: shared node-1 Snowflake generator).
+	 * @param idGenerator Source of transaction IDs
+	 * @return this builder
+	*/
+	public TransactionBatch idGenerator(TransactionIdGenerator idGenerator) {
+		if (idGenerator == null) {
+			throw new IllegalArgumentException("ID generator cannot be null");
+		}
+		this.idGenerator = idGenerator;
+		return this;
+	}
+
+	/**
+	 * Validates every row and creates the accepted transactions.
+	 *
+	 * Rows are checked in the same order as the Transaction constructor
+	 * (amount, account, type); only the first failure per row is reported.
+	 * The report is reset before use.
+	 *
+	 * Time: O(n), one pass
+	 *
+	 * @param report Receives rejected rows (reusable between batches)
+	 * @return Accepted transactions in input order
+	 * @throws IllegalStateException if a column is missing or the columns differ in length
+	*/
+	public Transaction[] build(RejectionReport report) {
+		if (accountNumbers == null || types == null || (amountsCents == null && amounts == null)) {
+			throw new IllegalStateException("Batch needs account number, amount and type columns");
+		}
+		int n = accountNumbers.length;
+		int amountRows = amountsCents != null ? amountsCents.length : amounts.length;
+		if (amountRows != n || types.length != n) {
+			throw new IllegalStateException("Column lengths differ: accounts=" + n
+				+ ", amounts=" + amountRows + ", types=" + types.length);
+		}
+
+		report.reset();
+		Transaction[] accepted = new Transaction[n];
+		int count = 0;
+		LocalDateTime timestamp = LocalDateTime.now();
+
+		for (int row = 0; row < n; row++) {
+			// Amount
+			long cents;
+			if (amountsCents != null) {
+				cents = amountsCents[row];
+				if (cents <= 0) {
+					report.reject(row, RejectionReport.Reason.NON_POSITIVE_AMOUNT);
+					continue;
+				}
+			} else {
+				BigDecimal amount = amounts[row];
+				if (amount == null || amount.signum() <= 0) {
+					report.reject(row, RejectionReport.Reason.NON_POSITIVE_AMOUNT);
+					continue;
+				}
+				cents = toCentsOrNegative(amount);
+				if (cents < 0) {
+					report.reject(row, RejectionReport.Reason.BAD_AMOUNT_SCALE);
+					continue;
+				}
+			}
+
+			// Account number
+			String accountNumber = accountNumbers[row];
+			if (accountNumber == null || accountNumber.isBlank()) {
+				report.reject(row, RejectionReport.Reason.MISSING_ACCOUNT);
+				continue;
+			}
+			if (!Transaction.isValidAccountNumber(accountNumber)) {
+				report.reject(row, RejectionReport.Reason.BAD_ACCOUNT_FORMAT);
+				continue;
+			}
+
+			// Type
+			TransactionType type = TransactionType.lookup(types[row]);
+			if (type == null) {
+				report.reject(row, RejectionReport.Reason.UNKNOWN_TYPE);
+				continue;
+			}
+
+			accepted[count++] = new Transaction(idGenerator.nextId(), accountNumber, cents, type, timestamp);
+		}
+
+		return count == n ? accepted : Arrays.copyOf(accepted, count);
+	}
+
+	/**
+	 * Converts a positive amount to cents without throwing.
+	 * @return cents, or -1 if the amount has fractions of a cent or overflows
+	*/
+	private static long toCentsOrNegative(BigDecimal amount) {
+		// More than 16 digits before the decimal point could overflow a long of cents
+		if (amount.precision() - amount.scale() > 16) {
+			return -1;
+		}
+		// Extra decimals are only acceptable if they are zeros (e.g., 10.500)
+		if (amount.scale() > 2 && amount.setScale(2, RoundingMode.DOWN).compareTo(amount) != 0) {
+			return -1;
+		}
+		return amount.movePointRight(2).longValue();
+	}
+
+	/**
+	 * Test cases
+	 */
+	public static void main(String[] args) {
+		String[] accounts = {"12345678", "1234567", "87654321", "", "11111111", "22222222"};
+		long[] amounts = {100_000, 5_000, -100, 2_000, 19_999, 50_000};
+		String[] types = {"payshap", "eft", "eft", "card_purchase", " Card_Purchase ", "bitcoin"};
+
+		RejectionReport report = new RejectionReport();
+		Transaction[] accepted = new TransactionBatch()
+			.accountNumbers(accounts)
+			.amountsCents(amounts)
+			.types(types)
+			.build(report);
+
+		// Test 1: Accepted rows
+		System.out.println("Accepted: " + accepted.length);
+		for (Transaction transaction : accepted) {
+			System.out.println("  " + transaction);
+		}
+		// Expected: 2 (rows 0 and 4, row 4 with R 30.00 VAT)
+
+		// Test 2: Rejection report
+		System.out.println("Report: " + report);
+		for (int i = 0; i < report.size(); i++) {
+			System.out.println("  Row " + report.row(i) + ": " + report.reason(i).getMessage());
+		}
+		// Expected: rows 1 (format), 2 (amount), 3 (missing), 5 (type)
+
+		// Test 3: BigDecimal column with a fraction of a cent
+		BigDecimal[] decimals = {new BigDecimal("10.50"), new BigDecimal("10.005"), new BigDecimal("7.000")};
+		accepted = new TransactionBatch()
+			.accountNumbers(new String[] {"12345678", "12345678", "12345678"})
+			.amounts(decimals)
+			.types(new String[] {"eft", "eft", "eft"})
+			.build(report);
+		System.out.println("BigDecimal batch: " + accepted.length + " accepted, " + report);
+		// Expected: 2 accepted, 1 rejected [BAD_AMOUNT_SCALE=1]
+	}
+}
@@ -0,0 +1,63 @@
+package com.fintech.foundations;
+
+/**
+ * Source of unique 64-bit transaction IDs.
+ *
+ * IDs are stored as a primitive long (8 bytes, no String per transaction)
+ * and only rendered as text ("TXN-...") when printed.
+ *
+ * Implementations must be thread-safe.
+ *
+ * @author Jesse De Oliveira
+ * @version 1.0
+ * @since 2026-10-18
+ * @see SnowflakeIdGenerator
+ */
+public interface TransactionIdGenerator {
+
+	/** Prefix for the text form of an ID */
+	String PREFIX = "TXN-";
+
+	/**
+	 * Generates the next unique ID.
+	 * @return New transaction ID
+	*/
+	long nextId();
+
+	/**
+	 * Renders an ID as text: "TXN-" + 16 hex digits.
+	 *
+	 * Fixed-width hex keeps the text form sortable in the same
+	 * order as the numeric ID (e.g., TXN-0000a1b2c3d4e5f6).
+	 *
+	 * @param id Transaction ID
+	 * @return Text form of the ID
+	*/
+	static String format(long id) {
+		char[] chars = new char[PREFIX.length() + 16];
+		PREFIX.getChars(0, PREFIX.length(), chars, 0);
+		for (int i = chars.length - 1; i >= PREFIX.length(); i--) {
+			chars[i] = Character.forDigit((int) (id & 0xF), 16);
+			id >>>= 4;
+		}
+		return new String(chars);
+	}
+
+	/**
+	 * Parses the text form produced by format().
+	 *
+	 * @param text ID text (e.g., "TXN-0000a1b2c3d4e5f6")
+	 * @return Numeric transaction ID
+	 * @throws IllegalArgumentException if the text is not a valid ID
+	*/
+	static long parse(String text) {
+		if (text == null || !text.startsWith(PREFIX) || text.length() != PREFIX.length() + 16) {
+			throw new IllegalArgumentException("Invalid transaction ID. Got: " + text);
+		}
+		try {
+			return Long.parseUnsignedLong(text.substring(PREFIX.length()), 16);
+		} catch (NumberFormatException e) {
+			throw new IllegalArgumentException("Invalid transaction ID. Got: " + text);
+		}
+	}
+}
@@ -0,0 +1,191 @@
+package com.fintech.foundations;
+import java.math.BigDecimal;
+import java.util.Arrays;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Live transactions by ID, with bulk status transitions for settlement.
+ *
+ * Settlement runs move whole batches of transaction IDs from PENDING to
+ * COMPLETED or FAILED, often from several threads at once (a payment
+ * confirmation feed and a timeout sweeper racing on the same IDs).
+ * Calling setStatus per ID throws an exception for every ID the other
+ * thread already settled. transitionAll instead:
+ * - checks the transition rules once for the whole batch
+ * - compare-and-sets each transaction's status (lock-free, see Transaction)
+ * - records IDs it could not move in a reusable RejectionReport
+ *   (UNKNOWN_TRANSACTION / STATUS_CONFLICT) - no exception per item
+ *
+ * Exactly one of two racing transitions wins each transaction; the loser
+ * sees it as a STATUS_CONFLICT.
+ *
+ * Thread safety: all methods may be called concurrently.
+ *
+ * @author Jesse De Oliveira
+ * @version 1.0
+ * @since 2026-10-18
+ */
+public class TransactionRegistry {
+
+	/** Transaction ID → transaction */
+	private final Map<Long, Transaction> transactions = new ConcurrentHashMap<>();
+
+	/**
+	 * Registers a transaction so its ID can be settled.
+	 * @throws IllegalArgumentException if another transaction has the same ID
+	*/
+	public void register(Transaction transaction) {
+		Transaction existing = transactions.putIfAbsent(transaction.getId(), transaction);
+		if (existing != null && existing != transaction) {
+			throw new IllegalArgumentException("Duplicate transaction ID. Got: " + transaction.getTransactionId());
+		}
+	}
+
+	/**
+	 * Registers a batch of transactions (e.g., from TransactionBatch.build).
+	 * @throws IllegalArgumentException if an ID is already registered to another transaction
+	*/
+	public void registerAll(Transaction[] batch) {
+		for (Transaction transaction : batch) {
+			register(transaction);
+		}
+	}
+
+	/** @return Transaction with this ID, or null if not registered */
+	public Transaction get(long id) {
+		return transactions.get(id);
+	}
+
+	/** @return Number of registered transactions */
+	public int size() {
+		return transactions.size();
+	}
+
+	/**
+	 * Moves every listed transaction from one status to another, if it is
+	 * still in the 'from' status.
+	 *
+	 * IDs that cannot be moved are recorded by index into ids (the report is reset first):
+	 * - UNKNOWN_TRANSACTION: no transaction with that ID is registered
+	 * - STATUS_CONFLICT: the transaction is not in 'from' (e.g., another thread settled it)
+	 *
+	 * Time: O(n), lock-free per transaction
+	 *
+	 * @param ids Transaction IDs
+	 * @param from Expected current status
+	 * @param to New status
+	 * @param conflicts Receives IDs that were not moved (reusable between batches)
+	 * @return Number of transactions moved
+	 * @throws IllegalStateException if from -> to breaks the transition rules (e.g., COMPLETED -> PENDING)
+	*/
+	public int transitionAll(long[] ids, TransactionStatus from, TransactionStatus to, RejectionReport conflicts) {
+		if (from == null || to == null) {
+			throw new IllegalArgumentException("Statuses cannot be null");
+		}
+		if (!from.canTransitionTo(to)) {
+			throw new IllegalStateException("Cannot change status of " + from.getCode() + " transaction");
+		}
+		conflicts.reset();
+		int moved = 0;
+		for (int i = 0; i < ids.length; i++) {
+			Transaction transaction = transactions.get(ids[i]);
+			if (transaction == null) {
+				conflicts.reject(i, RejectionReport.Reason.UNKNOWN_TRANSACTION);
+			} else if (transaction.compareAndSetStatus(from, to)) {
+				moved++;
+			} else {
+				conflicts.reject(i, RejectionReport.Reason.STATUS_CONFLICT);
+			}
+		}
+		return moved;
+	}
+
+	/**
+	 * Test cases
+	 */
+	public static void main(String[] args) throws InterruptedException {
+		// Test 1: Same rules and messages as before
+		Transaction payment = new Transaction("12345678", new BigDecimal("100.00"), "payshap");
+		payment.setStatus(" Completed ");
+		payment.setStatus("completed");  // Same status again: allowed
+		try {
+			payment.setStatus("failed");
+			System.out.println("FAIL: allowed completed -> failed");
+		} catch (IllegalStateException e) {
+			System.out.println("Rejected: " + e.getMessage());
+		}
+		// Expected: Rejected: Cannot change status of completed transaction
+		try {
+			payment.setStatus("settled");
+			System.out.println("FAIL: accepted unknown status");
+		} catch (IllegalArgumentException e) {
+			System.out.println("Rejected: " + e.getMessage());
+		}
+		// Expected: Rejected: Invalid status. Must be: pending, completed or failed. Got: settled
+
+		// Test 2: Two threads race every transaction from pending to completed / failed
+		int n = 200_000;
+		String[] accounts = new String[n];
+		long[] amounts = new long[n];
+		String[] types = new String[n];
+		for (int i = 0; i < n; i++) {
+			accounts[i] = String.valueOf(10_000_000 + i);
+			amounts[i] = 1 + i % 100_000;
+			types[i] = (i & 1) == 0 ? "eft" : "card_purchase";
+		}
+		Transaction[] batch = new TransactionBatch().accountNumbers(accounts).amountsCents(amounts)
+			.types(types).build(new RejectionReport());
+		TransactionRegistry registry = new TransactionRegistry();
+		registry.registerAll(batch);
+
+		long[] ids = new long[n + 2];
+		for (int i = 0; i < n; i++) {
+			ids[i] = batch[i].getId();
+		}
+		ids[n] = -1;           // Unknown
+		ids[n + 1] = ids[0];   // Duplicate within the batch
+
+		RejectionReport confirmConflicts = new RejectionReport();
+		RejectionReport timeoutConflicts = new RejectionReport();
+		int[] moved = new int[2];
+		Thread confirmations = new Thread(() ->
+			moved[0] = registry.transitionAll(ids, TransactionStatus.PENDING, TransactionStatus.COMPLETED, confirmConflicts));
+		Thread timeouts = new Thread(() ->
+			moved[1] = registry.transitionAll(ids, TransactionStatus.PENDING, TransactionStatus.FAILED, timeoutConflicts));
+		long start = System.nanoTime();
+		confirmations.start();
+		timeouts.start();
+		confirmations.join();
+		timeouts.join();
+		long nanos = System.nanoTime() - start;
+
+		int completed = 0;
+		int failed = 0;
+		for (Transaction transaction : batch) {
+			if (transaction.getTransactionStatus() == TransactionStatus.COMPLETED) {
+				completed++;
+			} else if (transaction.getTransactionStatus() == TransactionStatus.FAILED) {
+				failed++;
+			}
+		}
+		System.out.println("Completed " + moved[0] + ", failed " + moved[1] + ", sum = " + (moved[0] + moved[1]));
+		// Expected: sum = 200000 (each transaction settled exactly once)
+		System.out.println("Statuses agree: " + (completed == moved[0] && failed == moved[1]));
+		// Expected: true
+		System.out.println("Confirmations: " + confirmConflicts);
+		System.out.println("Timeouts:      " + timeoutConflicts);
+		// Expected: UNKNOWN_TRANSACTION=1 each; STATUS_CONFLICT = the other thread's wins + 1 duplicate
+		System.out.printf("%,d transitions attempted in %d ms%n", 2L * ids.length, nanos / 1_000_000);
+
+		// Test 3: Invalid bulk transition is rejected once, not per item
+		try {
+			registry.transitionAll(Arrays.copyOf(ids, 10), TransactionStatus.COMPLETED, TransactionStatus.PENDING,
+				confirmConflicts);
+			System.out.println("FAIL: allowed completed -> pending");
+		} catch (IllegalStateException e) {
+			System.out.println("Rejected: " + e.getMessage());
+		}
+		// Expected: Rejected: Cannot change status of completed transaction
+	}
+}
@@ -0,0 +1,110 @@
+package com.fintech.foundations;
+
+/**
+ * Lifecycle states of a transaction.
+ *
+ * Valid transitions:
+ *  - PENDING -> COMPLETED
+ *  - PENDING -> FAILED
+ * COMPLETED and FAILED are terminal.
+ *
+ * @author Jesse De Oliveira
+ * @version 1.0
+ * @since 2026-10-18
+ */
+public enum TransactionStatus {
+
+	/** Awaiting processing */
+	PENDING("pending"),
+
+	/** Successfully processed */
+	COMPLETED("completed"),
+
+	/** Processing failed */
+	FAILED("failed");
+
+	/** Lowercase code used in text (e.g., "pending") */
+	private final String code;
+
+	TransactionStatus(String code) {
+		this.code = code;
+	}
+
+	/** @return Lowercase code (e.g., "completed") */
+	public String getCode() {
+		return code;
+	}
+
+	/** @return true if no further transitions are allowed */
+	public boolean isTerminal() {
+		return this != PENDING;
+	}
+
+	/**
+	 * Checks the transition rules: PENDING may move anywhere, terminal
+	 * states only to themselves (setting the same status again is a no-op).
+	 *
+	 * @param next Target status
+	 * @return true if this -> next is allowed
+	*/
+	public boolean canTransitionTo(TransactionStatus next) {
+		return this == PENDING || this == next;
+	}
+
+	/**
+	 * Parses a status code, ignoring case and surrounding whitespace.
+	 *
+	 * @param code Status code (pending/completed/failed)
+	 * @return Matching status
+	 * @throws IllegalArgumentException if the code is unknown
+	*/
+	public static TransactionStatus fromCode(String code) {
+		TransactionStatus status = lookup(code);
+		if (status != null) {
+			return status;
+		}
+		throw new IllegalArgumentException(
+			"Invalid status. Must be: pending, completed or failed. Got: " + code
+		);
+	}
+
+	/**
+	 * Looks up a status code without throwing or allocating
+	 * (case-insensitive, surrounding spaces/tabs ignored).
+	 *
+	 * @param code Status code (may be null)
+	 * @return Matching status, or null if unknown
+	*/
+	public static TransactionStatus lookup(String code) {
+		if (code == null) {
+			return null;
+		}
+		int start = 0;
+		int end = code.length();
+		while (start < end && code.charAt(start) <= ' ') {
+			start++;
+		}
+		while (end > start && code.charAt(end - 1) <= ' ') {
+			end--;
+		}
+		int length = end - start;
+		for (TransactionStatus status : VALUES) {
+			if (status.code.length() == length && status.code.regionMatches(true, 0, code, start, length)) {
+				return status;
+			}
+		}
+		return null;
+	}
+
+	/**
+	 * Looks up a status by ordinal without cloning values().
+	 * @param ordinal Status ordinal (0-2)
+	 * @return Matching status
+	*/
+	public static TransactionStatus fromOrdinal(int ordinal) {
+		return VALUES[ordinal];
+	}
+
+	/** Cached copy of values() (values() allocates a new array per call) */
+	private static final TransactionStatus[] VALUES = values();
+}
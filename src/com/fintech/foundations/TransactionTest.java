@@ -83,6 +83,37 @@ public class TransactionTest {
         }
         System.out.println();
         
+        //TEST 6: Validation (Fractions of a cent)
+        System.out.println("TEST 6: Whole Cents Validation");
+        System.out.println("───────────────────────────────────────────");
+        
+        try {
+        	new Transaction(
+        		"11111111",
+        		new BigDecimal("10.005"),
+        		"card_purchase"
+        	);
+        	System.out.println("FAIL: Accepted fraction of a cent");
+        } catch (IllegalArgumentException e) {
+        	System.out.println("PASS: rejected fraction of a cent");
+        	System.out.println("Error: " + e.getMessage());
+        }
+        System.out.println();
+        
+        //TEST 7: Card Purchase (15% VAT - was 0% due to "card_purcahse" typo)
+        System.out.println("TEST 7: Card Purchase (15% VAT)");
+        System.out.println("───────────────────────────────────────────");
+        
+        Transaction card = new Transaction(
+        		"22222222",
+        		new BigDecimal("200.00"),
+        		"card_purchase"
+        );
+        System.out.println((card.getVatCents() == 3000 ? "PASS" : "FAIL") 
+        		+ ": VAT = R " + card.getVatAmount());
+        System.out.println("Expected: R 30.00 (15% of R 200)");
+        System.out.println();
+        
         //SUMMARY
         
         System.out.println("╔════════════════════════════════════════════╗");
@@ -0,0 +1,123 @@
+package com.fintech.foundations;
+
+/**
+ * Transaction types supported by the system, with their SARS VAT treatment.
+ *
+ * Using an enum instead of free-text Strings means:
+ * - Typos like "card_purcahse" are compile errors, not silent 0% VAT
+ * - Comparisons are == on a constant, not String.equals
+ * - Each type has a stable ordinal for compact storage (1 byte per row)
+ *
+ * @author Jesse De Oliveira
+ * @version 1.0
+ * @since 2026-10-18
+ */
+public enum TransactionType {
+
+	/** Instant P2P payment - VAT exempt */
+	PAYSHAP("payshap", 0, "Person-to-person transfer"),
+
+	/** Electronic Funds Transfer - VAT exempt */
+	EFT("eft", 0, "Bank transfer"),
+
+	/** Foreign exchange - 15% VAT */
+	INTERNATIONAL("international", 1500, "International Purchase"),
+
+	/** Merchant transaction - 15% VAT */
+	CARD_PURCHASE("card_purchase", 1500, "Card Purchase");
+
+	/** Lowercase code used in files and user input (e.g., "payshap") */
+	private final String code;
+
+	/** VAT rate in basis points (1500 = 15.00%) */
+	private final int vatBasisPoints;
+
+	/** Human-readable description for receipts */
+	private final String description;
+
+	TransactionType(String code, int vatBasisPoints, String description) {
+		this.code = code;
+		this.vatBasisPoints = vatBasisPoints;
+		this.description = description;
+	}
+
+	/** @return Lowercase code (e.g., "card_purchase") */
+	public String getCode() {
+		return code;
+	}
+
+	/** @return VAT rate in basis points (1500 = 15.00%) */
+	public int getVatBasisPoints() {
+		return vatBasisPoints;
+	}
+
+	/** @return Human-readable description */
+	public String getDescription() {
+		return description;
+	}
+
+	/** @return true if VAT applies to this type */
+	public boolean isVatable() {
+		return vatBasisPoints > 0;
+	}
+
+	/**
+	 * Parses a type code, ignoring case and surrounding whitespace.
+	 *
+	 * @param code Type code (payshap/eft/international/card_purchase)
+	 * @return Matching type
+	 * @throws IllegalArgumentException if the code is empty or unknown
+	*/
+	public static TransactionType fromCode(String code) {
+		if (code == null || code.trim().isEmpty()) {
+			throw new IllegalArgumentException("Transaction type cannot be empty");
+		}
+		TransactionType type = lookup(code);
+		if (type == null) {
+			throw new IllegalArgumentException(
+				"Invalid transaction type. Must be: payshap, eft, international or card_purchase. Got: " + code
+			);
+		}
+		return type;
+	}
+
+	/**
+	 * Looks up a type code without throwing or allocating
+	 * (case-insensitive, surrounding spaces/tabs ignored).
+	 *
+	 * @param code Type code (may be null)
+	 * @return Matching type, or null if unknown
+	*/
+	public static TransactionType lookup(String code) {
+		if (code == null) {
+			return null;
+		}
+		int start = 0;
+		int end = code.length();
+		while (start < end && code.charAt(start) <= ' ') {
+			start++;
+		}
+		while (end > start && code.charAt(end - 1) <= ' ') {
+			end--;
+		}
+		int length = end - start;
+		for (TransactionType type : VALUES) {
+			if (type.code.length() == length && type.code.regionMatches(true, 0, code, start, length)) {
+				return type;
+			}
+		}
+		return null;
+	}
+
+	/**
+	 * Looks up a type by ordinal without cloning values().
+	 * @param ordinal Type ordinal (0-3)
+	 * @return Matching type
+	*/
+	public static TransactionType fromOrdinal(int ordinal) {
+		return VALUES[ordinal];
+	}
+
+	/** Cached copy of values() (values() allocates a new array per call) */
+	private static final TransactionType[] VALUES = values();
+}
@@ -0,0 +1,73 @@
+package com.fintech.foundations;
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * Read-only view of a transaction's data.
+ *
+ * Implemented by Transaction (one object per transaction) and by
+ * flyweight cursors over columnar storage (one object for millions of rows),
+ * so reporting code can work with either.
+ *
+ * Only the primitive getters are abstract; the BigDecimal and text
+ * getters are derived from them at the API edge.
+ *
+ * @author Jesse De Oliveira
+ * @version 1.0
+ * @since 2026-10-18
+ */
+public interface TransactionView {
+
+	/** @return 64-bit transaction ID */
+	long getId();
+
+	/** @return 8-digit account number */
+	String getAccountNumber();
+
+	/** @return Amount in ZAR cents (excluding VAT) */
+	long getAmountCents();
+
+	/** @return Transaction type */
+	TransactionType getTransactionType();
+
+	/** @return Current status */
+	TransactionStatus getTransactionStatus();
+
+	/** @return Timestamp when the transaction was created */
+	LocalDateTime getTimestamp();
+
+	/** @return VAT in ZAR cents */
+	default long getVatCents() {
+		return VatEngine.vatCents(getTransactionType(), getAmountCents());
+	}
+
+	/** @return Transaction ID as text (e.g., "TXN-0005a1b2c3d40000") */
+	default String getTransactionId() {
+		return TransactionIdGenerator.format(getId());
+	}
+
+	/** @return Amount in ZAR (excluding VAT) */
+	default BigDecimal getAmount() {
+		return Money.toBigDecimal(getAmountCents());
+	}
+
+	/** @return VAT in ZAR */
+	default BigDecimal getVatAmount() {
+		return Money.toBigDecimal(getVatCents());
+	}
+
+	/** @return Amount + VAT in ZAR */
+	default BigDecimal getTotalAmount() {
+		return Money.toBigDecimal(Math.addExact(getAmountCents(), getVatCents()));
+	}
+
+	/** @return Type code (payshap/eft/international/card_purchase) */
+	default String getType() {
+		return getTransactionType().getCode();
+	}
+
+	/** @return Status code (pending/completed/failed) */
+	default String getStatus() {
+		return getTransactionStatus().getCode();
+	}
+}
@@ -0,0 +1,213 @@
+package com.fintech.foundations;
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+
+/**
+ * Central VAT calculator for all transaction types (SARS rules).
+ *
+ * Before this class, the same "15% or 0%" logic was copied into
+ * Transaction, TaxCalculator, InteractiveVATCalculator, ScannerBasics
+ * and MethodsBasics - each rebuilding new BigDecimal("15.00") per call.
+ *
+ * Design:
+ * - Rates are looked up in a table indexed by TransactionType ordinal (built once)
+ * - Cents methods use only long arithmetic (see Money) - zero allocation
+ * - Array methods process whole columns of amounts in one tight loop
+ * - BigDecimal methods are kept for the API edge and use cached constants
+ *
+ * @author Jesse De Oliveira
+ * @version 1.0
+ * @since 2026-10-18
+ */
+public final class VatEngine {
+
+	/** SA standard VAT rate in basis points (15.00%) */
+	public static final int STANDARD_RATE_BASIS_POINTS = 1500;
+
+	/** VAT rate per type in basis points, indexed by ordinal */
+	private static final long[] RATE_BASIS_POINTS;
+
+	/** VAT rate per type as a percentage (e.g., 15.00), indexed by ordinal */
+	private static final BigDecimal[] RATE_PERCENT;
+
+	private static final BigDecimal STANDARD_RATE_PERCENT = BigDecimal.valueOf(STANDARD_RATE_BASIS_POINTS, 2);
+	private static final BigDecimal HUNDRED = new BigDecimal("100");
+
+	static {
+		TransactionType[] types = TransactionType.values();
+		RATE_BASIS_POINTS = new long[types.length];
+		RATE_PERCENT = new BigDecimal[types.length];
+		for (TransactionType type : types) {
+			RATE_BASIS_POINTS[type.ordinal()] = type.getVatBasisPoints();
+			RATE_PERCENT[type.ordinal()] = BigDecimal.valueOf(type.getVatBasisPoints(), 2);
+		}
+	}
+
+	private VatEngine() {
+		// Static utility - no instances
+	}
+
+	//===========================================
+	//RATE LOOKUP
+	//===========================================
+
+	/**
+	 * @param type Transaction type
+	 * @return VAT rate in basis points (1500 = 15.00%)
+	*/
+	public static long rateBasisPoints(TransactionType type) {
+		return RATE_BASIS_POINTS[type.ordinal()];
+	}
+
+	/**
+	 * @param type Transaction type
+	 * @return VAT rate as a percentage (e.g., 15.00 or 0.00)
+	*/
+	public static BigDecimal ratePercent(TransactionType type) {
+		return RATE_PERCENT[type.ordinal()];
+	}
+
+	//===========================================
+	//SINGLE AMOUNTS (cents - allocation-free)
+	//===========================================
+
+	/**
+	 * Calculates VAT for one amount.
+	 * Example: vatCents(INTERNATIONAL, 100000) = 15000 (R 150.00)
+	 *
+	 * @param type Transaction type
+	 * @param amountCents Amount in ZAR cents
+	 * @return VAT in cents, rounded HALF_UP
+	*/
+	public static long vatCents(TransactionType type, long amountCents) {
+		return Money.percentage(amountCents, RATE_BASIS_POINTS[type.ordinal()]);
+	}
+
+	/**
+	 * Calculates standard-rate (15%) VAT for one amount.
+	 *
+	 * @param amountCents Amount in ZAR cents
+	 * @return VAT in cents, rounded HALF_UP
+	*/
+	public static long standardVatCents(long amountCents) {
+		return Money.percentage(amountCents, STANDARD_RATE_BASIS_POINTS);
+	}
+
+	//===========================================
+	//ARRAYS OF AMOUNTS (tight loops, allocation-free)
+	//===========================================
+
+	/**
+	 * Calculates VAT for a column of amounts of the same type.
+	 *
+	 * @param type Transaction type for every row
+	 * @param amountsCents Amounts in cents
+	 * @param vatOut Receives VAT in cents (same length or longer)
+	*/
+	public static void vatCents(TransactionType type, long[] amountsCents, long[] vatOut) {
+		long rate = RATE_BASIS_POINTS[type.ordinal()];
+		int n = amountsCents.length;
+		if (vatOut.length < n) {
+			throw new IllegalArgumentException("Output array too short: " + vatOut.length + " < " + n);
+		}
+		for (int i = 0; i < n; i++) {
+			vatOut[i] = Money.percentage(amountsCents[i], rate);
+		}
+	}
+
+	/**
+	 * Calculates VAT for columns of amounts and type ordinals (one row per index).
+	 *
+	 * @param amountsCents Amounts in cents
+	 * @param typeOrdinals TransactionType ordinal per row
+	 * @param vatOut Receives VAT in cents (same length or longer)
+	*/
+	public static void vatCents(long[] amountsCents, byte[] typeOrdinals, long[] vatOut) {
+		int n = amountsCents.length;
+		if (typeOrdinals.length < n || vatOut.length < n) {
+			throw new IllegalArgumentException("Column lengths differ: amounts=" + n
+				+ ", types=" + typeOrdinals.length + ", out=" + vatOut.length);
+		}
+		long[] rates = RATE_BASIS_POINTS;
+		for (int i = 0; i < n; i++) {
+			vatOut[i] = Money.percentage(amountsCents[i], rates[typeOrdinals[i]]);
+		}
+	}
+
+	/**
+	 * Sums VAT over columns of amounts and type ordinals without an output array.
+	 *
+	 * @param amountsCents Amounts in cents
+	 * @param typeOrdinals TransactionType ordinal per row
+	 * @return Total VAT in cents
+	 * @throws ArithmeticException if the total overflows
+	*/
+	public static long totalVatCents(long[] amountsCents, byte[] typeOrdinals) {
+		int n = amountsCents.length;
+		if (typeOrdinals.length < n) {
+			throw new IllegalArgumentException("Column lengths differ: amounts=" + n
+				+ ", types=" + typeOrdinals.length);
+		}
+		long[] rates = RATE_BASIS_POINTS;
+		long total = 0;
+		for (int i = 0; i < n; i++) {
+			total = Math.addExact(total, Money.percentage(amountsCents[i], rates[typeOrdinals[i]]));
+		}
+		return total;
+	}
+
+	//===========================================
+	//BIGDECIMAL (API edge - any scale)
+	//===========================================
+
+	/**
+	 * Calculates VAT on a BigDecimal amount: amount × rate / 100, HALF_UP to 2 places.
+	 *
+	 * @param amount Amount in ZAR (any scale)
+	 * @param type Transaction type
+	 * @return VAT in ZAR
+	*/
+	public static BigDecimal calculateVat(BigDecimal amount, TransactionType type) {
+		return amount.multiply(RATE_PERCENT[type.ordinal()]).divide(HUNDRED, 2, RoundingMode.HALF_UP);
+	}
+
+	/**
+	 * Calculates standard-rate (15%) VAT on a BigDecimal amount.
+	 *
+	 * @param amount Amount in ZAR (any scale)
+	 * @return VAT in ZAR
+	*/
+	public static BigDecimal calculateVat(BigDecimal amount) {
+		return amount.multiply(STANDARD_RATE_PERCENT).divide(HUNDRED, 2, RoundingMode.HALF_UP);
+	}
+
+	/**
+	 * Test cases
+	 */
+	public static void main(String[] args) {
+		// Test 1: One rate per type
+		for (TransactionType type : TransactionType.values()) {
+			System.out.println(type + " on R 1000.00: R "
+				+ Money.toBigDecimal(vatCents(type, 100_000)));
+		}
+		// Expected: 0.00, 0.00, 150.00, 150.00
+
+		// Test 2: Column of mixed types
+		long[] amounts = {100_000, 100_000, 10, 19_999};
+		byte[] types = {
+			(byte) TransactionType.PAYSHAP.ordinal(),
+			(byte) TransactionType.CARD_PURCHASE.ordinal(),
+			(byte) TransactionType.INTERNATIONAL.ordinal(),
+			(byte) TransactionType.CARD_PURCHASE.ordinal()
+		};
+		long[] vat = new long[amounts.length];
+		vatCents(amounts, types, vat);
+		System.out.println("Column VAT: " + java.util.Arrays.toString(vat));
+		// Expected: [0, 15000, 2, 3000]
+
+		// Test 3: BigDecimal edge matches cents path
+		System.out.println("BigDecimal VAT on R 199.99: R "
+			+ calculateVat(new BigDecimal("199.99"), TransactionType.CARD_PURCHASE));
+		// Expected: 30.00
+	}
+}
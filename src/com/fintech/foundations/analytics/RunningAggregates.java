@@ -0,0 +1,305 @@
+package com.fintech.foundations.analytics;
+
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+import com.fintech.foundations.Money;
+import com.fintech.foundations.TransactionType;
+
+/**
+ * Running totals over every posted transaction, updated as rows arrive.
+ *
+ * ListaTransacoes finds totalGasto and maiorTransacao by rescanning the
+ * whole list, and BankingSystem does the same for totalBankBalance.
+ * That is O(n) per dashboard refresh. Here every post updates:
+ * - count and total (overall and per TransactionType)
+ * - max and min amount
+ * - the K largest amounts (with their transaction IDs)
+ * so reads are O(1) (O(K) for the top-K copy), whatever the row count.
+ *
+ * Contention: counters are LongAdder / LongAccumulator, which stripe
+ * updates across cells, so many posting threads do not fight over one
+ * cache line. The top-K heap takes a lock, but only for amounts larger
+ * than the current K-th largest - after warm-up almost every post skips
+ * it with one volatile read.
+ *
+ * Reads are not an atomic snapshot: while posts are in progress, count
+ * and total may briefly reflect different sets of rows.
+ *
+ * @author Jesse De Oliveira
+ * @since 2026-10-18
+ */
+public class RunningAggregates {
+
+    /** Default number of largest transactions tracked */
+    public static final int DEFAULT_TOP_K = 10;
+
+    private static final TransactionType[] TYPES = TransactionType.values();
+
+    private final LongAdder count = new LongAdder();
+    private final LongAdder totalCents = new LongAdder();
+    private final LongAdder[] countByType = new LongAdder[TYPES.length];
+    private final LongAdder[] totalCentsByType = new LongAdder[TYPES.length];
+    private final LongAccumulator maxCents = new LongAccumulator(Math::max, Long.MIN_VALUE);
+    private final LongAccumulator minCents = new LongAccumulator(Math::min, Long.MAX_VALUE);
+
+    // Top-K: min-heap on amount (root = smallest of the K largest), guarded by heapLock
+    private final int topK;
+    private final long[] heapAmounts;
+    private final long[] heapIds;
+    private int heapSize;
+    private final Object heapLock = new Object();
+
+    /** Amounts at or below this cannot enter the top K (MIN_VALUE until the heap is full) */
+    private volatile long topFloor = Long.MIN_VALUE;
+
+    /** Creates aggregates tracking the DEFAULT_TOP_K largest amounts. */
+    public RunningAggregates() {
+        this(DEFAULT_TOP_K);
+    }
+
+    /**
+     * @param topK Number of largest amounts to track (>= 1)
+     */
+    public RunningAggregates(int topK) {
+        if (topK <= 0) {
+            throw new IllegalArgumentException("Top K must be positive. Got: " + topK);
+        }
+        this.topK = topK;
+        this.heapAmounts = new long[topK];
+        this.heapIds = new long[topK];
+        for (int i = 0; i < TYPES.length; i++) {
+            countByType[i] = new LongAdder();
+            totalCentsByType[i] = new LongAdder();
+        }
+    }
+
+    //===========================================
+    //UPDATES
+    //===========================================
+
+    /**
+     * Adds one posted transaction.
+     * Time: O(1) (O(log K) when it enters the top K), thread-safe
+     *
+     * @param type Transaction type
+     * @param amountCents Amount in cents
+     * @param id Transaction ID (reported with the top K)
+     */
+    public void record(TransactionType type, long amountCents, long id) {
+        record(type.ordinal(), amountCents, id);
+    }
+
+    /**
+     * Adds one posted transaction by type ordinal (for columnar stores).
+     *
+     * @throws ArrayIndexOutOfBoundsException if the ordinal is not a TransactionType
+     */
+    public void record(int typeOrdinal, long amountCents, long id) {
+        count.increment();
+        totalCents.add(amountCents);
+        countByType[typeOrdinal].increment();
+        totalCentsByType[typeOrdinal].add(amountCents);
+        maxCents.accumulate(amountCents);
+        minCents.accumulate(amountCents);
+
+        if (amountCents > topFloor) {
+            offerTop(amountCents, id);
+        }
+    }
+
+    private void offerTop(long amountCents, long id) {
+        synchronized (heapLock) {
+            if (heapSize < topK) {
+                // Sift up
+                int i = heapSize++;
+                while (i > 0) {
+                    int parent = (i - 1) >>> 1;
+                    if (heapAmounts[parent] <= amountCents) {
+                        break;
+                    }
+                    heapAmounts[i] = heapAmounts[parent];
+                    heapIds[i] = heapIds[parent];
+                    i = parent;
+                }
+                heapAmounts[i] = amountCents;
+                heapIds[i] = id;
+            } else if (amountCents > heapAmounts[0]) {
+                // Replace the root, sift down
+                int i = 0;
+                while (true) {
+                    int child = 2 * i + 1;
+                    if (child >= topK) {
+                        break;
+                    }
+                    if (child + 1 < topK && heapAmounts[child + 1] < heapAmounts[child]) {
+                        child++;
+                    }
+                    if (heapAmounts[child] >= amountCents) {
+                        break;
+                    }
+                    heapAmounts[i] = heapAmounts[child];
+                    heapIds[i] = heapIds[child];
+                    i = child;
+                }
+                heapAmounts[i] = amountCents;
+                heapIds[i] = id;
+            }
+            if (heapSize == topK) {
+                topFloor = heapAmounts[0];
+            }
+        }
+    }
+
+    //===========================================
+    //READS (O(1))
+    //===========================================
+
+    /** @return Number of transactions recorded */
+    public long getCount() {
+        return count.sum();
+    }
+
+    /** @return Number of transactions of one type */
+    public long getCount(TransactionType type) {
+        return countByType[type.ordinal()].sum();
+    }
+
+    /** @return Sum of all amounts in cents */
+    public long getTotalCents() {
+        return totalCents.sum();
+    }
+
+    /** @return Sum of amounts of one type in cents */
+    public long getTotalCents(TransactionType type) {
+        return totalCentsByType[type.ordinal()].sum();
+    }
+
+    /** @return Largest amount in cents (0 if nothing recorded) */
+    public long getMaxCents() {
+        long max = maxCents.get();
+        return max == Long.MIN_VALUE ? 0 : max;
+    }
+
+    /** @return Smallest amount in cents (0 if nothing recorded) */
+    public long getMinCents() {
+        long min = minCents.get();
+        return min == Long.MAX_VALUE ? 0 : min;
+    }
+
+    /** @return Number of largest amounts tracked */
+    public int getTopK() {
+        return topK;
+    }
+
+    /**
+     * Copies the largest amounts, largest first.
+     * Time: O(K log K)
+     *
+     * @param amountsCents Receives amounts (length >= getTopK())
+     * @param ids Receives the matching transaction IDs (length >= getTopK())
+     * @return Number of entries written (< K until K transactions are recorded)
+     */
+    public int top(long[] amountsCents, long[] ids) {
+        int n;
+        synchronized (heapLock) {
+            n = heapSize;
+            System.arraycopy(heapAmounts, 0, amountsCents, 0, n);
+            System.arraycopy(heapIds, 0, ids, 0, n);
+        }
+        // Insertion sort, descending (K is small)
+        for (int i = 1; i < n; i++) {
+            long amount = amountsCents[i];
+            long id = ids[i];
+            int j = i - 1;
+            while (j >= 0 && amountsCents[j] < amount) {
+                amountsCents[j + 1] = amountsCents[j];
+                ids[j + 1] = ids[j];
+                j--;
+            }
+            amountsCents[j + 1] = amount;
+            ids[j + 1] = id;
+        }
+        return n;
+    }
+
+    /**
+     * Returns a one-line summary, e.g. "3 transactions, total R 1350.00, max R 1000.00, min R 150.00"
+     */
+    @Override
+    public String toString() {
+        return getCount() + " transactions, total R " + Money.toBigDecimal(getTotalCents())
+                + ", max R " + Money.toBigDecimal(getMaxCents())
+                + ", min R " + Money.toBigDecimal(getMinCents());
+    }
+
+    /**
+     * Test cases
+     */
+    public static void main(String[] args) throws InterruptedException {
+        // Test 1: The ListaTransacoes day, without a rescan
+        RunningAggregates day = new RunningAggregates(2);
+        day.record(TransactionType.CARD_PURCHASE, 150_50, 1);
+        day.record(TransactionType.CARD_PURCHASE, 45_00, 2);
+        day.record(TransactionType.EFT, 320_75, 3);
+        day.record(TransactionType.CARD_PURCHASE, 89_90, 4);
+        System.out.println(day);
+        // Expected: 4 transactions, total R 606.15, max R 320.75, min R 45.00
+        System.out.println("Card total: R " + Money.toBigDecimal(day.getTotalCents(TransactionType.CARD_PURCHASE)));
+        // Expected: Card total: R 285.40
+
+        long[] amounts = new long[2];
+        long[] ids = new long[2];
+        int n = day.top(amounts, ids);
+        for (int i = 0; i < n; i++) {
+            System.out.println("Top " + (i + 1) + ": id " + ids[i] + ", R " + Money.toBigDecimal(amounts[i]));
+        }
+        // Expected: Top 1: id 3, R 320.75 / Top 2: id 1, R 150.50
+
+        // Test 2: 8 threads x 1M posts, then O(1) reads vs an O(n) rescan
+        int threads = 8;
+        int perThread = 1_000_000;
+        long[] posted = new long[threads * perThread];
+        RunningAggregates aggregates = new RunningAggregates();
+        Thread[] workers = new Thread[threads];
+        long start = System.nanoTime();
+        for (int t = 0; t < threads; t++) {
+            int base = t * perThread;
+            workers[t] = new Thread(() -> {
+                long seed = base + 1;
+                for (int i = 0; i < perThread; i++) {
+                    seed = seed * 6364136223846793005L + 1442695040888963407L;
+                    long cents = 1 + ((seed >>> 33) % 10_000_000);
+                    posted[base + i] = cents;
+                    aggregates.record((int) (seed >>> 62), cents, base + i);
+                }
+            });
+            workers[t].start();
+        }
+        for (Thread worker : workers) {
+            worker.join();
+        }
+        long postNanos = System.nanoTime() - start;
+
+        start = System.nanoTime();
+        long scanTotal = 0;
+        long scanMax = Long.MIN_VALUE;
+        for (long cents : posted) {
+            scanTotal += cents;
+            scanMax = Math.max(scanMax, cents);
+        }
+        long scanNanos = System.nanoTime() - start;
+
+        start = System.nanoTime();
+        long total = aggregates.getTotalCents();
+        long max = aggregates.getMaxCents();
+        long readNanos = System.nanoTime() - start;
+
+        System.out.printf("%nPosts: %,d in %d ms (%,.0f/s)%n", aggregates.getCount(),
+                postNanos / 1_000_000, aggregates.getCount() * 1e9 / postNanos);
+        System.out.println("Total matches rescan: " + (total == scanTotal) + ", max matches: " + (max == scanMax));
+        // Expected: true, true
+        System.out.printf("Rescan: %,d us, running aggregates: %,d us%n", scanNanos / 1000, readNanos / 1000);
+        // Expected: rescan grows with n, aggregates read stays a few microseconds
+    }
+}
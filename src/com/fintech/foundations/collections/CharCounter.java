@@ -0,0 +1,161 @@
+package com.fintech.foundations.collections;
+
+import java.util.Arrays;
+
+/**
+ * Character counts in a plain int array indexed by the char itself.
+ *
+ * Replaces HashMap<Character, Integer>: counting a char is one array
+ * increment instead of a hash lookup plus an Integer allocation.
+ *
+ * Starts with 128 slots (ASCII). The first non-ASCII char grows the
+ * array to all 65,536 chars (256 KB) once.
+ *
+ * Whole strings are counted by the CharHistogram kernel (no per-char
+ * bookkeeping). Single-char updates track how many chars have a non-zero
+ * count, so "are all counts zero?" (the anagram check) is O(1); after a
+ * bulk add the number is recomputed once, on the next query.
+ *
+ * Not thread-safe.
+ *
+ * @author Jesse De Oliveira
+ * @since 2026-10-18
+ */
+public class CharCounter {
+
+    /** Receives non-zero counts from forEach. */
+    public interface Visitor {
+        void visit(char c, int count);
+    }
+
+    private int[] counts = new int[CharHistogram.ASCII];
+
+    /** Chars whose count is not zero (UNKNOWN after a bulk add) */
+    private int nonZero;
+
+    private static final int UNKNOWN = -1;
+
+    /** Creates an empty counter. */
+    public CharCounter() {
+    }
+
+    /**
+     * Creates a counter holding the counts of every char in s.
+     */
+    public CharCounter(CharSequence s) {
+        add(s);
+    }
+
+    /**
+     * Adds delta to the count of c.
+     *
+     * @return The new count
+     */
+    public int add(char c, int delta) {
+        if (c >= counts.length) {
+            counts = Arrays.copyOf(counts, CharHistogram.ALL_CHARS);
+        }
+        int before = counts[c];
+        int after = before + delta;
+        counts[c] = after;
+        if (nonZero == UNKNOWN) {
+            return after;
+        }
+        if (before == 0) {
+            nonZero += after == 0 ? 0 : 1;
+        } else if (after == 0) {
+            nonZero--;
+        }
+        return after;
+    }
+
+    /** @return The new count of c */
+    public int increment(char c) {
+        return add(c, 1);
+    }
+
+    /** @return The new count of c */
+    public int decrement(char c) {
+        return add(c, -1);
+    }
+
+    /**
+     * Counts every char of s (CharHistogram kernel).
+     * Time: O(n)
+     */
+    public void add(CharSequence s) {
+        int stopped = CharHistogram.count(s, 0, counts);
+        if (stopped < s.length()) {
+            counts = Arrays.copyOf(counts, CharHistogram.ALL_CHARS);
+            CharHistogram.count(s, stopped, counts);
+        }
+        if (s.length() > 0) {
+            nonZero = UNKNOWN;
+        }
+    }
+
+    /**
+     * Un-counts every char of s (counts may go negative).
+     * Time: O(n)
+     */
+    public void subtract(CharSequence s) {
+        for (int i = 0; i < s.length(); i++) {
+            add(s.charAt(i), -1);
+        }
+    }
+
+    /** @return Count of c (0 if never seen) */
+    public int get(char c) {
+        return c < counts.length ? counts[c] : 0;
+    }
+
+    /** @return Number of chars with a non-zero count */
+    public int distinct() {
+        if (nonZero == UNKNOWN) {
+            nonZero = CharHistogram.distinct(counts);  // Once per bulk add
+        }
+        return nonZero;
+    }
+
+    /** @return true if every count is zero */
+    public boolean isAllZero() {
+        return distinct() == 0;
+    }
+
+    /** Resets every count to zero (keeps the array). */
+    public void clear() {
+        Arrays.fill(counts, 0);
+        nonZero = 0;
+    }
+
+    /** Visits every non-zero count in char order. */
+    public void forEach(Visitor visitor) {
+        for (int c = 0; c < counts.length; c++) {
+            if (counts[c] != 0) {
+                visitor.visit((char) c, counts[c]);
+            }
+        }
+    }
+
+    /**
+     * Test cases
+     */
+    public static void main(String[] args) {
+        // Test 1: Count a word
+        CharCounter counter = new CharCounter("programming");
+        System.out.println("g=" + counter.get('g') + " r=" + counter.get('r') + " z=" + counter.get('z')
+                + " distinct=" + counter.distinct());
+        // Expected: g=2 r=2 z=0 distinct=8
+
+        // Test 2: Anagram check by add + subtract
+        CharCounter anagram = new CharCounter("listen");
+        anagram.subtract("silent");
+        System.out.println("listen/silent all zero: " + anagram.isAllZero());
+        // Expected: true
+
+        // Test 3: Non-ASCII grows the table
+        CharCounter rand = new CharCounter("R100 – R200 ✓");
+        System.out.println("'–'=" + rand.get('–') + " '0'=" + rand.get('0') + " '✓'=" + rand.get('✓'));
+        // Expected: '–'=1 '0'=4 '✓'=1
+    }
+}
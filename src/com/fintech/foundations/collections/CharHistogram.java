@@ -0,0 +1,226 @@
+package com.fintech.foundations.collections;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+/**
+ * Character-frequency kernel: counts chars (or bytes) straight into an
+ * int[] histogram indexed by the char itself.
+ *
+ * Shared by CharCounter, CharacterFrequencyCounter, FirstUniqueCharacter
+ * and ValidAnagram, which run against millions of payment descriptions.
+ * The loops are kept minimal for the JIT: one load and one increment per
+ * char, a String-typed loop (charAt inlines to an array read), and no
+ * per-char bookkeeping such as non-zero tracking.
+ *
+ * Tables: ASCII (128 slots, 512 bytes) covers almost every reference. A
+ * kernel stops at the first char that does not fit the caller's table and
+ * returns its index, so the caller grows to ALL_CHARS (65,536 slots) once
+ * and continues from there - no char is counted twice.
+ *
+ * Histogram scatter has no SIMD form without conflict detection, and
+ * interleaved sub-histograms measured slower than a single table here, so
+ * the counting loops are scalar. Comparing two histograms uses
+ * Arrays.equals, which the JIT compiles to a vectorized mismatch.
+ *
+ * @author Jesse De Oliveira
+ * @since 2026-10-18
+ */
+public final class CharHistogram {
+
+    /** Slots for ASCII chars */
+    public static final int ASCII = 128;
+
+    /** Slots for every UTF-16 char */
+    public static final int ALL_CHARS = Character.MAX_VALUE + 1;
+
+    /** Slots for every byte value */
+    public static final int ALL_BYTES = 256;
+
+    private CharHistogram() {
+    }
+
+    //===========================================
+    //COUNTING
+    //===========================================
+
+    /**
+     * Adds the chars of text, starting at from, to counts.
+     * Time: O(n), allocation-free
+     *
+     * @param counts Histogram indexed by char (ASCII or ALL_CHARS slots)
+     * @return text.length() if every char was counted, otherwise the index
+     *         of the first char that does not fit counts (not counted)
+     */
+    public static int count(CharSequence text, int from, int[] counts) {
+        if (text instanceof String) {
+            return count((String) text, from, counts);
+        }
+        int n = text.length();
+        int limit = counts.length;
+        for (int i = from; i < n; i++) {
+            char c = text.charAt(i);
+            if (c >= limit) {
+                return i;
+            }
+            counts[c]++;
+        }
+        return n;
+    }
+
+    /** String-typed copy of count(CharSequence, ...) so charAt inlines. */
+    private static int count(String text, int from, int[] counts) {
+        int n = text.length();
+        if (counts.length == ALL_CHARS) {
+            for (int i = from; i < n; i++) {
+                counts[text.charAt(i)]++;  // Every char fits: no check
+            }
+            return n;
+        }
+        int limit = counts.length;
+        for (int i = from; i < n; i++) {
+            char c = text.charAt(i);
+            if (c >= limit) {
+                return i;
+            }
+            counts[c]++;
+        }
+        return n;
+    }
+
+    /**
+     * Adds the bytes in [from, to) to a 256-slot histogram (raw file input,
+     * e.g. a description column read by RecordValidator).
+     * Time: O(n), allocation-free
+     */
+    public static void countBytes(byte[] bytes, int from, int to, int[] counts) {
+        if (counts.length < ALL_BYTES) {
+            throw new IllegalArgumentException("Byte histogram needs " + ALL_BYTES + " slots. Got: " + counts.length);
+        }
+        for (int i = from; i < to; i++) {
+            counts[bytes[i] & 0xFF]++;
+        }
+    }
+
+    /**
+     * @return Histogram of every char of text (128 slots if all ASCII, else 65,536)
+     */
+    public static int[] histogram(CharSequence text) {
+        int[] counts = new int[ASCII];
+        int stopped = count(text, 0, counts);
+        if (stopped < text.length()) {
+            counts = Arrays.copyOf(counts, ALL_CHARS);
+            count(text, stopped, counts);
+        }
+        return counts;
+    }
+
+    /** @return Number of non-zero slots */
+    public static int distinct(int[] counts) {
+        int distinct = 0;
+        for (int count : counts) {
+            distinct += count != 0 ? 1 : 0;
+        }
+        return distinct;
+    }
+
+    //===========================================
+    //CHECKS BUILT ON THE KERNEL
+    //===========================================
+
+    /**
+     * @return true if s and t contain the same chars with the same counts
+     * Time: O(n) - one histogram, counted up by s and down by t in the same loop
+     */
+    public static boolean isAnagram(String s, String t) {
+        int n = s.length();
+        if (t.length() != n) {
+            return false;
+        }
+        int[] counts = new int[ASCII];
+        int i = 0;
+        for (; i < n; i++) {
+            char a = s.charAt(i);
+            char b = t.charAt(i);
+            if ((a | b) >= ASCII) {
+                break;
+            }
+            counts[a]++;
+            counts[b]--;
+        }
+        if (i < n) {
+            counts = Arrays.copyOf(counts, ALL_CHARS);
+            for (; i < n; i++) {
+                counts[s.charAt(i)]++;
+                counts[t.charAt(i)]--;
+            }
+        }
+        // Equal lengths: if every char of s nets to zero, t has no other chars
+        for (int k = 0; k < n; k++) {
+            if (counts[s.charAt(k)] != 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * @return true if two histograms hold the same counts (vectorized compare)
+     */
+    public static boolean sameCounts(int[] a, int[] b) {
+        if (a.length == b.length) {
+            return Arrays.equals(a, b);
+        }
+        int[] shorter = a.length < b.length ? a : b;
+        int[] longer = a.length < b.length ? b : a;
+        for (int i = shorter.length; i < longer.length; i++) {
+            if (longer[i] != 0) {
+                return false;
+            }
+        }
+        return Arrays.equals(shorter, 0, shorter.length, longer, 0, shorter.length);
+    }
+
+    /**
+     * @return Index of the first char that occurs exactly once, or -1
+     * Time: O(n) - count, then scan until the first count of 1
+     */
+    public static int firstUnique(String s) {
+        int[] counts = histogram(s);
+        for (int i = 0, n = s.length(); i < n; i++) {
+            if (counts[s.charAt(i)] == 1) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Test cases (throughput: CharacterFrequencyBenchmark in jmh/)
+     */
+    public static void main(String[] args) {
+        // Test 1: ASCII and non-ASCII (table grows once, no char counted twice)
+        int[] ascii = histogram("PAYSHAP REF 1234");
+        System.out.println("slots=" + ascii.length + " A=" + ascii['A'] + " P=" + ascii['P'] + " ' '=" + ascii[' ']
+                + " distinct=" + distinct(ascii));
+        // Expected: slots=128 A=2 P=2 ' '=2 distinct=13
+        int[] wide = histogram("R100 – R200 ✓");
+        System.out.println("slots=" + wide.length + " '–'=" + wide['–'] + " '0'=" + wide['0'] + " '✓'=" + wide['✓']);
+        // Expected: slots=65536 '–'=1 '0'=4 '✓'=1
+
+        // Test 2: Bytes agree with chars for ASCII input
+        byte[] bytes = "PAYSHAP REF 1234".getBytes(StandardCharsets.US_ASCII);
+        int[] byteCounts = new int[ALL_BYTES];
+        countBytes(bytes, 0, bytes.length, byteCounts);
+        System.out.println("Bytes match chars: " + sameCounts(byteCounts, ascii));
+        // Expected: true
+
+        // Test 3: Anagram and first-unique checks
+        System.out.println(isAnagram("anagram", "nagaram") + " " + isAnagram("rat", "car") + " "
+                + isAnagram("R–1", "1R–") + " " + isAnagram("aab", "abb"));
+        // Expected: true false true false
+        System.out.println(firstUnique("leetcode") + " " + firstUnique("loveleetcode") + " " + firstUnique("aabb")
+                + " " + firstUnique("ééx"));
+        // Expected: 0 2 -1 2
+    }
+}
@@ -0,0 +1,66 @@
+package com.fintech.foundations.collections;
+
+/**
+ * Hashing and sizing shared by the open-addressing collections.
+ *
+ * @author Jesse De Oliveira
+ * @since 2026-10-18
+ */
+final class HashSupport {
+
+    /** Resize when the table is 3/4 full */
+    private static final float LOAD_FACTOR = 0.75f;
+
+    /** Largest power-of-two array length */
+    private static final int MAX_CAPACITY = 1 << 30;
+
+    private HashSupport() {
+    }
+
+    /**
+     * Spreads an int key over all bits (golden-ratio multiply + fold).
+     * Sequential IDs and amounts would otherwise cluster in linear probing.
+     */
+    static int mix(int key) {
+        int h = key * 0x9E3779B9;
+        return h ^ (h >>> 16);
+    }
+
+    /** Spreads a long key (murmur3 finalizer, folded to an int). */
+    static int mix(long key) {
+        long h = key;
+        h = (h ^ (h >>> 33)) * 0xFF51AFD7ED558CCDL;
+        h = (h ^ (h >>> 33)) * 0xC4CEB9FE1A85EC53L;
+        return (int) (h ^ (h >>> 33));
+    }
+
+    /**
+     * @return Power-of-two capacity that holds expectedSize entries below the load factor
+     * @throws IllegalArgumentException if expectedSize is negative or too large
+     */
+    static int capacityFor(int expectedSize, int minCapacity) {
+        if (expectedSize < 0) {
+            throw new IllegalArgumentException("Expected size cannot be negative. Got: " + expectedSize);
+        }
+        long needed = (long) Math.ceil(expectedSize / LOAD_FACTOR) + 1;
+        if (needed > MAX_CAPACITY) {
+            throw new IllegalArgumentException("Expected size too large. Got: " + expectedSize);
+        }
+        int capacity = minCapacity;
+        while (capacity < needed) {
+            capacity <<= 1;
+        }
+        return capacity;
+    }
+
+    /**
+     * @return Entry count at which a table of this capacity must grow
+     * @throws IllegalStateException if the table cannot grow any further
+     */
+    static int resizeThreshold(int capacity) {
+        if (capacity <= 0 || capacity > MAX_CAPACITY) {
+            throw new IllegalStateException("Hash table cannot grow beyond " + MAX_CAPACITY + " slots");
+        }
+        return (int) Math.min(capacity - 1, (long) (capacity * LOAD_FACTOR));
+    }
+}
@@ -0,0 +1,929 @@
+package com.fintech.foundations.collections;
+
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Comparator;
+import java.util.Random;
+import java.util.function.IntConsumer;
+
+/**
+ * Compressed set of non-negative ints (roaring bitmap layout).
+ *
+ * A plain bitmap over 100M row numbers costs 12.5 MB even when it holds
+ * ten rows; a sorted int[] costs 400 MB when it holds them all. This set
+ * splits values by their high 16 bits into containers of up to 65,536
+ * values and picks the cheaper layout per container:
+ * - array container: sorted char[] of the low 16 bits (up to 4,096 values, 2 bytes each)
+ * - bitmap container: long[1024] (8 KB, any number of values)
+ *
+ * and/or/andNot work container by container: bitmap-bitmap is 1,024 word
+ * operations, array-array is a merge, array-bitmap is one bit test per value.
+ * When one array is 32x longer than the other, the merge gallops
+ * (exponential search) through the long one instead of stepping.
+ * The word loops are plain long[] loops that the JIT compiles to SIMD.
+ *
+ * andAll/orAll combine any number of sets in one pass per container,
+ * without building the intermediate sets a chain of and() calls would.
+ *
+ * Values are usually added in ascending order (row numbers as rows are
+ * appended), which touches only the last container: O(1) per add.
+ *
+ * Not thread-safe.
+ *
+ * @author Jesse De Oliveira
+ * @since 2026-10-18
+ */
+public class IntBitmap {
+
+    /** Largest array container; one more value converts it to a bitmap */
+    static final int ARRAY_MAX = 4096;
+
+    private static final int BITMAP_WORDS = 1 << 10;
+
+    /** Array intersections gallop when one side is this many times longer */
+    private static final int GALLOP_RATIO = 32;
+
+    private int[] keys;            // High 16 bits per container, ascending
+    private char[][] arrays;       // Array containers (null where the container is a bitmap)
+    private long[][] bitmaps;      // Bitmap containers (null where the container is an array)
+    private int[] cardinalities;
+    private int containers;
+
+    /** Creates an empty set. */
+    public IntBitmap() {
+        this(4);
+    }
+
+    private IntBitmap(int containerCapacity) {
+        int capacity = Math.max(1, containerCapacity);
+        keys = new int[capacity];
+        arrays = new char[capacity][];
+        bitmaps = new long[capacity][];
+        cardinalities = new int[capacity];
+    }
+
+    /**
+     * Creates a set from values in any order.
+     */
+    public static IntBitmap of(int... values) {
+        IntBitmap bitmap = new IntBitmap();
+        for (int value : values) {
+            bitmap.add(value);
+        }
+        return bitmap;
+    }
+
+    //===========================================
+    //UPDATES
+    //===========================================
+
+    /**
+     * Adds a value.
+     * Time: O(1) when values arrive in ascending order, O(log n + 4096) worst case
+     *
+     * @return true if the value was not already present
+     * @throws IllegalArgumentException if the value is negative
+     */
+    public boolean add(int value) {
+        if (value < 0) {
+            throw new IllegalArgumentException("Value must be non-negative. Got: " + value);
+        }
+        int high = value >>> 16;
+        char low = (char) value;
+        int i = containers > 0 && keys[containers - 1] == high ? containers - 1 : find(high);
+        if (i < 0) {
+            i = -i - 1;
+            insertContainer(i, high, new char[4], null, 0);
+        }
+        long[] bitmap = bitmaps[i];
+        if (bitmap != null) {
+            long before = bitmap[low >>> 6];
+            bitmap[low >>> 6] = before | (1L << low);
+            if (bitmap[low >>> 6] == before) {
+                return false;
+            }
+            cardinalities[i]++;
+            return true;
+        }
+
+        char[] array = arrays[i];
+        int n = cardinalities[i];
+        int position;
+        if (n == 0 || array[n - 1] < low) {
+            position = n;  // Ascending appends
+        } else {
+            position = Arrays.binarySearch(array, 0, n, low);
+            if (position >= 0) {
+                return false;
+            }
+            position = -position - 1;
+        }
+        if (n == ARRAY_MAX) {
+            long[] converted = toBitmap(array, n);
+            converted[low >>> 6] |= 1L << low;
+            bitmaps[i] = converted;
+            arrays[i] = null;
+        } else {
+            if (n == array.length) {
+                array = Arrays.copyOf(array, Math.min(ARRAY_MAX, n * 2));
+                arrays[i] = array;
+            }
+            System.arraycopy(array, position, array, position + 1, n - position);
+            array[position] = low;
+        }
+        cardinalities[i] = n + 1;
+        return true;
+    }
+
+    /**
+     * Adds every value in [from, to).
+     * Time: O(containers + array values touched); full containers are filled word by word
+     */
+    public void addRange(int from, int to) {
+        if (from < 0 || from > to) {
+            throw new IllegalArgumentException("Range must be non-negative and ordered. Got: " + from + ".." + to);
+        }
+        while (from < to) {
+            int high = from >>> 16;
+            int containerEnd = (int) Math.min(to, ((long) high + 1) << 16);
+            int i = find(high);
+            if (containerEnd - from <= 64 && (i < 0 || bitmaps[i] == null)) {
+                // Short span: add one by one (keeps small containers as arrays)
+                for (int v = from; v < containerEnd; v++) {
+                    add(v);
+                }
+            } else {
+                if (i < 0) {
+                    i = -i - 1;
+                    insertContainer(i, high, null, new long[BITMAP_WORDS], 0);
+                } else if (bitmaps[i] == null) {
+                    bitmaps[i] = toBitmap(arrays[i], cardinalities[i]);
+                    arrays[i] = null;
+                }
+                long[] bitmap = bitmaps[i];
+                int lo = from & 0xFFFF;
+                int hi = containerEnd - 1 & 0xFFFF;  // Inclusive
+                int firstWord = lo >>> 6;
+                int lastWord = hi >>> 6;
+                if (firstWord == lastWord) {
+                    bitmap[firstWord] |= (-1L << lo) & (-1L >>> (63 - (hi & 63)));
+                } else {
+                    bitmap[firstWord] |= -1L << lo;
+                    Arrays.fill(bitmap, firstWord + 1, lastWord, -1L);
+                    bitmap[lastWord] |= -1L >>> (63 - (hi & 63));
+                }
+                cardinalities[i] = bitCount(bitmap);
+            }
+            from = containerEnd;
+        }
+    }
+
+    /**
+     * Removes a value (an emptied container is dropped).
+     * Time: O(log containers + 4096) worst case, O(log containers) for the largest value
+     *
+     * @return true if the value was present
+     */
+    public boolean remove(int value) {
+        if (value < 0) {
+            return false;
+        }
+        int i = find(value >>> 16);
+        if (i < 0) {
+            return false;
+        }
+        char low = (char) value;
+        long[] bitmap = bitmaps[i];
+        if (bitmap != null) {
+            long before = bitmap[low >>> 6];
+            bitmap[low >>> 6] = before & ~(1L << low);
+            if (bitmap[low >>> 6] == before) {
+                return false;
+            }
+        } else {
+            char[] array = arrays[i];
+            int n = cardinalities[i];
+            int position = Arrays.binarySearch(array, 0, n, low);
+            if (position < 0) {
+                return false;
+            }
+            System.arraycopy(array, position + 1, array, position, n - position - 1);
+        }
+        if (--cardinalities[i] == 0) {
+            removeContainer(i);
+        }
+        return true;
+    }
+
+    //===========================================
+    //QUERIES
+    //===========================================
+
+    /** @return true if the value is present (O(log containers + log 4096)) */
+    public boolean contains(int value) {
+        if (value < 0) {
+            return false;
+        }
+        int i = find(value >>> 16);
+        if (i < 0) {
+            return false;
+        }
+        char low = (char) value;
+        long[] bitmap = bitmaps[i];
+        if (bitmap != null) {
+            return (bitmap[low >>> 6] & (1L << low)) != 0;
+        }
+        return Arrays.binarySearch(arrays[i], 0, cardinalities[i], low) >= 0;
+    }
+
+    /** @return Number of values (O(containers)) */
+    public int cardinality() {
+        int total = 0;
+        for (int i = 0; i < containers; i++) {
+            total += cardinalities[i];
+        }
+        return total;
+    }
+
+    /** @return true if the set is empty */
+    public boolean isEmpty() {
+        return containers == 0;
+    }
+
+    /**
+     * Visits every value in ascending order.
+     */
+    public void forEach(IntConsumer action) {
+        for (int i = 0; i < containers; i++) {
+            int base = keys[i] << 16;
+            long[] bitmap = bitmaps[i];
+            if (bitmap != null) {
+                for (int w = 0; w < BITMAP_WORDS; w++) {
+                    long word = bitmap[w];
+                    while (word != 0) {
+                        action.accept(base | (w << 6) | Long.numberOfTrailingZeros(word));
+                        word &= word - 1;
+                    }
+                }
+            } else {
+                char[] array = arrays[i];
+                for (int j = 0, n = cardinalities[i]; j < n; j++) {
+                    action.accept(base | array[j]);
+                }
+            }
+        }
+    }
+
+    /** @return Values in ascending order */
+    public int[] toArray() {
+        int[] values = new int[cardinality()];
+        int[] position = new int[1];
+        forEach(value -> values[position[0]++] = value);
+        return values;
+    }
+
+    /** @return Independent copy */
+    public IntBitmap copy() {
+        IntBitmap copy = new IntBitmap(containers);
+        for (int i = 0; i < containers; i++) {
+            copy.keys[i] = keys[i];
+            copy.cardinalities[i] = cardinalities[i];
+            if (bitmaps[i] != null) {
+                copy.bitmaps[i] = bitmaps[i].clone();
+            } else {
+                copy.arrays[i] = Arrays.copyOf(arrays[i], cardinalities[i]);
+            }
+        }
+        copy.containers = containers;
+        return copy;
+    }
+
+    /** @return Heap bytes used by the containers */
+    public long memoryBytes() {
+        long bytes = (long) keys.length * (4 + 4 + 8 + 8);
+        for (int i = 0; i < containers; i++) {
+            bytes += bitmaps[i] != null ? 16 + 8L * BITMAP_WORDS : 16 + 2L * arrays[i].length;
+        }
+        return bytes;
+    }
+
+    //===========================================
+    //SET OPERATIONS (new sets; inputs unchanged)
+    //===========================================
+
+    /**
+     * @return Values in both sets
+     * Time: O(containers + values in array containers); bitmap pairs cost 1,024 ANDs
+     */
+    public IntBitmap and(IntBitmap other) {
+        IntBitmap result = new IntBitmap(Math.min(containers, other.containers));
+        int i = 0;
+        int j = 0;
+        while (i < containers && j < other.containers) {
+            if (keys[i] < other.keys[j]) {
+                i++;
+            } else if (keys[i] > other.keys[j]) {
+                j++;
+            } else {
+                result.appendAnd(keys[i], this, i, other, j);
+                i++;
+                j++;
+            }
+        }
+        return result;
+    }
+
+    /**
+     * @return Values in either set
+     */
+    public IntBitmap or(IntBitmap other) {
+        IntBitmap result = new IntBitmap(containers + other.containers);
+        int i = 0;
+        int j = 0;
+        while (i < containers || j < other.containers) {
+            if (j == other.containers || (i < containers && keys[i] < other.keys[j])) {
+                result.appendCopy(this, i++);
+            } else if (i == containers || keys[i] > other.keys[j]) {
+                result.appendCopy(other, j++);
+            } else {
+                long[] words = bitmapOf(i);
+                other.orInto(j, words);
+                result.appendBitmap(keys[i], words);
+                i++;
+                j++;
+            }
+        }
+        return result;
+    }
+
+    /**
+     * @return Values in this set but not the other
+     */
+    public IntBitmap andNot(IntBitmap other) {
+        IntBitmap result = new IntBitmap(containers);
+        int j = 0;
+        for (int i = 0; i < containers; i++) {
+            while (j < other.containers && other.keys[j] < keys[i]) {
+                j++;
+            }
+            if (j == other.containers || other.keys[j] != keys[i]) {
+                result.appendCopy(this, i);
+                continue;
+            }
+            if (bitmaps[i] == null) {
+                char[] array = arrays[i];
+                char[] kept = new char[cardinalities[i]];
+                int n = 0;
+                if (other.bitmaps[j] == null) {
+                    // Merge: step through the other array once (not a search per value)
+                    char[] otherArray = other.arrays[j];
+                    int otherCount = other.cardinalities[j];
+                    int q = 0;
+                    for (int k = 0; k < cardinalities[i]; k++) {
+                        char value = array[k];
+                        q = advanceUntil(otherArray, q, otherCount, value);
+                        if (q == otherCount || otherArray[q] != value) {
+                            kept[n++] = value;
+                        }
+                    }
+                } else {
+                    long[] otherBitmap = other.bitmaps[j];
+                    for (int k = 0; k < cardinalities[i]; k++) {
+                        char value = array[k];
+                        if ((otherBitmap[value >>> 6] & (1L << value)) == 0) {
+                            kept[n++] = value;
+                        }
+                    }
+                }
+                result.appendArray(keys[i], kept, n);
+            } else {
+                long[] words = bitmaps[i].clone();
+                long[] otherBitmap = other.bitmaps[j];
+                if (otherBitmap != null) {
+                    for (int w = 0; w < BITMAP_WORDS; w++) {
+                        words[w] &= ~otherBitmap[w];
+                    }
+                } else {
+                    char[] otherArray = other.arrays[j];
+                    for (int k = 0; k < other.cardinalities[j]; k++) {
+                        words[otherArray[k] >>> 6] &= ~(1L << otherArray[k]);
+                    }
+                }
+                result.appendBitmap(keys[i], words);
+            }
+        }
+        return result;
+    }
+
+    /**
+     * @return Number of values in both sets, without building the intersection
+     * Time: as and(), no allocation
+     */
+    public int andCardinality(IntBitmap other) {
+        int count = 0;
+        int i = 0;
+        int j = 0;
+        while (i < containers && j < other.containers) {
+            if (keys[i] < other.keys[j]) {
+                i++;
+            } else if (keys[i] > other.keys[j]) {
+                j++;
+            } else {
+                long[] bitmapA = bitmaps[i];
+                long[] bitmapB = other.bitmaps[j];
+                if (bitmapA != null && bitmapB != null) {
+                    for (int w = 0; w < BITMAP_WORDS; w++) {
+                        count += Long.bitCount(bitmapA[w] & bitmapB[w]);
+                    }
+                } else if (bitmapA == null && bitmapB == null) {
+                    count += intersectArrays(arrays[i], cardinalities[i], other.arrays[j], other.cardinalities[j], null);
+                } else {
+                    char[] array = bitmapA == null ? arrays[i] : other.arrays[j];
+                    int n = bitmapA == null ? cardinalities[i] : other.cardinalities[j];
+                    long[] bitmap = bitmapA != null ? bitmapA : bitmapB;
+                    for (int k = 0; k < n; k++) {
+                        count += (int) (bitmap[array[k] >>> 6] >>> array[k]) & 1;
+                    }
+                }
+                i++;
+                j++;
+            }
+        }
+        return count;
+    }
+
+    //===========================================
+    //MULTI-WAY OPERATIONS
+    //===========================================
+
+    /**
+     * @return Values present in every set (empty for no sets)
+     * Time: O(containers of the set with fewest containers x sets), plus
+     * per shared key: the smallest container is filtered through the others
+     * (arrays), or all bitmaps are ANDed into one buffer
+     */
+    public static IntBitmap andAll(IntBitmap... sets) {
+        if (sets.length == 0) {
+            return new IntBitmap();
+        }
+        IntBitmap[] ordered = sets.clone();
+        Arrays.sort(ordered, Comparator.comparingInt(set -> set.containers));
+        IntBitmap driver = ordered[0];
+        IntBitmap result = new IntBitmap(driver.containers);
+        int[] positions = new int[ordered.length];
+
+        nextKey:
+        for (int i = 0; i < driver.containers; i++) {
+            int key = driver.keys[i];
+            positions[0] = i;
+            int smallest = 0;  // Set holding the smallest array container for this key, if any
+            for (int s = 1; s < ordered.length; s++) {
+                IntBitmap set = ordered[s];
+                int j = positions[s];
+                while (j < set.containers && set.keys[j] < key) {
+                    j++;
+                }
+                positions[s] = j;
+                if (j == set.containers || set.keys[j] != key) {
+                    continue nextKey;
+                }
+                if (smallerContainer(set, j, ordered[smallest], positions[smallest])) {
+                    smallest = s;
+                }
+            }
+
+            IntBitmap first = ordered[smallest];
+            int c = positions[smallest];
+            if (first.bitmaps[c] == null) {
+                // Filter the smallest array through every other container, in place
+                char[] values = Arrays.copyOf(first.arrays[c], first.cardinalities[c]);
+                int n = values.length;
+                for (int s = 0; s < ordered.length && n > 0; s++) {
+                    if (s != smallest) {
+                        n = ordered[s].retain(positions[s], values, n);
+                    }
+                }
+                result.appendArray(key, values, n);
+            } else {
+                // Every container is a bitmap (an array would have been chosen)
+                long[] words = first.bitmaps[c].clone();
+                for (int s = 0; s < ordered.length; s++) {
+                    if (s != smallest) {
+                        long[] bitmap = ordered[s].bitmaps[positions[s]];
+                        for (int w = 0; w < BITMAP_WORDS; w++) {
+                            words[w] &= bitmap[w];
+                        }
+                    }
+                }
+                result.appendBitmap(key, words);
+            }
+        }
+        return result;
+    }
+
+    /**
+     * @return Values present in any set
+     * Time: O(total containers x sets); keys held by one set are copied,
+     * keys held by several are ORed into one buffer
+     */
+    public static IntBitmap orAll(IntBitmap... sets) {
+        IntBitmap result = new IntBitmap();
+        int[] positions = new int[sets.length];
+        while (true) {
+            int key = Integer.MAX_VALUE;
+            int holder = -1;
+            int holders = 0;
+            for (int s = 0; s < sets.length; s++) {
+                if (positions[s] < sets[s].containers) {
+                    int k = sets[s].keys[positions[s]];
+                    if (k < key) {
+                        key = k;
+                        holder = s;
+                        holders = 1;
+                    } else if (k == key) {
+                        holders++;
+                    }
+                }
+            }
+            if (holder < 0) {
+                return result;
+            }
+            if (holders == 1) {
+                result.appendCopy(sets[holder], positions[holder]++);
+                continue;
+            }
+            long[] words = new long[BITMAP_WORDS];
+            for (int s = holder; s < sets.length; s++) {
+                if (positions[s] < sets[s].containers && sets[s].keys[positions[s]] == key) {
+                    sets[s].orInto(positions[s]++, words);
+                }
+            }
+            result.appendBitmap(key, words);
+        }
+    }
+
+    /** Appends the intersection of container a.i and b.j (same key). */
+    private void appendAnd(int key, IntBitmap a, int i, IntBitmap b, int j) {
+        long[] bitmapA = a.bitmaps[i];
+        long[] bitmapB = b.bitmaps[j];
+        if (bitmapA != null && bitmapB != null) {
+            long[] words = new long[BITMAP_WORDS];
+            for (int w = 0; w < BITMAP_WORDS; w++) {
+                words[w] = bitmapA[w] & bitmapB[w];
+            }
+            appendBitmap(key, words);
+        } else if (bitmapA == null && bitmapB == null) {
+            int nx = a.cardinalities[i];
+            int ny = b.cardinalities[j];
+            char[] out = new char[Math.min(nx, ny)];
+            int n = intersectArrays(a.arrays[i], nx, b.arrays[j], ny, out);
+            appendArray(key, out, n);
+        } else {
+            // Array probes the bitmap
+            char[] array = bitmapA == null ? a.arrays[i] : b.arrays[j];
+            int count = bitmapA == null ? a.cardinalities[i] : b.cardinalities[j];
+            long[] bitmap = bitmapA != null ? bitmapA : bitmapB;
+            char[] out = new char[count];
+            int n = 0;
+            for (int k = 0; k < count; k++) {
+                char low = array[k];
+                if ((bitmap[low >>> 6] & (1L << low)) != 0) {
+                    out[n++] = low;
+                }
+            }
+            appendArray(key, out, n);
+        }
+    }
+
+    /** @return Container i as a fresh bitmap */
+    private long[] bitmapOf(int i) {
+        return bitmaps[i] != null ? bitmaps[i].clone() : toBitmap(arrays[i], cardinalities[i]);
+    }
+
+    private void orInto(int j, long[] words) {
+        if (bitmaps[j] != null) {
+            long[] bitmap = bitmaps[j];
+            for (int w = 0; w < BITMAP_WORDS; w++) {
+                words[w] |= bitmap[w];
+            }
+        } else {
+            char[] array = arrays[j];
+            for (int k = 0; k < cardinalities[j]; k++) {
+                words[array[k] >>> 6] |= 1L << array[k];
+            }
+        }
+    }
+
+    /** Arrays before bitmaps (addRange can leave a sparse bitmap), then by cardinality. */
+    private static boolean smallerContainer(IntBitmap a, int i, IntBitmap b, int j) {
+        boolean arrayA = a.bitmaps[i] == null;
+        boolean arrayB = b.bitmaps[j] == null;
+        if (arrayA != arrayB) {
+            return arrayA;
+        }
+        return a.cardinalities[i] < b.cardinalities[j];
+    }
+
+    /**
+     * Keeps the values (sorted, first n) that are also in container j.
+     * @return New count (kept values are moved to the front)
+     */
+    private int retain(int j, char[] values, int n) {
+        long[] bitmap = bitmaps[j];
+        if (bitmap == null) {
+            return intersectArrays(values, n, arrays[j], cardinalities[j], values);
+        }
+        int kept = 0;
+        for (int k = 0; k < n; k++) {
+            char low = values[k];
+            if ((bitmap[low >>> 6] & (1L << low)) != 0) {
+                values[kept++] = low;
+            }
+        }
+        return kept;
+    }
+
+    private void appendCopy(IntBitmap source, int i) {
+        if (source.bitmaps[i] != null) {
+            appendContainer(source.keys[i], null, source.bitmaps[i].clone(), source.cardinalities[i]);
+        } else {
+            appendContainer(source.keys[i], Arrays.copyOf(source.arrays[i], source.cardinalities[i]),
+                    null, source.cardinalities[i]);
+        }
+    }
+
+    /** Appends a bitmap container, shrinking it to an array if it is sparse. */
+    private void appendBitmap(int key, long[] words) {
+        int count = bitCount(words);
+        if (count == 0) {
+            return;
+        }
+        if (count > ARRAY_MAX) {
+            appendContainer(key, null, words, count);
+            return;
+        }
+        char[] array = new char[count];
+        int n = 0;
+        for (int w = 0; w < BITMAP_WORDS; w++) {
+            long word = words[w];
+            while (word != 0) {
+                array[n++] = (char) ((w << 6) | Long.numberOfTrailingZeros(word));
+                word &= word - 1;
+            }
+        }
+        appendContainer(key, array, null, count);
+    }
+
+    private void appendArray(int key, char[] array, int count) {
+        if (count > 0) {
+            appendContainer(key, count == array.length ? array : Arrays.copyOf(array, count), null, count);
+        }
+    }
+
+    private void appendContainer(int key, char[] array, long[] bitmap, int count) {
+        insertContainer(containers, key, array, bitmap, count);
+    }
+
+    //===========================================
+    //CONTAINER HELPERS
+    //===========================================
+
+    /** @return Container index, or -(insertion point) - 1 */
+    private int find(int high) {
+        int lo = 0;
+        int hi = containers - 1;
+        while (lo <= hi) {
+            int mid = (lo + hi) >>> 1;
+            if (keys[mid] < high) {
+                lo = mid + 1;
+            } else if (keys[mid] > high) {
+                hi = mid - 1;
+            } else {
+                return mid;
+            }
+        }
+        return -lo - 1;
+    }
+
+    private void insertContainer(int i, int key, char[] array, long[] bitmap, int count) {
+        if (containers == keys.length) {
+            int capacity = keys.length * 2;
+            keys = Arrays.copyOf(keys, capacity);
+            arrays = Arrays.copyOf(arrays, capacity);
+            bitmaps = Arrays.copyOf(bitmaps, capacity);
+            cardinalities = Arrays.copyOf(cardinalities, capacity);
+        }
+        int tail = containers - i;
+        System.arraycopy(keys, i, keys, i + 1, tail);
+        System.arraycopy(arrays, i, arrays, i + 1, tail);
+        System.arraycopy(bitmaps, i, bitmaps, i + 1, tail);
+        System.arraycopy(cardinalities, i, cardinalities, i + 1, tail);
+        keys[i] = key;
+        arrays[i] = array;
+        bitmaps[i] = bitmap;
+        cardinalities[i] = count;
+        containers++;
+    }
+
+    private void removeContainer(int i) {
+        int tail = containers - i - 1;
+        System.arraycopy(keys, i + 1, keys, i, tail);
+        System.arraycopy(arrays, i + 1, arrays, i, tail);
+        System.arraycopy(bitmaps, i + 1, bitmaps, i, tail);
+        System.arraycopy(cardinalities, i + 1, cardinalities, i, tail);
+        containers--;
+        arrays[containers] = null;
+        bitmaps[containers] = null;
+    }
+
+    /**
+     * Intersects two sorted arrays into out (may be x itself, or null to only count).
+     * Merges when the lengths are similar; gallops through the longer one otherwise.
+     *
+     * @return Number of common values
+     */
+    private static int intersectArrays(char[] x, int nx, char[] y, int ny, char[] out) {
+        int n = 0;
+        if (nx * GALLOP_RATIO < ny || ny * GALLOP_RATIO < nx) {
+            boolean xShort = nx < ny;
+            char[] small = xShort ? x : y;
+            char[] large = xShort ? y : x;
+            int nSmall = xShort ? nx : ny;
+            int nLarge = xShort ? ny : nx;
+            int q = 0;
+            for (int p = 0; p < nSmall && q < nLarge; p++) {
+                char value = small[p];
+                q = advanceUntil(large, q, nLarge, value);
+                if (q < nLarge && large[q] == value) {
+                    if (out != null) {
+                        out[n] = value;
+                    }
+                    n++;
+                    q++;
+                }
+            }
+            return n;
+        }
+        int p = 0;
+        int q = 0;
+        while (p < nx && q < ny) {
+            if (x[p] < y[q]) {
+                p++;
+            } else if (x[p] > y[q]) {
+                q++;
+            } else {
+                if (out != null) {
+                    out[n] = x[p];
+                }
+                n++;
+                p++;
+                q++;
+            }
+        }
+        return n;
+    }
+
+    /**
+     * Galloping search: first index >= from whose value is >= min (length if none).
+     * Time: O(log distance) - steps 1, 2, 4, ... then binary search
+     */
+    private static int advanceUntil(char[] array, int from, int length, char min) {
+        if (from >= length || array[from] >= min) {
+            return from;
+        }
+        int lo = from;  // array[lo] < min
+        int step = 1;
+        int hi = lo + step;
+        while (hi < length && array[hi] < min) {
+            lo = hi;
+            step <<= 1;
+            hi = lo + step;
+        }
+        hi = Math.min(hi, length);  // Answer is in (lo, hi]
+        lo++;
+        while (lo < hi) {
+            int mid = (lo + hi) >>> 1;
+            if (array[mid] < min) {
+                lo = mid + 1;
+            } else {
+                hi = mid;
+            }
+        }
+        return lo;
+    }
+
+    private static long[] toBitmap(char[] array, int count) {
+        long[] words = new long[BITMAP_WORDS];
+        for (int k = 0; k < count; k++) {
+            words[array[k] >>> 6] |= 1L << array[k];
+        }
+        return words;
+    }
+
+    private static int bitCount(long[] words) {
+        int count = 0;
+        for (long word : words) {
+            count += Long.bitCount(word);
+        }
+        return count;
+    }
+
+    /**
+     * Returns the values, e.g. "{1, 5, 70000}" (first 20 only for large sets).
+     */
+    @Override
+    public String toString() {
+        StringBuilder sb = new StringBuilder("{");
+        int[] shown = new int[1];
+        forEach(value -> {
+            if (shown[0] < 20) {
+                sb.append(shown[0] == 0 ? "" : ", ").append(value);
+            }
+            shown[0]++;
+        });
+        if (shown[0] > 20) {
+            sb.append(", ... (").append(shown[0]).append(" values)");
+        }
+        return sb.append('}').toString();
+    }
+
+    /**
+     * Test cases
+     */
+    public static void main(String[] args) {
+        // Test 1: Basics across container types
+        IntBitmap a = IntBitmap.of(5, 1, 70_000, 1);
+        System.out.println(a + " size " + a.cardinality() + " contains 70000: " + a.contains(70_000));
+        // Expected: {1, 5, 70000} size 3 contains 70000: true
+
+        // Test 2: Set operations agree with BitSet (array and bitmap containers mixed)
+        Random random = new Random(42);
+        IntBitmap x = new IntBitmap();
+        IntBitmap y = new IntBitmap();
+        BitSet bx = new BitSet();
+        BitSet by = new BitSet();
+        for (int i = 0; i < 300_000; i++) {
+            int v = random.nextInt(1 << 20);
+            int w = random.nextInt(i < 150_000 ? 1 << 18 : 1 << 22);  // Dense and sparse regions
+            x.add(v);
+            bx.set(v);
+            y.add(w);
+            by.set(w);
+        }
+        x.addRange(900_000, 1_000_000);
+        bx.set(900_000, 1_000_000);
+        BitSet and = (BitSet) bx.clone();
+        and.and(by);
+        BitSet or = (BitSet) bx.clone();
+        or.or(by);
+        BitSet andNot = (BitSet) bx.clone();
+        andNot.andNot(by);
+        System.out.println("and: " + Arrays.equals(x.and(y).toArray(), and.stream().toArray())
+                + ", or: " + Arrays.equals(x.or(y).toArray(), or.stream().toArray())
+                + ", andNot: " + Arrays.equals(x.andNot(y).toArray(), andNot.stream().toArray()));
+        // Expected: and: true, or: true, andNot: true
+
+        // Test 3: Galloping (one array 100x longer), andCardinality, multi-way ops vs BitSet
+        IntBitmap sparse = IntBitmap.of(3, 700, 2_000, 2_001, 40_000);
+        IntBitmap everySixteenth = new IntBitmap();
+        for (int v = 0; v < 64_000; v += 16) {
+            everySixteenth.add(v);
+        }
+        everySixteenth.add(2_001);
+        System.out.println("Gallop: " + sparse.and(everySixteenth) + " count " + sparse.andCardinality(everySixteenth));
+        // Expected: Gallop: {2000, 2001, 40000} count 3
+        IntBitmap z = new IntBitmap();
+        BitSet bz = new BitSet();
+        for (int i = 0; i < 200_000; i++) {
+            int v = random.nextInt(1 << 21);
+            z.add(v);
+            bz.set(v);
+        }
+        BitSet all = (BitSet) and.clone();
+        all.and(bz);
+        BitSet any = (BitSet) or.clone();
+        any.or(bz);
+        System.out.println("andAll: " + Arrays.equals(andAll(x, y, z).toArray(), all.stream().toArray())
+                + ", orAll: " + Arrays.equals(orAll(z, x, y).toArray(), any.stream().toArray())
+                + ", andCardinality: " + (x.andCardinality(y) == and.cardinality()));
+        // Expected: andAll: true, orAll: true, andCardinality: true
+        IntBitmap rangeBitmap = new IntBitmap();
+        rangeBitmap.addRange(0, 100);  // Bitmap container with only 100 values
+        System.out.println("Mixed: " + andAll(rangeBitmap, IntBitmap.of(5, 50, 500), IntBitmap.of(50, 60, 5)));
+        // Expected: Mixed: {5, 50}
+        IntBitmap removal = IntBitmap.of(1, 5, 70_000);
+        rangeBitmap.remove(50);
+        System.out.println("Remove: " + removal.remove(5) + " " + removal.remove(70_000) + " " + removal.remove(6)
+                + " -> " + removal + ", bitmap container: " + rangeBitmap.cardinality() + " " + rangeBitmap.contains(50));
+        // Expected: Remove: true true false -> {1}, bitmap container: 99 false
+
+        // Test 4: Memory for 100M row numbers, 25% dense (one transaction type)
+        IntBitmap quarter = new IntBitmap();
+        for (int row = 0; row < 100_000_000; row += 4) {
+            quarter.add(row);
+        }
+        System.out.printf("25M of 100M rows: %,d bytes (int[] would be %,d)%n",
+                quarter.memoryBytes(), 4L * quarter.cardinality());
+        // Expected: ~12.5 MB vs 100 MB
+    }
+}
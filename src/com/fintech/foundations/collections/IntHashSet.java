@@ -0,0 +1,214 @@
+package com.fintech.foundations.collections;
+
+import java.util.Arrays;
+
+/**
+ * Open-addressing hash set of ints (no boxing).
+ *
+ * Replaces HashSet<Integer> (a HashMap underneath: ~50 bytes per element)
+ * with one int array probed linearly (4 bytes per slot).
+ *
+ * Value 0 marks an empty slot; a real 0 is tracked by a flag.
+ *
+ * Not thread-safe.
+ *
+ * @author Jesse De Oliveira
+ * @since 2026-10-18
+ */
+public class IntHashSet {
+
+    private static final int MIN_CAPACITY = 8;
+
+    private int[] slots;
+    private int mask;
+    private int size;          // Elements in the array (excludes 0)
+    private int resizeAt;
+    private boolean hasZero;
+
+    /** Creates an empty set. */
+    public IntHashSet() {
+        this(MIN_CAPACITY);
+    }
+
+    /**
+     * Creates a set that holds expectedSize elements without resizing.
+     */
+    public IntHashSet(int expectedSize) {
+        allocate(HashSupport.capacityFor(expectedSize, MIN_CAPACITY));
+    }
+
+    /**
+     * Adds a value.
+     * Time: O(1) amortized
+     *
+     * @return true if the value was not already present
+     */
+    public boolean add(int value) {
+        if (value == 0) {
+            boolean added = !hasZero;
+            hasZero = true;
+            return added;
+        }
+        int slot = HashSupport.mix(value) & mask;
+        int v;
+        while ((v = slots[slot]) != 0) {
+            if (v == value) {
+                return false;
+            }
+            slot = (slot + 1) & mask;
+        }
+        slots[slot] = value;
+        if (++size >= resizeAt) {
+            rehash(slots.length << 1);
+        }
+        return true;
+    }
+
+    /**
+     * @return true if the value is present
+     * Time: O(1) average
+     */
+    public boolean contains(int value) {
+        if (value == 0) {
+            return hasZero;
+        }
+        int slot = HashSupport.mix(value) & mask;
+        int v;
+        while ((v = slots[slot]) != 0) {
+            if (v == value) {
+                return true;
+            }
+            slot = (slot + 1) & mask;
+        }
+        return false;
+    }
+
+    /**
+     * Removes a value (backward-shift deletion, no tombstones).
+     *
+     * @return true if the value was present
+     */
+    public boolean remove(int value) {
+        if (value == 0) {
+            boolean had = hasZero;
+            hasZero = false;
+            return had;
+        }
+        int slot = HashSupport.mix(value) & mask;
+        int v;
+        while ((v = slots[slot]) != 0) {
+            if (v == value) {
+                shiftBack(slot);
+                size--;
+                return true;
+            }
+            slot = (slot + 1) & mask;
+        }
+        return false;
+    }
+
+    /** @return Number of elements */
+    public int size() {
+        return size + (hasZero ? 1 : 0);
+    }
+
+    /** @return true if the set is empty */
+    public boolean isEmpty() {
+        return size() == 0;
+    }
+
+    /** Removes every element (keeps the capacity). */
+    public void clear() {
+        Arrays.fill(slots, 0);
+        size = 0;
+        hasZero = false;
+    }
+
+    /** @return The elements in an array (order is unspecified) */
+    public int[] toArray() {
+        int[] out = new int[size()];
+        int i = 0;
+        if (hasZero) {
+            out[i++] = 0;
+        }
+        for (int v : slots) {
+            if (v != 0) {
+                out[i++] = v;
+            }
+        }
+        return out;
+    }
+
+    /** @return Heap bytes used by the slot array */
+    public long memoryBytes() {
+        return (long) Integer.BYTES * slots.length;
+    }
+
+    //===========================================
+    //HELPERS
+    //===========================================
+
+    private void shiftBack(int hole) {
+        int slot = hole;
+        while (true) {
+            slot = (slot + 1) & mask;
+            int v = slots[slot];
+            if (v == 0) {
+                break;
+            }
+            int home = HashSupport.mix(v) & mask;
+            if (((slot - home) & mask) >= ((slot - hole) & mask)) {
+                slots[hole] = v;
+                hole = slot;
+            }
+        }
+        slots[hole] = 0;
+    }
+
+    private void allocate(int capacity) {
+        resizeAt = HashSupport.resizeThreshold(capacity);
+        slots = new int[capacity];
+        mask = capacity - 1;
+    }
+
+    private void rehash(int capacity) {
+        int[] old = slots;
+        allocate(capacity);
+        for (int v : old) {
+            if (v != 0) {
+                int slot = HashSupport.mix(v) & mask;
+                while (slots[slot] != 0) {
+                    slot = (slot + 1) & mask;
+                }
+                slots[slot] = v;
+            }
+        }
+    }
+
+    /**
+     * Test cases
+     */
+    public static void main(String[] args) {
+        IntHashSet set = new IntHashSet();
+
+        // Test 1: add / contains / duplicates, including 0 and negatives
+        System.out.println("add(5)=" + set.add(5) + " add(5)=" + set.add(5)
+                + " add(0)=" + set.add(0) + " add(-3)=" + set.add(-3) + " size=" + set.size());
+        // Expected: add(5)=true add(5)=false add(0)=true add(-3)=true size=3
+
+        // Test 2: growth from 8 slots to 1M elements
+        for (int i = 1; i <= 1_000_000; i++) {
+            set.add(i * 31);
+        }
+        System.out.println("size=" + set.size() + " contains(31000000)=" + set.contains(31_000_000)
+                + " contains(32)=" + set.contains(32));
+        // Expected: size=1000003 contains(31000000)=true contains(32)=false
+
+        // Test 3: remove
+        set.remove(5);
+        set.remove(0);
+        System.out.println("contains(5)=" + set.contains(5) + " contains(0)=" + set.contains(0)
+                + " toArray length=" + set.toArray().length);
+        // Expected: contains(5)=false contains(0)=false toArray length=1000001
+    }
+}
@@ -0,0 +1,281 @@
+package com.fintech.foundations.collections;
+
+import java.util.Arrays;
+
+/**
+ * Open-addressing hash map from int to int (no boxing).
+ *
+ * HashMap<Integer, Integer> stores every entry as a Node plus two Integer
+ * objects (~50-60 bytes per entry, scattered over the heap). This map keeps
+ * keys and values in two parallel int arrays (8 bytes per slot), probed
+ * linearly, so a lookup touches one or two cache lines and never allocates.
+ *
+ * Key 0 marks an empty slot; a real 0 key is stored separately.
+ * Removal uses backward-shift deletion, so there are no tombstones.
+ *
+ * Not thread-safe.
+ *
+ * @author Jesse De Oliveira
+ * @since 2026-10-18
+ */
+public class IntIntMap {
+
+    /** Receives entries from forEach. */
+    public interface Visitor {
+        void visit(int key, int value);
+    }
+
+    private static final int MIN_CAPACITY = 8;
+
+    private int[] keys;
+    private int[] values;
+    private int mask;
+    private int size;          // Entries in the arrays (excludes the 0 key)
+    private int resizeAt;
+
+    private boolean hasZeroKey;
+    private int zeroValue;
+
+    /** Creates an empty map. */
+    public IntIntMap() {
+        this(MIN_CAPACITY);
+    }
+
+    /**
+     * Creates a map that holds expectedSize entries without resizing.
+     */
+    public IntIntMap(int expectedSize) {
+        allocate(HashSupport.capacityFor(expectedSize, MIN_CAPACITY));
+    }
+
+    /**
+     * @return Value for key, or defaultValue if absent
+     * Time: O(1) average
+     */
+    public int getOrDefault(int key, int defaultValue) {
+        if (key == 0) {
+            return hasZeroKey ? zeroValue : defaultValue;
+        }
+        int slot = HashSupport.mix(key) & mask;
+        int k;
+        while ((k = keys[slot]) != 0) {
+            if (k == key) {
+                return values[slot];
+            }
+            slot = (slot + 1) & mask;
+        }
+        return defaultValue;
+    }
+
+    /** @return true if the key is present */
+    public boolean containsKey(int key) {
+        if (key == 0) {
+            return hasZeroKey;
+        }
+        int slot = HashSupport.mix(key) & mask;
+        int k;
+        while ((k = keys[slot]) != 0) {
+            if (k == key) {
+                return true;
+            }
+            slot = (slot + 1) & mask;
+        }
+        return false;
+    }
+
+    /**
+     * Stores a value (replaces any existing value).
+     * Time: O(1) amortized
+     */
+    public void put(int key, int value) {
+        if (key == 0) {
+            hasZeroKey = true;
+            zeroValue = value;
+            return;
+        }
+        int slot = HashSupport.mix(key) & mask;
+        int k;
+        while ((k = keys[slot]) != 0) {
+            if (k == key) {
+                values[slot] = value;
+                return;
+            }
+            slot = (slot + 1) & mask;
+        }
+        keys[slot] = key;
+        values[slot] = value;
+        if (++size >= resizeAt) {
+            rehash(keys.length << 1);
+        }
+    }
+
+    /**
+     * Adds delta to the value for key (absent keys start at 0).
+     * Replaces map.put(k, map.getOrDefault(k, 0) + delta) with one probe.
+     *
+     * @return The new value
+     */
+    public int addTo(int key, int delta) {
+        if (key == 0) {
+            zeroValue = (hasZeroKey ? zeroValue : 0) + delta;
+            hasZeroKey = true;
+            return zeroValue;
+        }
+        int slot = HashSupport.mix(key) & mask;
+        int k;
+        while ((k = keys[slot]) != 0) {
+            if (k == key) {
+                return values[slot] += delta;
+            }
+            slot = (slot + 1) & mask;
+        }
+        keys[slot] = key;
+        values[slot] = delta;
+        if (++size >= resizeAt) {
+            rehash(keys.length << 1);
+        }
+        return delta;
+    }
+
+    /**
+     * Removes a key.
+     *
+     * @return true if the key was present
+     */
+    public boolean remove(int key) {
+        if (key == 0) {
+            boolean had = hasZeroKey;
+            hasZeroKey = false;
+            zeroValue = 0;
+            return had;
+        }
+        int slot = HashSupport.mix(key) & mask;
+        int k;
+        while ((k = keys[slot]) != 0) {
+            if (k == key) {
+                shiftBack(slot);
+                size--;
+                return true;
+            }
+            slot = (slot + 1) & mask;
+        }
+        return false;
+    }
+
+    /** @return Number of entries */
+    public int size() {
+        return size + (hasZeroKey ? 1 : 0);
+    }
+
+    /** @return true if the map is empty */
+    public boolean isEmpty() {
+        return size() == 0;
+    }
+
+    /** Removes every entry (keeps the capacity). */
+    public void clear() {
+        Arrays.fill(keys, 0);
+        size = 0;
+        hasZeroKey = false;
+        zeroValue = 0;
+    }
+
+    /** Visits every entry (order is unspecified). */
+    public void forEach(Visitor visitor) {
+        if (hasZeroKey) {
+            visitor.visit(0, zeroValue);
+        }
+        for (int slot = 0; slot < keys.length; slot++) {
+            if (keys[slot] != 0) {
+                visitor.visit(keys[slot], values[slot]);
+            }
+        }
+    }
+
+    /** @return Heap bytes used by the slot arrays */
+    public long memoryBytes() {
+        return 2L * Integer.BYTES * keys.length;
+    }
+
+    //===========================================
+    //HELPERS
+    //===========================================
+
+    /** Backward-shift deletion: pull later entries of the probe chain into the hole. */
+    private void shiftBack(int hole) {
+        int slot = hole;
+        while (true) {
+            slot = (slot + 1) & mask;
+            int k = keys[slot];
+            if (k == 0) {
+                break;
+            }
+            int home = HashSupport.mix(k) & mask;
+            // Move k only if its home slot is not between the hole and its current slot
+            if (((slot - home) & mask) >= ((slot - hole) & mask)) {
+                keys[hole] = k;
+                values[hole] = values[slot];
+                hole = slot;
+            }
+        }
+        keys[hole] = 0;
+    }
+
+    private void allocate(int capacity) {
+        resizeAt = HashSupport.resizeThreshold(capacity);
+        keys = new int[capacity];
+        values = new int[capacity];
+        mask = capacity - 1;
+    }
+
+    private void rehash(int capacity) {
+        int[] oldKeys = keys;
+        int[] oldValues = values;
+        allocate(capacity);
+        for (int i = 0; i < oldKeys.length; i++) {
+            int k = oldKeys[i];
+            if (k != 0) {
+                int slot = HashSupport.mix(k) & mask;
+                while (keys[slot] != 0) {
+                    slot = (slot + 1) & mask;
+                }
+                keys[slot] = k;
+                values[slot] = oldValues[i];
+            }
+        }
+    }
+
+    /**
+     * Test cases
+     */
+    public static void main(String[] args) {
+        IntIntMap map = new IntIntMap();
+
+        // Test 1: put / get / overwrite, including the 0 key
+        map.put(7, 70);
+        map.put(0, 5);
+        map.put(7, 71);
+        System.out.println("get(7)=" + map.getOrDefault(7, -1) + " get(0)=" + map.getOrDefault(0, -1)
+                + " get(9)=" + map.getOrDefault(9, -1) + " size=" + map.size());
+        // Expected: get(7)=71 get(0)=5 get(9)=-1 size=2
+
+        // Test 2: addTo counts without boxing
+        for (int i = 0; i < 100_000; i++) {
+            map.addTo(i % 1000, 1);
+        }
+        System.out.println("count(3)=" + map.getOrDefault(3, 0) + " size=" + map.size());
+        // Expected: count(3)=100 size=1000
+
+        // Test 3: remove keeps colliding keys reachable
+        int removed = 0;
+        for (int i = 0; i < 1000; i += 2) {
+            removed += map.remove(i) ? 1 : 0;
+        }
+        boolean oddsIntact = true;
+        for (int i = 1; i < 1000; i += 2) {
+            oddsIntact &= map.getOrDefault(i, 0) == (i == 7 ? 171 : 100);
+        }
+        System.out.println("removed=" + removed + " size=" + map.size() + " odds intact=" + oddsIntact);
+        // Expected: removed=500 size=500 odds intact=true
+    }
+}
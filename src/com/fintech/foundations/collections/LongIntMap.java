@@ -0,0 +1,272 @@
+package com.fintech.foundations.collections;
+
+import java.util.Arrays;
+
+/**
+ * Open-addressing hash map from long to int (no boxing).
+ *
+ * For keys that do not fit an int: transaction IDs (Snowflake longs)
+ * and amounts in cents. 12 bytes per slot instead of ~60 bytes per
+ * HashMap<Long, Integer> entry.
+ *
+ * Key 0 marks an empty slot; a real 0 key is stored separately.
+ *
+ * Not thread-safe.
+ *
+ * @author Jesse De Oliveira
+ * @since 2026-10-18
+ */
+public class LongIntMap {
+
+    /** Receives entries from forEach. */
+    public interface Visitor {
+        void visit(long key, int value);
+    }
+
+    private static final int MIN_CAPACITY = 8;
+
+    private long[] keys;
+    private int[] values;
+    private int mask;
+    private int size;          // Entries in the arrays (excludes the 0 key)
+    private int resizeAt;
+
+    private boolean hasZeroKey;
+    private int zeroValue;
+
+    /** Creates an empty map. */
+    public LongIntMap() {
+        this(MIN_CAPACITY);
+    }
+
+    /**
+     * Creates a map that holds expectedSize entries without resizing.
+     */
+    public LongIntMap(int expectedSize) {
+        allocate(HashSupport.capacityFor(expectedSize, MIN_CAPACITY));
+    }
+
+    /**
+     * @return Value for key, or defaultValue if absent
+     * Time: O(1) average
+     */
+    public int getOrDefault(long key, int defaultValue) {
+        if (key == 0) {
+            return hasZeroKey ? zeroValue : defaultValue;
+        }
+        int slot = HashSupport.mix(key) & mask;
+        long k;
+        while ((k = keys[slot]) != 0) {
+            if (k == key) {
+                return values[slot];
+            }
+            slot = (slot + 1) & mask;
+        }
+        return defaultValue;
+    }
+
+    /** @return true if the key is present */
+    public boolean containsKey(long key) {
+        if (key == 0) {
+            return hasZeroKey;
+        }
+        int slot = HashSupport.mix(key) & mask;
+        long k;
+        while ((k = keys[slot]) != 0) {
+            if (k == key) {
+                return true;
+            }
+            slot = (slot + 1) & mask;
+        }
+        return false;
+    }
+
+    /**
+     * Stores a value (replaces any existing value).
+     * Time: O(1) amortized
+     */
+    public void put(long key, int value) {
+        if (key == 0) {
+            hasZeroKey = true;
+            zeroValue = value;
+            return;
+        }
+        int slot = HashSupport.mix(key) & mask;
+        long k;
+        while ((k = keys[slot]) != 0) {
+            if (k == key) {
+                values[slot] = value;
+                return;
+            }
+            slot = (slot + 1) & mask;
+        }
+        keys[slot] = key;
+        values[slot] = value;
+        if (++size >= resizeAt) {
+            rehash(keys.length << 1);
+        }
+    }
+
+    /**
+     * Adds delta to the value for key (absent keys start at 0).
+     *
+     * @return The new value
+     */
+    public int addTo(long key, int delta) {
+        if (key == 0) {
+            zeroValue = (hasZeroKey ? zeroValue : 0) + delta;
+            hasZeroKey = true;
+            return zeroValue;
+        }
+        int slot = HashSupport.mix(key) & mask;
+        long k;
+        while ((k = keys[slot]) != 0) {
+            if (k == key) {
+                return values[slot] += delta;
+            }
+            slot = (slot + 1) & mask;
+        }
+        keys[slot] = key;
+        values[slot] = delta;
+        if (++size >= resizeAt) {
+            rehash(keys.length << 1);
+        }
+        return delta;
+    }
+
+    /**
+     * Removes a key (backward-shift deletion, no tombstones).
+     *
+     * @return true if the key was present
+     */
+    public boolean remove(long key) {
+        if (key == 0) {
+            boolean had = hasZeroKey;
+            hasZeroKey = false;
+            zeroValue = 0;
+            return had;
+        }
+        int slot = HashSupport.mix(key) & mask;
+        long k;
+        while ((k = keys[slot]) != 0) {
+            if (k == key) {
+                shiftBack(slot);
+                size--;
+                return true;
+            }
+            slot = (slot + 1) & mask;
+        }
+        return false;
+    }
+
+    /** @return Number of entries */
+    public int size() {
+        return size + (hasZeroKey ? 1 : 0);
+    }
+
+    /** @return true if the map is empty */
+    public boolean isEmpty() {
+        return size() == 0;
+    }
+
+    /** Removes every entry (keeps the capacity). */
+    public void clear() {
+        Arrays.fill(keys, 0L);
+        size = 0;
+        hasZeroKey = false;
+        zeroValue = 0;
+    }
+
+    /** Visits every entry (order is unspecified). */
+    public void forEach(Visitor visitor) {
+        if (hasZeroKey) {
+            visitor.visit(0L, zeroValue);
+        }
+        for (int slot = 0; slot < keys.length; slot++) {
+            if (keys[slot] != 0) {
+                visitor.visit(keys[slot], values[slot]);
+            }
+        }
+    }
+
+    /** @return Heap bytes used by the slot arrays */
+    public long memoryBytes() {
+        return (long) (Long.BYTES + Integer.BYTES) * keys.length;
+    }
+
+    //===========================================
+    //HELPERS
+    //===========================================
+
+    private void shiftBack(int hole) {
+        int slot = hole;
+        while (true) {
+            slot = (slot + 1) & mask;
+            long k = keys[slot];
+            if (k == 0) {
+                break;
+            }
+            int home = HashSupport.mix(k) & mask;
+            if (((slot - home) & mask) >= ((slot - hole) & mask)) {
+                keys[hole] = k;
+                values[hole] = values[slot];
+                hole = slot;
+            }
+        }
+        keys[hole] = 0L;
+    }
+
+    private void allocate(int capacity) {
+        resizeAt = HashSupport.resizeThreshold(capacity);
+        keys = new long[capacity];
+        values = new int[capacity];
+        mask = capacity - 1;
+    }
+
+    private void rehash(int capacity) {
+        long[] oldKeys = keys;
+        int[] oldValues = values;
+        allocate(capacity);
+        for (int i = 0; i < oldKeys.length; i++) {
+            long k = oldKeys[i];
+            if (k != 0) {
+                int slot = HashSupport.mix(k) & mask;
+                while (keys[slot] != 0) {
+                    slot = (slot + 1) & mask;
+                }
+                keys[slot] = k;
+                values[slot] = oldValues[i];
+            }
+        }
+    }
+
+    /**
+     * Test cases
+     */
+    public static void main(String[] args) {
+        LongIntMap map = new LongIntMap();
+
+        // Test 1: Snowflake-sized keys
+        long id = 0x0123_4567_89AB_CDEFL;
+        map.put(id, 1);
+        map.addTo(id, 2);
+        map.addTo(id + 1, 5);
+        map.put(0L, 9);
+        System.out.println("get(id)=" + map.getOrDefault(id, -1) + " get(id+1)=" + map.getOrDefault(id + 1, -1)
+                + " get(0)=" + map.getOrDefault(0L, -1) + " size=" + map.size());
+        // Expected: get(id)=3 get(id+1)=5 get(0)=9 size=3
+
+        // Test 2: count amounts in cents (many repeats)
+        LongIntMap amounts = new LongIntMap();
+        for (int i = 0; i < 1_000_000; i++) {
+            amounts.addTo(10_000L * (i % 500), 1);
+        }
+        System.out.println("distinct=" + amounts.size() + " count(R 100.00)=" + amounts.getOrDefault(10_000L, 0));
+        // Expected: distinct=500 count(R 100.00)=2000
+
+        // Test 3: remove
+        map.remove(id);
+        System.out.println("contains(id)=" + map.containsKey(id) + " contains(id+1)=" + map.containsKey(id + 1));
+        // Expected: contains(id)=false contains(id+1)=true
+    }
+}
@@ -0,0 +1,312 @@
+package com.fintech.foundations.format;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.WritableByteChannel;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import com.fintech.foundations.TransactionStatus;
+import com.fintech.foundations.TransactionType;
+import com.fintech.foundations.TransactionView;
+import com.fintech.foundations.store.TransactionStore;
+
+/**
+ * Renders transaction receipts for statement runs.
+ *
+ * Transaction.displayReceipt() used to make ~15 System.out.println calls
+ * per receipt. Each call takes the PrintStream lock and flushes, and the
+ * method built a new DateTimeFormatter every time. Fine for one receipt,
+ * far too slow for millions. This renderer:
+ * - pre-encodes the fixed frame (box lines, labels) as UTF-8 once
+ * - writes the date, ID and amounts digit by digit (no formatter, no BigDecimal)
+ * - assembles each receipt in one reusable byte[] and bulk-copies it
+ *   into a reusable direct ByteBuffer
+ * - or, for append(), writes the same parts straight into the caller's
+ *   StringBuilder (frame as pre-built Strings, fields as ASCII chars)
+ * - writes batches to a channel with one large write per full buffer
+ *
+ * Output is byte-for-byte what displayReceipt() printed (UTF-8, '\n' line ends).
+ *
+ * Not thread-safe: use one renderer per thread.
+ *
+ * @author Jesse De Oliveira
+ * @since 2026-10-18
+ */
+public class ReceiptRenderer {
+
+    /** Upper bound on one receipt's UTF-8 size (fixed frame + variable fields) */
+    public static final int MAX_RECEIPT_BYTES = 2048;
+
+    /** Batch buffer size (~1,000 receipts per write) */
+    public static final int BUFFER_BYTES = 1024 * 1024;
+
+    /** A fixed piece of text, kept as a String and as UTF-8 bytes */
+    private static final class Part {
+        final String text;
+        final byte[] utf8;
+
+        Part(String text) {
+            this.text = text;
+            this.utf8 = text.getBytes(StandardCharsets.UTF_8);
+        }
+    }
+
+    private static final Part TOP = new Part(
+            "\n╔════════════════════════════════════════════╗\n"
+            + "║         TRANSACTION RECEIPT                ║\n"
+            + "║    Cape Town Fintech Portfolio Demo       ║\n"
+            + "╠════════════════════════════════════════════╣\n"
+            + "   Transaction ID: TXN-");
+    private static final Part ACCOUNT = new Part("\n   Account: ");
+    private static final Part DATE = new Part("\n   Date: ");
+    private static final Part TYPE = new Part("\n   Type: ");
+    private static final Part STATUS = new Part("\n   Status: ");
+    private static final Part AMOUNT = new Part("\n─────────────────────────────────────────────\n   Amount: R ");
+    private static final Part VAT = new Part("\n   VAT (15%): R");
+    private static final Part TOTAL = new Part("\n─────────────────────────────────────────────\n   TOTAL: R ");
+    private static final Part BOTTOM = new Part("\n╚════════════════════════════════════════════╝\n");
+    private static final Part VAT_APPLIED = new Part("\n VAT applied: South African standard rate (15%)\n\n");
+    private static final Part VAT_EXEMPT = new Part("\n VAT exempt: ");
+    private static final Part BLANK_LINE = new Part("\n\n");
+
+    private static final byte[] HEX = "0123456789abcdef".getBytes(StandardCharsets.US_ASCII);
+    private static final Part[] TYPE_NAMES = new Part[TransactionType.values().length];
+    private static final Part[] TYPE_DESCRIPTIONS = new Part[TransactionType.values().length];
+    private static final Part[] STATUS_NAMES = new Part[TransactionStatus.values().length];
+
+    static {
+        for (TransactionType type : TransactionType.values()) {
+            TYPE_NAMES[type.ordinal()] = new Part(type.name());
+            TYPE_DESCRIPTIONS[type.ordinal()] = new Part(type.getDescription());
+        }
+        for (TransactionStatus status : TransactionStatus.values()) {
+            STATUS_NAMES[status.ordinal()] = new Part(status.name());
+        }
+    }
+
+    /** One receipt being assembled (in text mode: the ASCII field not yet appended) */
+    private final byte[] receipt = new byte[MAX_RECEIPT_BYTES];
+    private int length;
+
+    /** Caller's StringBuilder while append() runs, otherwise null */
+    private StringBuilder text;
+
+    /** Scratch for writing numbers right to left */
+    private final byte[] digits = new byte[20];
+
+    private ByteBuffer buffer;  // Allocated on first batch write
+
+    //===========================================
+    //SINGLE RECEIPTS
+    //===========================================
+
+    /**
+     * Renders a receipt as text.
+     * Time: O(1), one String allocated
+     */
+    public String render(TransactionView transaction) {
+        assemble(transaction);
+        return new String(receipt, 0, length, StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Appends a receipt to a caller's StringBuilder.
+     * Time: O(1), no temporary String
+     *
+     * @return The same StringBuilder
+     */
+    public StringBuilder append(TransactionView transaction, StringBuilder out) {
+        text = out;
+        try {
+            assemble(transaction);
+            flushAscii();
+        } finally {
+            text = null;
+        }
+        return out;
+    }
+
+    /**
+     * Encodes a receipt as UTF-8 into a buffer.
+     * Time: O(1), allocation-free for Transaction objects
+     *
+     * @throws java.nio.BufferOverflowException if fewer than MAX_RECEIPT_BYTES remain
+     */
+    public void render(TransactionView transaction, ByteBuffer out) {
+        assemble(transaction);
+        out.put(receipt, 0, length);
+    }
+
+    /** Builds one receipt in the reusable byte[]. */
+    private void assemble(TransactionView transaction) {
+        long amountCents = transaction.getAmountCents();
+        long vatCents = transaction.getVatCents();
+        int type = transaction.getTransactionType().ordinal();
+        length = 0;
+
+        put(TOP);
+        putHex(transaction.getId());
+        put(ACCOUNT);
+        putAscii(transaction.getAccountNumber());
+        put(DATE);
+        putDateTime(transaction.getTimestamp());
+        put(TYPE);
+        put(TYPE_NAMES[type]);
+        put(STATUS);
+        put(STATUS_NAMES[transaction.getTransactionStatus().ordinal()]);
+        put(AMOUNT);
+        putCents(amountCents);
+        put(VAT);
+        putCents(vatCents);
+        put(TOTAL);
+        putCents(Math.addExact(amountCents, vatCents));
+        put(BOTTOM);
+        if (vatCents > 0) {
+            put(VAT_APPLIED);
+        } else {
+            put(VAT_EXEMPT);
+            put(TYPE_DESCRIPTIONS[type]);
+            put(BLANK_LINE);
+        }
+    }
+
+    //===========================================
+    //BATCH OUTPUT
+    //===========================================
+
+    /**
+     * Writes receipts to a channel, one large write per full buffer.
+     *
+     * @return Number of receipts written
+     */
+    public int writeAll(List<? extends TransactionView> transactions, WritableByteChannel channel)
+            throws IOException {
+        ByteBuffer out = buffer();
+        for (TransactionView transaction : transactions) {
+            if (out.remaining() < MAX_RECEIPT_BYTES) {
+                flush(channel);
+            }
+            render(transaction, out);
+        }
+        flush(channel);
+        return transactions.size();
+    }
+
+    /**
+     * Writes receipts for store rows [fromRow, toRow) through one cursor.
+     *
+     * @return Number of receipts written
+     */
+    public int writeRows(TransactionStore store, int fromRow, int toRow, WritableByteChannel channel)
+            throws IOException {
+        if (fromRow < 0 || toRow > store.size() || fromRow > toRow) {
+            throw new IndexOutOfBoundsException("Rows " + fromRow + ".." + toRow + " of " + store.size());
+        }
+        ByteBuffer out = buffer();
+        TransactionStore.Cursor cursor = store.cursor();
+        for (int row = fromRow; row < toRow; row++) {
+            if (out.remaining() < MAX_RECEIPT_BYTES) {
+                flush(channel);
+            }
+            render(cursor.at(row), out);
+        }
+        flush(channel);
+        return toRow - fromRow;
+    }
+
+    private ByteBuffer buffer() {
+        if (buffer == null) {
+            buffer = ByteBuffer.allocateDirect(BUFFER_BYTES);
+        }
+        return buffer;
+    }
+
+    private void flush(WritableByteChannel channel) throws IOException {
+        buffer.flip();
+        while (buffer.hasRemaining()) {
+            channel.write(buffer);
+        }
+        buffer.clear();
+    }
+
+    //===========================================
+    //FIELD WRITERS
+    //===========================================
+
+    private void put(Part part) {
+        if (text == null) {
+            System.arraycopy(part.utf8, 0, receipt, length, part.utf8.length);
+            length += part.utf8.length;
+        } else {
+            flushAscii();
+            text.append(part.text);
+        }
+    }
+
+    /** Text mode: moves the field bytes written since the last part into the StringBuilder. */
+    private void flushAscii() {
+        for (int i = 0; i < length; i++) {
+            text.append((char) receipt[i]);
+        }
+        length = 0;
+    }
+
+    /** Account numbers are digits; other characters are written as '?'. */
+    private void putAscii(String text) {
+        for (int i = 0; i < text.length(); i++) {
+            char c = text.charAt(i);
+            receipt[length++] = c < 0x80 ? (byte) c : (byte) '?';
+        }
+    }
+
+    /** 16 lowercase hex digits, as TransactionIdGenerator.format(). */
+    private void putHex(long id) {
+        for (int shift = 60; shift >= 0; shift -= 4) {
+            receipt[length++] = HEX[(int) (id >>> shift) & 0xF];
+        }
+    }
+
+    /** yyyy-MM-dd HH:mm:ss */
+    private void putDateTime(LocalDateTime time) {
+        int year = time.getYear();
+        putTwoDigits(year / 100);
+        putTwoDigits(year % 100);
+        receipt[length++] = '-';
+        putTwoDigits(time.getMonthValue());
+        receipt[length++] = '-';
+        putTwoDigits(time.getDayOfMonth());
+        receipt[length++] = ' ';
+        putTwoDigits(time.getHour());
+        receipt[length++] = ':';
+        putTwoDigits(time.getMinute());
+        receipt[length++] = ':';
+        putTwoDigits(time.getSecond());
+    }
+
+    private void putTwoDigits(int value) {
+        receipt[length++] = (byte) ('0' + value / 10);
+        receipt[length++] = (byte) ('0' + value % 10);
+    }
+
+    /** Cents as rands with two decimals, same text as Money.toBigDecimal(cents).toString(). */
+    private void putCents(long cents) {
+        if (cents < 0) {
+            receipt[length++] = '-';
+            cents = -cents;
+        }
+        long rands = cents / 100;
+        int count = 0;
+        do {
+            digits[count++] = (byte) ('0' + rands % 10);
+            rands /= 10;
+        } while (rands != 0);
+        while (count > 0) {
+            receipt[length++] = digits[--count];
+        }
+        receipt[length++] = '.';
+        putTwoDigits((int) (cents % 100));
+    }
+
+}
@@ -0,0 +1,365 @@
+package com.fintech.foundations.format;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.nio.CharBuffer;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Formats and parses Rand amounts like "R 1,234,567.89".
+ *
+ * Replaces "R " + amount.setScale(2) (no thousands separators) and
+ * String.format("R %,.2f", amount.doubleValue()). String.format parses its
+ * pattern on every call, and doubleValue() rounds large amounts (above
+ * ~R 90 trillion a double cannot even hold every cent).
+ *
+ * Here digits are written from long cents straight into a caller's
+ * char[] or byte[]: no Formatter, no regex, no double, no allocation.
+ * The parser reads the same text back without creating any objects.
+ *
+ * Format: "R " + optional '-' + rands with ',' every 3 digits + '.' + 2 digits
+ * (negative amounts keep the "R -100.00" form of MethodsBasics.formatCurrency).
+ *
+ * @author Jesse De Oliveira
+ * @since 2026-10-18
+ */
+public final class ZarFormatter {
+
+    /** Longest possible output: "R -92,233,720,368,547,758.08" */
+    public static final int MAX_CHARS = 28;
+
+    /** Returned by parseCentsOrInvalid for bad input (never a valid result: parsed values stay above it) */
+    public static final long INVALID = Long.MIN_VALUE;
+
+    private ZarFormatter() {
+    }
+
+    //===========================================
+    //FORMAT
+    //===========================================
+
+    /**
+     * Writes an amount in cents as "R 1,234.56".
+     * Time: O(digits), allocation-free
+     *
+     * @param cents Amount in cents
+     * @param out Destination (needs up to MAX_CHARS from offset)
+     * @param offset First index to write
+     * @return Index after the last char written
+     */
+    public static int formatCents(long cents, char[] out, int offset) {
+        return format(cents, out, null, offset);
+    }
+
+    /**
+     * Writes an amount in cents as ASCII bytes "R 1,234.56".
+     * Time: O(digits), allocation-free
+     *
+     * @return Index after the last byte written
+     */
+    public static int formatCents(long cents, byte[] out, int offset) {
+        return format(cents, null, out, offset);
+    }
+
+    /** Shared formatter into either a char[] or a byte[]. */
+    private static int format(long cents, char[] chars, byte[] bytes, int offset) {
+        put(chars, bytes, offset++, 'R');
+        put(chars, bytes, offset++, ' ');
+        if (cents < 0) {
+            put(chars, bytes, offset++, '-');
+        }
+        // Work on the negative value so Long.MIN_VALUE does not overflow
+        long negative = cents < 0 ? cents : -cents;
+        int fraction = (int) -(negative % 100);
+        long rands = -(negative / 100);
+
+        int digits = rands == 0 ? 1 : countDigits(rands);
+        int end = offset + digits + (digits - 1) / 3;
+        int position = end;
+        int written = 0;
+        do {
+            if (written > 0 && written % 3 == 0) {
+                put(chars, bytes, --position, ',');
+            }
+            put(chars, bytes, --position, (char) ('0' + rands % 10));
+            rands /= 10;
+            written++;
+        } while (rands != 0);
+
+        put(chars, bytes, end, '.');
+        put(chars, bytes, end + 1, (char) ('0' + fraction / 10));
+        put(chars, bytes, end + 2, (char) ('0' + fraction % 10));
+        return end + 3;
+    }
+
+    private static void put(char[] chars, byte[] bytes, int i, char c) {
+        if (chars != null) {
+            chars[i] = c;
+        } else {
+            bytes[i] = (byte) c;
+        }
+    }
+
+    /**
+     * Writes a BigDecimal amount, rounded HALF_UP to cents.
+     *
+     * @return Index after the last char written
+     * @throws ArithmeticException if the amount does not fit in long cents
+     */
+    public static int format(BigDecimal amount, char[] out, int offset) {
+        return formatCents(toCentsHalfUp(amount), out, offset);
+    }
+
+    /**
+     * Writes a BigDecimal amount as ASCII bytes, rounded HALF_UP to cents.
+     *
+     * @return Index after the last byte written
+     * @throws ArithmeticException if the amount does not fit in long cents
+     */
+    public static int format(BigDecimal amount, byte[] out, int offset) {
+        return formatCents(toCentsHalfUp(amount), out, offset);
+    }
+
+    /** @return Amount in cents as a String, e.g. "R 1,234,567.89" */
+    public static String formatCents(long cents) {
+        char[] chars = new char[MAX_CHARS];
+        return new String(chars, 0, formatCents(cents, chars, 0));
+    }
+
+    /**
+     * Amounts beyond long cents (about R 92 quadrillion) take a slower
+     * BigDecimal path with the same layout instead of overflowing.
+     *
+     * @return Amount rounded HALF_UP to cents as a String, e.g. "R 1,234,567.89"
+     */
+    public static String format(BigDecimal amount) {
+        BigDecimal rounded = amount.setScale(2, RoundingMode.HALF_UP);
+        if (rounded.unscaledValue().bitLength() < Long.SIZE) {
+            return formatCents(rounded.unscaledValue().longValue());
+        }
+
+        // Too large for long cents: group the plain digits instead
+        String digits = rounded.abs().toPlainString();
+        int point = digits.length() - 3;
+        StringBuilder sb = new StringBuilder(point + point / 3 + 6).append("R ");
+        if (rounded.signum() < 0) {
+            sb.append('-');
+        }
+        for (int i = 0; i < point; i++) {
+            if (i > 0 && (point - i) % 3 == 0) {
+                sb.append(',');
+            }
+            sb.append(digits.charAt(i));
+        }
+        return sb.append(digits, point, digits.length()).toString();
+    }
+
+    private static long toCentsHalfUp(BigDecimal amount) {
+        if (amount.scale() == 2) {
+            return amount.unscaledValue().longValueExact();  // Common case: already in cents
+        }
+        return amount.setScale(2, RoundingMode.HALF_UP).unscaledValue().longValueExact();
+    }
+
+    /** Number of decimal digits of a positive long. */
+    private static int countDigits(long value) {
+        int digits = 1;
+        long limit = 10;
+        while (digits < 19 && value >= limit) {
+            digits++;
+            limit *= 10;
+        }
+        return digits;
+    }
+
+    //===========================================
+    //PARSE
+    //===========================================
+
+    /**
+     * Parses "R 1,234,567.89" (and "1234567.89", "R -12.5", "-R 12.50") into cents.
+     * Time: O(length), allocation-free unless the text is invalid
+     *
+     * Rules: optional "R" and spaces, optional '-', digits with ','
+     * separators every 3 digits (or none at all), optional '.' and 1-2 decimals.
+     *
+     * @throws IllegalArgumentException if the text is not a Rand amount or is out of range
+     */
+    public static long parseCents(CharSequence text) {
+        long cents = parse(text, null, 0, text.length());
+        if (cents == INVALID) {
+            throw new IllegalArgumentException("Invalid ZAR amount. Got: " + text);
+        }
+        return cents;
+    }
+
+    /**
+     * Parses ASCII bytes (e.g., a field of a statement file) into cents.
+     *
+     * @throws IllegalArgumentException if the bytes are not a Rand amount or are out of range
+     */
+    public static long parseCents(byte[] bytes, int offset, int length) {
+        long cents = parse(null, bytes, offset, offset + length);
+        if (cents == INVALID) {
+            throw new IllegalArgumentException("Invalid ZAR amount. Got: "
+                    + new String(bytes, offset, length, StandardCharsets.US_ASCII));
+        }
+        return cents;
+    }
+
+    /**
+     * Parses ASCII bytes into cents without throwing, for bulk validation.
+     * Time: O(length), allocation-free
+     *
+     * @return Amount in cents, or INVALID if the bytes are not a Rand amount or are out of range
+     */
+    public static long parseCentsOrInvalid(byte[] bytes, int offset, int length) {
+        return parse(null, bytes, offset, offset + length);
+    }
+
+    /** Shared parser over either a CharSequence or a byte range. */
+    private static long parse(CharSequence text, byte[] bytes, int start, int end) {
+        int i = start;
+        boolean negative = false;
+
+        if (i < end && charAt(text, bytes, i) == '-') {
+            negative = true;
+            i++;
+        }
+        if (i < end && charAt(text, bytes, i) == 'R') {
+            i++;
+        }
+        while (i < end && charAt(text, bytes, i) == ' ') {
+            i++;
+        }
+        if (!negative && i < end && charAt(text, bytes, i) == '-') {
+            negative = true;
+            i++;
+        }
+
+        // Rands: digits, optionally grouped by commas
+        long rands = 0;
+        int digits = 0;
+        int groupDigits = 0;
+        boolean grouped = false;
+        while (i < end) {
+            char c = charAt(text, bytes, i);
+            if (c >= '0' && c <= '9') {
+                if (rands > (Long.MAX_VALUE / 100 - 9) / 10) {
+                    return INVALID;  // Would overflow once converted to cents
+                }
+                rands = rands * 10 + (c - '0');
+                digits++;
+                groupDigits++;
+            } else if (c == ',') {
+                // First group 1-3 digits, later groups exactly 3
+                if (grouped ? groupDigits != 3 : groupDigits == 0 || groupDigits > 3) {
+                    return INVALID;
+                }
+                grouped = true;
+                groupDigits = 0;
+            } else {
+                break;
+            }
+            i++;
+        }
+        if (digits == 0 || (grouped && groupDigits != 3)) {
+            return INVALID;
+        }
+
+        // Cents: '.' then 1 or 2 digits
+        int fraction = 0;
+        if (i < end && charAt(text, bytes, i) == '.') {
+            i++;
+            int decimals = 0;
+            while (i < end && decimals < 3) {
+                char c = charAt(text, bytes, i);
+                if (c < '0' || c > '9') {
+                    break;
+                }
+                fraction = fraction * 10 + (c - '0');
+                decimals++;
+                i++;
+            }
+            if (decimals == 0 || decimals > 2) {
+                return INVALID;
+            }
+            if (decimals == 1) {
+                fraction *= 10;
+            }
+        }
+        if (i != end) {
+            return INVALID;  // Trailing characters
+        }
+        long cents = rands * 100 + fraction;
+        return negative ? -cents : cents;
+    }
+
+    private static char charAt(CharSequence text, byte[] bytes, int i) {
+        return text != null ? text.charAt(i) : (char) (bytes[i] & 0xFF);
+    }
+
+    /**
+     * Test cases
+     */
+    public static void main(String[] args) {
+        // Test 1: Formatting
+        System.out.println(formatCents(123_456_789L));
+        // Expected: R 1,234,567.89
+        System.out.println(formatCents(5) + " | " + formatCents(100_000) + " | " + formatCents(-99_999_99));
+        // Expected: R 0.05 | R 1,000.00 | R -99,999.99
+        System.out.println(formatCents(Long.MIN_VALUE));
+        // Expected: R -92,233,720,368,547,758.08
+        System.out.println(format(new BigDecimal("1234567.885")));
+        // Expected: R 1,234,567.89 (HALF_UP)
+        System.out.println(format(new BigDecimal("-123456789012345678901.005")));
+        // Expected: R -123,456,789,012,345,678,901.01 (beyond long cents)
+        byte[] ascii = new byte[MAX_CHARS];
+        int length = formatCents(Long.MIN_VALUE, ascii, 0);
+        System.out.println("byte[] matches char[]: "
+                + new String(ascii, 0, length, StandardCharsets.US_ASCII).equals(formatCents(Long.MIN_VALUE)));
+        // Expected: byte[] matches char[]: true
+
+        // Test 2: String.format through a double loses cents on large amounts
+        BigDecimal large = new BigDecimal("9876543210987654.32");
+        System.out.println("String.format: " + String.format("R %,.2f", large.doubleValue()));
+        System.out.println("ZarFormatter:  " + format(large));
+        // Expected: String.format shows the nearest double (wrong cents); ZarFormatter is exact
+
+        // Test 3: Parse round trip
+        System.out.println(parseCents("R 1,234,567.89") + " " + parseCents("1234567.8") + " " + parseCents("-R 12.50"));
+        // Expected: 123456789 123456780 -1250
+        for (String bad : new String[] {"R 1,23,456.00", "R 1.234", "R ", "R 12a", "R ,123"}) {
+            try {
+                parseCents(bad);
+                System.out.println("FAIL: accepted " + bad);
+            } catch (IllegalArgumentException e) {
+                System.out.println("Rejected: " + e.getMessage());
+            }
+        }
+        // Expected: 5 x Rejected
+
+        // Test 4: Throughput vs String.format (format + parse back)
+        char[] buffer = new char[MAX_CHARS];
+        CharBuffer view = CharBuffer.wrap(buffer);
+        int n = 2_000_000;
+        for (int round = 0; round < 3; round++) {
+            long checksum = 0;
+            long start = System.nanoTime();
+            for (int i = 0; i < n; i++) {
+                int end = formatCents(i * 7_919L, buffer, 0);
+                checksum += parseCents(view.limit(end));
+            }
+            long fast = System.nanoTime() - start;
+
+            start = System.nanoTime();
+            for (int i = 0; i < n / 10; i++) {
+                checksum += String.format("R %,.2f", i * 79.19).length();
+            }
+            long slow = (System.nanoTime() - start) * 10;
+            System.out.printf("Round %d: ZarFormatter %,.0f/s, String.format %,.0f/s (%.0fx) [%d]%n",
+                    round + 1, n * 1e9 / fast, n * 1e9 / slow, (double) slow / fast, checksum & 1);
+        }
+        // Expected: ZarFormatter (format + parse) an order of magnitude faster
+    }
+}
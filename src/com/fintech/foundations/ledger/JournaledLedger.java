@@ -0,0 +1,237 @@
+package com.fintech.foundations.ledger;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.math.BigDecimal;
+import java.nio.file.Path;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import com.fintech.foundations.Money;
+import com.fintech.foundations.Transaction;
+import com.fintech.foundations.TransactionStatus;
+import com.fintech.foundations.store.TransactionJournal;
+import com.fintech.foundations.store.TransactionStore;
+
+/**
+ * LedgerEngine + redo journal: balances and statuses survive restarts.
+ *
+ * Every successful posting is applied to the in-memory LedgerEngine and
+ * then appended to a TransactionJournal. Opening a JournaledLedger replays
+ * the journal to rebuild balances and transaction statuses.
+ *
+ * This is not write-ahead logging: only the in-memory ledger knows whether
+ * a withdrawal succeeds, so the record is written after the change. A
+ * change survives a process crash once its record is appended, and a power
+ * loss once commit() returns (or its group is forced).
+ *
+ * Replay applies records in journal order. Deposits and withdrawals
+ * (signed amounts) commute with each other, so concurrent postings rebuild
+ * the same balance even if they were journaled in a different order than
+ * they were applied. SET_BALANCE does not commute: it overwrites the
+ * balance, so a posting that races setBalance() on the same account can
+ * replay to a different result. Set balances only when opening an account,
+ * before anything posts to it.
+ *
+ * Account numbers must be 8 digits (they are packed into an int in the journal).
+ *
+ * @author Jesse De Oliveira
+ * @since 2026-10-18
+ */
+public class JournaledLedger implements Closeable {
+
+    private final LedgerEngine ledger = new LedgerEngine();
+    private final TransactionJournal journal;
+
+    /** Transaction ID → last journaled status */
+    private final Map<Long, TransactionStatus> statuses = new ConcurrentHashMap<>();
+
+    /**
+     * Opens a journal file and rebuilds the ledger from it.
+     *
+     * @param file Journal file (created if missing)
+     * @param groupSize Appends per force() (see TransactionJournal)
+     */
+    public JournaledLedger(Path file, int groupSize) throws IOException {
+        this.journal = new TransactionJournal(file, groupSize);
+        journal.replay(this::apply);
+    }
+
+    /** Opens a journal with the default group size. */
+    public JournaledLedger(Path file) throws IOException {
+        this(file, TransactionJournal.DEFAULT_GROUP_SIZE);
+    }
+
+    /** Applies one replayed record to the in-memory state. */
+    private void apply(byte kind, int account, long transactionId, long amountCents, int status) {
+        switch (kind) {
+            case TransactionJournal.SET_BALANCE:
+                ledger.setBalanceCents(TransactionStore.unpackAccount(account), amountCents);
+                break;
+            case TransactionJournal.DEPOSIT:
+                ledger.depositCents(TransactionStore.unpackAccount(account), amountCents);
+                break;
+            case TransactionJournal.WITHDRAW:
+                ledger.depositCents(TransactionStore.unpackAccount(account), -amountCents);
+                break;
+            case TransactionJournal.STATUS:
+                statuses.put(transactionId, TransactionStatus.fromOrdinal(status));
+                break;
+            default:
+                throw new IllegalStateException("Unknown journal record kind: " + kind);
+        }
+    }
+
+    //===========================================
+    //LEDGER OPERATIONS (journaled)
+    //===========================================
+
+    /**
+     * Sets an account balance (account opening).
+     */
+    public void setBalance(String accountNum, BigDecimal balance) {
+        long cents = Money.toCents(balance);
+        int account = TransactionStore.packAccount(accountNum);
+        ledger.setBalanceCents(accountNum, cents);
+        try {
+            journal.appendSetBalance(account, cents);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Journal write failed", e);
+        }
+    }
+
+    /**
+     * Deposits money and journals it.
+     */
+    public void deposit(String accountNum, BigDecimal amount) {
+        depositCents(accountNum, 0L, Money.toCents(amount));
+    }
+
+    /**
+     * Deposits cents for a transaction and journals it.
+     */
+    public void depositCents(String accountNum, long transactionId, long amountCents) {
+        int account = TransactionStore.packAccount(accountNum);
+        ledger.depositCents(accountNum, amountCents);
+        try {
+            journal.appendDeposit(account, transactionId, amountCents);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Journal write failed", e);
+        }
+    }
+
+    /**
+     * Withdraws money; only successful withdrawals are journaled.
+     *
+     * @return true if successful, false if insufficient funds
+     */
+    public boolean withdraw(String accountNum, BigDecimal amount) {
+        return withdrawCents(accountNum, 0L, Money.toCents(amount));
+    }
+
+    /**
+     * Withdraws cents for a transaction; only successful withdrawals are journaled.
+     *
+     * @return true if successful, false if insufficient funds
+     */
+    public boolean withdrawCents(String accountNum, long transactionId, long amountCents) {
+        int account = TransactionStore.packAccount(accountNum);
+        if (!ledger.withdrawCents(accountNum, amountCents)) {
+            return false;
+        }
+        try {
+            journal.appendWithdraw(account, transactionId, amountCents);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Journal write failed", e);
+        }
+        return true;
+    }
+
+    /**
+     * Changes a transaction's status and journals the change.
+     *
+     * @throws IllegalArgumentException if the status is invalid
+     * @throws IllegalStateException if the transition is not allowed
+     */
+    public void updateStatus(Transaction transaction, String newStatus) {
+        // Journal the status that was set, not a re-read another thread may have changed
+        TransactionStatus status = TransactionStatus.fromCode(newStatus);
+        transaction.setStatus(status);
+        statuses.put(transaction.getId(), status);
+        try {
+            journal.appendStatus(transaction.getId(), status);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Journal write failed", e);
+        }
+    }
+
+    //===========================================
+    //QUERIES
+    //===========================================
+
+    /** @return Balance (R 0.00 for unknown accounts) */
+    public BigDecimal getBalance(String accountNum) {
+        return ledger.getBalance(accountNum);
+    }
+
+    /** @return Balance in cents (0 for unknown accounts) */
+    public long getBalanceCents(String accountNum) {
+        return ledger.getBalanceCents(accountNum);
+    }
+
+    /** @return true if the account exists */
+    public boolean accountExists(String accountNum) {
+        return ledger.accountExists(accountNum);
+    }
+
+    /** @return Last journaled status of a transaction, or null if none */
+    public TransactionStatus getStatus(long transactionId) {
+        return statuses.get(transactionId);
+    }
+
+    /** Forces outstanding journal records to disk. */
+    public void commit() {
+        journal.commit();
+    }
+
+    /** @return Number of journal records */
+    public long journalSize() {
+        return journal.size();
+    }
+
+    @Override
+    public void close() throws IOException {
+        journal.close();
+    }
+
+    /**
+     * Test cases
+     */
+    public static void main(String[] args) throws IOException {
+        Path file = java.nio.file.Files.createTempFile("ledger", ".journal");
+        long transactionId;
+
+        // Session 1: open accounts, post, complete a transaction
+        try (JournaledLedger ledger = new JournaledLedger(file)) {
+            ledger.setBalance("12345678", new BigDecimal("5000.00"));
+            ledger.deposit("12345678", new BigDecimal("1000.00"));
+            ledger.withdraw("12345678", new BigDecimal("250.50"));
+            ledger.withdraw("12345678", new BigDecimal("99999.00"));  // fails, not journaled
+
+            Transaction transaction = new Transaction("12345678", new BigDecimal("250.50"), "payshap");
+            transactionId = transaction.getId();
+            ledger.updateStatus(transaction, "completed");
+            System.out.println("Session 1 balance: R " + ledger.getBalance("12345678"));
+        }
+
+        // Session 2: everything is rebuilt from the journal
+        try (JournaledLedger ledger = new JournaledLedger(file)) {
+            System.out.println("Session 2 balance: R " + ledger.getBalance("12345678"));
+            System.out.println("Session 2 status: " + ledger.getStatus(transactionId));
+            System.out.println("Journal records: " + ledger.journalSize());
+            // Expected: R 5749.50, COMPLETED, 4 records
+        }
+        java.nio.file.Files.delete(file);
+    }
+}
@@ -0,0 +1,421 @@
+package com.fintech.foundations.ledger;
+
+import java.math.BigDecimal;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+import com.fintech.foundations.Money;
+import com.fintech.foundations.RejectionReport;
+
+/**
+ * Thread-safe ledger engine for account balances.
+ *
+ * Replaces the single static HashMap used by AccountLookupSystem.
+ * Every account owns its own balance cell (long cents, see Money), and
+ * deposits/withdrawals update that cell with compare-and-set (CAS)
+ * instead of a global lock. BigDecimal only appears at the API edge.
+ *
+ * Why per-account CAS?
+ * - Threads posting to DIFFERENT accounts never touch the same cell (no contention)
+ * - Threads posting to the SAME account retry instead of blocking
+ * - The overdraft check and the debit happen in one atomic step,
+ *   so two withdrawals can never both spend the same rand
+ *
+ * Fintech context: PayShap ingest runs on many threads at once.
+ * A plain HashMap read-modify-write silently loses updates there.
+ *
+ * The bank total is kept as a running sum (a striped LongAdder updated on
+ * every posting), so getTotalBalance() is O(1) instead of BankingSystem's
+ * loop over every account.
+ *
+ * @author Jesse De Oliveira
+ * @since 2026-10-18
+ */
+public class LedgerEngine {
+
+    // Account number → balance in cents (the map itself is only written on account creation)
+    private final ConcurrentHashMap<String, AtomicLong> accounts = new ConcurrentHashMap<>();
+
+    // Sum of all balances, adjusted by every posting (transfers leave it unchanged)
+    private final LongAdder totalCents = new LongAdder();
+
+    /**
+     * Creates or overwrites an account balance.
+     * Time: O(1)
+     *
+     * @throws ArithmeticException if the balance has fractions of a cent
+     */
+    public void setBalance(String accountNum, BigDecimal balance) {
+        setBalanceCents(accountNum, Money.toCents(balance));
+    }
+
+    /**
+     * Creates or overwrites an account balance in cents.
+     * Time: O(1)
+     */
+    public void setBalanceCents(String accountNum, long balanceCents) {
+        long previous = cell(accountNum).getAndSet(balanceCents);
+        totalCents.add(balanceCents - previous);
+    }
+
+    /**
+     * Gets account balance (R 0.00 for unknown accounts).
+     * Time: O(1), lock-free
+     */
+    public BigDecimal getBalance(String accountNum) {
+        return Money.toBigDecimal(getBalanceCents(accountNum));
+    }
+
+    /**
+     * Gets account balance in cents (0 for unknown accounts).
+     * Time: O(1), lock-free, allocation-free
+     */
+    public long getBalanceCents(String accountNum) {
+        AtomicLong cell = accounts.get(accountNum);
+        return cell == null ? 0 : cell.get();
+    }
+
+    /**
+     * Checks if account exists.
+     * Time: O(1)
+     */
+    public boolean accountExists(String accountNum) {
+        return accounts.containsKey(accountNum);
+    }
+
+    /**
+     * Deposits money to account (creates the account if needed).
+     * Time: O(1), lock-free CAS loop
+     *
+     * @throws ArithmeticException if the amount has fractions of a cent
+     */
+    public void deposit(String accountNum, BigDecimal amount) {
+        depositCents(accountNum, Money.toCents(amount));
+    }
+
+    /**
+     * Deposits cents to account (creates the account if needed).
+     * Time: O(1), lock-free CAS loop, allocation-free for existing accounts
+     *
+     * @throws ArithmeticException if the balance would overflow
+     */
+    public void depositCents(String accountNum, long amountCents) {
+        AtomicLong cell = cell(accountNum);
+
+        while (true) {
+            long current = cell.get();
+            if (cell.compareAndSet(current, Math.addExact(current, amountCents))) {
+                totalCents.add(amountCents);
+                return;
+            }
+            // Another thread posted first - re-read and retry
+        }
+    }
+
+    /**
+     * Withdraws money from account.
+     * Time: O(1), lock-free CAS loop
+     *
+     * The balance check and the debit are one atomic step:
+     * if another thread changes the balance in between, we re-check.
+     *
+     * @return true if successful, false if insufficient funds
+     * @throws IllegalArgumentException if the amount is not positive
+     * @throws ArithmeticException if the amount has fractions of a cent
+     */
+    public boolean withdraw(String accountNum, BigDecimal amount) {
+        return withdrawCents(accountNum, Money.toCents(amount));
+    }
+
+    /**
+     * Withdraws cents from account.
+     * Time: O(1), lock-free CAS loop, allocation-free
+     *
+     * @return true if successful, false if insufficient funds
+     * @throws IllegalArgumentException if the amount is not positive
+     */
+    public boolean withdrawCents(String accountNum, long amountCents) {
+        if (amountCents <= 0) {
+            throw new IllegalArgumentException("Withdrawal amount must be positive. Got: " + amountCents);
+        }
+        AtomicLong cell = accounts.get(accountNum);
+        if (cell == null) {
+            return false;  // Unknown account has R 0
+        }
+
+        while (true) {
+            long current = cell.get();
+
+            if (current < amountCents) {
+                return false;  // Insufficient funds
+            }
+
+            if (cell.compareAndSet(current, Math.subtractExact(current, amountCents))) {
+                totalCents.add(-amountCents);
+                return true;
+            }
+        }
+    }
+
+    /**
+     * Moves money between two accounts (creates the destination if needed).
+     * Time: O(1), lock-free
+     *
+     * @return true if successful, false if insufficient funds
+     * @throws IllegalArgumentException if the amount is not positive or both accounts are the same
+     * @throws ArithmeticException if the amount has fractions of a cent
+     */
+    public boolean transfer(String fromAccount, String toAccount, BigDecimal amount) {
+        return transferCents(fromAccount, toAccount, Money.toCents(amount));
+    }
+
+    /**
+     * Moves cents between two accounts (creates the destination if needed).
+     * Time: O(1), lock-free, allocation-free for existing accounts
+     *
+     * Two phases, no locks (so no lock ordering and no deadlock):
+     * 1. Debit the source with the same atomic check-and-debit as withdrawCents.
+     *    If funds are short, nothing has changed and we return false.
+     * 2. Credit the destination. A credit cannot fail for lack of funds,
+     *    so once phase 1 succeeds the transfer always completes.
+     *
+     * Money is never created or lost: every debited cent is credited (or
+     * refunded if the credit would overflow). Between the phases the amount
+     * is in flight, so a scan of all balances taken DURING transfers may
+     * come up short; once they complete the total matches exactly.
+     *
+     * @return true if successful, false if insufficient funds
+     * @throws IllegalArgumentException if the amount is not positive or both accounts are the same
+     * @throws ArithmeticException if the destination balance would overflow (source is refunded)
+     */
+    public boolean transferCents(String fromAccount, String toAccount, long amountCents) {
+        if (amountCents <= 0) {
+            throw new IllegalArgumentException("Transfer amount must be positive. Got: " + amountCents);
+        }
+        if (fromAccount.equals(toAccount)) {
+            throw new IllegalArgumentException("Cannot transfer to the same account. Got: " + fromAccount);
+        }
+        AtomicLong from = accounts.get(fromAccount);
+        return from != null && transfer(from, cell(toAccount), amountCents);
+    }
+
+    /**
+     * Applies a settlement file of transfers in row order.
+     * Time: O(n), lock-free
+     *
+     * Rows that cannot be applied are skipped and recorded in the report
+     * (NON_POSITIVE_AMOUNT, SAME_ACCOUNT, INSUFFICIENT_FUNDS); the rest
+     * still go through. Consecutive rows for the same account reuse its
+     * balance cell, so files sorted by payer or payee skip most lookups.
+     * The report is reset before use, as in TransactionBatch.build().
+     *
+     * @param fromAccounts Source account per row
+     * @param toAccounts Destination account per row
+     * @param amountsCents Amount per row in cents
+     * @param report Receives rejected rows (row index + reason; reusable between files)
+     * @return Number of transfers applied
+     * @throws IllegalArgumentException if the columns have different lengths
+     */
+    public int transferAllCents(String[] fromAccounts, String[] toAccounts, long[] amountsCents,
+            RejectionReport report) {
+        if (fromAccounts.length != toAccounts.length || fromAccounts.length != amountsCents.length) {
+            throw new IllegalArgumentException("Transfer columns must have the same length. Got: "
+                    + fromAccounts.length + ", " + toAccounts.length + ", " + amountsCents.length);
+        }
+        report.reset();
+        int applied = 0;
+        String lastFrom = null;
+        String lastTo = null;
+        AtomicLong from = null;
+        AtomicLong to = null;
+
+        for (int row = 0; row < amountsCents.length; row++) {
+            long amountCents = amountsCents[row];
+            if (amountCents <= 0) {
+                report.reject(row, RejectionReport.Reason.NON_POSITIVE_AMOUNT);
+                continue;
+            }
+            if (fromAccounts[row].equals(toAccounts[row])) {
+                report.reject(row, RejectionReport.Reason.SAME_ACCOUNT);
+                continue;
+            }
+            if (!fromAccounts[row].equals(lastFrom)) {
+                lastFrom = fromAccounts[row];
+                from = accounts.get(lastFrom);
+            }
+            if (from == null) {
+                // Unknown payer: it may be opened later in the file (as a payee)
+                from = accounts.get(lastFrom);
+                if (from == null) {
+                    report.reject(row, RejectionReport.Reason.INSUFFICIENT_FUNDS);
+                    continue;
+                }
+            }
+            if (!toAccounts[row].equals(lastTo)) {
+                lastTo = toAccounts[row];
+                to = cell(lastTo);
+            }
+            if (transfer(from, to, amountCents)) {
+                applied++;
+            } else {
+                report.reject(row, RejectionReport.Reason.INSUFFICIENT_FUNDS);
+            }
+        }
+        return applied;
+    }
+
+    /** Phase 1: atomic check-and-debit. Phase 2: credit (refund on overflow). */
+    private static boolean transfer(AtomicLong from, AtomicLong to, long amountCents) {
+        while (true) {
+            long current = from.get();
+            if (current < amountCents) {
+                return false;  // Insufficient funds - nothing changed
+            }
+            if (from.compareAndSet(current, current - amountCents)) {
+                break;
+            }
+        }
+        try {
+            credit(to, amountCents);
+        } catch (ArithmeticException e) {
+            from.getAndAdd(amountCents);  // Give the money back
+            throw e;
+        }
+        return true;
+    }
+
+    private static void credit(AtomicLong cell, long amountCents) {
+        while (true) {
+            long current = cell.get();
+            if (cell.compareAndSet(current, Math.addExact(current, amountCents))) {
+                return;
+            }
+        }
+    }
+
+    /**
+     * Gets the sum of all balances.
+     * Time: O(1) - no scan over accounts
+     *
+     * Exact once postings settle; while postings are in flight it may
+     * lag individual balances by those postings.
+     */
+    public BigDecimal getTotalBalance() {
+        return Money.toBigDecimal(getTotalBalanceCents());
+    }
+
+    /**
+     * Gets the sum of all balances in cents.
+     * Time: O(1), lock-free
+     */
+    public long getTotalBalanceCents() {
+        return totalCents.sum();
+    }
+
+    /**
+     * Number of accounts in the ledger.
+     */
+    public int size() {
+        return accounts.size();
+    }
+
+    /**
+     * Gets (or atomically creates) the balance cell for an account.
+     */
+    private AtomicLong cell(String accountNum) {
+        AtomicLong cell = accounts.get(accountNum);
+        if (cell != null) {
+            return cell;  // Fast path: no allocation for existing accounts
+        }
+        return accounts.computeIfAbsent(accountNum, k -> new AtomicLong());
+    }
+
+    /**
+     * Test cases
+     */
+    public static void main(String[] args) throws InterruptedException {
+        System.out.println("=== LEDGER ENGINE ===\n");
+
+        LedgerEngine ledger = new LedgerEngine();
+        ledger.setBalance("001", new BigDecimal("5000.00"));
+
+        // Test 1: Basic operations
+        ledger.deposit("001", new BigDecimal("1000.00"));
+        System.out.println("After deposit: R " + ledger.getBalance("001"));
+        // Expected: 6000.00
+
+        System.out.println("Withdraw R 10000: " + ledger.withdraw("001", new BigDecimal("10000.00")));
+        // Expected: false
+
+        try {
+            ledger.withdrawCents("001", -100_000);
+        } catch (IllegalArgumentException e) {
+            System.out.println("Negative withdrawal rejected: " + e.getMessage() + " (balance R "
+                    + ledger.getBalance("001") + ")");
+        }
+        // Expected: Negative withdrawal rejected: Withdrawal amount must be positive. Got: -100000 (balance R 6000.00)
+
+        // Test 2: 8 threads x 10,000 deposits of R 1 on the same account
+        ledger.setBalance("002", BigDecimal.ZERO);
+        Thread[] threads = new Thread[8];
+        for (int t = 0; t < threads.length; t++) {
+            threads[t] = new Thread(() -> {
+                for (int i = 0; i < 10_000; i++) {
+                    ledger.deposit("002", BigDecimal.ONE);
+                }
+            });
+            threads[t].start();
+        }
+        for (Thread thread : threads) {
+            thread.join();
+        }
+        System.out.println("Concurrent deposits: R " + ledger.getBalance("002"));
+        // Expected: 80000.00 (no lost updates)
+
+        // Test 3: 8 threads race to withdraw R 1 from R 1,000 - never overdraws
+        ledger.setBalance("003", new BigDecimal("1000"));
+        for (int t = 0; t < threads.length; t++) {
+            threads[t] = new Thread(() -> {
+                for (int i = 0; i < 1_000; i++) {
+                    ledger.withdraw("003", BigDecimal.ONE);
+                }
+            });
+            threads[t].start();
+        }
+        for (Thread thread : threads) {
+            thread.join();
+        }
+        System.out.println("After withdrawal race: R " + ledger.getBalance("003"));
+        // Expected: 0.00 (never negative)
+
+        // Test 4: Transfers
+        System.out.println("Transfer R 500 003 -> 001: " + ledger.transfer("003", "001", new BigDecimal("500.00")));
+        // Expected: false (003 is empty)
+        System.out.println("Transfer R 500 001 -> 003: " + ledger.transfer("001", "003", new BigDecimal("500.00")));
+        // Expected: true
+        System.out.println("001: R " + ledger.getBalance("001") + ", 003: R " + ledger.getBalance("003"));
+        // Expected: 001: R 5500.00, 003: R 500.00
+
+        // Test 5: Settlement file - bad rows are reported, the rest still apply
+        RejectionReport report = new RejectionReport();
+        int applied = ledger.transferAllCents(
+                new String[] {"001", "001", "003", "004"},
+                new String[] {"002", "001", "002", "002"},
+                new long[] {100_00, 50_00, 900_00, 10_00},
+                report);
+        System.out.println("Applied: " + applied + ", " + report);
+        // Expected: Applied: 1, 3 rejected [SAME_ACCOUNT=1, INSUFFICIENT_FUNDS=2]
+        applied = ledger.transferAllCents(new String[] {"002"}, new String[] {"001"}, new long[] {10_00}, report);
+        System.out.println("Reused report: Applied: " + applied + ", " + report);
+        // Expected: Reused report: Applied: 1, 0 rejected [] (earlier rejections cleared)
+
+        // Test 6: Running bank total matches a full scan
+        long scanned = 0;
+        for (String account : new String[] {"001", "002", "003"}) {
+            scanned += ledger.getBalanceCents(account);
+        }
+        System.out.println("Total: R " + ledger.getTotalBalance() + ", scan: R " + Money.toBigDecimal(scanned));
+        // Expected: Total: R 86000.00, scan: R 86000.00
+    }
+}
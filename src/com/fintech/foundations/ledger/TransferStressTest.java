@@ -0,0 +1,194 @@
+package com.fintech.foundations.ledger;
+
+import java.util.SplittableRandom;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicLong;
+
+import com.fintech.foundations.Money;
+import com.fintech.foundations.RejectionReport;
+
+/**
+ * Stress test and benchmark for LedgerEngine.transferCents.
+ *
+ * 16 threads fire millions of random transfers at a shared ledger, then
+ * we add up every balance (like BankingSystem's totalBankBalance loop)
+ * and check that not a cent was created or lost and no balance went
+ * negative. Runs a spread scenario (10,000 accounts) and a hot one
+ * (8 accounts, constant collisions).
+ *
+ * For comparison, the same load runs against a classic lock-ordered
+ * transfer (lock the lower account number first, then the higher one),
+ * which is the textbook deadlock-free alternative. The baseline indexes
+ * a long[] directly with no account-number lookup, so it flatters the
+ * locks; the gap to watch is how each holds up as cores are added.
+ *
+ * Run: java com.fintech.foundations.ledger.TransferStressTest
+ *
+ * @author Jesse De Oliveira
+ * @since 2026-10-18
+ */
+public class TransferStressTest {
+
+    private static final int THREADS = 16;
+    private static final int TRANSFERS_PER_THREAD = 250_000;
+    private static final long OPENING_BALANCE_CENTS = 1_000_00;
+
+    /** One transfer against a ledger implementation. */
+    interface Transferrer {
+        boolean transfer(int from, int to, long amountCents);
+    }
+
+    /**
+     * Baseline: one lock per account, always taken in account order
+     * (so two opposite transfers can never wait on each other).
+     */
+    static class LockOrderedLedger {
+        private final long[] balances;
+        private final Object[] locks;
+
+        LockOrderedLedger(int accounts, long openingCents) {
+            this.balances = new long[accounts];
+            this.locks = new Object[accounts];
+            for (int i = 0; i < accounts; i++) {
+                balances[i] = openingCents;
+                locks[i] = new Object();
+            }
+        }
+
+        boolean transfer(int from, int to, long amountCents) {
+            Object first = locks[Math.min(from, to)];
+            Object second = locks[Math.max(from, to)];
+            synchronized (first) {
+                synchronized (second) {
+                    if (balances[from] < amountCents) {
+                        return false;
+                    }
+                    balances[from] -= amountCents;
+                    balances[to] += amountCents;
+                    return true;
+                }
+            }
+        }
+
+        long total() {
+            long total = 0;
+            for (int i = 0; i < balances.length; i++) {
+                synchronized (locks[i]) {
+                    total += balances[i];
+                }
+            }
+            return total;
+        }
+    }
+
+    /**
+     * Runs TRANSFERS_PER_THREAD random transfers on each of THREADS threads.
+     *
+     * @return {transfers per second, successful transfers}
+     */
+    static double[] run(int accounts, Transferrer transferrer) throws InterruptedException {
+        CountDownLatch start = new CountDownLatch(1);
+        AtomicLong succeeded = new AtomicLong();
+        Thread[] threads = new Thread[THREADS];
+        for (int t = 0; t < THREADS; t++) {
+            long seed = 42 + t;
+            threads[t] = new Thread(() -> {
+                SplittableRandom random = new SplittableRandom(seed);
+                long ok = 0;
+                try {
+                    start.await();
+                } catch (InterruptedException e) {
+                    return;
+                }
+                for (int i = 0; i < TRANSFERS_PER_THREAD; i++) {
+                    int from = random.nextInt(accounts);
+                    int to = random.nextInt(accounts - 1);
+                    if (to >= from) {
+                        to++;  // Never the same account
+                    }
+                    if (transferrer.transfer(from, to, 1 + random.nextInt(500_00))) {
+                        ok++;
+                    }
+                }
+                succeeded.addAndGet(ok);
+            });
+            threads[t].start();
+        }
+        long begin = System.nanoTime();
+        start.countDown();
+        for (Thread thread : threads) {
+            thread.join();
+        }
+        long elapsed = System.nanoTime() - begin;
+        return new double[] {(double) THREADS * TRANSFERS_PER_THREAD * 1e9 / elapsed, succeeded.get()};
+    }
+
+    private static void scenario(String name, int accounts) throws InterruptedException {
+        System.out.println("--- " + name + ": " + accounts + " accounts, " + THREADS + " threads, "
+                + String.format("%,d", (long) THREADS * TRANSFERS_PER_THREAD) + " transfers ---");
+
+        // LedgerEngine (lock-free two-phase)
+        LedgerEngine ledger = new LedgerEngine();
+        String[] numbers = new String[accounts];
+        for (int i = 0; i < accounts; i++) {
+            numbers[i] = String.format("%08d", i);
+            ledger.setBalanceCents(numbers[i], OPENING_BALANCE_CENTS);
+        }
+        double[] cas = run(accounts, (from, to, cents) -> ledger.transferCents(numbers[from], numbers[to], cents));
+
+        long total = 0;
+        long negative = 0;
+        for (String number : numbers) {
+            long balance = ledger.getBalanceCents(number);
+            total += balance;
+            negative += balance < 0 ? 1 : 0;
+        }
+        long expected = OPENING_BALANCE_CENTS * accounts;
+        System.out.printf("LedgerEngine:  %,12.0f transfers/s, %,d succeeded%n", cas[0], (long) cas[1]);
+        System.out.printf("  Bank total: R %s (expected R %s) - %s, negative balances: %d%n",
+                Money.toBigDecimal(total), Money.toBigDecimal(expected),
+                total == expected ? "CONSERVED" : "MISMATCH", negative);
+        // Expected: CONSERVED, negative balances: 0
+
+        // Lock-ordered baseline
+        LockOrderedLedger locked = new LockOrderedLedger(accounts, OPENING_BALANCE_CENTS);
+        double[] lock = run(accounts, locked::transfer);
+        System.out.printf("Lock-ordered:  %,12.0f transfers/s, %,d succeeded, total %s%n",
+                lock[0], (long) lock[1], locked.total() == expected ? "CONSERVED" : "MISMATCH");
+        System.out.println();
+    }
+
+    public static void main(String[] args) throws InterruptedException {
+        System.out.println("=== TRANSFER STRESS TEST ===");
+        System.out.println("Cores: " + Runtime.getRuntime().availableProcessors() + "\n");
+
+        scenario("Spread", 10_000);
+        scenario("Hot", 8);
+
+        // Settlement file: 1M rows, one merchant paying out to 10,000 accounts
+        LedgerEngine ledger = new LedgerEngine();
+        int rows = 1_000_000;
+        String[] from = new String[rows];
+        String[] to = new String[rows];
+        long[] cents = new long[rows];
+        String[] payees = new String[10_000];
+        for (int i = 0; i < payees.length; i++) {
+            payees[i] = String.format("%08d", 10_000_000 + i);
+        }
+        ledger.setBalanceCents("99999999", (long) rows * 100_00);
+        for (int i = 0; i < rows; i++) {
+            from[i] = "99999999";
+            to[i] = payees[i % payees.length];
+            cents[i] = 100_00;
+        }
+        RejectionReport report = new RejectionReport();
+        long begin = System.nanoTime();
+        int applied = ledger.transferAllCents(from, to, cents, report);
+        long elapsed = System.nanoTime() - begin;
+        System.out.printf("--- Settlement file: %,d rows ---%n", rows);
+        System.out.printf("transferAllCents: %,d applied, %s, %,.0f rows/s%n",
+                applied, report, rows * 1e9 / elapsed);
+        System.out.println("Merchant balance: R " + ledger.getBalance("99999999"));
+        // Expected: 1,000,000 applied, 0 rejected [], Merchant balance: R 0.00
+    }
+}
@@ -0,0 +1,127 @@
+package com.fintech.foundations.ledger.shard;
+
+import java.util.Arrays;
+
+/**
+ * Maps account numbers to shards with a consistent-hash ring.
+ *
+ * Each shard owns virtualNodes points on a 64-bit ring; an account
+ * belongs to the first point clockwise from its hash. With enough
+ * virtual nodes every shard gets ~1/N of the accounts, and going from
+ * N to N+1 shards moves only ~1/(N+1) of them (a modulo hash would move
+ * almost all of them).
+ *
+ * Immutable and thread-safe.
+ *
+ * @author Jesse De Oliveira
+ * @since 2026-10-18
+ */
+public final class ConsistentHashRing {
+
+    /** Default virtual nodes per shard (each shard within ~20% of the mean) */
+    public static final int DEFAULT_VIRTUAL_NODES = 256;
+
+    private final int shards;
+    private final long[] points;   // Sorted ring positions
+    private final int[] owners;    // Shard owning each point
+
+    /** Creates a ring with DEFAULT_VIRTUAL_NODES per shard. */
+    public ConsistentHashRing(int shards) {
+        this(shards, DEFAULT_VIRTUAL_NODES);
+    }
+
+    /**
+     * @param shards Number of shards (>= 1)
+     * @param virtualNodes Ring points per shard (>= 1)
+     */
+    public ConsistentHashRing(int shards, int virtualNodes) {
+        if (shards <= 0 || virtualNodes <= 0) {
+            throw new IllegalArgumentException("Shards and virtual nodes must be positive. Got: "
+                    + shards + ", " + virtualNodes);
+        }
+        this.shards = shards;
+        int count = shards * virtualNodes;
+
+        // Sort (position, shard) pairs by position, carrying the shard along
+        long[] positions = new long[count];
+        for (int shard = 0; shard < shards; shard++) {
+            for (int v = 0; v < virtualNodes; v++) {
+                positions[shard * virtualNodes + v] = mix(((long) shard << 32) | v);
+            }
+        }
+        Integer[] order = new Integer[count];
+        for (int i = 0; i < count; i++) {
+            order[i] = i;
+        }
+        Arrays.sort(order, (a, b) -> Long.compare(positions[a], positions[b]));
+
+        this.points = new long[count];
+        this.owners = new int[count];
+        for (int i = 0; i < count; i++) {
+            points[i] = positions[order[i]];
+            owners[i] = order[i] / virtualNodes;
+        }
+    }
+
+    /** @return Number of shards */
+    public int shards() {
+        return shards;
+    }
+
+    /**
+     * Finds the shard that owns an account.
+     * Time: O(log(shards × virtualNodes)), no allocation
+     */
+    public int shardFor(String accountNumber) {
+        long h = 0xCBF29CE484222325L;
+        for (int i = 0; i < accountNumber.length(); i++) {
+            h = (h ^ accountNumber.charAt(i)) * 0x100000001B3L;
+        }
+        return shardForHash(mix(h));
+    }
+
+    private int shardForHash(long hash) {
+        int lo = 0;
+        int hi = points.length;
+        while (lo < hi) {
+            int mid = (lo + hi) >>> 1;
+            if (points[mid] < hash) {
+                lo = mid + 1;
+            } else {
+                hi = mid;
+            }
+        }
+        return owners[lo == points.length ? 0 : lo];  // Wrap around the ring
+    }
+
+    private static long mix(long h) {
+        h = (h ^ (h >>> 33)) * 0xFF51AFD7ED558CCDL;
+        h = (h ^ (h >>> 33)) * 0xC4CEB9FE1A85EC53L;
+        return h ^ (h >>> 33);
+    }
+
+    /**
+     * Test cases
+     */
+    public static void main(String[] args) {
+        int accounts = 1_000_000;
+        ConsistentHashRing four = new ConsistentHashRing(4);
+        ConsistentHashRing five = new ConsistentHashRing(5);
+
+        // Test 1: Balance across 4 shards
+        int[] perShard = new int[4];
+        int moved = 0;
+        for (int i = 0; i < accounts; i++) {
+            String account = String.valueOf(10_000_000 + i);
+            int shard = four.shardFor(account);
+            perShard[shard]++;
+            moved += shard == five.shardFor(account) ? 0 : 1;
+        }
+        System.out.println("Accounts per shard: " + Arrays.toString(perShard));
+        // Expected: each ~250,000 (within ~20%)
+
+        // Test 2: Adding a fifth shard moves ~1/5 of the accounts
+        System.out.printf("Moved going 4 -> 5 shards: %.1f%%%n", 100.0 * moved / accounts);
+        // Expected: ~20%
+    }
+}
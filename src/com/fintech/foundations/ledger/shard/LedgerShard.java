@@ -0,0 +1,154 @@
+package com.fintech.foundations.ledger.shard;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.LinkedBlockingQueue;
+
+import com.fintech.foundations.ledger.LedgerEngine;
+
+/**
+ * One ledger shard: a slice of the accounts owned by a single writer thread.
+ *
+ * Callers never touch the balances. send() queues an operation, and the
+ * shard thread drains the queue in batches and applies each operation in
+ * arrival order, so a shard needs no locks and never contends with other
+ * shards. Throughput grows with the number of shards (one core each).
+ *
+ * Works directly as the in-process ShardTransport; ShardServer exposes
+ * it over a socket.
+ *
+ * @author Jesse De Oliveira
+ * @since 2026-10-18
+ */
+public class LedgerShard implements ShardTransport {
+
+    /** Operations drained per wake-up */
+    private static final int BATCH = 1024;
+
+    /** A queued operation */
+    private static final class Command {
+        final byte op;
+        final String accountNumber;
+        final long amountCents;
+        final CompletableFuture<Long> result = new CompletableFuture<>();
+
+        Command(byte op, String accountNumber, long amountCents) {
+            this.op = op;
+            this.accountNumber = accountNumber;
+            this.amountCents = amountCents;
+        }
+    }
+
+    /** Queued by close() to stop the writer thread */
+    private static final Command STOP = new Command((byte) 0, null, 0);
+
+    /** Only the writer thread touches this (the CAS inside is uncontended) */
+    private final LedgerEngine ledger = new LedgerEngine();
+    private final LinkedBlockingQueue<Command> queue = new LinkedBlockingQueue<>();
+    private final Thread writer;
+    private volatile boolean closed;
+
+    /**
+     * Starts a shard and its writer thread.
+     *
+     * @param name Thread name (e.g., "shard-0")
+     */
+    public LedgerShard(String name) {
+        this.writer = new Thread(this::run, name);
+        writer.setDaemon(true);
+        writer.start();
+    }
+
+    @Override
+    public CompletableFuture<Long> send(byte op, String accountNumber, long amountCents) {
+        if (closed) {
+            CompletableFuture<Long> failed = new CompletableFuture<>();
+            failed.completeExceptionally(new IllegalStateException("Shard is closed"));
+            return failed;
+        }
+        try {
+            ShardTransport.checkAccount(accountNumber);  // Same rule as the socket transport
+        } catch (IllegalArgumentException e) {
+            CompletableFuture<Long> failed = new CompletableFuture<>();
+            failed.completeExceptionally(e);
+            return failed;
+        }
+        Command command = new Command(op, accountNumber, amountCents);
+        queue.add(command);
+        // close() may have run between the check and the add, and the writer may
+        // already be gone: take the command back and fail it (if the writer has
+        // not taken it, which completes it either way)
+        if (closed && queue.remove(command)) {
+            command.result.completeExceptionally(new IllegalStateException("Shard is closed"));
+        }
+        return command.result;
+    }
+
+    /** Writer loop: drain a batch, apply in order, complete the futures. */
+    private void run() {
+        ArrayList<Command> batch = new ArrayList<>(BATCH);
+        try {
+            while (true) {
+                batch.add(queue.take());
+                queue.drainTo(batch, BATCH - 1);
+                for (int i = 0; i < batch.size(); i++) {
+                    Command command = batch.get(i);
+                    if (command == STOP) {
+                        failQueued(batch.subList(i + 1, batch.size()));
+                        return;
+                    }
+                    try {
+                        command.result.complete(apply(command.op, command.accountNumber, command.amountCents));
+                    } catch (RuntimeException e) {
+                        command.result.completeExceptionally(e);
+                    }
+                }
+                batch.clear();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /** Fails commands that arrived after STOP, and everything still queued. */
+    private void failQueued(List<Command> afterStop) {
+        ArrayList<Command> rest = new ArrayList<>(afterStop);
+        queue.drainTo(rest);
+        for (Command command : rest) {
+            command.result.completeExceptionally(new IllegalStateException("Shard is closed"));
+        }
+    }
+
+    private long apply(byte op, String accountNumber, long amountCents) {
+        switch (op) {
+            case SET_BALANCE:
+                ledger.setBalanceCents(accountNumber, amountCents);
+                return 0;
+            case DEPOSIT:
+                ledger.depositCents(accountNumber, amountCents);
+                return ledger.getBalanceCents(accountNumber);
+            case WITHDRAW:
+                return ledger.withdrawCents(accountNumber, amountCents) ? 1 : 0;
+            case BALANCE:
+                return ledger.getBalanceCents(accountNumber);
+            default:
+                throw new IllegalArgumentException("Unknown shard operation: " + op);
+        }
+    }
+
+    /**
+     * Finishes queued operations, then stops the writer thread. Operations
+     * sent concurrently with close() either run or fail; none is left pending.
+     */
+    @Override
+    public void close() {
+        closed = true;
+        queue.add(STOP);
+        try {
+            writer.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
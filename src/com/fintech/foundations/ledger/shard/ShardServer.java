@@ -0,0 +1,202 @@
+package com.fintech.foundations.ledger.shard;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.Closeable;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.net.InetAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.util.ArrayList;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.LinkedBlockingQueue;
+
+import com.fintech.foundations.store.TransactionStore;
+
+/**
+ * Serves one LedgerShard over TCP so shards can run as separate processes.
+ *
+ * Each connection gets a reader thread (decode frame, hand to the shard)
+ * and a writer thread (batch replies, one flush per batch). The shard's
+ * single writer thread still applies every operation, whatever the
+ * number of connections. See SocketShardTransport for the wire format.
+ *
+ * Run as a process: java ... ShardServer [port]
+ * Prints "READY <port>" once listening (port 0 picks a free port).
+ *
+ * @author Jesse De Oliveira
+ * @since 2026-10-18
+ */
+public class ShardServer implements Closeable {
+
+    private final LedgerShard shard;
+    private final ServerSocket server;
+    private final Thread acceptor;
+
+    /**
+     * Starts listening on the loopback interface.
+     *
+     * @param name Shard name (used for thread names)
+     * @param port Port to bind (0 = any free port)
+     * @throws IOException If the port cannot be bound
+     */
+    public ShardServer(String name, int port) throws IOException {
+        this.shard = new LedgerShard(name);
+        this.server = new ServerSocket(port, 50, InetAddress.getLoopbackAddress());
+        this.acceptor = new Thread(this::acceptLoop, name + "-acceptor");
+        acceptor.setDaemon(true);
+        acceptor.start();
+    }
+
+    /** @return The bound port */
+    public int getPort() {
+        return server.getLocalPort();
+    }
+
+    private void acceptLoop() {
+        try {
+            while (true) {
+                Socket socket = server.accept();
+                socket.setTcpNoDelay(true);
+                new Connection(socket).start();
+            }
+        } catch (IOException e) {
+            // Server socket closed
+        }
+    }
+
+    //=========================================================================
+    // Connection
+    //=========================================================================
+
+    /** One reply frame (message is null for STATUS_OK) */
+    private static final class Reply {
+        final long id;
+        final byte status;
+        final long result;
+        final String message;
+
+        Reply(long id, byte status, long result, String message) {
+            this.id = id;
+            this.status = status;
+            this.result = result;
+            this.message = message;
+        }
+    }
+
+    /** One client connection */
+    private final class Connection {
+
+        private final Socket socket;
+        private final LinkedBlockingQueue<Reply> replies = new LinkedBlockingQueue<>();
+        private final Reply stop = new Reply(0, SocketShardTransport.STATUS_OK, 0, null);
+
+        Connection(Socket socket) {
+            this.socket = socket;
+        }
+
+        void start() {
+            Thread reader = new Thread(this::readLoop, "shard-conn-reader");
+            Thread writer = new Thread(this::writeLoop, "shard-conn-writer");
+            reader.setDaemon(true);
+            writer.setDaemon(true);
+            reader.start();
+            writer.start();
+        }
+
+        private void readLoop() {
+            // The shard completes futures in arrival order, so the last reply
+            // stage finishing means every earlier reply has been queued
+            CompletableFuture<?> lastReply = CompletableFuture.completedFuture(null);
+            try {
+                // Not closed here: closing the stream closes the socket while the
+                // writer still has replies queued. writeLoop closes the socket last.
+                DataInputStream in = new DataInputStream(
+                        new BufferedInputStream(socket.getInputStream(), SocketShardTransport.BUFFER_BYTES));
+                while (true) {
+                    long id = in.readLong();
+                    byte op = in.readByte();
+                    int account = in.readInt();
+                    long cents = in.readLong();
+                    lastReply = shard.send(op, TransactionStore.unpackAccount(account), cents)
+                            .whenComplete((result, error) -> replies.add(error == null
+                                    ? new Reply(id, SocketShardTransport.STATUS_OK, result, null)
+                                    : failure(id, error)));
+                }
+            } catch (EOFException e) {
+                // Client finished sending (half-close); replies still go out
+            } catch (IOException e) {
+                // Connection dropped; still stop the writer below
+            }
+            lastReply.whenComplete((result, error) -> replies.add(stop));
+        }
+
+        /** Encodes a shard exception so the client can rethrow the same type. */
+        private Reply failure(long id, Throwable error) {
+            Throwable cause = error instanceof CompletionException && error.getCause() != null
+                    ? error.getCause() : error;
+            String message = cause.getMessage() != null ? cause.getMessage() : cause.getClass().getName();
+            if (message.length() > 1024) {
+                message = message.substring(0, 1024);  // writeUTF takes at most 64 KB
+            }
+            return new Reply(id, SocketShardTransport.statusOf(cause), 0, message);
+        }
+
+        private void writeLoop() {
+            ArrayList<Reply> batch = new ArrayList<>();
+            try (DataOutputStream out = new DataOutputStream(
+                    new BufferedOutputStream(socket.getOutputStream(), SocketShardTransport.BUFFER_BYTES))) {
+                while (true) {
+                    batch.add(replies.take());
+                    replies.drainTo(batch);
+                    for (Reply reply : batch) {
+                        if (reply == stop) {
+                            out.flush();
+                            return;
+                        }
+                        out.writeLong(reply.id);
+                        out.writeByte(reply.status);
+                        out.writeLong(reply.result);
+                        if (reply.status != SocketShardTransport.STATUS_OK) {
+                            out.writeUTF(reply.message);
+                        }
+                    }
+                    out.flush();
+                    batch.clear();
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            } catch (IOException e) {
+                // Client went away
+            } finally {
+                try {
+                    socket.close();
+                } catch (IOException ignored) {
+                    // Already closed
+                }
+            }
+        }
+    }
+
+    /** Stops accepting connections and stops the shard. */
+    @Override
+    public void close() throws IOException {
+        server.close();
+        shard.close();
+    }
+
+    /**
+     * Runs a shard as a standalone process until it is killed.
+     */
+    public static void main(String[] args) throws IOException, InterruptedException {
+        int port = args.length > 0 ? Integer.parseInt(args[0]) : 0;
+        ShardServer server = new ShardServer("shard-" + port, port);
+        System.out.println("READY " + server.getPort());
+        System.out.flush();
+        server.acceptor.join();
+    }
+}
@@ -0,0 +1,49 @@
+package com.fintech.foundations.ledger.shard;
+
+import java.io.Closeable;
+import java.util.concurrent.CompletableFuture;
+
+import com.fintech.foundations.store.TransactionStore;
+
+/**
+ * Carries ledger operations from the router to one shard.
+ *
+ * Implementations: LedgerShard (in-process) and SocketShardTransport
+ * (loopback / TCP to a ShardServer process).
+ *
+ * @author Jesse De Oliveira
+ * @since 2026-10-18
+ */
+public interface ShardTransport extends Closeable {
+
+    /** Overwrite a balance; result 0 */
+    byte SET_BALANCE = 1;
+    /** Credit an account; result = new balance */
+    byte DEPOSIT = 2;
+    /** Debit an account if funds allow; result 1 = done, 0 = insufficient funds */
+    byte WITHDRAW = 3;
+    /** Read a balance; result = balance (0 for unknown accounts) */
+    byte BALANCE = 4;
+
+    /**
+     * Sends one operation to the shard.
+     *
+     * @param op SET_BALANCE, DEPOSIT, WITHDRAW or BALANCE
+     * @param accountNumber 8-digit account number
+     * @param amountCents Amount in cents (ignored for BALANCE)
+     * @return Completes with the result once the shard has applied the operation.
+     *         Fails (never throws) with IllegalArgumentException if the account
+     *         number is not 8 digits - see checkAccount
+     */
+    CompletableFuture<Long> send(byte op, String accountNumber, long amountCents);
+
+    /**
+     * Validates an account number the same way for every transport.
+     *
+     * @return Packed account (see TransactionStore.packAccount)
+     * @throws IllegalArgumentException if the account number is not 8 digits
+     */
+    static int checkAccount(String accountNumber) {
+        return TransactionStore.packAccount(accountNumber);
+    }
+}
@@ -0,0 +1,488 @@
+package com.fintech.foundations.ledger.shard;
+
+import java.io.BufferedReader;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.math.BigDecimal;
+import java.net.InetAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import com.fintech.foundations.Money;
+
+/**
+ * Ledger split across N shards, routed by a consistent-hash ring.
+ *
+ * LedgerEngine (and the AccountLookupSystem API on top of it) keeps every
+ * account in one JVM. ShardedLedger keeps the same deposit/withdraw/balance
+ * API but forwards each call to the shard that owns the account:
+ *
+ *   caller → ConsistentHashRing.shardFor(account) → ShardTransport → shard writer thread
+ *
+ * Shards share nothing, so adding a shard adds a writer thread (or a
+ * process, or a machine) without adding contention. Each account lives
+ * on exactly one shard, which keeps every single-account operation
+ * atomic and ordered.
+ *
+ * Synchronous methods wait for the shard's answer. The *Async variants
+ * return immediately so a caller can keep many operations in flight
+ * (essential over a socket, where a round trip costs far more than the
+ * operation itself).
+ *
+ * @author Jesse De Oliveira
+ * @since 2026-10-18
+ */
+public class ShardedLedger implements Closeable {
+
+    private final ConsistentHashRing ring;
+    private final ShardTransport[] shards;
+
+    /**
+     * Routes over the given shard transports (index = shard number on the ring).
+     */
+    public ShardedLedger(List<? extends ShardTransport> shards) {
+        if (shards.isEmpty()) {
+            throw new IllegalArgumentException("At least one shard is required. Got: 0");
+        }
+        this.shards = shards.toArray(new ShardTransport[0]);
+        this.ring = new ConsistentHashRing(this.shards.length);
+    }
+
+    /**
+     * Creates a ledger with N in-process shards (one writer thread each).
+     */
+    public static ShardedLedger inProcess(int shardCount) {
+        if (shardCount <= 0) {
+            throw new IllegalArgumentException("Shard count must be positive. Got: " + shardCount);
+        }
+        List<LedgerShard> shards = new ArrayList<>(shardCount);
+        for (int i = 0; i < shardCount; i++) {
+            shards.add(new LedgerShard("shard-" + i));
+        }
+        return new ShardedLedger(shards);
+    }
+
+    /**
+     * Connects to running ShardServer processes (port order = shard order).
+     *
+     * Every router must list the same shards in the same order,
+     * otherwise they disagree on which shard owns an account.
+     *
+     * @throws IOException If any shard cannot be reached
+     */
+    public static ShardedLedger connect(String host, int... ports) throws IOException {
+        List<SocketShardTransport> shards = new ArrayList<>(ports.length);
+        try {
+            for (int port : ports) {
+                shards.add(new SocketShardTransport(host, port));
+            }
+        } catch (IOException e) {
+            for (SocketShardTransport shard : shards) {
+                shard.close();
+            }
+            throw e;
+        }
+        return new ShardedLedger(shards);
+    }
+
+    /** @return Number of shards */
+    public int shardCount() {
+        return shards.length;
+    }
+
+    /** @return Shard that owns an account */
+    public int shardFor(String accountNumber) {
+        return ring.shardFor(accountNumber);
+    }
+
+    //=========================================================================
+    // Asynchronous API
+    //=========================================================================
+
+    /** Creates or overwrites a balance in cents. */
+    public CompletableFuture<Long> setBalanceCentsAsync(String accountNum, long balanceCents) {
+        return route(ShardTransport.SET_BALANCE, accountNum, balanceCents);
+    }
+
+    /** Deposits cents; completes with the new balance. */
+    public CompletableFuture<Long> depositCentsAsync(String accountNum, long amountCents) {
+        return route(ShardTransport.DEPOSIT, accountNum, amountCents);
+    }
+
+    /** Withdraws cents; completes with 1 if done, 0 for insufficient funds. */
+    public CompletableFuture<Long> withdrawCentsAsync(String accountNum, long amountCents) {
+        return route(ShardTransport.WITHDRAW, accountNum, amountCents);
+    }
+
+    /** Reads a balance in cents (0 for unknown accounts). */
+    public CompletableFuture<Long> getBalanceCentsAsync(String accountNum) {
+        return route(ShardTransport.BALANCE, accountNum, 0);
+    }
+
+    private CompletableFuture<Long> route(byte op, String accountNum, long cents) {
+        return shards[ring.shardFor(accountNum)].send(op, accountNum, cents);
+    }
+
+    //=========================================================================
+    // Synchronous API (same shape as LedgerEngine)
+    //=========================================================================
+
+    /** Creates or overwrites a balance. */
+    public void setBalance(String accountNum, BigDecimal balance) {
+        setBalanceCents(accountNum, Money.toCents(balance));
+    }
+
+    /** Creates or overwrites a balance in cents. */
+    public void setBalanceCents(String accountNum, long balanceCents) {
+        await(setBalanceCentsAsync(accountNum, balanceCents));
+    }
+
+    /** Gets a balance (R 0.00 for unknown accounts). */
+    public BigDecimal getBalance(String accountNum) {
+        return Money.toBigDecimal(getBalanceCents(accountNum));
+    }
+
+    /** Gets a balance in cents (0 for unknown accounts). */
+    public long getBalanceCents(String accountNum) {
+        return await(getBalanceCentsAsync(accountNum));
+    }
+
+    /** Deposits money (creates the account if needed). */
+    public void deposit(String accountNum, BigDecimal amount) {
+        depositCents(accountNum, Money.toCents(amount));
+    }
+
+    /** Deposits cents (creates the account if needed). */
+    public void depositCents(String accountNum, long amountCents) {
+        await(depositCentsAsync(accountNum, amountCents));
+    }
+
+    /**
+     * Withdraws money.
+     *
+     * @return true if successful, false if insufficient funds
+     */
+    public boolean withdraw(String accountNum, BigDecimal amount) {
+        return withdrawCents(accountNum, Money.toCents(amount));
+    }
+
+    /**
+     * Withdraws cents.
+     *
+     * @return true if successful, false if insufficient funds
+     */
+    public boolean withdrawCents(String accountNum, long amountCents) {
+        return await(withdrawCentsAsync(accountNum, amountCents)) == 1;
+    }
+
+    /** Waits for a shard reply, rethrowing the shard's own exception. */
+    private static long await(CompletableFuture<Long> reply) {
+        try {
+            return reply.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            }
+            throw e;
+        }
+    }
+
+    /** Closes every shard transport (in-process shards finish queued work first). */
+    @Override
+    public void close() throws IOException {
+        for (ShardTransport shard : shards) {
+            shard.close();
+        }
+    }
+
+    //=========================================================================
+    // Test cases
+    //=========================================================================
+
+    /**
+     * Test cases
+     */
+    public static void main(String[] args) throws Exception {
+        // Test 1: Same behaviour as LedgerEngine, in-process
+        try (ShardedLedger ledger = ShardedLedger.inProcess(4)) {
+            ledger.setBalance("12345678", new BigDecimal("1000.00"));
+            ledger.deposit("12345678", new BigDecimal("250.50"));
+            System.out.println("Balance: R " + ledger.getBalance("12345678"));
+            // Expected: Balance: R 1250.50
+            System.out.println("Withdraw R 2000: " + ledger.withdraw("12345678", new BigDecimal("2000.00")));
+            // Expected: Withdraw R 2000: false
+            System.out.println("Withdraw R 250.50: " + ledger.withdraw("12345678", new BigDecimal("250.50")));
+            // Expected: Withdraw R 250.50: true
+            System.out.println("Unknown account: R " + ledger.getBalance("99999999"));
+            // Expected: Unknown account: R 0.00
+            System.out.println("Overflow: " + overflowError(ledger));
+            // Expected: Overflow: ArithmeticException: long overflow
+            System.out.println("Bad account: " + badAccountError(ledger));
+            // Expected: Bad account: IllegalArgumentException: Account number must be 8 digits. Got: 1234
+        }
+
+        // Test 2: Several shard processes on loopback
+        multiProcessTest(3, 20_000);
+
+        // Test 3: close() waits for every in-flight reply
+        closeWithRepliesInFlight(200_000);
+
+        // Test 4: sends racing close() all complete (succeed or fail), none hang
+        sendsRacingClose(200);
+
+        // Test 5: A shard that stops replying (EOF) fails later sends instead of hanging them
+        sendsAfterShardHangsUp(1_000);
+
+        // Test 6: Throughput as shards are added
+        int cores = Runtime.getRuntime().availableProcessors();
+        System.out.println("\nThroughput, in-process shards (" + cores + " cores available):");
+        for (int shardCount : new int[] {1, 2, 4, 8}) {
+            double opsPerSecond = throughput(shardCount, 2_000_000);
+            System.out.printf("  %d shard(s): %,.0f ops/s%n", shardCount, opsPerSecond);
+        }
+        // Expected: near-linear growth until shards exceed the available cores
+    }
+
+    /**
+     * Starts shard processes, routes deposits/withdrawals through loopback
+     * sockets, and checks that nothing was lost or applied twice.
+     */
+    private static void multiProcessTest(int processCount, int accounts) throws Exception {
+        String java = Paths.get(System.getProperty("java.home"), "bin", "java").toString();
+        List<Process> processes = new ArrayList<>();
+        int[] ports = new int[processCount];
+        try {
+            for (int i = 0; i < processCount; i++) {
+                Process process = new ProcessBuilder(java, "-cp", System.getProperty("java.class.path"),
+                        ShardServer.class.getName())
+                        .redirectErrorStream(true)
+                        .start();
+                processes.add(process);
+                BufferedReader out = new BufferedReader(new InputStreamReader(process.getInputStream()));
+                String line = out.readLine();
+                if (line == null || !line.startsWith("READY ")) {
+                    throw new IllegalStateException("Shard process failed to start: " + line);
+                }
+                ports[i] = Integer.parseInt(line.substring(6));
+            }
+
+            try (ShardedLedger ledger = ShardedLedger.connect("127.0.0.1", ports)) {
+                // Every account gets R 100.00 then loses R 30.00, all pipelined
+                long start = System.nanoTime();
+                List<CompletableFuture<Long>> replies = new ArrayList<>(accounts * 2);
+                int[] perShard = new int[processCount];
+                for (int i = 0; i < accounts; i++) {
+                    String account = String.valueOf(10_000_000 + i);
+                    perShard[ledger.shardFor(account)]++;
+                    replies.add(ledger.depositCentsAsync(account, 10_000));
+                    replies.add(ledger.withdrawCentsAsync(account, 3_000));
+                }
+                CompletableFuture.allOf(replies.toArray(new CompletableFuture<?>[0])).join();
+                long elapsed = System.nanoTime() - start;
+
+                long total = 0;
+                for (int i = 0; i < accounts; i++) {
+                    total += ledger.getBalanceCents(String.valueOf(10_000_000 + i));
+                }
+                System.out.printf("%nShard processes: %d, accounts per shard: %s%n",
+                        processCount, Arrays.toString(perShard));
+                // Expected: roughly equal counts
+                System.out.printf("Total across shards: R %s (expected R %s)%n",
+                        Money.toBigDecimal(total), Money.toBigDecimal(7_000L * accounts));
+                // Expected: Total across shards: R 1400000.00 (expected R 1400000.00)
+                System.out.printf("Loopback throughput: %,.0f ops/s%n", 2.0 * accounts * 1e9 / elapsed);
+                System.out.println("Overflow over the socket: " + overflowError(ledger));
+                // Expected: Overflow over the socket: ArithmeticException: long overflow (same as in-process)
+                System.out.println("Bad account over the socket: " + badAccountError(ledger));
+                // Expected: same IllegalArgumentException as in-process
+            }
+        } finally {
+            for (Process process : processes) {
+                process.destroy();
+            }
+        }
+    }
+
+    /** @return The exception type and message a balance overflow produces */
+    private static String overflowError(ShardedLedger ledger) {
+        ledger.setBalanceCents("55555555", Long.MAX_VALUE);
+        try {
+            ledger.depositCents("55555555", 1);
+            return "none";
+        } catch (RuntimeException e) {
+            return e.getClass().getSimpleName() + ": " + e.getMessage();
+        }
+    }
+
+    /** @return The exception type and message a malformed account number produces */
+    private static String badAccountError(ShardedLedger ledger) {
+        try {
+            ledger.depositCents("1234", 100);
+            return "none";
+        } catch (RuntimeException e) {
+            return e.getClass().getSimpleName() + ": " + e.getMessage();
+        }
+    }
+
+    /**
+     * Sends many deposits over a socket without waiting, then closes the
+     * transport at once. close() must flush them and wait for every reply.
+     */
+    private static void closeWithRepliesInFlight(int operations) throws Exception {
+        List<CompletableFuture<Long>> replies = new ArrayList<>(operations);
+        try (ShardServer server = new ShardServer("close-test", 0)) {
+            SocketShardTransport transport = new SocketShardTransport("127.0.0.1", server.getPort());
+            for (int i = 0; i < operations; i++) {
+                replies.add(transport.send(ShardTransport.DEPOSIT, String.valueOf(10_000_000 + i % 1000), 1));
+            }
+            transport.close();
+        }
+        int failed = 0;
+        for (CompletableFuture<Long> reply : replies) {
+            failed += reply.isDone() && !reply.isCompletedExceptionally() ? 0 : 1;
+        }
+        System.out.printf("%nClose with %,d replies in flight: %d failed or unfinished%n", operations, failed);
+        // Expected: 0 failed or unfinished
+    }
+
+    /**
+     * Closes a shard and a socket transport while another thread keeps
+     * sending, and counts replies that never complete.
+     */
+    private static void sendsRacingClose(int rounds) throws Exception {
+        int shardHung = 0;
+        int socketHung = 0;
+        try (ShardServer server = new ShardServer("race-test", 0)) {
+            for (int round = 0; round < rounds; round++) {
+                shardHung += hungAfterClose(new LedgerShard("race-" + round));
+                socketHung += hungAfterClose(new SocketShardTransport("127.0.0.1", server.getPort()));
+            }
+        }
+        System.out.printf("Sends racing close(), %d rounds: %d shard and %d socket replies unfinished%n",
+                rounds, shardHung, socketHung);
+        // Expected: 0 shard and 0 socket replies unfinished
+    }
+
+    /** @return Replies still pending 5 s after close() returned */
+    private static int hungAfterClose(ShardTransport transport) throws Exception {
+        List<CompletableFuture<Long>> replies = new ArrayList<>();
+        AtomicBoolean closed = new AtomicBoolean();
+        CountDownLatch sending = new CountDownLatch(1000);
+        Thread sender = new Thread(() -> {
+            while (!closed.get()) {
+                replies.add(transport.send(ShardTransport.DEPOSIT, "12345678", 1));
+                sending.countDown();
+            }
+        });
+        sender.start();
+        sending.await();
+        transport.close();
+        closed.set(true);
+        sender.join();
+        int hung = 0;
+        for (CompletableFuture<Long> reply : replies) {
+            try {
+                reply.get(5, TimeUnit.SECONDS);
+            } catch (TimeoutException e) {
+                hung++;
+            } catch (ExecutionException e) {
+                // Failed with "closed": completed, which is all close() promises
+            }
+        }
+        return hung;
+    }
+
+    /**
+     * Connects to a fake shard that reads requests but shuts its output at
+     * once. Writes keep succeeding, so only the reader's EOF can tell the
+     * transport that no reply will ever come.
+     */
+    private static void sendsAfterShardHangsUp(int sends) throws Exception {
+        try (ServerSocket fake = new ServerSocket(0, 1, InetAddress.getLoopbackAddress())) {
+            Thread drain = new Thread(() -> {
+                try (Socket socket = fake.accept()) {
+                    socket.shutdownOutput();
+                    socket.getInputStream().transferTo(OutputStream.nullOutputStream());
+                } catch (IOException e) {
+                    // Client closed
+                }
+            });
+            drain.setDaemon(true);
+            drain.start();
+
+            SocketShardTransport transport = new SocketShardTransport("127.0.0.1", fake.getLocalPort());
+            int hung = 0;
+            int failed = 0;
+            for (int i = 0; i < sends; i++) {
+                CompletableFuture<Long> reply = transport.send(ShardTransport.DEPOSIT, "12345678", 1);
+                try {
+                    reply.get(5, TimeUnit.SECONDS);
+                } catch (TimeoutException e) {
+                    hung++;
+                    break;  // Each would wait the full timeout
+                } catch (ExecutionException e) {
+                    failed++;
+                }
+            }
+            transport.close();
+            System.out.printf("Sends after the shard hung up: %d failed, %d hung%n", failed, hung);
+            // Expected: Sends after the shard hung up: 1000 failed, 0 hung
+        }
+    }
+
+    /**
+     * Runs one producer per shard, each keeping a window of operations in
+     * flight, and reports operations per second. Producers are not aligned
+     * to shards: each one's accounts hash across every shard on the ring.
+     */
+    private static double throughput(int shardCount, int totalOps) throws Exception {
+        try (ShardedLedger ledger = ShardedLedger.inProcess(shardCount)) {
+            // Pre-build account numbers so the timed loop measures the ledger, not String.valueOf
+            String[] accounts = new String[10_000];
+            for (int i = 0; i < accounts.length; i++) {
+                accounts[i] = String.valueOf(10_000_000 + i);
+            }
+            int opsPerProducer = totalOps / shardCount;
+            CountDownLatch startGate = new CountDownLatch(1);
+            Thread[] producers = new Thread[shardCount];
+            for (int p = 0; p < shardCount; p++) {
+                int offset = p;
+                producers[p] = new Thread(() -> {
+                    try {
+                        startGate.await();
+                    } catch (InterruptedException e) {
+                        return;
+                    }
+                    CompletableFuture<Long> last = null;
+                    for (int i = 0; i < opsPerProducer; i++) {
+                        last = ledger.depositCentsAsync(accounts[(i * shardCount + offset) % accounts.length], 1);
+                        if ((i & 1023) == 1023) {
+                            last.join();  // Bound the queue: at most ~1K in flight per producer
+                        }
+                    }
+                    last.join();
+                });
+                producers[p].start();
+            }
+            long start = System.nanoTime();
+            startGate.countDown();
+            for (Thread producer : producers) {
+                producer.join();
+            }
+            return (double) opsPerProducer * shardCount * 1e9 / (System.nanoTime() - start);
+        }
+    }
+}
@@ -0,0 +1,278 @@
+package com.fintech.foundations.ledger.shard;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.net.Socket;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * ShardTransport to a ShardServer over a TCP socket (loopback for local tests).
+ *
+ * Requests are pipelined: send() never waits for the network. A writer
+ * thread drains queued requests and flushes them as one write per batch,
+ * and a reader thread completes the matching futures as replies arrive,
+ * so one connection carries thousands of operations per round trip.
+ *
+ * Wire format (big-endian):
+ *   request: requestId long | op byte | account int (packed) | cents long  = 21 bytes
+ *   reply:   requestId long | status byte                    | result long = 17 bytes
+ *            followed, for any status but STATUS_OK, by the exception message (writeUTF)
+ *
+ * A failed operation is rethrown with the same exception type as the
+ * in-process LedgerShard (IllegalArgumentException, ArithmeticException,
+ * IllegalStateException), so ShardedLedger behaves the same over either
+ * transport.
+ *
+ * @author Jesse De Oliveira
+ * @since 2026-10-18
+ */
+public class SocketShardTransport implements ShardTransport {
+
+    /** Size of one request frame */
+    static final int REQUEST_BYTES = 21;
+    /** Size of one successful reply frame */
+    static final int REPLY_BYTES = 17;
+    /** Reply status for a successfully applied operation */
+    static final byte STATUS_OK = 0;
+    /** Reply status for any other failure (rethrown as IllegalStateException) */
+    static final byte STATUS_ERROR = 1;
+    /** Reply status: the shard threw IllegalArgumentException */
+    static final byte STATUS_ILLEGAL_ARGUMENT = 2;
+    /** Reply status: the shard threw ArithmeticException (e.g., balance overflow) */
+    static final byte STATUS_ARITHMETIC = 3;
+    /** Reply status: the shard threw IllegalStateException */
+    static final byte STATUS_ILLEGAL_STATE = 4;
+
+    /** Socket buffer size (fits ~3,000 request frames) */
+    static final int BUFFER_BYTES = 64 * 1024;
+
+    private static final int BATCH = 1024;
+
+    /** A request waiting to be written */
+    private static final class Request {
+        final long id;
+        final byte op;
+        final int account;
+        final long amountCents;
+
+        Request(long id, byte op, int account, long amountCents) {
+            this.id = id;
+            this.op = op;
+            this.account = account;
+            this.amountCents = amountCents;
+        }
+    }
+
+    /** Queued by close() to stop the writer thread */
+    private static final Request STOP = new Request(0, (byte) 0, 0, 0);
+
+    private final Socket socket;
+    private final DataOutputStream out;
+    private final DataInputStream in;
+    private final AtomicLong nextId = new AtomicLong();
+    private final ConcurrentHashMap<Long, CompletableFuture<Long>> pending = new ConcurrentHashMap<>();
+    private final LinkedBlockingQueue<Request> outbound = new LinkedBlockingQueue<>();
+    private final Thread writer;
+    private final Thread reader;
+    private volatile boolean closed;
+
+    /** Set (before closed) when the connection is lost; no reply can arrive after it */
+    private volatile IOException failure;
+
+    /**
+     * Connects to a ShardServer.
+     *
+     * @param host Server host (e.g., "127.0.0.1")
+     * @param port Server port
+     * @throws IOException If the connection fails
+     */
+    public SocketShardTransport(String host, int port) throws IOException {
+        this.socket = new Socket();
+        socket.setTcpNoDelay(true);
+        socket.connect(new InetSocketAddress(host, port));
+        this.out = new DataOutputStream(new BufferedOutputStream(socket.getOutputStream(), BUFFER_BYTES));
+        this.in = new DataInputStream(new BufferedInputStream(socket.getInputStream(), BUFFER_BYTES));
+
+        String name = "shard-client-" + port;
+        this.writer = new Thread(this::writeLoop, name + "-writer");
+        this.reader = new Thread(this::readLoop, name + "-reader");
+        writer.setDaemon(true);
+        reader.setDaemon(true);
+        writer.start();
+        reader.start();
+    }
+
+    @Override
+    public CompletableFuture<Long> send(byte op, String accountNumber, long amountCents) {
+        CompletableFuture<Long> result = new CompletableFuture<>();
+        if (closed) {
+            result.completeExceptionally(new IllegalStateException("Transport is closed", failure));
+            return result;
+        }
+        // Validate on the caller's thread so bad input never reaches the wire
+        int account;
+        try {
+            account = ShardTransport.checkAccount(accountNumber);
+        } catch (IllegalArgumentException e) {
+            result.completeExceptionally(e);
+            return result;
+        }
+        long id = nextId.incrementAndGet();
+        Request request = new Request(id, op, account, amountCents);
+        pending.put(id, result);
+        outbound.add(request);
+        // close() may have run between the check and the add, and the writer may
+        // already be gone: take the request back and fail it (if the writer has
+        // not taken it, which completes it either way). If the connection was
+        // lost, no reply will come even for a written request, and failPending
+        // may have missed this one: fail it here.
+        if (closed && (outbound.remove(request) || failure != null)) {
+            CompletableFuture<Long> future = pending.remove(id);
+            if (future != null) {
+                future.completeExceptionally(new IllegalStateException("Transport is closed", failure));
+            }
+        }
+        return result;
+    }
+
+    /** Drains queued requests and writes them with one flush per batch. */
+    private void writeLoop() {
+        ArrayList<Request> batch = new ArrayList<>(BATCH);
+        try {
+            while (true) {
+                batch.add(outbound.take());
+                outbound.drainTo(batch, BATCH - 1);
+                for (int i = 0; i < batch.size(); i++) {
+                    Request request = batch.get(i);
+                    if (request == STOP) {
+                        out.flush();
+                        socket.shutdownOutput();  // Server finishes the in-flight work, then closes
+                        failQueued(batch.subList(i + 1, batch.size()), new IllegalStateException("Transport is closed"));
+                        return;
+                    }
+                    out.writeLong(request.id);
+                    out.writeByte(request.op);
+                    out.writeInt(request.account);
+                    out.writeLong(request.amountCents);
+                }
+                out.flush();
+                batch.clear();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (IOException e) {
+            failQueued(batch, new IllegalStateException("Transport is closed", e));
+            connectionLost(e);
+        }
+    }
+
+    /** Fails unwritten requests (given, and still queued) and forgets their futures. */
+    private void failQueued(List<Request> unwritten, RuntimeException cause) {
+        ArrayList<Request> rest = new ArrayList<>(unwritten);
+        outbound.drainTo(rest);
+        for (Request request : rest) {
+            CompletableFuture<Long> future = request == STOP ? null : pending.remove(request.id);
+            if (future != null) {
+                future.completeExceptionally(cause);
+            }
+        }
+    }
+
+    /** Completes futures as replies arrive. */
+    private void readLoop() {
+        try {
+            while (true) {
+                long id = in.readLong();
+                byte status = in.readByte();
+                long result = in.readLong();
+                String message = status == STATUS_OK ? null : in.readUTF();
+                CompletableFuture<Long> future = pending.remove(id);
+                if (future == null) {
+                    continue;
+                }
+                if (status == STATUS_OK) {
+                    future.complete(result);
+                } else {
+                    future.completeExceptionally(toException(status, message));
+                }
+            }
+        } catch (EOFException e) {
+            connectionLost(new IOException("Shard closed the connection"));
+        } catch (IOException e) {
+            connectionLost(e);
+        }
+    }
+
+    /**
+     * Refuses new sends, stops the writer and fails every outstanding request.
+     * closed is set first, so a send() that slips into pending after the sweep
+     * sees it and fails its own future.
+     */
+    private void connectionLost(IOException cause) {
+        failure = cause;
+        closed = true;
+        outbound.add(STOP);
+        failPending(cause);
+    }
+
+    /** @return Reply status for an exception thrown by the shard */
+    static byte statusOf(Throwable error) {
+        if (error instanceof IllegalArgumentException) {
+            return STATUS_ILLEGAL_ARGUMENT;
+        }
+        if (error instanceof ArithmeticException) {
+            return STATUS_ARITHMETIC;
+        }
+        if (error instanceof IllegalStateException) {
+            return STATUS_ILLEGAL_STATE;
+        }
+        return STATUS_ERROR;
+    }
+
+    /** @return The exception LedgerShard would have thrown for a reply status */
+    static RuntimeException toException(byte status, String message) {
+        switch (status) {
+            case STATUS_ILLEGAL_ARGUMENT:
+                return new IllegalArgumentException(message);
+            case STATUS_ARITHMETIC:
+                return new ArithmeticException(message);
+            case STATUS_ILLEGAL_STATE:
+                return new IllegalStateException(message);
+            default:
+                return new IllegalStateException("Shard failed: " + message);
+        }
+    }
+
+    private void failPending(IOException cause) {
+        for (Long id : pending.keySet()) {
+            CompletableFuture<Long> future = pending.remove(id);
+            if (future != null) {
+                future.completeExceptionally(cause);
+            }
+        }
+    }
+
+    /** Flushes queued requests, waits for their replies, then closes the socket. */
+    @Override
+    public void close() throws IOException {
+        closed = true;
+        outbound.add(STOP);
+        try {
+            writer.join();
+            reader.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        socket.close();
+    }
+}
@@ -0,0 +1,329 @@
+package com.fintech.foundations.lending;
+
+import java.io.IOException;
+import java.math.BigInteger;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.WritableByteChannel;
+
+import com.fintech.foundations.Money;
+import com.fintech.foundations.collections.LongIntMap;
+
+/**
+ * Monthly amortization schedules (instalment, interest, capital, balance)
+ * generated into reusable primitive buffers.
+ *
+ * One AmortizationSchedule is reused for every loan: generate() overwrites
+ * its column arrays, and writeCsv()/writeBinary() stream the rows through
+ * one reusable direct ByteBuffer. After warm-up, a schedule of any length
+ * allocates nothing, so a million 360-row schedules are bounded by I/O,
+ * not by the garbage collector.
+ *
+ * Rules (standard annuity loan):
+ * - Instalment = P × r / (1 - (1 + r)^-n), r = annual rate / 12, rounded HALF_UP
+ * - Interest each month = balance × r, rounded HALF_UP to the cent
+ * - Capital = instalment - interest
+ * - The last instalment absorbs the rounding so the balance ends at exactly 0
+ *
+ * The instalment factor is computed exactly once per (rate, term) and
+ * cached as 64.64 fixed point (see FixedPoint).
+ *
+ * Not thread-safe: use one schedule per thread.
+ *
+ * @author Jesse De Oliveira
+ * @since 2026-10-18
+ */
+public class AmortizationSchedule {
+
+    /** Bytes per binary row: loan ID (8), month (4), instalment, interest, capital, balance (8 each) */
+    public static final int BINARY_ROW_BYTES = 8 + 4 + 8 + 8 + 8 + 8;
+
+    /** CSV header line */
+    public static final String CSV_HEADER = "loan_id,month,instalment,interest,capital,balance\n";
+
+    /** Longest CSV row: 20-digit ID, 3-digit month, four 21-character amounts, separators */
+    private static final int MAX_CSV_ROW_BYTES = 20 + 4 + 4 * 22 + 1;
+
+    private static final int BUFFER_BYTES = 64 * 1024;
+
+    private final long[] instalment;
+    private final long[] interest;
+    private final long[] capital;
+    private final long[] balance;
+    private int rows;
+
+    private final ByteBuffer buffer = ByteBuffer.allocateDirect(BUFFER_BYTES).order(ByteOrder.LITTLE_ENDIAN);
+    private final byte[] digits = new byte[20];
+
+    // Instalment factor cache: (rate << 32 | term) → index into the factor arrays
+    private final LongIntMap factorIndex = new LongIntMap();
+    private long[] factorInts = new long[16];
+    private long[] factorFractions = new long[16];
+
+    /**
+     * Creates a schedule with room for terms up to maxTermMonths.
+     */
+    public AmortizationSchedule(int maxTermMonths) {
+        if (maxTermMonths <= 0 || maxTermMonths > InterestProjectionEngine.MAX_TERM_MONTHS) {
+            throw new IllegalArgumentException("Maximum term must be 1 to "
+                    + InterestProjectionEngine.MAX_TERM_MONTHS + " months. Got: " + maxTermMonths);
+        }
+        this.instalment = new long[maxTermMonths];
+        this.interest = new long[maxTermMonths];
+        this.capital = new long[maxTermMonths];
+        this.balance = new long[maxTermMonths];
+    }
+
+    //===========================================
+    //GENERATE
+    //===========================================
+
+    /**
+     * Fills the buffers with a loan's schedule (overwrites the previous loan).
+     * Time: O(term), no allocation once the (rate, term) factor is cached
+     *
+     * @param principalCents Loan amount in cents (> 0)
+     * @param rateBasisPoints Annual rate (0..5000 basis points)
+     * @param termMonths Number of monthly instalments (1..capacity)
+     * @return Number of rows (= termMonths)
+     */
+    public int generate(long principalCents, int rateBasisPoints, int termMonths) {
+        if (principalCents <= 0) {
+            throw new IllegalArgumentException("Principal must be positive. Got: " + principalCents);
+        }
+        if (rateBasisPoints < 0 || rateBasisPoints > InterestProjectionEngine.MAX_RATE_BASIS_POINTS) {
+            throw new IllegalArgumentException("Rate must be 0 to " + InterestProjectionEngine.MAX_RATE_BASIS_POINTS
+                    + " basis points. Got: " + rateBasisPoints);
+        }
+        if (termMonths <= 0 || termMonths > instalment.length) {
+            throw new IllegalArgumentException("Term must be 1 to " + instalment.length + " months. Got: " + termMonths);
+        }
+
+        long payment = instalmentCents(principalCents, rateBasisPoints, termMonths);
+        long remaining = principalCents;
+        for (int month = 0; month < termMonths; month++) {
+            long monthInterest = Money.multiplyRate(remaining, rateBasisPoints,
+                    InterestProjectionEngine.RATE_DENOMINATOR);
+            long monthCapital = month == termMonths - 1 ? remaining : Math.min(payment - monthInterest, remaining);
+            remaining -= monthCapital;
+            instalment[month] = monthInterest + monthCapital;
+            interest[month] = monthInterest;
+            capital[month] = monthCapital;
+            balance[month] = remaining;
+        }
+        rows = termMonths;
+        return rows;
+    }
+
+    /**
+     * Level monthly instalment for a loan, rounded HALF_UP to the cent.
+     */
+    public long instalmentCents(long principalCents, int rateBasisPoints, int termMonths) {
+        if (rateBasisPoints == 0) {
+            return Money.multiplyRate(principalCents, 1, termMonths);
+        }
+        long key = ((long) rateBasisPoints << 32) | termMonths;
+        int index = factorIndex.getOrDefault(key, -1);
+        if (index < 0) {
+            index = cacheFactor(key, rateBasisPoints, termMonths);
+        }
+        long cents = FixedPoint.multiplyHalfUp(principalCents, factorInts[index], factorFractions[index]);
+        if (cents != FixedPoint.UNDECIDED) {
+            return cents;
+        }
+        BigInteger[] factor = annuityFactor(rateBasisPoints, termMonths);
+        return FixedPoint.divideHalfUp(factor[0].multiply(BigInteger.valueOf(principalCents)), factor[1]);
+    }
+
+    /**
+     * Annuity factor r / (1 - (1 + r)^-n) as an exact fraction:
+     * bp × (120000 + bp)^n / (120000 × ((120000 + bp)^n - 120000^n))
+     *
+     * @return {numerator, denominator}
+     */
+    private static BigInteger[] annuityFactor(int rateBasisPoints, int termMonths) {
+        long denominator = InterestProjectionEngine.RATE_DENOMINATOR;
+        BigInteger grown = FixedPoint.power(BigInteger.valueOf(denominator + rateBasisPoints), termMonths);
+        BigInteger base = FixedPoint.power(BigInteger.valueOf(denominator), termMonths);
+        return new BigInteger[] {
+                grown.multiply(BigInteger.valueOf(rateBasisPoints)),
+                grown.subtract(base).multiply(BigInteger.valueOf(denominator))
+        };
+    }
+
+    private int cacheFactor(long key, int rateBasisPoints, int termMonths) {
+        BigInteger[] factor = annuityFactor(rateBasisPoints, termMonths);
+        long[] fixed = FixedPoint.ratio(factor[0], factor[1]);
+        int index = factorIndex.size();
+        if (index == factorInts.length) {
+            factorInts = java.util.Arrays.copyOf(factorInts, index * 2);
+            factorFractions = java.util.Arrays.copyOf(factorFractions, index * 2);
+        }
+        factorInts[index] = fixed[0];
+        factorFractions[index] = fixed[1];
+        factorIndex.put(key, index);
+        return index;
+    }
+
+    //===========================================
+    //READ THE BUFFERS
+    //===========================================
+
+    /** @return Rows of the current schedule */
+    public int rows() {
+        return rows;
+    }
+
+    /** @return Instalment of a row (month = row + 1) */
+    public long instalmentCents(int row) {
+        return instalment[checkRow(row)];
+    }
+
+    /** @return Interest part of a row */
+    public long interestCents(int row) {
+        return interest[checkRow(row)];
+    }
+
+    /** @return Capital part of a row */
+    public long capitalCents(int row) {
+        return capital[checkRow(row)];
+    }
+
+    /** @return Balance after a row */
+    public long balanceCents(int row) {
+        return balance[checkRow(row)];
+    }
+
+    /** @return Total interest over the schedule */
+    public long totalInterestCents() {
+        long total = 0;
+        for (int row = 0; row < rows; row++) {
+            total += interest[row];
+        }
+        return total;
+    }
+
+    private int checkRow(int row) {
+        if (row < 0 || row >= rows) {
+            throw new IndexOutOfBoundsException("Row " + row + " of " + rows);
+        }
+        return row;
+    }
+
+    //===========================================
+    //STREAMING OUTPUT
+    //===========================================
+
+    /**
+     * Writes the CSV header line.
+     */
+    public void writeCsvHeader(WritableByteChannel channel) throws IOException {
+        for (int i = 0; i < CSV_HEADER.length(); i++) {
+            buffer.put((byte) CSV_HEADER.charAt(i));
+        }
+        flush(channel);
+    }
+
+    /**
+     * Streams the current schedule as CSV rows (amounts as rands, e.g. 1234.56).
+     * Rows are formatted straight into the reusable buffer - no Strings.
+     */
+    public void writeCsv(WritableByteChannel channel, long loanId) throws IOException {
+        for (int row = 0; row < rows; row++) {
+            if (buffer.remaining() < MAX_CSV_ROW_BYTES) {
+                flush(channel);
+            }
+            putLong(loanId);
+            buffer.put((byte) ',');
+            putLong(row + 1);
+            buffer.put((byte) ',');
+            putCents(instalment[row]);
+            buffer.put((byte) ',');
+            putCents(interest[row]);
+            buffer.put((byte) ',');
+            putCents(capital[row]);
+            buffer.put((byte) ',');
+            putCents(balance[row]);
+            buffer.put((byte) '\n');
+        }
+        flush(channel);
+    }
+
+    /**
+     * Streams the current schedule as fixed-size little-endian binary rows
+     * (BINARY_ROW_BYTES each, amounts in cents).
+     */
+    public void writeBinary(WritableByteChannel channel, long loanId) throws IOException {
+        for (int row = 0; row < rows; row++) {
+            if (buffer.remaining() < BINARY_ROW_BYTES) {
+                flush(channel);
+            }
+            buffer.putLong(loanId);
+            buffer.putInt(row + 1);
+            buffer.putLong(instalment[row]);
+            buffer.putLong(interest[row]);
+            buffer.putLong(capital[row]);
+            buffer.putLong(balance[row]);
+        }
+        flush(channel);
+    }
+
+    private void flush(WritableByteChannel channel) throws IOException {
+        buffer.flip();
+        while (buffer.hasRemaining()) {
+            channel.write(buffer);
+        }
+        buffer.clear();
+    }
+
+    /** Writes a non-negative long in decimal. */
+    private void putLong(long value) {
+        if (value < 0) {
+            throw new IllegalArgumentException("Value cannot be negative. Got: " + value);
+        }
+        int length = 0;
+        do {
+            digits[length++] = (byte) ('0' + value % 10);
+            value /= 10;
+        } while (value != 0);
+        while (length > 0) {
+            buffer.put(digits[--length]);
+        }
+    }
+
+    /** Writes cents as rands with two decimals (12345 → 123.45). */
+    private void putCents(long cents) {
+        if (cents < 0) {
+            buffer.put((byte) '-');
+            cents = -cents;
+        }
+        putLong(cents / 100);
+        buffer.put((byte) '.');
+        buffer.put((byte) ('0' + (cents % 100) / 10));
+        buffer.put((byte) ('0' + cents % 10));
+    }
+
+    /**
+     * Test cases (throughput and allocation: jmh AmortizationBenchmark with -prof gc)
+     */
+    public static void main(String[] args) throws IOException {
+        System.out.println("=== AMORTIZATION SCHEDULE ===\n");
+
+        // Test 1: R 1,000,000 home loan, 11.75%, 20 years
+        AmortizationSchedule schedule = new AmortizationSchedule(360);
+        schedule.generate(100_000_000, 1175, 240);
+        System.out.println("Instalment: R " + Money.toBigDecimal(schedule.instalmentCents(0)));
+        System.out.println("Total interest: R " + Money.toBigDecimal(schedule.totalInterestCents()));
+        System.out.println("Final balance: R " + Money.toBigDecimal(schedule.balanceCents(239)));
+        // Expected: Instalment R 10837.07, final balance R 0.00
+
+        // Test 2: CSV output of a short loan
+        schedule.generate(1_000_000, 1200, 3);
+        java.io.ByteArrayOutputStream csv = new java.io.ByteArrayOutputStream();
+        WritableByteChannel csvChannel = java.nio.channels.Channels.newChannel(csv);
+        schedule.writeCsvHeader(csvChannel);
+        schedule.writeCsv(csvChannel, 42);
+        System.out.print(csv);
+        // Expected: 3 rows of R 3400.22 / 3400.22 / 3400.23 (last row absorbs rounding), balance 0.00
+    }
+}
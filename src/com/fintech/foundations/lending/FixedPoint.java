@@ -0,0 +1,80 @@
+package com.fintech.foundations.lending;
+
+import java.math.BigInteger;
+
+/**
+ * Exact rational factors applied to cent amounts with 64.64 fixed point.
+ *
+ * A factor such as (1 + r)^n is computed once with exact integers and
+ * stored as an integer part plus a 64-bit binary fraction. Applying it to
+ * an amount is then one 128-bit multiply instead of BigDecimal arithmetic.
+ *
+ * @author Jesse De Oliveira
+ * @since 2026-10-18
+ */
+final class FixedPoint {
+
+    /** Returned by multiplyHalfUp when the truncated factor cannot decide the rounding */
+    static final long UNDECIDED = Long.MIN_VALUE;
+
+    private FixedPoint() {
+    }
+
+    /** base^exponent by repeated squaring: O(log exponent) multiplications. */
+    static BigInteger power(BigInteger base, int exponent) {
+        BigInteger result = BigInteger.ONE;
+        BigInteger square = base;
+        while (exponent > 0) {
+            if ((exponent & 1) != 0) {
+                result = result.multiply(square);
+            }
+            exponent >>>= 1;
+            if (exponent > 0) {
+                square = square.multiply(square);
+            }
+        }
+        return result;
+    }
+
+    /**
+     * numerator / denominator as 64.64 fixed point, rounded down.
+     *
+     * @return {integer part, fraction × 2^64}
+     * @throws ArithmeticException if the integer part does not fit 63 bits
+     */
+    static long[] ratio(BigInteger numerator, BigInteger denominator) {
+        BigInteger fixed = numerator.shiftLeft(64).divide(denominator);
+        if (fixed.bitLength() > 127) {
+            throw new ArithmeticException("Factor too large for 64.64 fixed point");
+        }
+        return new long[] {fixed.shiftRight(64).longValue(), fixed.longValue()};
+    }
+
+    /**
+     * value × factor rounded HALF_UP, for value >= 0.
+     *
+     * @return The rounded product, or UNDECIDED if it lies so close to a
+     *         half that the truncated fraction cannot tell (use exact arithmetic)
+     * @throws ArithmeticException if the product overflows a long
+     */
+    static long multiplyHalfUp(long value, long factorInt, long factorFraction) {
+        // value × fraction as a 128-bit number: whole units in high, sub-unit part in low
+        long high = Math.multiplyHigh(value, factorFraction) + ((factorFraction >> 63) & value);
+        long low = value * factorFraction;
+        long whole = Math.addExact(Math.multiplyExact(value, factorInt), high);
+
+        // The fraction is short by < 2^-64, so the true sub-unit part lies in [low, low + value)
+        long half = Long.MIN_VALUE;  // 0.5 in unsigned 2^-64 units
+        if (Long.compareUnsigned(low, half) < 0 && Long.compareUnsigned(low, half - value) >= 0) {
+            return UNDECIDED;
+        }
+        return Long.compareUnsigned(low, half) >= 0 ? Math.addExact(whole, 1) : whole;
+    }
+
+    /** numerator / denominator rounded HALF_UP (both positive). */
+    static long divideHalfUp(BigInteger numerator, BigInteger denominator) {
+        BigInteger[] qr = numerator.divideAndRemainder(denominator);
+        BigInteger result = qr[1].shiftLeft(1).compareTo(denominator) >= 0 ? qr[0].add(BigInteger.ONE) : qr[0];
+        return result.longValueExact();
+    }
+}
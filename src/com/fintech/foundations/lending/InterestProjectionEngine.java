@@ -0,0 +1,338 @@
+package com.fintech.foundations.lending;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.math.MathContext;
+import java.math.RoundingMode;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+import com.fintech.foundations.Money;
+import com.fintech.foundations.collections.LongIntMap;
+
+/**
+ * Projects monthly compound interest for a whole loan / savings book.
+ *
+ * Non-interactive counterpart of CompoundInterestCalculator: inputs and
+ * outputs are primitive arrays (one entry per account), amounts in cents,
+ * rates in basis points (750 = 7.50% per year).
+ *
+ * Two rounding rules:
+ * - AT_MATURITY: interest compounds unrounded; the balance is rounded
+ *   (HALF_UP) once at the end. Closed form: P × (1 + r/12)^n. The factor
+ *   (1 + r/12)^n is computed once per distinct (rate, term) by exponentiation
+ *   by squaring over exact integers, stored as 64.64 fixed point, and applied
+ *   to each account with one 128-bit multiply. Results within the factor's
+ *   error of a half cent are recomputed exactly with BigInteger.
+ * - MONTHLY: interest is rounded to the cent and credited every month (how
+ *   most bank accounts work). Rounding every step has no closed form, so
+ *   this iterates month by month in long cents.
+ *
+ * Accounts are split across cores with fork/join.
+ *
+ * @author Jesse De Oliveira
+ * @since 2026-10-18
+ */
+public class InterestProjectionEngine {
+
+    /** How interest is rounded to cents */
+    public enum Rounding {
+        /** Round the final balance once (closed form) */
+        AT_MATURITY,
+        /** Round and credit interest every month (iterative) */
+        MONTHLY
+    }
+
+    /** Compounding periods per year */
+    public static final int MONTHS_PER_YEAR = 12;
+
+    /** Highest supported annual rate: 50.00% */
+    public static final int MAX_RATE_BASIS_POINTS = 5_000;
+
+    /** Longest supported term: 50 years */
+    public static final int MAX_TERM_MONTHS = 50 * MONTHS_PER_YEAR;
+
+    /** Monthly rate denominator: basis points per year × 12 */
+    static final long RATE_DENOMINATOR = Money.BASIS_POINTS * MONTHS_PER_YEAR;
+
+    /** Accounts per fork/join leaf task */
+    private static final int SEQUENTIAL_ACCOUNTS = 16_384;
+
+    private final Rounding rounding;
+    private final ForkJoinPool pool;
+
+    /**
+     * Creates an engine that runs on the common fork/join pool.
+     */
+    public InterestProjectionEngine(Rounding rounding) {
+        this(rounding, ForkJoinPool.commonPool());
+    }
+
+    /**
+     * Creates an engine that runs on a given pool.
+     */
+    public InterestProjectionEngine(Rounding rounding, ForkJoinPool pool) {
+        if (rounding == null || pool == null) {
+            throw new IllegalArgumentException("Rounding and pool cannot be null");
+        }
+        this.rounding = rounding;
+        this.pool = pool;
+    }
+
+    //===========================================
+    //BOOK PROJECTION
+    //===========================================
+
+    /**
+     * Projects the balance of every account at the end of its term.
+     *
+     * @param principalCents Opening balance per account (cents, >= 0)
+     * @param rateBasisPoints Annual rate per account (0..5000 basis points)
+     * @param termMonths Term per account (0..600 months)
+     * @param futureValueCents Output: balance at the end of the term
+     * @throws IllegalArgumentException if array lengths differ or an input is out of range
+     * @throws ArithmeticException if a balance exceeds the long range
+     */
+    public void project(long[] principalCents, int[] rateBasisPoints, int[] termMonths, long[] futureValueCents) {
+        int n = principalCents.length;
+        if (rateBasisPoints.length != n || termMonths.length != n || futureValueCents.length != n) {
+            throw new IllegalArgumentException("All arrays must have the same length");
+        }
+        for (int i = 0; i < n; i++) {
+            validate(principalCents[i], rateBasisPoints[i], termMonths[i], i);
+        }
+
+        long[] factorInts = null;
+        long[] factorFractions = null;
+        int[] factorIndex = null;
+        if (rounding == Rounding.AT_MATURITY) {
+            // One factor per distinct (rate, term) - a book has few products
+            LongIntMap distinct = new LongIntMap();
+            factorIndex = new int[n];
+            for (int i = 0; i < n; i++) {
+                long key = ((long) rateBasisPoints[i] << 32) | termMonths[i];
+                int index = distinct.getOrDefault(key, -1);
+                if (index < 0) {
+                    index = distinct.size();
+                    distinct.put(key, index);
+                }
+                factorIndex[i] = index;
+            }
+            long[] ints = new long[distinct.size()];
+            long[] fractions = new long[distinct.size()];
+            distinct.forEach((key, index) -> {
+                long[] factor = growthFactor((int) (key >>> 32), (int) key);
+                ints[index] = factor[0];
+                fractions[index] = factor[1];
+            });
+            factorInts = ints;
+            factorFractions = fractions;
+        }
+
+        pool.invoke(new ProjectTask(principalCents, rateBasisPoints, termMonths, futureValueCents,
+                factorIndex, factorInts, factorFractions, 0, n));
+    }
+
+    private final class ProjectTask extends RecursiveAction {
+        private static final long serialVersionUID = 1L;
+
+        private final long[] principalCents;
+        private final int[] rateBasisPoints;
+        private final int[] termMonths;
+        private final long[] out;
+        private final int[] factorIndex;
+        private final long[] factorInts;
+        private final long[] factorFractions;
+        private final int from;
+        private final int to;
+
+        ProjectTask(long[] principalCents, int[] rateBasisPoints, int[] termMonths, long[] out,
+                int[] factorIndex, long[] factorInts, long[] factorFractions, int from, int to) {
+            this.principalCents = principalCents;
+            this.rateBasisPoints = rateBasisPoints;
+            this.termMonths = termMonths;
+            this.out = out;
+            this.factorIndex = factorIndex;
+            this.factorInts = factorInts;
+            this.factorFractions = factorFractions;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from > SEQUENTIAL_ACCOUNTS) {
+                int mid = (from + to) >>> 1;
+                invokeAll(new ProjectTask(principalCents, rateBasisPoints, termMonths, out,
+                                factorIndex, factorInts, factorFractions, from, mid),
+                        new ProjectTask(principalCents, rateBasisPoints, termMonths, out,
+                                factorIndex, factorInts, factorFractions, mid, to));
+                return;
+            }
+            if (rounding == Rounding.MONTHLY) {
+                for (int i = from; i < to; i++) {
+                    out[i] = compoundMonthly(principalCents[i], rateBasisPoints[i], termMonths[i]);
+                }
+            } else {
+                for (int i = from; i < to; i++) {
+                    int f = factorIndex[i];
+                    out[i] = applyFactor(principalCents[i], factorInts[f], factorFractions[f],
+                            rateBasisPoints[i], termMonths[i]);
+                }
+            }
+        }
+    }
+
+    //===========================================
+    //SINGLE ACCOUNT
+    //===========================================
+
+    /**
+     * Projects one account.
+     *
+     * @return Balance in cents at the end of the term
+     */
+    public long futureValueCents(long principalCents, int rateBasisPoints, int termMonths) {
+        validate(principalCents, rateBasisPoints, termMonths, 0);
+        if (rounding == Rounding.MONTHLY) {
+            return compoundMonthly(principalCents, rateBasisPoints, termMonths);
+        }
+        long[] factor = growthFactor(rateBasisPoints, termMonths);
+        return applyFactor(principalCents, factor[0], factor[1], rateBasisPoints, termMonths);
+    }
+
+    /**
+     * Month-by-month compounding with interest rounded HALF_UP each month.
+     * Time: O(term)
+     */
+    static long compoundMonthly(long principalCents, int rateBasisPoints, int termMonths) {
+        long balance = principalCents;
+        for (int month = 0; month < termMonths; month++) {
+            balance = Math.addExact(balance, Money.multiplyRate(balance, rateBasisPoints, RATE_DENOMINATOR));
+        }
+        return balance;
+    }
+
+    /**
+     * (1 + bp / 120000)^months as 64.64 fixed point, rounded down.
+     * Exponentiation by squaring on exact integers: O(log months) multiplications.
+     *
+     * @return {integer part, fraction × 2^64}
+     */
+    static long[] growthFactor(int rateBasisPoints, int termMonths) {
+        return FixedPoint.ratio(
+                FixedPoint.power(BigInteger.valueOf(RATE_DENOMINATOR + rateBasisPoints), termMonths),
+                FixedPoint.power(BigInteger.valueOf(RATE_DENOMINATOR), termMonths));
+    }
+
+    /**
+     * principal × factor, rounded HALF_UP to the cent.
+     * Falls back to exact BigInteger arithmetic when the truncated factor
+     * cannot decide the rounding.
+     */
+    private static long applyFactor(long principalCents, long factorInt, long factorFraction,
+            int rateBasisPoints, int termMonths) {
+        long cents = FixedPoint.multiplyHalfUp(principalCents, factorInt, factorFraction);
+        if (cents != FixedPoint.UNDECIDED) {
+            return cents;
+        }
+        // P × (120000 + bp)^n / 120000^n with exact integers
+        return FixedPoint.divideHalfUp(
+                FixedPoint.power(BigInteger.valueOf(RATE_DENOMINATOR + rateBasisPoints), termMonths)
+                        .multiply(BigInteger.valueOf(principalCents)),
+                FixedPoint.power(BigInteger.valueOf(RATE_DENOMINATOR), termMonths));
+    }
+
+    private static void validate(long principalCents, int rateBasisPoints, int termMonths, int row) {
+        if (principalCents < 0) {
+            throw new IllegalArgumentException("Principal cannot be negative. Row " + row + ": " + principalCents);
+        }
+        if (rateBasisPoints < 0 || rateBasisPoints > MAX_RATE_BASIS_POINTS) {
+            throw new IllegalArgumentException("Rate must be 0 to " + MAX_RATE_BASIS_POINTS
+                    + " basis points. Row " + row + ": " + rateBasisPoints);
+        }
+        if (termMonths < 0 || termMonths > MAX_TERM_MONTHS) {
+            throw new IllegalArgumentException("Term must be 0 to " + MAX_TERM_MONTHS
+                    + " months. Row " + row + ": " + termMonths);
+        }
+    }
+
+    /**
+     * Test cases + 1M-account benchmark
+     */
+    public static void main(String[] args) {
+        System.out.println("=== INTEREST PROJECTION ENGINE ===\n");
+
+        // Test 1: R 10,000 at 8% for 10 years, monthly compounding
+        InterestProjectionEngine atMaturity = new InterestProjectionEngine(Rounding.AT_MATURITY);
+        InterestProjectionEngine monthly = new InterestProjectionEngine(Rounding.MONTHLY);
+        System.out.println("At maturity: R " + Money.toBigDecimal(atMaturity.futureValueCents(1_000_000, 800, 120)));
+        System.out.println("Monthly:     R " + Money.toBigDecimal(monthly.futureValueCents(1_000_000, 800, 120)));
+        // Expected: R 22196.40 (10000 × 1.00666...^120); monthly rounding within a few cents
+
+        // Test 2: Closed form agrees with a 50-digit BigDecimal reference
+        java.util.Random random = new java.util.Random(11);
+        MathContext precise = new MathContext(50);
+        int mismatches = 0;
+        for (int i = 0; i < 2_000; i++) {
+            long p = 1 + (random.nextLong() & 0xFF_FFFF_FFFFL);   // up to ~R 11 billion
+            int bp = random.nextInt(MAX_RATE_BASIS_POINTS + 1);
+            int months = random.nextInt(MAX_TERM_MONTHS + 1);
+            BigDecimal monthlyFactor = BigDecimal.ONE.add(
+                    BigDecimal.valueOf(bp).divide(BigDecimal.valueOf(RATE_DENOMINATOR), precise));
+            BigDecimal reference = BigDecimal.valueOf(p).multiply(monthlyFactor.pow(months, precise), precise);
+            try {
+                long expected = reference.setScale(0, RoundingMode.HALF_UP).longValueExact();
+                mismatches += atMaturity.futureValueCents(p, bp, months) == expected ? 0 : 1;
+            } catch (ArithmeticException tooLarge) {
+                // Balance beyond the long range - skipped
+            }
+        }
+        System.out.println("Closed form vs BigDecimal reference: " + mismatches + " mismatches");
+        // Expected: 0 mismatches
+
+        // Test 3: 1M accounts, up to 50 years
+        int accounts = 1_000_000;
+        long[] principal = new long[accounts];
+        int[] rate = new int[accounts];
+        int[] term = new int[accounts];
+        for (int i = 0; i < accounts; i++) {
+            principal[i] = 100_000 + random.nextInt(100_000_000);
+            rate[i] = 250 + 25 * random.nextInt(60);           // 60 products: 2.50% .. 17.25%
+            term[i] = 12 * (1 + random.nextInt(50));            // 1 .. 50 years
+        }
+        long[] out = new long[accounts];
+        for (InterestProjectionEngine engine : new InterestProjectionEngine[] {atMaturity, monthly}) {
+            for (int round = 0; round < 3; round++) {
+                long start = System.nanoTime();
+                engine.project(principal, rate, term, out);
+                long elapsed = System.nanoTime() - start;
+                if (round == 2) {
+                    System.out.printf("%-12s %,d accounts in %,d ms (%,.0f accounts/s)%n",
+                            engine.rounding, accounts, elapsed / 1_000_000, accounts / (elapsed / 1e9));
+                }
+            }
+        }
+
+        // Baseline: the CompoundInterestCalculator approach (BigDecimal multiply/add per month)
+        int sample = 2_000;
+        BigDecimal[] rates = new BigDecimal[MAX_RATE_BASIS_POINTS + 1];
+        long start = System.nanoTime();
+        long checksum = 0;
+        for (int i = 0; i < sample; i++) {
+            if (rates[rate[i]] == null) {
+                rates[rate[i]] = BigDecimal.valueOf(rate[i]).divide(BigDecimal.valueOf(RATE_DENOMINATOR),
+                        10, RoundingMode.HALF_UP);
+            }
+            BigDecimal balance = Money.toBigDecimal(principal[i]);
+            for (int month = 0; month < term[i]; month++) {
+                balance = balance.add(balance.multiply(rates[rate[i]]));
+            }
+            checksum += balance.setScale(2, RoundingMode.HALF_UP).unscaledValue().longValue();
+        }
+        long elapsed = System.nanoTime() - start;
+        System.out.printf("%-12s %,d accounts in %,d ms (%,.0f accounts/s, checksum %d)%n",
+                "BigDecimal", sample, elapsed / 1_000_000, sample / (elapsed / 1e9), checksum % 1000);
+        System.out.println("Cores: " + ForkJoinPool.getCommonPoolParallelism());
+    }
+}
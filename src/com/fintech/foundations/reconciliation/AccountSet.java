@@ -0,0 +1,237 @@
+package com.fintech.foundations.reconciliation;
+
+import java.util.Arrays;
+import java.util.function.IntConsumer;
+
+import com.fintech.foundations.collections.IntBitmap;
+import com.fintech.foundations.store.TransactionStore;
+
+/**
+ * Immutable set of account numbers for compliance set algebra
+ * (sanctions lists, dormant accounts, PayShap-enabled accounts, ...).
+ *
+ * IntersectionArrays answers "which IDs are in both lists" with a hash
+ * set, one lookup per element. That is fine for a few thousand IDs; for
+ * tens of millions a HashSet<Integer> costs ~50 bytes per account and
+ * every lookup is a cache miss.
+ *
+ * Accounts are stored packed (TransactionStore.packAccount: "00012345" →
+ * 12345, always below 10^8) in an IntBitmap. Whole 65,536-account blocks
+ * are combined at once:
+ * - dense blocks are 1,024-word bitmaps: and/or/andNot are word loops
+ *   (64 accounts per operation, SIMD-compiled by the JIT)
+ * - sparse blocks are sorted arrays, merged - or galloped when one list is
+ *   much shorter (a 10K sanctions list against 30M accounts)
+ *
+ * Memory: never much more than 1 bit per possible account number
+ * (12.5 MB holds every 8-digit account), and 2 bytes per account in
+ * sparse blocks.
+ *
+ * Multi-way operations (intersectAll, unionAll) combine any number of
+ * sets in one pass, without intermediate sets.
+ *
+ * Thread safety: immutable, safe to share.
+ *
+ * @author Jesse De Oliveira
+ * @since 2026-10-18
+ */
+public final class AccountSet {
+
+    /** Largest packed 8-digit account number */
+    public static final int MAX_ACCOUNT = 99_999_999;
+
+    private static final AccountSet EMPTY = new AccountSet(new IntBitmap());
+
+    private final IntBitmap accounts;
+    private final int size;
+
+    private AccountSet(IntBitmap accounts) {
+        this.accounts = accounts;
+        this.size = accounts.cardinality();
+    }
+
+    //===========================================
+    //CREATION
+    //===========================================
+
+    /**
+     * Creates a set from packed account numbers in any order (duplicates allowed).
+     * Time: O(n log n) - the accounts are sorted so the bitmap is filled in order
+     *
+     * @throws IllegalArgumentException if an account is outside 0..99,999,999
+     */
+    public static AccountSet of(int... packedAccounts) {
+        int[] sorted = packedAccounts.clone();
+        Arrays.sort(sorted);
+        if (sorted.length > 0 && (sorted[0] < 0 || sorted[sorted.length - 1] > MAX_ACCOUNT)) {
+            int bad = sorted[0] < 0 ? sorted[0] : sorted[sorted.length - 1];
+            throw new IllegalArgumentException("Packed account must be 0-" + MAX_ACCOUNT + ". Got: " + bad);
+        }
+        IntBitmap bitmap = new IntBitmap();
+        for (int account : sorted) {
+            bitmap.add(account);
+        }
+        return new AccountSet(bitmap);
+    }
+
+    /**
+     * Creates a set from 8-digit account numbers, e.g. "00012345".
+     *
+     * @throws IllegalArgumentException if an account number is not 8 digits
+     */
+    public static AccountSet ofAccountNumbers(String... accountNumbers) {
+        int[] packed = new int[accountNumbers.length];
+        for (int i = 0; i < packed.length; i++) {
+            packed[i] = TransactionStore.packAccount(accountNumbers[i]);
+        }
+        return of(packed);
+    }
+
+    /** @return Set with no accounts */
+    public static AccountSet empty() {
+        return EMPTY;
+    }
+
+    //===========================================
+    //QUERIES
+    //===========================================
+
+    /** @return true if the packed account is in the set */
+    public boolean contains(int packedAccount) {
+        return accounts.contains(packedAccount);
+    }
+
+    /**
+     * @return true if the 8-digit account number is in the set
+     * @throws IllegalArgumentException if the account number is not 8 digits
+     */
+    public boolean contains(String accountNumber) {
+        return accounts.contains(TransactionStore.packAccount(accountNumber));
+    }
+
+    /** @return Number of accounts */
+    public int size() {
+        return size;
+    }
+
+    /** @return true if the set has no accounts */
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    /**
+     * @return Number of accounts in both sets, without building the intersection
+     * (e.g., "how many dormant accounts are PayShap-enabled")
+     */
+    public int countShared(AccountSet other) {
+        return accounts.andCardinality(other.accounts);
+    }
+
+    /** Visits packed accounts in ascending order. */
+    public void forEach(IntConsumer action) {
+        accounts.forEach(action);
+    }
+
+    /** @return Packed accounts in ascending order */
+    public int[] toArray() {
+        return accounts.toArray();
+    }
+
+    /** @return Approximate heap bytes used */
+    public long memoryBytes() {
+        return accounts.memoryBytes();
+    }
+
+    //===========================================
+    //SET ALGEBRA (new sets; inputs unchanged)
+    //===========================================
+
+    /** @return Accounts in both sets */
+    public AccountSet and(AccountSet other) {
+        return new AccountSet(accounts.and(other.accounts));
+    }
+
+    /** @return Accounts in either set */
+    public AccountSet or(AccountSet other) {
+        return new AccountSet(accounts.or(other.accounts));
+    }
+
+    /** @return Accounts in this set but not the other */
+    public AccountSet andNot(AccountSet other) {
+        return new AccountSet(accounts.andNot(other.accounts));
+    }
+
+    /**
+     * @return Accounts in every set (empty for no sets)
+     * Time: driven by the set with the fewest blocks; no intermediate sets
+     */
+    public static AccountSet intersectAll(AccountSet... sets) {
+        IntBitmap[] bitmaps = new IntBitmap[sets.length];
+        for (int i = 0; i < sets.length; i++) {
+            bitmaps[i] = sets[i].accounts;
+        }
+        return new AccountSet(IntBitmap.andAll(bitmaps));
+    }
+
+    /**
+     * @return Accounts in any set
+     * Time: one pass over every set's blocks; no intermediate sets
+     */
+    public static AccountSet unionAll(AccountSet... sets) {
+        IntBitmap[] bitmaps = new IntBitmap[sets.length];
+        for (int i = 0; i < sets.length; i++) {
+            bitmaps[i] = sets[i].accounts;
+        }
+        return new AccountSet(IntBitmap.orAll(bitmaps));
+    }
+
+    /**
+     * Returns the accounts as 8-digit numbers, e.g. "{00012345, 00099999}"
+     * (first 10 only for large sets).
+     */
+    @Override
+    public String toString() {
+        StringBuilder sb = new StringBuilder("{");
+        int[] shown = new int[1];
+        accounts.forEach(account -> {
+            if (shown[0] < 10) {
+                sb.append(shown[0] == 0 ? "" : ", ").append(TransactionStore.unpackAccount(account));
+            }
+            shown[0]++;
+        });
+        if (size > 10) {
+            sb.append(", ... (").append(size).append(" accounts)");
+        }
+        return sb.append('}').toString();
+    }
+
+    /**
+     * Test cases (HashSet comparisons: AccountSetBenchmark in jmh/)
+     */
+    public static void main(String[] args) {
+        // Test 1: Account numbers in, account numbers out
+        AccountSet dormant = AccountSet.ofAccountNumbers("00012345", "87654321", "00000007", "00012345");
+        AccountSet payshap = AccountSet.ofAccountNumbers("87654321", "00000007", "11111111");
+        AccountSet sanctioned = AccountSet.ofAccountNumbers("00000007", "22222222");
+        System.out.println("Dormant: " + dormant + " (" + dormant.size() + ")");
+        // Expected: Dormant: {00000007, 00012345, 87654321} (3)
+        System.out.println("Dormant and PayShap: " + dormant.and(payshap) + ", shared " + dormant.countShared(payshap));
+        // Expected: Dormant and PayShap: {00000007, 87654321}, shared 2
+        System.out.println("PayShap not dormant: " + payshap.andNot(dormant));
+        // Expected: PayShap not dormant: {11111111}
+        System.out.println("All three: " + intersectAll(dormant, payshap, sanctioned)
+                + ", any: " + unionAll(dormant, payshap, sanctioned).size());
+        // Expected: All three: {00000007}, any: 5
+        System.out.println("Sanctioned 00000007: " + sanctioned.contains("00000007"));
+        // Expected: Sanctioned 00000007: true
+
+        // Test 2: Invalid input
+        try {
+            AccountSet.of(5, 100_000_000);
+            System.out.println("FAIL: accepted a 9-digit account");
+        } catch (IllegalArgumentException e) {
+            System.out.println("Rejected: " + e.getMessage());
+        }
+        // Expected: Rejected: Packed account must be 0-99999999. Got: 100000000
+    }
+}
@@ -0,0 +1,460 @@
+package com.fintech.foundations.reconciliation;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.IntFunction;
+
+import com.fintech.foundations.collections.LongIntMap;
+
+/**
+ * Groups payment references and merchant descriptors that contain the same
+ * characters in any order ("ABC Store", "store abc", "Stoer ABC").
+ *
+ * GroupAnagrams sorts every string's chars and allocates a String key
+ * per input - O(k log k) per reference and ~60 bytes of garbage each.
+ * Here the key is a 64-bit hash of the character count vector (26 letter
+ * slots, 36 with digits), built in one pass without sorting or allocating:
+ *
+ *   key = Σ count[slot] × WEIGHT[slot]     (WEIGHT: fixed random 64-bit values)
+ *
+ * Adding a weight per character gives the same sum in any order, so
+ * anagrams get equal keys. Different count vectors collide with
+ * probability ~2^-64 per pair (as in DuplicateDetector, the hash is not
+ * confirmed against the text).
+ *
+ * Normalizer decides which characters count and in which slot (case
+ * folding, digits, whitespace); characters mapped to no slot are skipped.
+ *
+ * group() runs across cores with fork/join. Workers resolve keys through
+ * a small private cache, then a shared map split into 64 independently
+ * locked LongIntMap shards (the concurrent merge). Group numbers are then
+ * renumbered in order of first appearance, so the result is the same for
+ * any number of threads.
+ *
+ * Memory is bounded by the output, not the text: 4 bytes per reference
+ * (its group) plus ~40 bytes per distinct group. References are read once
+ * and never retained, so they can be generated on the fly (e.g., decoded
+ * from a file into a reused buffer) - 50M references never need to exist
+ * as Strings at the same time.
+ *
+ * @author Jesse De Oliveira
+ * @since 2026-10-18
+ */
+public class CanonicalGrouper {
+
+    /** Maps a character to a count-vector slot. */
+    public interface Normalizer {
+        /** @return Number of slots (1-64) */
+        int slots();
+
+        /** @return Slot for the character (0..slots-1), or -1 to ignore it */
+        int slot(char c);
+    }
+
+    /** Letters, case-insensitive; digits, whitespace and punctuation ignored (26 slots) */
+    public static final Normalizer LETTERS = normalizer(true, false, false);
+
+    /** Letters (case-insensitive) and digits; whitespace and punctuation ignored (36 slots) */
+    public static final Normalizer LETTERS_AND_DIGITS = normalizer(true, true, false);
+
+    /** Largest number of slots a normalizer may use */
+    public static final int MAX_SLOTS = 64;
+
+    /** References per fork/join leaf task */
+    private static final int SEQUENTIAL_REFERENCES = 16_384;
+
+    /** Shared-map shards (a power of two) */
+    private static final int SHARDS = 64;
+
+    /** Entries in each leaf task's direct-mapped key → group cache (a power of two) */
+    private static final int CACHE_SIZE = 1_024;
+
+    /** Same weights on every run, so keys can be stored and compared between jobs */
+    private static final long[] WEIGHTS = new SplittableRandom(0x5EED_CAFEL).longs(MAX_SLOTS).toArray();
+
+    private final Normalizer normalizer;
+    private final long[] asciiWeights = new long[128];
+    private final ForkJoinPool pool;
+
+    /**
+     * Creates a grouper that runs on the common fork/join pool.
+     */
+    public CanonicalGrouper(Normalizer normalizer) {
+        this(normalizer, ForkJoinPool.commonPool());
+    }
+
+    /**
+     * Creates a grouper that runs on a given pool.
+     *
+     * @throws IllegalArgumentException if the normalizer has more than 64 slots
+     */
+    public CanonicalGrouper(Normalizer normalizer, ForkJoinPool pool) {
+        if (normalizer == null || pool == null) {
+            throw new IllegalArgumentException("Normalizer and pool cannot be null");
+        }
+        if (normalizer.slots() < 1 || normalizer.slots() > MAX_SLOTS) {
+            throw new IllegalArgumentException("Normalizer slots must be 1-" + MAX_SLOTS + ". Got: " + normalizer.slots());
+        }
+        this.normalizer = normalizer;
+        this.pool = pool;
+        for (char c = 0; c < 128; c++) {
+            asciiWeights[c] = weight(c);  // ASCII needs no normalizer call in the hot loop
+        }
+    }
+
+    //===========================================
+    //NORMALIZERS
+    //===========================================
+
+    /**
+     * Builds an ASCII normalizer. Letters always count; the flags add more slots.
+     * Non-ASCII characters are ignored (supply a custom Normalizer to map them).
+     *
+     * @param ignoreCase Fold 'A' and 'a' into one slot (26 letter slots, else 52)
+     * @param digits Count '0'-'9' (10 slots)
+     * @param whitespace Count spaces/tabs as one slot ("AB C" differs from "ABC")
+     */
+    public static Normalizer normalizer(boolean ignoreCase, boolean digits, boolean whitespace) {
+        int letterSlots = ignoreCase ? 26 : 52;
+        int digitBase = letterSlots;
+        int spaceSlot = letterSlots + (digits ? 10 : 0);
+        int slots = spaceSlot + (whitespace ? 1 : 0);
+        return new Normalizer() {
+            @Override
+            public int slots() {
+                return slots;
+            }
+
+            @Override
+            public int slot(char c) {
+                if (c >= 'a' && c <= 'z') {
+                    return c - 'a';
+                }
+                if (c >= 'A' && c <= 'Z') {
+                    return ignoreCase ? c - 'A' : 26 + c - 'A';
+                }
+                if (digits && c >= '0' && c <= '9') {
+                    return digitBase + c - '0';
+                }
+                if (whitespace && (c == ' ' || c == '\t')) {
+                    return spaceSlot;
+                }
+                return -1;
+            }
+        };
+    }
+
+    private long weight(char c) {
+        int slot = normalizer.slot(c);
+        if (slot >= normalizer.slots()) {
+            throw new IllegalStateException("Normalizer returned slot " + slot + " of " + normalizer.slots());
+        }
+        return slot < 0 ? 0 : WEIGHTS[slot];
+    }
+
+    //===========================================
+    //CANONICAL KEY
+    //===========================================
+
+    /**
+     * @return 64-bit hash of the text's character count vector (equal for anagrams)
+     * Time: O(length), allocation-free
+     */
+    public long canonicalKey(CharSequence text) {
+        long key = 0;
+        for (int i = 0, n = text.length(); i < n; i++) {
+            char c = text.charAt(i);
+            key += c < 128 ? asciiWeights[c] : weight(c);
+        }
+        return key;
+    }
+
+    /** @return true if both texts have the same characters after normalizing */
+    public boolean sameGroup(CharSequence a, CharSequence b) {
+        return canonicalKey(a) == canonicalKey(b);
+    }
+
+    //===========================================
+    //GROUPING
+    //===========================================
+
+    /** Group number of every reference, plus per-group size and first member. */
+    public static final class Groups {
+        private final int[] groupOf;
+        private final int[] sizes;
+        private final int[] firstIndex;
+
+        Groups(int[] groupOf, int[] sizes, int[] firstIndex) {
+            this.groupOf = groupOf;
+            this.sizes = sizes;
+            this.firstIndex = firstIndex;
+        }
+
+        /** @return Number of references grouped */
+        public int referenceCount() {
+            return groupOf.length;
+        }
+
+        /** @return Number of distinct groups */
+        public int groupCount() {
+            return sizes.length;
+        }
+
+        /** @return Group of a reference (groups are numbered 0.. in order of first appearance) */
+        public int groupOf(int reference) {
+            return groupOf[reference];
+        }
+
+        /** @return Number of references in a group */
+        public int size(int group) {
+            return sizes[group];
+        }
+
+        /** @return Index of the group's first reference (its representative) */
+        public int firstIndex(int group) {
+            return firstIndex[group];
+        }
+
+        /**
+         * @return Indexes of a group's references, ascending
+         * Time: O(references) - use groupOf() when walking every group
+         */
+        public int[] members(int group) {
+            int[] members = new int[sizes[group]];
+            int n = 0;
+            for (int i = firstIndex[group]; n < members.length; i++) {
+                if (groupOf[i] == group) {
+                    members[n++] = i;
+                }
+            }
+            return members;
+        }
+
+        /** @return Heap bytes used by the result */
+        public long memoryBytes() {
+            return 16 + 4L * groupOf.length + 2 * (16 + 4L * sizes.length);
+        }
+    }
+
+    /**
+     * Groups references (e.g., a List of Strings).
+     */
+    public Groups group(List<? extends CharSequence> references) {
+        return group(references.size(), references::get);
+    }
+
+    /**
+     * Groups count references supplied by index.
+     *
+     * The supplier is called once per index, from several threads at once;
+     * the returned text is read immediately and not kept, so a supplier may
+     * return a per-thread reused buffer.
+     *
+     * @param count Number of references
+     * @param references Index → reference text (thread-safe)
+     * @return Group of every reference
+     */
+    public Groups group(int count, IntFunction<? extends CharSequence> references) {
+        if (count < 0) {
+            throw new IllegalArgumentException("Count cannot be negative. Got: " + count);
+        }
+        int[] groupOf = new int[count];
+        SharedGroups shared = new SharedGroups();
+        pool.invoke(new GroupTask(references, groupOf, shared, 0, count));
+
+        // Renumber by first appearance (deterministic for any thread count), counting sizes
+        int groups = shared.next.get();
+        int[] renumber = new int[groups];
+        Arrays.fill(renumber, -1);
+        int[] sizes = new int[groups];
+        int[] firstIndex = new int[groups];
+        int next = 0;
+        for (int i = 0; i < count; i++) {
+            int group = renumber[groupOf[i]];
+            if (group < 0) {
+                group = renumber[groupOf[i]] = next++;
+                firstIndex[group] = i;
+            }
+            groupOf[i] = group;
+            sizes[group]++;
+        }
+        return new Groups(groupOf, sizes, firstIndex);
+    }
+
+    /** Key → group number, shared by all tasks; each shard has its own lock. */
+    private static final class SharedGroups {
+        final LongIntMap[] shards = new LongIntMap[SHARDS];
+        final AtomicInteger next = new AtomicInteger();
+
+        SharedGroups() {
+            for (int i = 0; i < SHARDS; i++) {
+                shards[i] = new LongIntMap();
+            }
+        }
+
+        int groupFor(long key) {
+            LongIntMap shard = shards[(int) (key >>> 58)];  // Keys are random sums: top bits are uniform
+            synchronized (shard) {
+                int group = shard.getOrDefault(key, -1);
+                if (group < 0) {
+                    group = next.getAndIncrement();
+                    shard.put(key, group);
+                }
+                return group;
+            }
+        }
+    }
+
+    private final class GroupTask extends RecursiveAction {
+        private static final long serialVersionUID = 1L;
+
+        private final IntFunction<? extends CharSequence> references;
+        private final int[] groupOf;
+        private final SharedGroups shared;
+        private final int from;
+        private final int to;
+
+        GroupTask(IntFunction<? extends CharSequence> references, int[] groupOf, SharedGroups shared,
+                int from, int to) {
+            this.references = references;
+            this.groupOf = groupOf;
+            this.shared = shared;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from > SEQUENTIAL_REFERENCES) {
+                int mid = (from + to) >>> 1;
+                invokeAll(new GroupTask(references, groupOf, shared, from, mid),
+                        new GroupTask(references, groupOf, shared, mid, to));
+                return;
+            }
+            // Frequent merchants hit the private cache and never touch a shard lock
+            long[] cacheKeys = new long[CACHE_SIZE];
+            int[] cacheGroups = new int[CACHE_SIZE];
+            Arrays.fill(cacheGroups, -1);
+            for (int i = from; i < to; i++) {
+                long key = canonicalKey(references.apply(i));
+                int slot = (int) key & (CACHE_SIZE - 1);
+                int group = cacheGroups[slot];
+                if (group < 0 || cacheKeys[slot] != key) {
+                    group = shared.groupFor(key);
+                    cacheKeys[slot] = key;
+                    cacheGroups[slot] = group;
+                }
+                groupOf[i] = group;
+            }
+        }
+    }
+
+    /**
+     * Test cases
+     */
+    public static void main(String[] args) {
+        // Test 1: Same grouping as GroupAnagrams on its own example
+        CanonicalGrouper letters = new CanonicalGrouper(LETTERS);
+        List<String> words = List.of("eat", "tea", "tan", "ate", "nat", "bat");
+        Groups groups = letters.group(words);
+        StringBuilder sb = new StringBuilder();
+        for (int g = 0; g < groups.groupCount(); g++) {
+            List<String> members = new ArrayList<>();
+            for (int i : groups.members(g)) {
+                members.add(words.get(i));
+            }
+            sb.append(members);
+        }
+        System.out.println(sb);
+        // Expected: [eat, tea, ate][tan, nat][bat]
+
+        // Test 2: Normalizers
+        System.out.println(letters.sameGroup("ABC Store", "store abc") + " "
+                + letters.sameGroup("ABC Store", "Stoer  A.B.C.") + " "
+                + letters.sameGroup("ABC Store", "ABC Stores"));
+        // Expected: true true false
+        CanonicalGrouper withDigits = new CanonicalGrouper(LETTERS_AND_DIGITS);
+        System.out.println(letters.sameGroup("INV 2024-117", "INV 2024-171") + " "
+                + withDigits.sameGroup("INV 2024-117", "INV 7112-420") + " "
+                + withDigits.sameGroup("INV 2024-117", "INV 2024-118"));
+        // Expected: true true false
+        CanonicalGrouper strict = new CanonicalGrouper(normalizer(false, true, true));
+        System.out.println(strict.sameGroup("ABC Store", "Store ABC") + " " + strict.sameGroup("ABC Store", "abc store")
+                + " " + strict.sameGroup("ABC Store", "ABCStore "));
+        // Expected: true false true
+
+        // Test 3: 50M generated references, 4 threads, vs 1 thread; references are never stored
+        int merchants = 200_000;
+        String[] names = new String[merchants];
+        SplittableRandom random = new SplittableRandom(7);
+        for (int m = 0; m < merchants; m++) {
+            char[] name = new char[8 + random.nextInt(12)];
+            for (int k = 0; k < name.length; k++) {
+                name[k] = random.nextInt(6) == 0 ? ' ' : (char) ('A' + random.nextInt(26));
+            }
+            names[m] = new String(name);
+        }
+        ThreadLocal<StringBuilder> buffers = ThreadLocal.withInitial(StringBuilder::new);
+        IntFunction<CharSequence> reference = i -> {
+            // Merchant i % 200K with a case change and a swap of two neighbouring chars
+            String name = names[i % merchants];
+            StringBuilder text = buffers.get();
+            text.setLength(0);
+            text.append(name);
+            int swap = (i * 31 & Integer.MAX_VALUE) % (name.length() - 1);
+            char c = text.charAt(swap);
+            text.setCharAt(swap, text.charAt(swap + 1));
+            text.setCharAt(swap + 1, (i & 1) == 0 ? c : Character.toLowerCase(c));
+            return text;
+        };
+
+        int n = 50_000_000;
+        ForkJoinPool four = new ForkJoinPool(4);
+        ForkJoinPool one = new ForkJoinPool(1);
+        CanonicalGrouper parallel = new CanonicalGrouper(LETTERS, four);
+        CanonicalGrouper single = new CanonicalGrouper(LETTERS, one);
+        long start = System.nanoTime();
+        Groups large = parallel.group(n, reference);
+        long parallelNanos = System.nanoTime() - start;
+        start = System.nanoTime();
+        Groups check = single.group(n, reference);
+        long singleNanos = System.nanoTime() - start;
+        boolean same = large.groupCount() == check.groupCount();
+        for (int i = 0; same && i < n; i += 997) {
+            same = large.groupOf(i) == check.groupOf(i);
+        }
+        System.out.printf("%,d references -> %,d groups in %d ms (4 threads), %d ms (1 thread); same result: %b%n",
+                n, large.groupCount(), parallelNanos / 1_000_000, singleNanos / 1_000_000, same);
+        System.out.printf("Result memory: %,d bytes (%.1f bytes/reference); group 0 size %,d%n",
+                large.memoryBytes(), (double) large.memoryBytes() / n, large.size(0));
+        // Expected: <= 200,000 groups (names that are anagrams of each other merge); same result: true
+
+        // Test 4: Sorted-String keys (GroupAnagrams approach) vs count-vector keys, 2M references
+        int small = 2_000_000;
+        for (int round = 0; round < 3; round++) {
+            start = System.nanoTime();
+            HashMap<String, Integer> sortedKeys = new HashMap<>();
+            for (int i = 0; i < small; i++) {
+                char[] chars = reference.apply(i).toString().toLowerCase().toCharArray();
+                Arrays.sort(chars);
+                sortedKeys.merge(new String(chars).trim(), 1, Integer::sum);
+            }
+            long sortNanos = System.nanoTime() - start;
+            start = System.nanoTime();
+            Groups counted = single.group(small, reference);
+            long keyNanos = System.nanoTime() - start;
+            System.out.printf("Round %d: sorted keys %d ms, count-vector keys %d ms (%.1fx), same groups: %b%n",
+                    round + 1, sortNanos / 1_000_000, keyNanos / 1_000_000, (double) sortNanos / keyNanos,
+                    sortedKeys.size() == counted.groupCount());
+        }
+        // Expected: count-vector keys several times faster (no sort, no String per reference)
+        four.shutdown();
+        one.shutdown();
+    }
+}
@@ -0,0 +1,438 @@
+package com.fintech.foundations.reconciliation;
+
+import java.util.Arrays;
+
+/**
+ * Flags duplicate payments (same account, amount and reference) within a
+ * sliding time window over an endless transaction stream, in bounded memory.
+ *
+ * Two tiers:
+ * 1. Time-bucketed Bloom filters - the window is cut into SLICES time
+ *    slices, each with its own Bloom filter. A new payment is checked
+ *    against every live slice; "definitely new" answers (the vast
+ *    majority) stop here. When time moves into a new slice, the oldest
+ *    filter is cleared and reused, so memory never grows.
+ * 2. Exact tier - per-slice open-addressing tables of (account, amount,
+ *    reference hash, time). A Bloom hit is confirmed here, which removes
+ *    Bloom false positives and applies the exact window. The window is
+ *    symmetric (|t1 - t2| <= window), so a repeat that arrives out of order
+ *    with an earlier timestamp than its original is still a duplicate.
+ *
+ * The exact tier gets whatever memory the Bloom filters leave under the
+ * cap. If a slice's table fills up, a Bloom hit on that slice that cannot
+ * be confirmed is reported as PROBABLE_DUPLICATE instead of DUPLICATE.
+ * Overflow is tracked per slice, so once the full slice leaves the window,
+ * Bloom false positives are resolved by the exact tier again.
+ *
+ * References are compared by a 64-bit hash (false match ~ 2^-64); account
+ * and amount are compared exactly.
+ *
+ * Threads: not thread-safe. One detector keeps up with well over 500k
+ * payments/s on one core; for more, partition the stream by account.
+ *
+ * @author Jesse De Oliveira
+ * @since 2026-10-18
+ */
+public class DuplicateDetector {
+
+    /** Outcome of checking one payment. */
+    public enum Result {
+        /** Not seen within the window */
+        UNIQUE,
+        /** Same account, amount and reference seen within the window */
+        DUPLICATE,
+        /** Bloom filter hit that the exact tier could not confirm (it was full) */
+        PROBABLE_DUPLICATE
+    }
+
+    /** Time slices per window (plus one partial slice in the ring) */
+    static final int SLICES = 8;
+
+    /** Exact-tier bytes per slot: fingerprint, amount, reference hash, time (8 each) + account (4) */
+    private static final int EXACT_SLOT_BYTES = 8 + 8 + 8 + 8 + 4;
+
+    private final long windowMillis;
+    private final long sliceMillis;
+    private final int ring = SLICES + 1;
+
+    // Bloom tier: one filter per ring slot
+    private final long[][] bloom;
+    private final long bloomBits;
+    private final int hashCount;
+
+    // Exact tier: one table per ring slot
+    private final long[][] exactFingerprints;
+    private final int[][] exactAccounts;
+    private final long[][] exactAmounts;
+    private final long[][] exactReferences;
+    private final long[][] exactTimes;
+    private final int[] exactSize;
+    /** Payments each slot's exact table had no room for (reset with the slot) */
+    private final int[] exactSlotOverflows;
+    private final int exactMask;
+    private final int exactLimit;
+
+    /** Slice number (time / sliceMillis) held by each ring slot, -1 = empty */
+    private final long[] sliceOfSlot;
+    private long currentSlice = Long.MIN_VALUE;
+
+    private long checked;
+    private long duplicates;
+    private long probableDuplicates;
+    private long exactOverflows;
+
+    /**
+     * Creates a detector.
+     *
+     * @param windowMillis Duplicate window (e.g., 10 minutes = 600_000)
+     * @param expectedPerWindow Payments expected within one window
+     * @param falsePositiveRate Target Bloom false-positive rate for one check (e.g., 0.001)
+     * @param maxMemoryBytes Memory cap for both tiers together
+     * @throws IllegalArgumentException if a parameter is out of range or the
+     *         Bloom filters alone need more than maxMemoryBytes
+     */
+    public DuplicateDetector(long windowMillis, long expectedPerWindow, double falsePositiveRate,
+            long maxMemoryBytes) {
+        if (windowMillis < SLICES) {
+            throw new IllegalArgumentException("Window must be at least " + SLICES + " ms. Got: " + windowMillis);
+        }
+        if (expectedPerWindow <= 0) {
+            throw new IllegalArgumentException("Expected payments must be positive. Got: " + expectedPerWindow);
+        }
+        if (!(falsePositiveRate > 0 && falsePositiveRate < 1)) {
+            throw new IllegalArgumentException("False-positive rate must be between 0 and 1. Got: " + falsePositiveRate);
+        }
+        this.windowMillis = windowMillis;
+        this.sliceMillis = (windowMillis + SLICES - 1) / SLICES;
+
+        // A check probes every ring slot, so each filter gets a share of the target rate
+        double perFilterRate = falsePositiveRate / ring;
+        double perSlice = Math.max(1.0, (double) expectedPerWindow / SLICES);
+        long bits = (long) Math.ceil(-perSlice * Math.log(perFilterRate) / (Math.log(2) * Math.log(2)));
+        bits = Math.max(64, (bits + 63) & ~63L);
+        if (bits > (1L << 32) - 64) {
+            throw new IllegalArgumentException("Bloom filter too large; raise the false-positive rate or shorten the window");
+        }
+        this.bloomBits = bits;
+        this.hashCount = Math.max(1, (int) Math.round(bits / perSlice * Math.log(2)));
+
+        long bloomBytes = ring * (bits / 8);
+        if (bloomBytes > maxMemoryBytes) {
+            throw new IllegalArgumentException("Bloom filters need " + bloomBytes
+                    + " bytes, more than the cap of " + maxMemoryBytes);
+        }
+
+        // Exact tier: largest power-of-two table per slot that fits the rest of the budget
+        long perSlotBytes = (maxMemoryBytes - bloomBytes) / ring;
+        int capacity = 0;
+        while (capacity < (1 << 28) && (long) (capacity == 0 ? 16 : capacity * 2) * EXACT_SLOT_BYTES <= perSlotBytes) {
+            capacity = capacity == 0 ? 16 : capacity * 2;
+        }
+        this.exactMask = capacity - 1;
+        this.exactLimit = capacity - (capacity >> 2);  // 75% load
+
+        this.bloom = new long[ring][];
+        this.exactFingerprints = new long[ring][];
+        this.exactAccounts = new int[ring][];
+        this.exactAmounts = new long[ring][];
+        this.exactReferences = new long[ring][];
+        this.exactTimes = new long[ring][];
+        this.exactSize = new int[ring];
+        this.exactSlotOverflows = new int[ring];
+        this.sliceOfSlot = new long[ring];
+        Arrays.fill(sliceOfSlot, -1L);
+        for (int slot = 0; slot < ring; slot++) {
+            bloom[slot] = new long[(int) (bits >>> 6)];
+            exactFingerprints[slot] = new long[capacity];
+            exactAccounts[slot] = new int[capacity];
+            exactAmounts[slot] = new long[capacity];
+            exactReferences[slot] = new long[capacity];
+            exactTimes[slot] = new long[capacity];
+        }
+    }
+
+    //===========================================
+    //CHECK
+    //===========================================
+
+    /**
+     * Checks a payment against the window and records it.
+     * Time: O(k) Bloom probes + O(1) exact lookups; no allocation
+     *
+     * @param account Account (e.g., TransactionStore.packAccount)
+     * @param amountCents Amount in cents
+     * @param reference Payment reference (e.g., "INV-2026-0042")
+     * @param epochMillis Event time; should be roughly non-decreasing
+     * @return UNIQUE, DUPLICATE or PROBABLE_DUPLICATE
+     */
+    public Result check(int account, long amountCents, CharSequence reference, long epochMillis) {
+        checked++;
+        advanceTo(epochMillis / sliceMillis);
+
+        long referenceHash = hashReference(reference);
+        long fingerprint = fingerprint(account, amountCents, referenceHash);
+
+        boolean unconfirmed = false;
+        Result result = Result.UNIQUE;
+        for (int slot = 0; slot < ring; slot++) {
+            if (sliceOfSlot[slot] < 0 || !mightContain(bloom[slot], fingerprint)) {
+                continue;
+            }
+            if (exactContains(slot, fingerprint, account, amountCents, referenceHash, epochMillis)) {
+                result = Result.DUPLICATE;
+                break;
+            }
+            // The matching record may have been dropped from this slot's exact table
+            unconfirmed |= exactSlotOverflows[slot] > 0;
+        }
+        if (result == Result.UNIQUE && unconfirmed) {
+            result = Result.PROBABLE_DUPLICATE;
+        }
+
+        record(epochMillis, fingerprint, account, amountCents, referenceHash);
+        if (result == Result.DUPLICATE) {
+            duplicates++;
+        } else if (result == Result.PROBABLE_DUPLICATE) {
+            probableDuplicates++;
+        }
+        return result;
+    }
+
+    /** Moves the ring forward, clearing slots whose slice has left the window. */
+    private void advanceTo(long slice) {
+        if (slice <= currentSlice) {
+            return;
+        }
+        for (int slot = 0; slot < ring; slot++) {
+            if (sliceOfSlot[slot] >= 0 && sliceOfSlot[slot] <= slice - ring) {
+                clearSlot(slot);
+            }
+        }
+        currentSlice = slice;
+    }
+
+    private void record(long epochMillis, long fingerprint, int account, long amountCents, long referenceHash) {
+        long slice = Math.max(epochMillis / sliceMillis, currentSlice - SLICES);  // Late events join the oldest slice
+        int slot = (int) Math.floorMod(slice, (long) ring);
+        if (sliceOfSlot[slot] != slice) {
+            clearSlot(slot);
+            sliceOfSlot[slot] = slice;
+        }
+
+        long[] bits = bloom[slot];
+        int h1 = (int) fingerprint;
+        int h2 = (int) (fingerprint >>> 32) | 1;
+        for (int i = 0; i < hashCount; i++) {
+            long bit = reduce(h1 + i * h2);
+            bits[(int) (bit >>> 6)] |= 1L << bit;
+        }
+
+        if (exactSize[slot] >= exactLimit) {
+            exactSlotOverflows[slot]++;
+            exactOverflows++;
+            return;
+        }
+        long[] fingerprints = exactFingerprints[slot];
+        int i = (int) mixIndex(fingerprint) & exactMask;
+        while (fingerprints[i] != 0) {
+            i = (i + 1) & exactMask;
+        }
+        fingerprints[i] = fingerprint;
+        exactAccounts[slot][i] = account;
+        exactAmounts[slot][i] = amountCents;
+        exactReferences[slot][i] = referenceHash;
+        exactTimes[slot][i] = epochMillis;
+        exactSize[slot]++;
+    }
+
+    private boolean mightContain(long[] bits, long fingerprint) {
+        int h1 = (int) fingerprint;
+        int h2 = (int) (fingerprint >>> 32) | 1;
+        for (int i = 0; i < hashCount; i++) {
+            long bit = reduce(h1 + i * h2);
+            if ((bits[(int) (bit >>> 6)] & (1L << bit)) == 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private boolean exactContains(int slot, long fingerprint, int account, long amountCents, long referenceHash,
+            long now) {
+        if (exactMask < 0) {
+            return false;
+        }
+        long[] fingerprints = exactFingerprints[slot];
+        int i = (int) mixIndex(fingerprint) & exactMask;
+        long f;
+        while ((f = fingerprints[i]) != 0) {
+            if (f == fingerprint
+                    && exactAccounts[slot][i] == account
+                    && exactAmounts[slot][i] == amountCents
+                    && exactReferences[slot][i] == referenceHash
+                    && Math.abs(exactTimes[slot][i] - now) <= windowMillis) {
+                return true;
+            }
+            i = (i + 1) & exactMask;
+        }
+        return false;
+    }
+
+    private void clearSlot(int slot) {
+        Arrays.fill(bloom[slot], 0L);
+        if (exactSize[slot] > 0) {
+            Arrays.fill(exactFingerprints[slot], 0L);
+            exactSize[slot] = 0;
+        }
+        exactSlotOverflows[slot] = 0;
+        sliceOfSlot[slot] = -1L;
+    }
+
+    //===========================================
+    //STATISTICS
+    //===========================================
+
+    /** @return Payments checked */
+    public long getChecked() {
+        return checked;
+    }
+
+    /** @return Confirmed duplicates */
+    public long getDuplicates() {
+        return duplicates;
+    }
+
+    /** @return Unconfirmed Bloom hits reported as probable duplicates */
+    public long getProbableDuplicates() {
+        return probableDuplicates;
+    }
+
+    /** @return Payments the exact tier had no room for (since creation) */
+    public long getExactOverflows() {
+        return exactOverflows;
+    }
+
+    /** @return Bytes used by both tiers */
+    public long memoryBytes() {
+        return ring * (bloomBits / 8 + (long) (exactMask + 1) * EXACT_SLOT_BYTES);
+    }
+
+    /** @return Payments each slice's exact table holds before overflowing */
+    public int exactCapacityPerSlice() {
+        return exactLimit;
+    }
+
+    //===========================================
+    //HASHING
+    //===========================================
+
+    /** Maps a 32-bit hash onto [0, bloomBits) without division. */
+    private long reduce(int hash) {
+        return ((hash & 0xFFFFFFFFL) * bloomBits) >>> 32;
+    }
+
+    /** 64-bit FNV-1a over the reference chars, finalised with a murmur mix. */
+    private static long hashReference(CharSequence reference) {
+        long h = 0xCBF29CE484222325L;
+        for (int i = 0; i < reference.length(); i++) {
+            h = (h ^ reference.charAt(i)) * 0x100000001B3L;
+        }
+        return mix(h);
+    }
+
+    private static long fingerprint(int account, long amountCents, long referenceHash) {
+        long h = mix(referenceHash ^ (amountCents * 0x9E3779B97F4A7C15L) ^ ((long) account << 17));
+        return h == 0 ? 1 : h;  // 0 marks an empty exact slot
+    }
+
+    /** Slot index for the exact tables (different bits from the Bloom probes). */
+    private static long mixIndex(long fingerprint) {
+        return mix(fingerprint ^ 0x5851F42D4C957F2DL);
+    }
+
+    private static long mix(long h) {
+        h = (h ^ (h >>> 33)) * 0xFF51AFD7ED558CCDL;
+        h = (h ^ (h >>> 33)) * 0xC4CEB9FE1A85EC53L;
+        return h ^ (h >>> 33);
+    }
+
+    /**
+     * Test cases + throughput check
+     */
+    public static void main(String[] args) {
+        System.out.println("=== DUPLICATE DETECTOR ===\n");
+        long minute = 60_000;
+
+        // Test 1: Same payment twice within the window
+        DuplicateDetector detector = new DuplicateDetector(10 * minute, 100_000, 0.001, 16 << 20);
+        long t = 1_767_225_600_000L;
+        System.out.println(detector.check(12345678, 150_000, "INV-0042", t));
+        System.out.println(detector.check(12345678, 150_000, "INV-0042", t + minute));
+        // Expected: UNIQUE, DUPLICATE
+
+        // Test 2: Different amount / reference / account are not duplicates
+        System.out.println(detector.check(12345678, 150_001, "INV-0042", t + minute));
+        System.out.println(detector.check(12345678, 150_000, "INV-0043", t + minute));
+        System.out.println(detector.check(87654321, 150_000, "INV-0042", t + minute));
+        // Expected: UNIQUE, UNIQUE, UNIQUE
+
+        // Test 3: Outside the window
+        System.out.println(detector.check(12345678, 150_000, "INV-0042", t + 12 * minute));
+        // Expected: UNIQUE (the last copy was 11 minutes earlier)
+
+        // Test 4: Out-of-order repeat - the copy carries an earlier timestamp than the original
+        System.out.println(detector.check(12345678, 150_000, "INV-0044", t + 12 * minute));
+        System.out.println(detector.check(12345678, 150_000, "INV-0044", t + 11 * minute));
+        // Expected: UNIQUE, DUPLICATE
+        System.out.printf("Memory: %,d bytes, exact capacity %,d per slice%n%n",
+                detector.memoryBytes(), detector.exactCapacityPerSlice());
+
+        // Test 5: Memory cap too small for the exact tier - hits stay probable
+        DuplicateDetector tiny = new DuplicateDetector(minute, 1_000, 0.01, 4_096);
+        tiny.check(12345678, 5_000, "REF-1", t);
+        System.out.println(tiny.check(12345678, 5_000, "REF-1", t + 1) + " (exact capacity "
+                + tiny.exactCapacityPerSlice() + ", " + tiny.memoryBytes() + " bytes)");
+        // Expected: PROBABLE_DUPLICATE (exact capacity 0)
+        System.out.println();
+
+        // Test 6: An overflow only affects its own slice - once that slice has
+        // left the window, Bloom false positives are resolved exactly again
+        DuplicateDetector recovering = new DuplicateDetector(minute, 1_000, 0.3, 1 << 20);
+        for (int i = 0; i <= recovering.exactCapacityPerSlice(); i++) {
+            recovering.check(10_000_000 + i, 100, "BURST", t);  // Overflows the first slice
+        }
+        int falsePositives = 0;
+        for (int i = 0; i < 1_000; i++) {
+            Result result = recovering.check(20_000_000 + i, 100, "LATER", t + 10 * minute + i * 60);
+            falsePositives += result == Result.UNIQUE ? 0 : 1;
+        }
+        System.out.println("Overflows: " + recovering.getExactOverflows() + ", later non-unique results: "
+                + falsePositives);
+        // Expected: Overflows: 1, later non-unique results: 0
+        System.out.println();
+
+        // Test 7: Throughput - 5M payments at 500 per ms event time, 1% replayed, 5 s window
+        int count = 5_000_000;
+        DuplicateDetector stream = new DuplicateDetector(5_000, 2_500_000, 0.001, 256L << 20);
+        StringBuilder reference = new StringBuilder("PAY-");
+        java.util.Random random = new java.util.Random(3);
+        long injected = 0;
+        int next = 0;                                     // Next new payment number
+        long start = System.nanoTime();
+        for (int i = 0; i < count; i++) {
+            long time = t + i / 500;                      // 500 payments per ms
+            boolean replay = next > 1000 && random.nextInt(100) == 0;
+            int n = replay ? next - 1 - random.nextInt(1000) : next++;
+            injected += replay ? 1 : 0;
+            reference.setLength(4);
+            reference.append(n);
+            stream.check(10_000_000 + n % 1_000_000, 100 + n % 99_991, reference, time);
+        }
+        long elapsed = System.nanoTime() - start;
+        System.out.printf("%,d payments in %,d ms = %,.0f payments/s%n",
+                count, elapsed / 1_000_000, count / (elapsed / 1e9));
+        System.out.printf("Injected %,d replays; detected %,d duplicates + %,d probable; memory %,d MB%n",
+                injected, stream.getDuplicates(), stream.getProbableDuplicates(), stream.memoryBytes() >> 20);
+        // Expected: > 500,000 payments/s; detected == injected
+    }
+}
@@ -0,0 +1,499 @@
+package com.fintech.foundations.reconciliation;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * Matches incoming credits against outstanding invoices, per account.
+ *
+ * The Two Sum idea at reconciliation scale: for every invoice, find every
+ * set of 1..maxSubsetSize credits on the same account whose total is
+ * within toleranceCents of the invoice amount.
+ *
+ * How it works:
+ * 1. Credits and invoices are grouped by account (one primitive sort each)
+ * 2. Groups are split across cores with fork/join - accounts are independent
+ * 3. In each group the credits are sorted by amount. For each invoice a
+ *    depth-first search picks credits in ascending order; the last credit is
+ *    the "complement", found with a binary search for the range
+ *    [invoice - tolerance - sum, invoice + tolerance - sum] instead of a hash
+ *    lookup (a range query handles tolerances and duplicate amounts)
+ * 4. Amounts are positive, so a branch stops as soon as it overshoots
+ *
+ * Results are streamed to a MatchListener as they are found; nothing is
+ * collected unless you ask for it (collect()).
+ *
+ * Complexity per account (n credits, m invoices):
+ * pairs O(m · n log n + matches); k-subsets O(m · n^(k-1) log n) worst case,
+ * much less in practice thanks to pruning. Keep maxSubsetSize small.
+ *
+ * @author Jesse De Oliveira
+ * @since 2026-10-18
+ */
+public class ReconciliationMatcher {
+
+    /** Largest supported subset size */
+    public static final int MAX_SUBSET_SIZE = 6;
+
+    /** Accounts are processed in one task until a range holds this many items */
+    private static final int SEQUENTIAL_ITEMS = 8_192;
+
+    /**
+     * Receives matches as they are found.
+     *
+     * Called concurrently from fork/join worker threads - must be thread-safe.
+     * All matches for one invoice are delivered by the same thread, in order.
+     */
+    public interface MatchListener {
+        /**
+         * @param account Account of the invoice and credits
+         * @param invoiceRow Index of the invoice in the input arrays
+         * @param creditRows Indexes of the matching credits (reused buffer - copy to keep)
+         * @param creditCount Number of valid entries in creditRows
+         * @param differenceCents Credits total minus invoice amount (within ± tolerance)
+         */
+        void onMatch(int account, int invoiceRow, int[] creditRows, int creditCount, long differenceCents);
+    }
+
+    /**
+     * One collected match.
+     */
+    public static final class Match {
+        private final int account;
+        private final int invoiceRow;
+        private final int[] creditRows;
+        private final long differenceCents;
+
+        Match(int account, int invoiceRow, int[] creditRows, long differenceCents) {
+            this.account = account;
+            this.invoiceRow = invoiceRow;
+            this.creditRows = creditRows;
+            this.differenceCents = differenceCents;
+        }
+
+        public int getAccount() {
+            return account;
+        }
+
+        public int getInvoiceRow() {
+            return invoiceRow;
+        }
+
+        public int[] getCreditRows() {
+            return creditRows.clone();
+        }
+
+        public long getDifferenceCents() {
+            return differenceCents;
+        }
+
+        @Override
+        public String toString() {
+            return "Match[account=" + account + ", invoice=" + invoiceRow
+                    + ", credits=" + Arrays.toString(creditRows) + ", difference=" + differenceCents + "]";
+        }
+    }
+
+    private final int maxSubsetSize;
+    private final long toleranceCents;
+    private final ForkJoinPool pool;
+
+    /**
+     * Creates a matcher that runs on the common fork/join pool.
+     *
+     * @param maxSubsetSize Largest number of credits combined for one invoice (1..6)
+     * @param toleranceCents Allowed |credits total - invoice| in cents (0 = exact)
+     */
+    public ReconciliationMatcher(int maxSubsetSize, long toleranceCents) {
+        this(maxSubsetSize, toleranceCents, ForkJoinPool.commonPool());
+    }
+
+    /**
+     * Creates a matcher that runs on a given pool.
+     *
+     * @throws IllegalArgumentException if maxSubsetSize or toleranceCents is out of range
+     */
+    public ReconciliationMatcher(int maxSubsetSize, long toleranceCents, ForkJoinPool pool) {
+        if (maxSubsetSize < 1 || maxSubsetSize > MAX_SUBSET_SIZE) {
+            throw new IllegalArgumentException(
+                    "Subset size must be between 1 and " + MAX_SUBSET_SIZE + ". Got: " + maxSubsetSize);
+        }
+        if (toleranceCents < 0) {
+            throw new IllegalArgumentException("Tolerance cannot be negative. Got: " + toleranceCents);
+        }
+        if (pool == null) {
+            throw new IllegalArgumentException("Fork/join pool cannot be null");
+        }
+        this.maxSubsetSize = maxSubsetSize;
+        this.toleranceCents = toleranceCents;
+        this.pool = pool;
+    }
+
+    //===========================================
+    //MATCHING
+    //===========================================
+
+    /**
+     * Finds every match and streams it to the listener. Returns when all
+     * accounts are done.
+     *
+     * @param creditAccounts Account of each credit (e.g., TransactionStore.packAccount)
+     * @param creditCents Amount of each credit in cents (positive)
+     * @param invoiceAccounts Account of each invoice
+     * @param invoiceCents Amount of each invoice in cents (positive)
+     * @param listener Receives the matches (thread-safe)
+     * @throws IllegalArgumentException if array lengths differ or an amount is not positive
+     */
+    public void match(int[] creditAccounts, long[] creditCents, int[] invoiceAccounts, long[] invoiceCents,
+            MatchListener listener) {
+        if (creditAccounts.length != creditCents.length || invoiceAccounts.length != invoiceCents.length) {
+            throw new IllegalArgumentException("Account and amount arrays must have the same length");
+        }
+        requirePositive(creditCents, "Credit");
+        requirePositive(invoiceCents, "Invoice");
+
+        long[] credits = groupByAccount(creditAccounts);
+        long[] invoices = groupByAccount(invoiceAccounts);
+
+        // Accounts that have both credits and invoices: [creditFrom, creditTo, invoiceFrom, invoiceTo]
+        int[] groups = new int[16];
+        int groupCount = 0;
+        int c = 0;
+        int i = 0;
+        while (c < credits.length && i < invoices.length) {
+            int creditAccount = accountOf(credits[c]);
+            int invoiceAccount = accountOf(invoices[i]);
+            if (creditAccount < invoiceAccount) {
+                c = endOfAccount(credits, c);
+            } else if (invoiceAccount < creditAccount) {
+                i = endOfAccount(invoices, i);
+            } else {
+                if (groupCount * 4 == groups.length) {
+                    groups = Arrays.copyOf(groups, groups.length * 2);
+                }
+                int creditEnd = endOfAccount(credits, c);
+                int invoiceEnd = endOfAccount(invoices, i);
+                groups[groupCount * 4] = c;
+                groups[groupCount * 4 + 1] = creditEnd;
+                groups[groupCount * 4 + 2] = i;
+                groups[groupCount * 4 + 3] = invoiceEnd;
+                groupCount++;
+                c = creditEnd;
+                i = invoiceEnd;
+            }
+        }
+
+        if (groupCount > 0) {
+            pool.invoke(new MatchTask(credits, creditCents, invoices, invoiceCents, groups, 0, groupCount, listener));
+        }
+    }
+
+    /**
+     * Finds every match and returns them ordered by invoice row.
+     */
+    public List<Match> collect(int[] creditAccounts, long[] creditCents, int[] invoiceAccounts, long[] invoiceCents) {
+        ConcurrentLinkedQueue<Match> found = new ConcurrentLinkedQueue<>();
+        match(creditAccounts, creditCents, invoiceAccounts, invoiceCents,
+                (account, invoiceRow, creditRows, creditCount, difference) ->
+                        found.add(new Match(account, invoiceRow, Arrays.copyOf(creditRows, creditCount), difference)));
+        List<Match> matches = new ArrayList<>(found);
+        matches.sort(Comparator.comparingInt(Match::getInvoiceRow));  // Stable: keeps per-invoice order
+        return matches;
+    }
+
+    /**
+     * Fork/join task over a range of account groups.
+     */
+    private final class MatchTask extends RecursiveAction {
+        private static final long serialVersionUID = 1L;
+
+        private final long[] credits;
+        private final long[] creditCents;
+        private final long[] invoices;
+        private final long[] invoiceCents;
+        private final int[] groups;
+        private final int from;
+        private final int to;
+        private final MatchListener listener;
+
+        MatchTask(long[] credits, long[] creditCents, long[] invoices, long[] invoiceCents,
+                int[] groups, int from, int to, MatchListener listener) {
+            this.credits = credits;
+            this.creditCents = creditCents;
+            this.invoices = invoices;
+            this.invoiceCents = invoiceCents;
+            this.groups = groups;
+            this.from = from;
+            this.to = to;
+            this.listener = listener;
+        }
+
+        @Override
+        protected void compute() {
+            long items = (long) groups[(to - 1) * 4 + 1] - groups[from * 4]
+                    + groups[(to - 1) * 4 + 3] - groups[from * 4 + 2];
+            if (to - from > 1 && items > SEQUENTIAL_ITEMS) {
+                int mid = (from + to) >>> 1;
+                invokeAll(new MatchTask(credits, creditCents, invoices, invoiceCents, groups, from, mid, listener),
+                        new MatchTask(credits, creditCents, invoices, invoiceCents, groups, mid, to, listener));
+                return;
+            }
+            GroupSearch search = new GroupSearch(listener);
+            for (int g = from; g < to; g++) {
+                search.run(credits, creditCents, groups[g * 4], groups[g * 4 + 1],
+                        invoices, invoiceCents, groups[g * 4 + 2], groups[g * 4 + 3]);
+            }
+        }
+    }
+
+    /**
+     * Per-task search state (scratch arrays reused across accounts).
+     */
+    private final class GroupSearch {
+        private final MatchListener listener;
+        private long[] amounts = new long[64];
+        private int[] rows = new int[64];
+        private final int[] chosen = new int[MAX_SUBSET_SIZE];
+        private final int[] chosenRows = new int[MAX_SUBSET_SIZE];
+
+        private int account;
+        private int invoiceRow;
+        private long target;
+        private int size;
+
+        GroupSearch(MatchListener listener) {
+            this.listener = listener;
+        }
+
+        void run(long[] credits, long[] creditCents, int creditFrom, int creditTo,
+                long[] invoices, long[] invoiceCents, int invoiceFrom, int invoiceTo) {
+            size = creditTo - creditFrom;
+            if (amounts.length < size) {
+                amounts = new long[size];
+                rows = new int[size];
+            }
+            for (int c = 0; c < size; c++) {
+                int row = rowOf(credits[creditFrom + c]);
+                rows[c] = row;
+                amounts[c] = creditCents[row];
+            }
+            sortByAmount(amounts, rows, 0, size - 1);
+
+            account = accountOf(credits[creditFrom]);
+            for (int i = invoiceFrom; i < invoiceTo; i++) {
+                invoiceRow = rowOf(invoices[i]);
+                target = invoiceCents[invoiceRow];
+                for (int k = 1; k <= Math.min(maxSubsetSize, size); k++) {
+                    search(0, 0, k, 0L);
+                }
+            }
+        }
+
+        /**
+         * Picks credit number `depth` of `k` from sorted positions >= start.
+         */
+        private void search(int start, int depth, int k, long sum) {
+            long low = target - toleranceCents - sum;
+            long high = target + toleranceCents - sum;
+            int remaining = k - depth;
+
+            if (remaining == 1) {
+                // The complement: every credit in [low, high]
+                int first = lowerBound(start, low);
+                for (int p = first; p < size && amounts[p] <= high; p++) {
+                    chosen[depth] = p;
+                    emit(k, sum + amounts[p]);
+                }
+                return;
+            }
+
+            for (int p = start; p <= size - remaining; p++) {
+                long amount = amounts[p];
+                // Ascending order: the smallest possible total from here already overshoots
+                if (amount > high / remaining) {
+                    break;
+                }
+                // The largest possible total from here still falls short
+                if (amount + amounts[size - 1] * (remaining - 1) < low) {
+                    continue;
+                }
+                chosen[depth] = p;
+                search(p + 1, depth + 1, k, sum + amount);
+            }
+        }
+
+        private void emit(int k, long total) {
+            for (int j = 0; j < k; j++) {
+                chosenRows[j] = rows[chosen[j]];
+            }
+            listener.onMatch(account, invoiceRow, chosenRows, k, total - target);
+        }
+
+        /** @return First sorted position >= start with amount >= value */
+        private int lowerBound(int start, long value) {
+            int lo = start;
+            int hi = size;
+            while (lo < hi) {
+                int mid = (lo + hi) >>> 1;
+                if (amounts[mid] < value) {
+                    lo = mid + 1;
+                } else {
+                    hi = mid;
+                }
+            }
+            return lo;
+        }
+    }
+
+    //===========================================
+    //HELPERS
+    //===========================================
+
+    /** @return (account << 32 | row) for every row, sorted: rows of one account become contiguous */
+    private static long[] groupByAccount(int[] accounts) {
+        long[] keys = new long[accounts.length];
+        for (int row = 0; row < accounts.length; row++) {
+            keys[row] = ((long) accounts[row] << 32) | row;
+        }
+        Arrays.sort(keys);
+        return keys;
+    }
+
+    private static int accountOf(long key) {
+        return (int) (key >> 32);
+    }
+
+    private static int rowOf(long key) {
+        return (int) key;
+    }
+
+    private static int endOfAccount(long[] keys, int start) {
+        int account = accountOf(keys[start]);
+        int end = start + 1;
+        while (end < keys.length && accountOf(keys[end]) == account) {
+            end++;
+        }
+        return end;
+    }
+
+    private static void requirePositive(long[] cents, String what) {
+        for (int row = 0; row < cents.length; row++) {
+            if (cents[row] <= 0) {
+                throw new IllegalArgumentException(what + " amount must be positive. Row " + row + ": " + cents[row]);
+            }
+        }
+    }
+
+    /** Quicksort of amounts[lo..hi] carrying rows along (no boxing). */
+    private static void sortByAmount(long[] amounts, int[] rows, int lo, int hi) {
+        while (hi - lo > 16) {
+            long pivot = amounts[(lo + hi) >>> 1];
+            int i = lo;
+            int j = hi;
+            while (i <= j) {
+                while (amounts[i] < pivot) {
+                    i++;
+                }
+                while (amounts[j] > pivot) {
+                    j--;
+                }
+                if (i <= j) {
+                    swap(amounts, rows, i++, j--);
+                }
+            }
+            // Recurse into the smaller half, loop on the larger (bounded stack depth)
+            if (j - lo < hi - i) {
+                sortByAmount(amounts, rows, lo, j);
+                lo = i;
+            } else {
+                sortByAmount(amounts, rows, i, hi);
+                hi = j;
+            }
+        }
+        for (int i = lo + 1; i <= hi; i++) {
+            for (int j = i; j > lo && amounts[j - 1] > amounts[j]; j--) {
+                swap(amounts, rows, j - 1, j);
+            }
+        }
+    }
+
+    private static void swap(long[] amounts, int[] rows, int a, int b) {
+        long amount = amounts[a];
+        amounts[a] = amounts[b];
+        amounts[b] = amount;
+        int row = rows[a];
+        rows[a] = rows[b];
+        rows[b] = row;
+    }
+
+    /**
+     * Test cases
+     */
+    public static void main(String[] args) {
+        System.out.println("=== RECONCILIATION MATCHER ===\n");
+
+        // Account 1: invoice R 100.00; credits R 60, R 40, R 40, R 100, R 25, R 35
+        // Account 2: invoice R 50.00; credits R 49.99, R 20
+        int[] creditAccounts = {1, 1, 1, 1, 1, 1, 2, 2};
+        long[] creditCents = {6_000, 4_000, 4_000, 10_000, 2_500, 3_500, 4_999, 2_000};
+        int[] invoiceAccounts = {1, 2};
+        long[] invoiceCents = {10_000, 5_000};
+
+        // Test 1: Exact singles and pairs
+        List<Match> exact = new ReconciliationMatcher(2, 0).collect(
+                creditAccounts, creditCents, invoiceAccounts, invoiceCents);
+        exact.forEach(System.out::println);
+        // Expected: [3]; [1, 0]; [2, 0] for invoice 0 (credits in amount order; both R 40 credits match)
+        System.out.println();
+
+        // Test 2: 1 cent tolerance picks up account 2
+        List<Match> tolerant = new ReconciliationMatcher(1, 1).collect(
+                creditAccounts, creditCents, invoiceAccounts, invoiceCents);
+        tolerant.forEach(System.out::println);
+        // Expected: [3] for invoice 0, [6] with difference -1 for invoice 1
+        System.out.println();
+
+        // Test 3: Triples - R 40 + R 25 + R 35
+        long triples = new ReconciliationMatcher(3, 0).collect(
+                creditAccounts, creditCents, invoiceAccounts, invoiceCents)
+                .stream().filter(m -> m.getCreditRows().length == 3).count();
+        System.out.println("Triples: " + triples);
+        // Expected: 2 (R 25 + R 35 + either R 40 credit)
+        System.out.println();
+
+        // Test 4: Scale - 2M credits, 500k invoices over 250k accounts
+        int accounts = 250_000;
+        int creditCount = 2_000_000;
+        int invoiceCount = 500_000;
+        java.util.Random random = new java.util.Random(7);
+        int[] bigCreditAccounts = new int[creditCount];
+        long[] bigCreditCents = new long[creditCount];
+        for (int row = 0; row < creditCount; row++) {
+            bigCreditAccounts[row] = random.nextInt(accounts);
+            bigCreditCents[row] = 100 + random.nextInt(100_000);
+        }
+        int[] bigInvoiceAccounts = new int[invoiceCount];
+        long[] bigInvoiceCents = new long[invoiceCount];
+        for (int row = 0; row < invoiceCount; row++) {
+            bigInvoiceAccounts[row] = random.nextInt(accounts);
+            bigInvoiceCents[row] = 200 + random.nextInt(200_000);
+        }
+
+        java.util.concurrent.atomic.LongAdder matchCount = new java.util.concurrent.atomic.LongAdder();
+        ReconciliationMatcher matcher = new ReconciliationMatcher(3, 0);
+        for (int round = 0; round < 3; round++) {
+            matchCount.reset();
+            long start = System.nanoTime();
+            matcher.match(bigCreditAccounts, bigCreditCents, bigInvoiceAccounts, bigInvoiceCents,
+                    (account, invoiceRow, creditRows, count, difference) -> matchCount.increment());
+            System.out.printf("Round %d: %,d matches (up to 3 credits) in %,d ms on %d cores%n",
+                    round + 1, matchCount.sum(), (System.nanoTime() - start) / 1_000_000,
+                    ForkJoinPool.getCommonPoolParallelism());
+        }
+    }
+}
@@ -0,0 +1,362 @@
+package com.fintech.foundations.store;
+
+import java.util.Random;
+
+import com.fintech.foundations.collections.IntBitmap;
+
+/**
+ * B+tree from timestamp (epoch millis) to row number.
+ *
+ * Answers "rows between 09:00 and 10:00" by descending to the first
+ * matching leaf (O(log n)) and walking the linked leaves, instead of
+ * reading every row's timestamp.
+ *
+ * Layout: leaves hold up to 256 (millis, row) pairs in parallel primitive
+ * arrays (12 bytes per entry, no boxing) and link to the next leaf;
+ * inner nodes hold up to 256 children. Entries are ordered by millis, then
+ * row, so equal timestamps are allowed.
+ *
+ * Appends usually arrive in time order. An entry later than every other
+ * goes straight into the last leaf, and a full last leaf starts a new leaf
+ * rather than splitting in half - in-order data fills leaves 100%.
+ * Late (out-of-order) entries take the normal descend-and-split path.
+ *
+ * Not thread-safe (TransactionIndex synchronizes access).
+ *
+ * @author Jesse De Oliveira
+ * @since 2026-10-18
+ */
+public class TimeIndex {
+
+    /** Receives rows from a range scan. */
+    public interface RowVisitor {
+        void visit(long epochMillis, int row);
+    }
+
+    static final int LEAF_CAPACITY = 256;
+    static final int INNER_CAPACITY = 256;
+
+    /** Arrays have one spare slot: insert first, split after */
+    private static final class Leaf {
+        final long[] millis = new long[LEAF_CAPACITY + 1];
+        final int[] rows = new int[LEAF_CAPACITY + 1];
+        int count;
+        Leaf next;
+    }
+
+    /** Separator i is the first key of children[i + 1] */
+    private static final class Inner {
+        final long[] millis = new long[INNER_CAPACITY];
+        final int[] rows = new int[INNER_CAPACITY];
+        final Object[] children = new Object[INNER_CAPACITY + 1];
+        int count;  // Children
+    }
+
+    private Object root = new Leaf();
+    private Leaf last = (Leaf) root;
+    private long size;
+    private int leaves = 1;
+    private int inners;
+
+    // Set by a node split: first key of the new right node
+    private long splitMillis;
+    private int splitRow;
+
+    //===========================================
+    //INSERT
+    //===========================================
+
+    /**
+     * Adds a row's timestamp.
+     * Time: O(1) amortized for in-order appends, O(log n) otherwise
+     */
+    public void insert(long epochMillis, int row) {
+        Leaf tail = last;
+        if (tail.count < LEAF_CAPACITY
+                && (tail.count == 0 || greater(epochMillis, row, tail.millis[tail.count - 1], tail.rows[tail.count - 1]))) {
+            // Fast path: later than everything, room in the last leaf (separators unchanged)
+            tail.millis[tail.count] = epochMillis;
+            tail.rows[tail.count] = row;
+            tail.count++;
+            size++;
+            return;
+        }
+        Object split = insert(root, epochMillis, row, true);
+        if (split != null) {
+            Inner newRoot = new Inner();
+            newRoot.children[0] = root;
+            newRoot.children[1] = split;
+            newRoot.millis[0] = splitMillis;
+            newRoot.rows[0] = splitRow;
+            newRoot.count = 2;
+            root = newRoot;
+            inners++;
+        }
+        size++;
+    }
+
+    /** @return New right sibling if the node split (its first key in splitMillis/splitRow), else null */
+    private Object insert(Object node, long epochMillis, int row, boolean rightmost) {
+        if (node instanceof Leaf) {
+            return insertIntoLeaf((Leaf) node, epochMillis, row, rightmost);
+        }
+        Inner inner = (Inner) node;
+        int child = childIndex(inner, epochMillis, row);
+        Object split = insert(inner.children[child], epochMillis, row, rightmost && child == inner.count - 1);
+        if (split == null) {
+            return null;
+        }
+
+        // Insert the new child after 'child' (arrays have a spare slot)
+        int n = inner.count;
+        System.arraycopy(inner.children, child + 1, inner.children, child + 2, n - child - 1);
+        System.arraycopy(inner.millis, child, inner.millis, child + 1, n - 1 - child);
+        System.arraycopy(inner.rows, child, inner.rows, child + 1, n - 1 - child);
+        inner.children[child + 1] = split;
+        inner.millis[child] = splitMillis;
+        inner.rows[child] = splitRow;
+        inner.count = ++n;
+        if (n <= INNER_CAPACITY) {
+            return null;
+        }
+
+        // Split: appends move only the new last child, otherwise half
+        int keep = rightmost && child + 1 == n - 1 ? n - 1 : n / 2;
+        Inner right = new Inner();
+        int moved = n - keep;
+        System.arraycopy(inner.children, keep, right.children, 0, moved);
+        System.arraycopy(inner.millis, keep, right.millis, 0, moved - 1);
+        System.arraycopy(inner.rows, keep, right.rows, 0, moved - 1);
+        right.count = moved;
+        splitMillis = inner.millis[keep - 1];  // Separator moves up
+        splitRow = inner.rows[keep - 1];
+        for (int i = keep; i < n; i++) {
+            inner.children[i] = null;
+        }
+        inner.count = keep;
+        inners++;
+        return right;
+    }
+
+    private Leaf insertIntoLeaf(Leaf leaf, long epochMillis, int row, boolean rightmost) {
+        int n = leaf.count;
+        int position = lowerBound(leaf, epochMillis, row);
+        System.arraycopy(leaf.millis, position, leaf.millis, position + 1, n - position);
+        System.arraycopy(leaf.rows, position, leaf.rows, position + 1, n - position);
+        leaf.millis[position] = epochMillis;
+        leaf.rows[position] = row;
+        leaf.count = ++n;
+        if (n <= LEAF_CAPACITY) {
+            return null;
+        }
+
+        int keep = rightmost && position == n - 1 ? n - 1 : n / 2;
+        Leaf right = new Leaf();
+        right.count = n - keep;
+        System.arraycopy(leaf.millis, keep, right.millis, 0, right.count);
+        System.arraycopy(leaf.rows, keep, right.rows, 0, right.count);
+        leaf.count = keep;
+        right.next = leaf.next;
+        leaf.next = right;
+        if (last == leaf) {
+            last = right;
+        }
+        leaves++;
+        splitMillis = right.millis[0];
+        splitRow = right.rows[0];
+        return right;
+    }
+
+    /**
+     * Removes one entry. Leaves are not merged: an emptied leaf stays in the
+     * chain and is reused by later inserts in its key range.
+     * Time: O(log n)
+     *
+     * @return true if the entry was present
+     */
+    public boolean remove(long epochMillis, int row) {
+        Object node = root;
+        while (node instanceof Inner) {
+            Inner inner = (Inner) node;
+            node = inner.children[childIndex(inner, epochMillis, row)];
+        }
+        Leaf leaf = (Leaf) node;
+        int position = lowerBound(leaf, epochMillis, row);
+        if (position == leaf.count || leaf.millis[position] != epochMillis || leaf.rows[position] != row) {
+            return false;
+        }
+        int n = --leaf.count;
+        System.arraycopy(leaf.millis, position + 1, leaf.millis, position, n - position);
+        System.arraycopy(leaf.rows, position + 1, leaf.rows, position, n - position);
+        size--;
+        return true;
+    }
+
+    //===========================================
+    //RANGE QUERIES
+    //===========================================
+
+    /**
+     * Visits rows with fromMillis <= timestamp < toMillis, in time order.
+     * Time: O(log n + matches)
+     *
+     * @return Number of rows visited
+     */
+    public long forEachBetween(long fromMillis, long toMillis, RowVisitor visitor) {
+        if (fromMillis >= toMillis || size == 0) {
+            return 0;
+        }
+        Object node = root;
+        while (node instanceof Inner) {
+            Inner inner = (Inner) node;
+            node = inner.children[childIndex(inner, fromMillis, Integer.MIN_VALUE)];
+        }
+        Leaf leaf = (Leaf) node;
+        int i = lowerBound(leaf, fromMillis, Integer.MIN_VALUE);
+        long visited = 0;
+        while (leaf != null) {
+            long[] millis = leaf.millis;
+            int[] rows = leaf.rows;
+            for (int n = leaf.count; i < n; i++) {
+                if (millis[i] >= toMillis) {
+                    return visited;
+                }
+                visitor.visit(millis[i], rows[i]);
+                visited++;
+            }
+            leaf = leaf.next;
+            i = 0;
+        }
+        return visited;
+    }
+
+    /**
+     * @return Rows with fromMillis <= timestamp < toMillis
+     */
+    public IntBitmap rowsBetween(long fromMillis, long toMillis) {
+        IntBitmap rows = new IntBitmap();
+        forEachBetween(fromMillis, toMillis, (millis, row) -> rows.add(row));
+        return rows;
+    }
+
+    /** @return Number of entries */
+    public long size() {
+        return size;
+    }
+
+    /** @return Tree height (1 = a single leaf) */
+    public int height() {
+        int height = 1;
+        for (Object node = root; node instanceof Inner; node = ((Inner) node).children[0]) {
+            height++;
+        }
+        return height;
+    }
+
+    /** @return Approximate heap bytes used by the nodes */
+    public long memoryBytes() {
+        long leafBytes = 16 + (16 + 8L * (LEAF_CAPACITY + 1)) + (16 + 4L * (LEAF_CAPACITY + 1)) + 8;
+        long innerBytes = 16 + (16 + 8L * INNER_CAPACITY) + (16 + 4L * INNER_CAPACITY) + (16 + 4L * (INNER_CAPACITY + 1));
+        return leaves * leafBytes + inners * innerBytes;
+    }
+
+    //===========================================
+    //KEY COMPARISON (millis, then row)
+    //===========================================
+
+    private static boolean greater(long millisA, int rowA, long millisB, int rowB) {
+        return millisA > millisB || (millisA == millisB && rowA > rowB);
+    }
+
+    /** @return First child whose range can hold the key (separators are first keys of children 1..) */
+    private static int childIndex(Inner inner, long epochMillis, int row) {
+        int lo = 0;
+        int hi = inner.count - 1;  // Separators
+        while (lo < hi) {
+            int mid = (lo + hi) >>> 1;
+            if (greater(inner.millis[mid], inner.rows[mid], epochMillis, row)) {
+                hi = mid;
+            } else {
+                lo = mid + 1;
+            }
+        }
+        return lo;
+    }
+
+    /** @return First entry >= key */
+    private static int lowerBound(Leaf leaf, long epochMillis, int row) {
+        int lo = 0;
+        int hi = leaf.count;
+        while (lo < hi) {
+            int mid = (lo + hi) >>> 1;
+            if (greater(epochMillis, row, leaf.millis[mid], leaf.rows[mid])) {
+                lo = mid + 1;
+            } else {
+                hi = mid;
+            }
+        }
+        return lo;
+    }
+
+    /**
+     * Test cases
+     */
+    public static void main(String[] args) {
+        // Test 1: Out-of-order inserts come back in time order
+        TimeIndex index = new TimeIndex();
+        long[] times = {500, 100, 300, 300, 200, 900};
+        for (int row = 0; row < times.length; row++) {
+            index.insert(times[row], row);
+        }
+        StringBuilder sb = new StringBuilder();
+        index.forEachBetween(200, 900, (millis, row) -> sb.append(millis).append("@").append(row).append(' '));
+        System.out.println(sb);
+        // Expected: 200@4 300@2 300@3 500@0
+        boolean removed = index.remove(300, 2) && !index.remove(300, 2) && !index.remove(400, 0);
+        sb.setLength(0);
+        index.forEachBetween(200, 900, (millis, row) -> sb.append(millis).append("@").append(row).append(' '));
+        System.out.println("After remove: " + removed + ", " + sb + "size " + index.size());
+        // Expected: After remove: true, 200@4 300@3 500@0 size 5
+
+        // Test 2: 5M mostly-ordered inserts (10% arrive up to a minute late) vs a brute-force count
+        int n = 5_000_000;
+        long[] millis = new long[n];
+        Random random = new Random(7);
+        TimeIndex large = new TimeIndex();
+        long start = System.nanoTime();
+        long clock = 1_700_000_000_000L;
+        for (int row = 0; row < n; row++) {
+            clock += random.nextInt(20);
+            millis[row] = random.nextInt(10) == 0 ? clock - random.nextInt(60_000) : clock;
+            large.insert(millis[row], row);
+        }
+        long insertNanos = System.nanoTime() - start;
+        boolean allMatch = true;
+        long queryNanos = 0;
+        for (int q = 0; q < 100; q++) {
+            long from = 1_700_000_000_000L + random.nextInt(45_000_000);
+            long to = from + random.nextInt(3_600_000);
+            long expected = 0;
+            for (long m : millis) {
+                if (m >= from && m < to) {
+                    expected++;
+                }
+            }
+            start = System.nanoTime();
+            long[] last = {Long.MIN_VALUE};
+            boolean[] ordered = {true};
+            long found = large.forEachBetween(from, to, (m, row) -> {
+                ordered[0] &= m >= last[0];
+                last[0] = m;
+            });
+            queryNanos += System.nanoTime() - start;
+            allMatch &= found == expected && ordered[0];
+        }
+        System.out.printf("Inserted %,d in %d ms, height %d, %,d bytes (%.1f per entry)%n",
+                large.size(), insertNanos / 1_000_000, large.height(), large.memoryBytes(),
+                (double) large.memoryBytes() / large.size());
+        System.out.println("100 range queries match a full scan, in order: " + allMatch
+                + " (avg " + queryNanos / 100_000 + " us)");
+        // Expected: true; 12-25 bytes per entry (late rows split leaves in half)
+    }
+}
@@ -0,0 +1,436 @@
+package com.fintech.foundations.store;
+
+import java.util.Arrays;
+import java.util.Random;
+
+import com.fintech.foundations.TransactionStatus;
+import com.fintech.foundations.TransactionType;
+import com.fintech.foundations.collections.IntBitmap;
+import com.fintech.foundations.collections.IntIntMap;
+
+/**
+ * Secondary indexes over a TransactionStore: by account, by type and by time.
+ *
+ * Without them every question ("account 00012345's statement", "card
+ * purchases between 09:00 and 10:00") reads every row of the store.
+ * Each index answers its part in time proportional to the matching rows:
+ *
+ * - Account: packed account int → sorted int[] of its rows (a postings
+ *   list, ~4 bytes per row). Found through an IntIntMap, no boxing.
+ * - Type: one IntBitmap per TransactionType (compressed, ~1 bit per row
+ *   for dense types, 2 bytes per row for rare ones).
+ * - Time: TimeIndex, a B+tree on epoch millis (~12 bytes per row).
+ *
+ * select() combines them: it starts from the most selective index and
+ * checks the other conditions against the store's columns or bitmaps.
+ *
+ * Maintenance: attach() registers the index as an AppendListener, so it is
+ * backfilled with existing rows and then updated on every append, in row
+ * order (postings lists stay sorted without sorting). If a later listener
+ * rejects a row, appendAborted() takes it out again. The store calls the
+ * index just before it publishes a row, so queries leave out the row equal
+ * to store.size(): callers never get a row the store would refuse to read.
+ *
+ * Status is not indexed: it changes in place (TransactionStore.setStatus),
+ * and PENDING/COMPLETED/FAILED are too unselective to be worth it.
+ *
+ * Thread safety: appends and queries synchronize on the index. Queries
+ * return copies, so callers can use results while appends continue.
+ *
+ * @author Jesse De Oliveira
+ * @since 2026-10-18
+ */
+public class TransactionIndex implements TransactionStore.AppendListener {
+
+    /** Type filter meaning "any type" */
+    public static final TransactionType ANY_TYPE = null;
+
+    /** Account filter meaning "any account" */
+    public static final int ANY_ACCOUNT = -1;
+
+    private static final int[] NO_ROWS = new int[0];
+
+    private final TransactionStore store;
+
+    // Account → list number → sorted rows
+    private final IntIntMap accountLists = new IntIntMap();
+    private int[][] postings = new int[1024][];
+    private int[] postingSizes = new int[1024];
+    private int accounts;
+
+    private final IntBitmap[] typeRows = new IntBitmap[TransactionType.values().length];
+    private final TimeIndex timeIndex = new TimeIndex();
+
+    private TransactionIndex(TransactionStore store) {
+        this.store = store;
+        for (int i = 0; i < typeRows.length; i++) {
+            typeRows[i] = new IntBitmap();
+        }
+    }
+
+    /**
+     * Builds an index over a store and keeps it up to date on every append.
+     * Time: O(rows already stored)
+     */
+    public static TransactionIndex attach(TransactionStore store) {
+        TransactionIndex index = new TransactionIndex(store);
+        store.addAppendListener(index);
+        return index;
+    }
+
+    //===========================================
+    //MAINTENANCE
+    //===========================================
+
+    /**
+     * Adds a row to all three indexes (called by the store).
+     * Time: O(1) amortized for in-order timestamps
+     */
+    @Override
+    public synchronized void appended(int row, long id, int account, long amountCents,
+            TransactionType type, TransactionStatus status, long epochMillis) {
+        int list = accountLists.getOrDefault(account, -1);
+        if (list < 0) {
+            list = accounts++;
+            if (list == postings.length) {
+                postings = Arrays.copyOf(postings, list * 2);
+                postingSizes = Arrays.copyOf(postingSizes, list * 2);
+            }
+            postings[list] = new int[4];
+            accountLists.put(account, list);
+        }
+        int[] rows = postings[list];
+        int n = postingSizes[list];
+        if (n == rows.length) {
+            rows = postings[list] = Arrays.copyOf(rows, n + (n >> 1));
+        }
+        rows[n] = row;
+        postingSizes[list] = n + 1;
+
+        typeRows[type.ordinal()].add(row);
+        timeIndex.insert(epochMillis, row);
+    }
+
+    /**
+     * Removes a row the store did not publish (a later listener rejected it).
+     * It is the newest row, so it is the last entry of its postings list.
+     * Time: O(log n)
+     */
+    @Override
+    public synchronized void appendAborted(int row, long id, int account, long amountCents,
+            TransactionType type, TransactionStatus status, long epochMillis) {
+        int list = accountLists.getOrDefault(account, -1);
+        if (list >= 0 && postingSizes[list] > 0 && postings[list][postingSizes[list] - 1] == row) {
+            if (--postingSizes[list] == 0 && list == accounts - 1) {
+                // The account was new with this row: forget it entirely
+                accountLists.remove(account);
+                postings[list] = null;
+                accounts--;
+            }
+        }
+        typeRows[type.ordinal()].remove(row);
+        timeIndex.remove(epochMillis, row);
+    }
+
+    //===========================================
+    //SINGLE-INDEX QUERIES
+    //===========================================
+
+    /**
+     * @return Rows of an account, in row order (empty if the account has none)
+     * Time: O(rows of the account)
+     */
+    public synchronized int[] accountRows(int account) {
+        int list = accountLists.getOrDefault(account, -1);
+        if (list < 0) {
+            return NO_ROWS;
+        }
+        int n = postingSizes[list];
+        if (n > 0 && postings[list][n - 1] >= store.size()) {
+            n--;  // Appended row not published yet (rows are sorted: only the last one)
+        }
+        return Arrays.copyOf(postings[list], n);
+    }
+
+    /** @return Rows of an 8-digit account number */
+    public int[] accountRows(String accountNumber) {
+        return accountRows(TransactionStore.packAccount(accountNumber));
+    }
+
+    /** @return Rows of one type */
+    public synchronized IntBitmap rowsOfType(TransactionType type) {
+        return published(typeRows[type.ordinal()].copy());
+    }
+
+    /**
+     * @return Rows with fromMillis <= timestamp < toMillis
+     * Time: O(log n + matches)
+     */
+    public synchronized IntBitmap rowsBetween(long fromMillis, long toMillis) {
+        return published(timeIndex.rowsBetween(fromMillis, toMillis));
+    }
+
+    //===========================================
+    //COMBINED QUERIES
+    //===========================================
+
+    /**
+     * Rows matching every given condition.
+     *
+     * Plan: an account narrows to its postings list (usually the smallest
+     * set), then type and time are checked on the store's columns. Without
+     * an account, the time range is walked in the B+tree and each row is
+     * probed in the type bitmap. Only a type, or nothing, copies a bitmap.
+     *
+     * @param account Packed account, or ANY_ACCOUNT
+     * @param type Type, or ANY_TYPE
+     * @param fromMillis Inclusive start (Long.MIN_VALUE for no lower bound)
+     * @param toMillis Exclusive end (Long.MAX_VALUE for no upper bound)
+     */
+    public synchronized IntBitmap select(int account, TransactionType type, long fromMillis, long toMillis) {
+        boolean timeBound = fromMillis != Long.MIN_VALUE || toMillis != Long.MAX_VALUE;
+        if (account != ANY_ACCOUNT) {
+            IntBitmap result = new IntBitmap();
+            int list = accountLists.getOrDefault(account, -1);
+            if (list < 0) {
+                return result;
+            }
+            int[] rows = postings[list];
+            int typeOrdinal = type == ANY_TYPE ? -1 : type.ordinal();
+            int published = store.size();
+            for (int i = 0, n = postingSizes[list]; i < n; i++) {
+                int row = rows[i];
+                if (row >= published) {
+                    break;  // Sorted: the rest is not published yet
+                }
+                if (typeOrdinal >= 0 && store.getTypeOrdinal(row) != typeOrdinal) {
+                    continue;
+                }
+                if (timeBound) {
+                    long millis = store.getEpochMillis(row);
+                    if (millis < fromMillis || millis >= toMillis) {
+                        continue;
+                    }
+                }
+                result.add(row);
+            }
+            return result;
+        }
+        if (timeBound) {
+            if (type == ANY_TYPE) {
+                return published(timeIndex.rowsBetween(fromMillis, toMillis));
+            }
+            // Probe the type bitmap during the walk: only matches are added
+            IntBitmap ofType = typeRows[type.ordinal()];
+            IntBitmap result = new IntBitmap();
+            int published = store.size();
+            timeIndex.forEachBetween(fromMillis, toMillis, (millis, row) -> {
+                if (row < published && ofType.contains(row)) {
+                    result.add(row);
+                }
+            });
+            return result;
+        }
+        if (type != ANY_TYPE) {
+            return published(typeRows[type.ordinal()].copy());
+        }
+        IntBitmap all = new IntBitmap();
+        all.addRange(0, (int) Math.min(timeIndex.size(), store.size()));
+        return all;
+    }
+
+    /** Drops the row being appended, which reaches the index before the store publishes it. */
+    private IntBitmap published(IntBitmap rows) {
+        int appending = store.size();
+        return rows.contains(appending) ? rows.andNot(IntBitmap.of(appending)) : rows;
+    }
+
+    //===========================================
+    //STATISTICS
+    //===========================================
+
+    /** @return Number of indexed rows */
+    public synchronized long size() {
+        return timeIndex.size();
+    }
+
+    /** @return Number of distinct accounts */
+    public synchronized int accountCount() {
+        return accounts;
+    }
+
+    /** @return Approximate heap bytes used by all three indexes */
+    public synchronized long memoryBytes() {
+        long bytes = accountLists.memoryBytes() + 16 + 8L * postings.length + 16 + 4L * postingSizes.length;
+        for (int i = 0; i < accounts; i++) {
+            bytes += 16 + 4L * postings[i].length;
+        }
+        for (IntBitmap bitmap : typeRows) {
+            bytes += bitmap.memoryBytes();
+        }
+        return bytes + timeIndex.memoryBytes();
+    }
+
+    /**
+     * Test cases
+     */
+    public static void main(String[] args) {
+        System.out.println("=== TRANSACTION INDEX ===\n");
+
+        // Test 1: Small store, index attached after some rows exist (backfill), then appends
+        TransactionStore small = new TransactionStore(1 << 10);
+        small.append(1, 12345, 10_000, TransactionType.EFT, TransactionStatus.PENDING, 1_000);
+        small.append(2, 99999, 20_000, TransactionType.CARD_PURCHASE, TransactionStatus.PENDING, 2_000);
+        TransactionIndex smallIndex = TransactionIndex.attach(small);
+        small.append(3, 12345, 30_000, TransactionType.CARD_PURCHASE, TransactionStatus.PENDING, 3_000);
+        small.append(4, 12345, 40_000, TransactionType.CARD_PURCHASE, TransactionStatus.PENDING, 500);
+        System.out.println("Account 00012345: " + Arrays.toString(smallIndex.accountRows("00012345")));
+        // Expected: Account 00012345: [0, 2, 3]
+        System.out.println("Card purchases: " + smallIndex.rowsOfType(TransactionType.CARD_PURCHASE));
+        // Expected: Card purchases: {1, 2, 3}
+        System.out.println("Between 0.9s and 3s: " + smallIndex.rowsBetween(900, 3_000));
+        // Expected: Between 0.9s and 3s: {0, 1}
+        System.out.println("00012345 card purchases before 3.5s: "
+                + smallIndex.select(12345, TransactionType.CARD_PURCHASE, Long.MIN_VALUE, 3_500));
+        // Expected: 00012345 card purchases before 3.5s: {2, 3}
+
+        // Test 2: 5M rows, 500K accounts, 5% of timestamps up to a minute late
+        int n = 5_000_000;
+        int accountCount = 500_000;
+        TransactionStore store = new TransactionStore();
+        Random random = new Random(42);
+        long base = 1_700_000_000_000L;
+        long clock = base;
+
+        long start = System.nanoTime();
+        for (int i = 0; i < n; i++) {
+            clock += random.nextInt(20);
+            long millis = random.nextInt(20) == 0 ? clock - random.nextInt(60_000) : clock;
+            store.append(i, 10_000_000 + random.nextInt(accountCount), 100 + random.nextInt(100_000),
+                    TransactionType.fromOrdinal(random.nextInt(8) == 0 ? 0 : 1 + random.nextInt(3)),
+                    TransactionStatus.PENDING, millis);
+        }
+        long plainNanos = System.nanoTime() - start;
+
+        TransactionStore indexedStore = new TransactionStore();
+        TransactionIndex index = TransactionIndex.attach(indexedStore);
+        start = System.nanoTime();
+        for (int i = 0; i < n; i++) {
+            indexedStore.append(store.getId(i), store.getAccount(i), store.getAmountCents(i),
+                    TransactionType.fromOrdinal(store.getTypeOrdinal(i)),
+                    TransactionStatus.PENDING, store.getEpochMillis(i));
+        }
+        long indexedNanos = System.nanoTime() - start;
+        System.out.printf("Append %,d rows: %d ms plain, %d ms indexed (%.0f ns/row for the indexes)%n",
+                n, plainNanos / 1_000_000, indexedNanos / 1_000_000,
+                (double) (indexedNanos - plainNanos) / n);
+
+        // Test 3: Query latency vs a full scan, results checked against the scan
+        TransactionType payshap = TransactionType.PAYSHAP;  // 1 in 8 rows
+        int queries = 20;
+        long[] indexNanos = new long[3];
+        long scanNanos = 0;
+        boolean allMatch = true;
+        for (int q = 0; q < queries; q++) {
+            int account = 10_000_000 + random.nextInt(accountCount);
+            long from = base + random.nextInt((int) (clock - base - 3_600_000));
+            long to = from + 3_600_000;
+
+            start = System.nanoTime();
+            IntBitmap statement = index.select(account, ANY_TYPE, Long.MIN_VALUE, Long.MAX_VALUE);
+            indexNanos[0] += System.nanoTime() - start;
+            start = System.nanoTime();
+            IntBitmap payshapHour = index.select(ANY_ACCOUNT, payshap, from, to);
+            indexNanos[1] += System.nanoTime() - start;
+            start = System.nanoTime();
+            IntBitmap accountPayshap = index.select(account, payshap, from - 36_000_000, to);
+            indexNanos[2] += System.nanoTime() - start;
+
+            start = System.nanoTime();
+            IntBitmap scanStatement = new IntBitmap();
+            IntBitmap scanPayshapHour = new IntBitmap();
+            IntBitmap scanAccountPayshap = new IntBitmap();
+            for (int row = 0; row < n; row++) {
+                int rowAccount = indexedStore.getAccount(row);
+                boolean isPayshap = indexedStore.getTypeOrdinal(row) == payshap.ordinal();
+                long millis = indexedStore.getEpochMillis(row);
+                if (rowAccount == account) {
+                    scanStatement.add(row);
+                    if (isPayshap && millis >= from - 36_000_000 && millis < to) {
+                        scanAccountPayshap.add(row);
+                    }
+                }
+                if (isPayshap && millis >= from && millis < to) {
+                    scanPayshapHour.add(row);
+                }
+            }
+            scanNanos += System.nanoTime() - start;
+            allMatch &= Arrays.equals(statement.toArray(), scanStatement.toArray())
+                    && Arrays.equals(payshapHour.toArray(), scanPayshapHour.toArray())
+                    && Arrays.equals(accountPayshap.toArray(), scanAccountPayshap.toArray());
+        }
+        System.out.println("Index results match a full scan: " + allMatch);
+        // Expected: true
+        System.out.printf("Statement %.3f ms, PayShap in an hour %.2f ms, account PayShap in 11 hours %.3f ms"
+                + " (one full scan: %.0f ms)%n", indexNanos[0] / 1e6 / queries, indexNanos[1] / 1e6 / queries,
+                indexNanos[2] / 1e6 / queries, scanNanos / 1e6 / queries);
+        // Expected: account queries in microseconds; the hour query grows with the hour's rows, not the store
+
+        // Test 4: Memory, extrapolated to 100M rows
+        long bytes = index.memoryBytes();
+        System.out.printf("Index heap: %,d bytes for %,d rows / %,d accounts (%.1f bytes/row, ~%.1f GB at 100M)%n",
+                bytes, index.size(), index.accountCount(), (double) bytes / n, bytes * (100_000_000.0 / n) / 1e9);
+        // Expected: ~20-30 bytes/row on top of the store's 30
+
+        // Test 5: Queries during an append (the index already has the row, the store
+        // has not published it) return only rows the store can read
+        TransactionStore appending = new TransactionStore(1 << 10);
+        TransactionIndex appendingIndex = TransactionIndex.attach(appending);
+        int[] unpublished = new int[1];
+        appending.addAppendListener((row, id, account, amountCents, type, status, epochMillis) -> {
+            int published = appending.size();
+            for (int r : appendingIndex.accountRows(12345)) {
+                unpublished[0] += r >= published ? 1 : 0;
+            }
+            IntBitmap[] results = {
+                appendingIndex.rowsOfType(TransactionType.EFT),
+                appendingIndex.rowsBetween(0, Long.MAX_VALUE),
+                appendingIndex.select(12345, TransactionType.EFT, 0, Long.MAX_VALUE),
+                appendingIndex.select(ANY_ACCOUNT, TransactionType.EFT, 0, Long.MAX_VALUE),
+                appendingIndex.select(ANY_ACCOUNT, ANY_TYPE, Long.MIN_VALUE, Long.MAX_VALUE)
+            };
+            for (IntBitmap result : results) {
+                result.forEach(r -> unpublished[0] += r >= published ? 1 : 0);
+            }
+        });
+        for (int i = 0; i < 3; i++) {
+            appending.append(i, 12345, 10_000, TransactionType.EFT, TransactionStatus.PENDING, 1_000 + i);
+        }
+        System.out.println("Unpublished rows returned during appends: " + unpublished[0]
+                + ", indexed: " + appendingIndex.accountRows(12345).length);
+        // Expected: Unpublished rows returned during appends: 0, indexed: 3
+
+        // Test 6: A listener after the index rejects a row; the retry reuses its row number
+        TransactionStore guarded = new TransactionStore(1 << 10);
+        TransactionIndex guardedIndex = TransactionIndex.attach(guarded);
+        guarded.addAppendListener((row, id, account, amountCents, type, status, epochMillis) -> {
+            if (amountCents <= 0) {
+                throw new IllegalArgumentException("Amount must be positive. Got: " + amountCents);
+            }
+        });
+        guarded.append(1, 11111, 10_000, TransactionType.EFT, TransactionStatus.PENDING, 1_000);
+        try {
+            guarded.append(2, 22222, -1, TransactionType.CARD_PURCHASE, TransactionStatus.PENDING, 500);
+        } catch (IllegalArgumentException e) {
+            System.out.println("Rejected: " + e.getMessage());
+        }
+        guarded.append(3, 33333, 30_000, TransactionType.PAYSHAP, TransactionStatus.PENDING, 2_000);
+        System.out.println("Rejected account: " + Arrays.toString(guardedIndex.accountRows(22222))
+                + ", retry account: " + Arrays.toString(guardedIndex.accountRows(33333))
+                + ", card purchases: " + guardedIndex.rowsOfType(TransactionType.CARD_PURCHASE)
+                + ", all times: " + guardedIndex.rowsBetween(Long.MIN_VALUE, Long.MAX_VALUE)
+                + ", indexed: " + guardedIndex.size() + " rows / " + guardedIndex.accountCount() + " accounts");
+        // Expected: Rejected: Amount must be positive. Got: -1
+        //           Rejected account: [], retry account: [1], card purchases: {}, all times: {0, 1}, indexed: 2 rows / 2 accounts
+    }
+}
@@ -0,0 +1,320 @@
+package com.fintech.foundations.store;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+
+import com.fintech.foundations.TransactionStatus;
+
+/**
+ * Append-only redo journal of fixed-size binary records.
+ *
+ * Every balance change and status change is appended as one 32-byte
+ * record to a memory-mapped file. On startup the journal is replayed
+ * to rebuild ledger balances and transaction statuses.
+ *
+ * Record layout (little-endian, 32 bytes):
+ *   kind (1) | status (1) | reserved (2) | account (4) | transaction ID (8) | amount cents (8) | reserved (4) | checksum (4)
+ *
+ * Durability - group commit:
+ * - An append only copies 32 bytes into the mapped file (survives a process crash)
+ * - Every groupSize appends (or on commit()) the dirty range is forced to disk
+ *   with one force() call, so the cost of fsync is shared by the whole group
+ *
+ * Crash recovery: the checksum is written last. Replay stops at the first
+ * record whose checksum does not match (a torn write from a crash mid-batch).
+ * Opening the journal zeroes everything after that point and forces it to
+ * disk. Without that, older records past a torn one could still pass their
+ * checksum, and after new appends a second crash would replay them as current.
+ *
+ * Threads: appends are synchronized (one position in the file).
+ *
+ * @author Jesse De Oliveira
+ * @since 2026-10-18
+ */
+public class TransactionJournal implements Closeable {
+
+    /** Bytes per record */
+    public static final int RECORD_BYTES = 32;
+
+    /** Default number of appends per force() */
+    public static final int DEFAULT_GROUP_SIZE = 4096;
+
+    // Record kinds (0 = empty slot / end of journal)
+    /** Account balance overwritten (account opening) */
+    public static final byte SET_BALANCE = 1;
+    /** Amount credited to an account */
+    public static final byte DEPOSIT = 2;
+    /** Amount debited from an account (only journaled if it succeeded) */
+    public static final byte WITHDRAW = 3;
+    /** Transaction status changed */
+    public static final byte STATUS = 4;
+
+    /** Mapped region size: 64 MB = 2M records per segment */
+    private static final int SEGMENT_BYTES = 64 << 20;
+    private static final int RECORDS_PER_SEGMENT = SEGMENT_BYTES / RECORD_BYTES;
+
+    /**
+     * Receives records during replay.
+     */
+    public interface Listener {
+        /**
+         * @param kind SET_BALANCE, DEPOSIT, WITHDRAW or STATUS
+         * @param account Packed account number (see TransactionStore.packAccount), 0 for STATUS
+         * @param transactionId Transaction ID (0 if none)
+         * @param amountCents Amount in cents (0 for STATUS)
+         * @param status Status ordinal for STATUS records, otherwise 0
+         */
+        void onRecord(byte kind, int account, long transactionId, long amountCents, int status);
+    }
+
+    private final FileChannel channel;
+    private final ArrayList<MappedByteBuffer> segments = new ArrayList<>();
+    private final int groupSize;
+
+    /** Records written (next record index) */
+    private long records;
+
+    /** Records forced to disk */
+    private long committedRecords;
+
+    /**
+     * Opens (or creates) a journal file and finds its last valid record.
+     *
+     * @param file Journal file
+     * @param groupSize Appends per force() (1 = force every append)
+     * @throws IOException if the file cannot be opened or mapped
+     */
+    public TransactionJournal(Path file, int groupSize) throws IOException {
+        if (groupSize <= 0) {
+            throw new IllegalArgumentException("Group size must be positive. Got: " + groupSize);
+        }
+        this.groupSize = groupSize;
+        this.channel = FileChannel.open(file,
+                StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+
+        // Find the end: first empty or torn record
+        long existing = channel.size() / RECORD_BYTES;
+        long index = 0;
+        while (index < existing && isValid(index)) {
+            index++;
+        }
+        this.records = index;
+        this.committedRecords = index;
+
+        // Clear the torn record and every stale record after it, so replay can
+        // never run past the recovered end again
+        if (index < existing) {
+            clearTail(index, existing);
+        }
+    }
+
+    /** Opens a journal with the default group size. */
+    public TransactionJournal(Path file) throws IOException {
+        this(file, DEFAULT_GROUP_SIZE);
+    }
+
+    //===========================================
+    //APPEND
+    //===========================================
+
+    /** Journals an account balance being set (account opening). */
+    public void appendSetBalance(int account, long balanceCents) throws IOException {
+        append(SET_BALANCE, 0, account, 0L, balanceCents);
+    }
+
+    /** Journals a successful deposit. */
+    public void appendDeposit(int account, long transactionId, long amountCents) throws IOException {
+        append(DEPOSIT, 0, account, transactionId, amountCents);
+    }
+
+    /** Journals a successful withdrawal. */
+    public void appendWithdraw(int account, long transactionId, long amountCents) throws IOException {
+        append(WITHDRAW, 0, account, transactionId, amountCents);
+    }
+
+    /** Journals a transaction status change. */
+    public void appendStatus(long transactionId, TransactionStatus status) throws IOException {
+        append(STATUS, status.ordinal(), 0, transactionId, 0L);
+    }
+
+    /**
+     * Writes one record; forces the group to disk when it is full.
+     * Time: O(1), no allocation except when a new 64 MB segment is mapped
+     */
+    private synchronized void append(byte kind, int status, int account, long transactionId, long amountCents)
+            throws IOException {
+        MappedByteBuffer segment = segment(records);
+        int offset = offset(records);
+
+        segment.put(offset, kind);
+        segment.put(offset + 1, (byte) status);
+        segment.putInt(offset + 4, account);
+        segment.putLong(offset + 8, transactionId);
+        segment.putLong(offset + 16, amountCents);
+        // Checksum last: a record is only valid once it is complete
+        segment.putInt(offset + 28, checksum(kind, status, account, transactionId, amountCents));
+
+        records++;
+        if (records - committedRecords >= groupSize) {
+            commit();
+        }
+    }
+
+    /**
+     * Forces every appended record to disk (group commit).
+     * Time: one force() per touched segment
+     */
+    public synchronized void commit() {
+        long from = committedRecords;
+        while (from < records) {
+            long segmentEnd = (from / RECORDS_PER_SEGMENT + 1) * RECORDS_PER_SEGMENT;
+            long to = Math.min(records, segmentEnd);
+            segments.get((int) (from / RECORDS_PER_SEGMENT))
+                    .force(offset(from), (int) (to - from) * RECORD_BYTES);
+            from = to;
+        }
+        committedRecords = records;
+    }
+
+    //===========================================
+    //REPLAY
+    //===========================================
+
+    /**
+     * Replays every valid record in append order.
+     *
+     * @return Number of records replayed
+     */
+    public synchronized long replay(Listener listener) throws IOException {
+        for (long index = 0; index < records; index++) {
+            MappedByteBuffer segment = segment(index);
+            int offset = offset(index);
+            listener.onRecord(segment.get(offset), segment.getInt(offset + 4),
+                    segment.getLong(offset + 8), segment.getLong(offset + 16), segment.get(offset + 1));
+        }
+        return records;
+    }
+
+    /** @return Number of records in the journal */
+    public synchronized long size() {
+        return records;
+    }
+
+    /** @return Number of records forced to disk */
+    public synchronized long committedSize() {
+        return committedRecords;
+    }
+
+    /** Commits outstanding records and closes the file. */
+    @Override
+    public synchronized void close() throws IOException {
+        commit();
+        channel.close();
+    }
+
+    //===========================================
+    //HELPERS
+    //===========================================
+
+    /**
+     * Zeroes records [from, to) and forces the cleared bytes to disk.
+     * Only non-zero words are written, so an already-empty tail costs a read.
+     */
+    private void clearTail(long from, long to) throws IOException {
+        while (from < to) {
+            long segmentEnd = (from / RECORDS_PER_SEGMENT + 1) * RECORDS_PER_SEGMENT;
+            long end = Math.min(to, segmentEnd);
+            MappedByteBuffer segment = segment(from);
+            int start = offset(from);
+            int limit = start + (int) (end - from) * RECORD_BYTES;
+            int dirtyFrom = -1;
+            int dirtyTo = -1;
+            for (int i = start; i < limit; i += 8) {
+                if (segment.getLong(i) != 0L) {
+                    segment.putLong(i, 0L);
+                    dirtyFrom = dirtyFrom < 0 ? i : dirtyFrom;
+                    dirtyTo = i + 8;
+                }
+            }
+            if (dirtyFrom >= 0) {
+                segment.force(dirtyFrom, dirtyTo - dirtyFrom);
+            }
+            from = end;
+        }
+    }
+
+    private boolean isValid(long index) throws IOException {
+        MappedByteBuffer segment = segment(index);
+        int offset = offset(index);
+        byte kind = segment.get(offset);
+        if (kind < SET_BALANCE || kind > STATUS) {
+            return false;
+        }
+        return segment.getInt(offset + 28) == checksum(kind, segment.get(offset + 1),
+                segment.getInt(offset + 4), segment.getLong(offset + 8), segment.getLong(offset + 16));
+    }
+
+    /** Maps segments up to the one holding a record (grows the file as needed). */
+    private MappedByteBuffer segment(long index) throws IOException {
+        int segmentIndex = (int) (index / RECORDS_PER_SEGMENT);
+        while (segments.size() <= segmentIndex) {
+            long start = (long) segments.size() * SEGMENT_BYTES;
+            MappedByteBuffer mapped = channel.map(FileChannel.MapMode.READ_WRITE, start, SEGMENT_BYTES);
+            mapped.order(ByteOrder.LITTLE_ENDIAN);
+            segments.add(mapped);
+        }
+        return segments.get(segmentIndex);
+    }
+
+    private static int offset(long index) {
+        return (int) (index % RECORDS_PER_SEGMENT) * RECORD_BYTES;
+    }
+
+    /** Cheap 32-bit mix of every field (detects torn and zeroed records). */
+    private static int checksum(byte kind, int status, int account, long transactionId, long amountCents) {
+        long h = 0x9E3779B97F4A7C15L;
+        h = (h ^ kind) * 0xBF58476D1CE4E5B9L;
+        h = (h ^ status) * 0x94D049BB133111EBL;
+        h = (h ^ account) * 0xBF58476D1CE4E5B9L;
+        h = (h ^ transactionId) * 0x94D049BB133111EBL;
+        h = (h ^ amountCents) * 0xBF58476D1CE4E5B9L;
+        h ^= h >>> 31;
+        return (int) (h ^ (h >>> 32));
+    }
+
+    /**
+     * Throughput check: appends 5M deposits with group commit.
+     */
+    public static void main(String[] args) throws IOException {
+        Path file = java.nio.file.Files.createTempFile("journal", ".bin");
+        int count = 5_000_000;
+
+        try (TransactionJournal journal = new TransactionJournal(file)) {
+            long start = System.nanoTime();
+            for (int i = 0; i < count; i++) {
+                journal.appendDeposit(10_000_000 + (i % 1000), i, 100);
+            }
+            journal.commit();
+            long elapsed = System.nanoTime() - start;
+            System.out.printf("Appended %,d records in %,d ms (%,.0f appends/s)%n",
+                    count, elapsed / 1_000_000, count / (elapsed / 1e9));
+        }
+
+        try (TransactionJournal journal = new TransactionJournal(file)) {
+            long[] total = new long[1];
+            long start = System.nanoTime();
+            long replayed = journal.replay((kind, account, id, cents, status) -> total[0] += cents);
+            System.out.printf("Replayed %,d records in %,d ms (total R %s)%n", replayed,
+                    (System.nanoTime() - start) / 1_000_000,
+                    com.fintech.foundations.Money.toBigDecimal(total[0]));
+            // Expected: 5,000,000 records, total R 5000000.00
+        }
+        java.nio.file.Files.delete(file);
+    }
+}
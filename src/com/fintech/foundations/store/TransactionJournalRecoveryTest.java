@@ -0,0 +1,183 @@
+package com.fintech.foundations.store;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Crash recovery test for TransactionJournal.
+ *
+ * TEST 1: Starts a writer in a separate JVM, lets it append deposits
+ * non-stop with group commit, then kills it (SIGKILL) in the middle of a
+ * batch. The journal is reopened and must contain a gap-free prefix of the
+ * writer's records, including at least everything it reported as committed.
+ *
+ * TEST 2: Writes a torn (half-written) record at the end of the journal.
+ * Reopening must ignore it, and the next append must take its place.
+ *
+ * TEST 3: Tears a record in the middle of the journal, so valid-looking
+ * older records follow it. Reopening must drop them for good: after one
+ * more append and a crash (no close()), they must not come back.
+ *
+ * Run: java com.fintech.foundations.store.TransactionJournalRecoveryTest
+ */
+public class TransactionJournalRecoveryTest {
+
+    private static final int GROUP_SIZE = 1000;
+    private static final long KILL_AFTER_COMMITTED = 500_000;
+
+    public static void main(String[] args) throws Exception {
+        if (args.length == 2 && args[0].equals("writer")) {
+            runWriter(Paths.get(args[1]));
+            return;
+        }
+
+        System.out.println("╔════════════════════════════════════════════╗");
+        System.out.println("║   JOURNAL CRASH RECOVERY TEST SUITE        ║");
+        System.out.println("╚════════════════════════════════════════════╝\n");
+
+        Path file = Files.createTempFile("recovery", ".journal");
+        boolean allPassed = true;
+
+        try {
+            // TEST 1: Kill the writer mid-batch
+            System.out.println("TEST 1: Kill writer mid-batch");
+            System.out.println("───────────────────────────────────────────");
+
+            String java = Paths.get(System.getProperty("java.home"), "bin", "java").toString();
+            Process writer = new ProcessBuilder(java, "-cp", System.getProperty("java.class.path"),
+                    TransactionJournalRecoveryTest.class.getName(), "writer", file.toString())
+                    .redirectErrorStream(true)
+                    .start();
+
+            long lastCommitted = 0;
+            try (BufferedReader reader = new BufferedReader(new InputStreamReader(writer.getInputStream()))) {
+                String line;
+                while ((line = reader.readLine()) != null) {
+                    lastCommitted = Long.parseLong(line.trim());
+                    if (lastCommitted >= KILL_AFTER_COMMITTED) {
+                        Thread.sleep(3);  // Let the writer get part-way into the next batch
+                        writer.destroyForcibly();  // SIGKILL - no shutdown hooks, no close()
+                        break;
+                    }
+                }
+            }
+            writer.waitFor();
+
+            long[] expectedId = {1};
+            long[] total = {0};
+            boolean[] gapFree = {true};
+            long recovered;
+            try (TransactionJournal journal = new TransactionJournal(file, GROUP_SIZE)) {
+                recovered = journal.replay((kind, account, id, cents, status) -> {
+                    if (kind != TransactionJournal.DEPOSIT || id != expectedId[0]) {
+                        gapFree[0] = false;
+                    }
+                    expectedId[0]++;
+                    total[0] += cents;
+                });
+            }
+
+            boolean pass = gapFree[0] && recovered >= lastCommitted && total[0] == recovered;
+            allPassed &= pass;
+            System.out.println("Last committed (reported): " + lastCommitted);
+            System.out.println("Recovered records: " + recovered
+                    + " (" + (recovered - lastCommitted) + " written after the last commit)");
+            System.out.println((pass ? "PASS" : "FAIL") + ": gap-free prefix, nothing committed was lost");
+            System.out.println();
+
+            // TEST 2: Torn record at the tail
+            System.out.println("TEST 2: Torn record at the tail");
+            System.out.println("───────────────────────────────────────────");
+
+            try (FileChannel channel = FileChannel.open(file, StandardOpenOption.WRITE)) {
+                ByteBuffer half = ByteBuffer.allocate(TransactionJournal.RECORD_BYTES / 2);
+                half.put(0, TransactionJournal.DEPOSIT);
+                half.putLong(8, recovered + 1);  // Payload written, checksum never reached
+                channel.write(half, recovered * TransactionJournal.RECORD_BYTES);
+            }
+
+            long afterTorn;
+            long afterAppend;
+            try (TransactionJournal journal = new TransactionJournal(file, GROUP_SIZE)) {
+                afterTorn = journal.size();
+                journal.appendDeposit(10_000_000, recovered + 1, 1);
+            }
+            try (TransactionJournal journal = new TransactionJournal(file, GROUP_SIZE)) {
+                afterAppend = journal.size();
+            }
+
+            pass = afterTorn == recovered && afterAppend == recovered + 1;
+            allPassed &= pass;
+            System.out.println("Records after torn write: " + afterTorn + " (expected " + recovered + ")");
+            System.out.println("Records after next append: " + afterAppend + " (expected " + (recovered + 1) + ")");
+            System.out.println((pass ? "PASS" : "FAIL") + ": torn record ignored and overwritten");
+            System.out.println();
+
+            // TEST 3: Torn record followed by stale records, then a second crash
+            System.out.println("TEST 3: Stale records after a torn one");
+            System.out.println("───────────────────────────────────────────");
+
+            Files.delete(file);
+            try (TransactionJournal journal = new TransactionJournal(file, GROUP_SIZE)) {
+                for (int id = 1; id <= 10; id++) {
+                    journal.appendDeposit(10_000_000, id, 1);
+                }
+            }
+            try (FileChannel channel = FileChannel.open(file, StandardOpenOption.WRITE)) {
+                ByteBuffer zeroChecksum = ByteBuffer.allocate(4);
+                channel.write(zeroChecksum, 4L * TransactionJournal.RECORD_BYTES + 28);  // Tear record 5
+            }
+
+            long afterTear;
+            TransactionJournal crashed = new TransactionJournal(file, GROUP_SIZE);
+            afterTear = crashed.size();
+            crashed.appendDeposit(10_000_000, 99, 1);
+            crashed.commit();
+            // Crash: never closed, records 6-10 were valid before the tear
+
+            long afterCrash;
+            long[] lastId = new long[1];
+            try (TransactionJournal journal = new TransactionJournal(file, GROUP_SIZE)) {
+                afterCrash = journal.replay((kind, account, id, cents, status) -> lastId[0] = id);
+            }
+
+            pass = afterTear == 4 && afterCrash == 5 && lastId[0] == 99;
+            allPassed &= pass;
+            System.out.println("Records after tear: " + afterTear + " (expected 4)");
+            System.out.println("Records after append + crash: " + afterCrash + ", last ID " + lastId[0]
+                    + " (expected 5, last ID 99)");
+            System.out.println((pass ? "PASS" : "FAIL") + ": stale records never replayed");
+            System.out.println();
+        } finally {
+            Files.deleteIfExists(file);
+        }
+
+        System.out.println(allPassed ? "ALL TESTS PASSED" : "SOME TESTS FAILED");
+        if (!allPassed) {
+            System.exit(1);
+        }
+    }
+
+    /**
+     * Child process: appends 1-cent deposits forever, printing the committed count after each group.
+     */
+    private static void runWriter(Path file) throws IOException {
+        TransactionJournal journal = new TransactionJournal(file, GROUP_SIZE);
+        long id = 1;
+        while (true) {
+            journal.appendDeposit(10_000_000 + (int) (id % 100), id, 1);
+            if (id % GROUP_SIZE == 0) {
+                System.out.println(journal.committedSize());
+                System.out.flush();
+            }
+            id++;
+        }
+    }
+}
@@ -0,0 +1,512 @@
+package com.fintech.foundations.store;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.Arrays;
+
+import com.fintech.foundations.Transaction;
+import com.fintech.foundations.TransactionStatus;
+import com.fintech.foundations.TransactionType;
+import com.fintech.foundations.TransactionView;
+import com.fintech.foundations.analytics.RunningAggregates;
+
+/**
+ * Columnar, off-heap store for millions of transactions.
+ *
+ * A Transaction object is a graph of ~7 objects (~400 bytes on the heap).
+ * Here every transaction is one row of 6 primitive columns, 30 bytes total:
+ *
+ *   id (8) | amount cents (8) | epoch millis (8) | account (4) | type (1) | status (1)
+ *
+ * Rows live in direct ByteBuffers ("chunks" of 1M rows, ~30 MB each),
+ * outside the Java heap, so 100M transactions (~3 GB) cost the GC nothing.
+ * Within a chunk each column is contiguous, so scanning one column
+ * (e.g., summing amounts) reads memory sequentially.
+ *
+ * Reading: use the primitive getters, or a Cursor - a reusable flyweight
+ * that implements TransactionView over any row without creating objects.
+ *
+ * Threads: one writer at a time (append is synchronized); readers may run
+ * concurrently and see every row appended before they read size().
+ *
+ * Totals: aggregates() keeps count/total/max/min/top-K up to date on
+ * every append, so summaries never need a column scan.
+ *
+ * Indexes: AppendListeners (e.g., TransactionIndex) see every row in
+ * row order, inside the append lock, before size() includes it. If a
+ * listener throws, the append fails as a whole: the listeners that already
+ * saw the row are told to undo it (appendAborted), the row is not
+ * published, the running aggregates skip it, and the next append reuses
+ * its index.
+ * Status changes (setStatus) follow the TransactionStatus transition rules
+ * and are reported to the same listeners.
+ *
+ * Note: Java 17 has no final MemorySegment API, so direct ByteBuffers are used.
+ *
+ * @author Jesse De Oliveira
+ * @since 2026-10-18
+ */
+public class TransactionStore {
+
+    /**
+     * Notified of every appended row, in row order, while the append lock is
+     * held and before the row is published (size() does not include it yet).
+     */
+    public interface AppendListener {
+        void appended(int row, long id, int account, long amountCents,
+                TransactionType type, TransactionStatus status, long epochMillis);
+
+        /**
+         * Undoes appended() for a row that a later listener rejected (the row
+         * index will be reused). Called in reverse registration order, under
+         * the same lock, with the same arguments.
+         */
+        default void appendAborted(int row, long id, int account, long amountCents,
+                TransactionType type, TransactionStatus status, long epochMillis) {
+        }
+
+        /** Notified of every status change made by setStatus, under the same lock. */
+        default void statusChanged(int row, TransactionStatus from, TransactionStatus to) {
+        }
+    }
+
+    /** Bytes per transaction row */
+    public static final int BYTES_PER_ROW = 8 + 8 + 8 + 4 + 1 + 1;
+
+    /** Default rows per chunk (1M rows ≈ 30 MB) */
+    public static final int DEFAULT_CHUNK_ROWS = 1 << 20;
+
+    /** Time zone used to convert timestamps (same as LocalDateTime.now()) */
+    private static final ZoneId ZONE = ZoneId.systemDefault();
+
+    private final int chunkShift;
+    private final int chunkMask;
+    private final int chunkRows;
+
+    // Column start offsets within a chunk
+    private final int amountOffset;
+    private final int timeOffset;
+    private final int accountOffset;
+    private final int typeOffset;
+    private final int statusOffset;
+
+    private ByteBuffer[] chunks = new ByteBuffer[16];
+
+    /** Number of rows appended (volatile: publishes rows to readers) */
+    private volatile int size;
+
+    /** Updated on every append */
+    private final RunningAggregates aggregates = new RunningAggregates();
+
+    /** Called on every append and status change (copy-on-write, guarded by the append lock) */
+    private volatile AppendListener[] listeners = new AppendListener[0];
+
+    /** Creates a store with 1M-row chunks. */
+    public TransactionStore() {
+        this(DEFAULT_CHUNK_ROWS);
+    }
+
+    /**
+     * Creates a store with a custom chunk size.
+     *
+     * @param chunkRows Rows per chunk (power of two, at most 2^26)
+     * @throws IllegalArgumentException if chunkRows is not a power of two or too large
+     */
+    public TransactionStore(int chunkRows) {
+        if (chunkRows <= 0 || Integer.bitCount(chunkRows) != 1 || chunkRows > (1 << 26)) {
+            throw new IllegalArgumentException(
+                    "Chunk rows must be a power of two up to 2^26. Got: " + chunkRows);
+        }
+        this.chunkRows = chunkRows;
+        this.chunkShift = Integer.numberOfTrailingZeros(chunkRows);
+        this.chunkMask = chunkRows - 1;
+        this.amountOffset = 8 * chunkRows;
+        this.timeOffset = 16 * chunkRows;
+        this.accountOffset = 24 * chunkRows;
+        this.typeOffset = 28 * chunkRows;
+        this.statusOffset = 29 * chunkRows;
+    }
+
+    //===========================================
+    //ACCOUNT NUMBER PACKING
+    //===========================================
+
+    /**
+     * Packs an 8-digit account number into an int ("00012345" → 12345).
+     *
+     * @throws IllegalArgumentException if the account number is not 8 digits
+     */
+    public static int packAccount(String accountNumber) {
+        if (!Transaction.isValidAccountNumber(accountNumber)) {
+            throw new IllegalArgumentException("Account number must be 8 digits. Got: " + accountNumber);
+        }
+        int value = 0;
+        for (int i = 0; i < 8; i++) {
+            value = value * 10 + (accountNumber.charAt(i) - '0');
+        }
+        return value;
+    }
+
+    /**
+     * Unpacks an int account key back to 8 digits (12345 → "00012345").
+     */
+    public static String unpackAccount(int account) {
+        char[] digits = new char[8];
+        for (int i = 7; i >= 0; i--) {
+            digits[i] = (char) ('0' + account % 10);
+            account /= 10;
+        }
+        return new String(digits);
+    }
+
+    //===========================================
+    //APPEND
+    //===========================================
+
+    /**
+     * Appends a transaction (copies its fields into the columns).
+     * Time: O(1) amortized
+     *
+     * @return Row index of the new row
+     */
+    public int append(TransactionView transaction) {
+        return append(transaction.getId(),
+                packAccount(transaction.getAccountNumber()),
+                transaction.getAmountCents(),
+                transaction.getTransactionType(),
+                transaction.getTransactionStatus(),
+                transaction.getTimestamp().atZone(ZONE).toInstant().toEpochMilli());
+    }
+
+    /**
+     * Appends a row from primitive fields (no objects needed).
+     * Time: O(1) amortized
+     *
+     * @return Row index of the new row
+     * @throws IllegalStateException if the store is full (2^31 - 1 rows)
+     */
+    public int append(long id, int account, long amountCents,
+            TransactionType type, TransactionStatus status, long epochMillis) {
+        int row = appendRow(id, account, amountCents, type, status, epochMillis);
+        aggregates.record(type, amountCents, id);  // Outside the lock: the adders are striped
+        return row;
+    }
+
+    private synchronized int appendRow(long id, int account, long amountCents,
+            TransactionType type, TransactionStatus status, long epochMillis) {
+        int row = size;
+        if (row == Integer.MAX_VALUE) {
+            throw new IllegalStateException("Transaction store is full");
+        }
+        ByteBuffer chunk = chunkForAppend(row);
+        int i = row & chunkMask;
+
+        chunk.putLong(i << 3, id);
+        chunk.putLong(amountOffset + (i << 3), amountCents);
+        chunk.putLong(timeOffset + (i << 3), epochMillis);
+        chunk.putInt(accountOffset + (i << 2), account);
+        chunk.put(typeOffset + i, (byte) type.ordinal());
+        chunk.put(statusOffset + i, (byte) status.ordinal());
+
+        // Listeners first: if one throws, the row was never visible to readers
+        AppendListener[] current = listeners;
+        int notified = 0;
+        try {
+            for (; notified < current.length; notified++) {
+                current[notified].appended(row, id, account, amountCents, type, status, epochMillis);
+            }
+        } catch (RuntimeException e) {
+            // The row index is reused by the next append: earlier listeners must forget it
+            for (int l = notified - 1; l >= 0; l--) {
+                current[l].appendAborted(row, id, account, amountCents, type, status, epochMillis);
+            }
+            throw e;
+        }
+        size = row + 1;  // Volatile write publishes the row
+        return row;
+    }
+
+    /**
+     * Registers a listener for future appends, after first replaying every
+     * existing row to it (no row is missed or seen twice).
+     * Time: O(rows already stored)
+     */
+    public synchronized void addAppendListener(AppendListener listener) {
+        if (listener == null) {
+            throw new IllegalArgumentException("Listener cannot be null");
+        }
+        for (int row = 0; row < size; row++) {
+            listener.appended(row, getId(row), getAccount(row), getAmountCents(row),
+                    TransactionType.fromOrdinal(getTypeOrdinal(row)),
+                    TransactionStatus.fromOrdinal(getStatusOrdinal(row)), getEpochMillis(row));
+        }
+        AppendListener[] current = listeners;
+        AppendListener[] updated = Arrays.copyOf(current, current.length + 1);
+        updated[current.length] = listener;
+        listeners = updated;
+    }
+
+    /**
+     * Changes the status of a row, with the same rules as Transaction.setStatus
+     * (setting the same status again is a no-op), and notifies the listeners.
+     * Time: O(listeners)
+     *
+     * @throws IllegalArgumentException if status is null
+     * @throws IllegalStateException if the transition is not allowed (e.g., completed -> pending)
+     */
+    public synchronized void setStatus(int row, TransactionStatus status) {
+        if (status == null) {
+            throw new IllegalArgumentException(
+                    "Invalid status. Must be: pending, completed or failed. Got: null");
+        }
+        ByteBuffer chunk = chunk(row);
+        int offset = statusOffset + (row & chunkMask);
+        TransactionStatus current = TransactionStatus.fromOrdinal(chunk.get(offset));
+        if (!current.canTransitionTo(status)) {
+            throw new IllegalStateException("Cannot change status of " + current.getCode() + " transaction");
+        }
+        if (current == status) {
+            return;
+        }
+        chunk.put(offset, (byte) status.ordinal());
+        for (AppendListener listener : listeners) {
+            listener.statusChanged(row, current, status);
+        }
+    }
+
+    //===========================================
+    //INDEXED READS (primitive, allocation-free)
+    //===========================================
+
+    /** @return Number of rows */
+    public int size() {
+        return size;
+    }
+
+    /** @return Transaction ID of a row */
+    public long getId(int row) {
+        return chunk(row).getLong((row & chunkMask) << 3);
+    }
+
+    /** @return Packed account number of a row (see unpackAccount) */
+    public int getAccount(int row) {
+        return chunk(row).getInt(accountOffset + ((row & chunkMask) << 2));
+    }
+
+    /** @return Amount in cents of a row */
+    public long getAmountCents(int row) {
+        return chunk(row).getLong(amountOffset + ((row & chunkMask) << 3));
+    }
+
+    /** @return Epoch millis of a row */
+    public long getEpochMillis(int row) {
+        return chunk(row).getLong(timeOffset + ((row & chunkMask) << 3));
+    }
+
+    /** @return Type ordinal of a row */
+    public int getTypeOrdinal(int row) {
+        return chunk(row).get(typeOffset + (row & chunkMask));
+    }
+
+    /** @return Status ordinal of a row */
+    public int getStatusOrdinal(int row) {
+        return chunk(row).get(statusOffset + (row & chunkMask));
+    }
+
+    /**
+     * Running count/total/max/min/top-K over every appended row.
+     * Time: O(1) reads - dashboards never need to scan the columns.
+     * A row becomes visible to get*(row) just before it is counted here.
+     */
+    public RunningAggregates aggregates() {
+        return aggregates;
+    }
+
+    /** @return Off-heap bytes allocated (whole chunks) */
+    public long allocatedBytes() {
+        long chunkCount = ((long) size + chunkRows - 1) >>> chunkShift;
+        return chunkCount * chunkRows * BYTES_PER_ROW;
+    }
+
+    /**
+     * Creates a reusable flyweight view; move it with Cursor.at(row).
+     */
+    public Cursor cursor() {
+        return new Cursor();
+    }
+
+    private ByteBuffer chunk(int row) {
+        if (row < 0 || row >= size) {
+            throw new IndexOutOfBoundsException("Row " + row + " of " + size);
+        }
+        return chunks[row >>> chunkShift];
+    }
+
+    private ByteBuffer chunkForAppend(int row) {
+        int index = row >>> chunkShift;
+        if (index == chunks.length) {
+            chunks = Arrays.copyOf(chunks, chunks.length * 2);
+        }
+        ByteBuffer chunk = chunks[index];
+        if (chunk == null) {
+            chunk = ByteBuffer.allocateDirect(chunkRows * BYTES_PER_ROW).order(ByteOrder.nativeOrder());
+            chunks[index] = chunk;
+        }
+        return chunk;
+    }
+
+    //===========================================
+    //FLYWEIGHT VIEW
+    //===========================================
+
+    /**
+     * A TransactionView over one row of the store.
+     *
+     * One Cursor can visit millions of rows: at(row) only changes an int.
+     * Not thread-safe - use one cursor per thread.
+     */
+    public final class Cursor implements TransactionView {
+
+        private int row = -1;
+
+        /**
+         * Moves the cursor to a row.
+         * @return this cursor
+         */
+        public Cursor at(int row) {
+            if (row < 0 || row >= size) {
+                throw new IndexOutOfBoundsException("Row " + row + " of " + size);
+            }
+            this.row = row;
+            return this;
+        }
+
+        /** @return Current row index */
+        public int row() {
+            return row;
+        }
+
+        @Override
+        public long getId() {
+            return TransactionStore.this.getId(row);
+        }
+
+        @Override
+        public String getAccountNumber() {
+            return unpackAccount(getAccount(row));
+        }
+
+        @Override
+        public long getAmountCents() {
+            return TransactionStore.this.getAmountCents(row);
+        }
+
+        @Override
+        public TransactionType getTransactionType() {
+            return TransactionType.fromOrdinal(getTypeOrdinal(row));
+        }
+
+        @Override
+        public TransactionStatus getTransactionStatus() {
+            return TransactionStatus.fromOrdinal(getStatusOrdinal(row));
+        }
+
+        @Override
+        public LocalDateTime getTimestamp() {
+            return LocalDateTime.ofInstant(Instant.ofEpochMilli(getEpochMillis(row)), ZONE);
+        }
+
+        @Override
+        public String toString() {
+            return String.format(
+                    "Transaction[id=%s, account=%s, amount=%s, type=%s, status=%s, vat=%s]",
+                    getTransactionId(), getAccountNumber(), getAmount(), getType(), getStatus(), getVatAmount());
+        }
+    }
+
+    /**
+     * Test cases
+     */
+    public static void main(String[] args) {
+        System.out.println("=== TRANSACTION STORE ===\n");
+
+        // Test 1: Append Transaction objects and read them back through a cursor
+        TransactionStore store = new TransactionStore(1 << 10);
+        Transaction payshap = new Transaction("00012345", new java.math.BigDecimal("1000.00"), "payshap");
+        Transaction card = new Transaction("87654321", new java.math.BigDecimal("200.00"), "card_purchase");
+        store.append(payshap);
+        store.append(card);
+
+        Cursor cursor = store.cursor();
+        System.out.println(cursor.at(0));
+        System.out.println(cursor.at(1));
+        // Expected: same fields as the objects, card VAT = 30.00
+
+        // Test 2: Status update in place, same transition rules as Transaction
+        int[] changes = new int[1];
+        store.addAppendListener(new AppendListener() {
+            @Override
+            public void appended(int row, long id, int account, long amountCents,
+                    TransactionType type, TransactionStatus status, long epochMillis) {
+            }
+
+            @Override
+            public void statusChanged(int row, TransactionStatus from, TransactionStatus to) {
+                changes[0]++;
+            }
+        });
+        store.setStatus(1, TransactionStatus.COMPLETED);
+        store.setStatus(1, TransactionStatus.COMPLETED);  // Same status again: no-op
+        System.out.println("Row 1 status: " + cursor.at(1).getStatus() + ", listener saw " + changes[0] + " change");
+        // Expected: Row 1 status: completed, listener saw 1 change
+        try {
+            store.setStatus(1, TransactionStatus.PENDING);
+            System.out.println("FAIL: allowed completed -> pending");
+        } catch (IllegalStateException e) {
+            System.out.println("Rejected: " + e.getMessage());
+        }
+        // Expected: Rejected: Cannot change status of completed transaction
+
+        // Test 3: A failing listener fails the whole append: the row is not published
+        store.addAppendListener((row, id, account, amountCents, type, status, epochMillis) -> {
+            if (amountCents < 0) {
+                throw new IllegalArgumentException("Amount cannot be negative. Got: " + amountCents);
+            }
+        });
+        try {
+            store.append(99, 12_345_678, -1, TransactionType.EFT, TransactionStatus.PENDING, 0L);
+            System.out.println("FAIL: appended a row the listener rejected");
+        } catch (IllegalArgumentException e) {
+            System.out.println("Rejected: " + e.getMessage() + ", rows: " + store.size()
+                    + ", aggregated: " + store.aggregates().getCount());
+        }
+        // Expected: Rejected: Amount cannot be negative. Got: -1, rows: 2, aggregated: 2
+
+        // Test 4: Many chunks, primitive appends, column scan
+        int rows = 2_000_000;
+        long now = System.currentTimeMillis();
+        for (int i = 2; i < rows; i++) {
+            store.append(i, 10_000_000 + i % 1000, 100 + i % 5000,
+                    TransactionType.fromOrdinal(i & 3), TransactionStatus.PENDING, now + i);
+        }
+        long total = 0;
+        for (int i = 0; i < store.size(); i++) {
+            total += store.getAmountCents(i);
+        }
+        System.out.println("Rows: " + store.size() + ", total R " + com.fintech.foundations.Money.toBigDecimal(total));
+        System.out.printf("Off-heap: %,d bytes (%.1f bytes/row)%n",
+                store.allocatedBytes(), (double) store.allocatedBytes() / store.size());
+        // Expected: ~30 bytes per row
+
+        // Test 5: Running aggregates agree with the scan, without scanning
+        RunningAggregates aggregates = store.aggregates();
+        System.out.println("Aggregates: " + aggregates.getCount() + " rows, total matches scan: "
+                + (aggregates.getTotalCents() == total));
+        // Expected: Aggregates: 2000000 rows, total matches scan: true
+        System.out.println("Largest: R " + com.fintech.foundations.Money.toBigDecimal(aggregates.getMaxCents()));
+        // Expected: Largest: R 1000.00 (the PayShap row)
+    }
+}
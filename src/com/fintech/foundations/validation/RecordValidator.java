@@ -0,0 +1,842 @@
+package com.fintech.foundations.validation;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.Closeable;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.Scanner;
+
+import com.fintech.foundations.TransactionType;
+import com.fintech.foundations.format.ZarFormatter;
+
+/**
+ * Validates delimited input files record by record, without Scanner.
+ *
+ * InputValidation, InteractiveVATCalculator and CompoundInterestCalculator
+ * read through Scanner (regex tokenizing, one BigDecimal per amount) and
+ * retry on bad input by catching exceptions. Fine for a person typing,
+ * hopeless for a file of millions of lines. This validator:
+ * - reads the file through one reusable 1 MB byte buffer (no Reader, no String per line)
+ * - splits lines and fields by scanning bytes
+ * - parses amounts (ZarFormatter), whole numbers, rates and type codes by hand
+ * - reports each bad line to a reject handler with a reason code - no
+ *   exception is thrown for bad data, good or bad
+ * - hands each good line to a record handler as one reused long[]
+ *
+ * Columns are declared in file order:
+ * <pre>
+ * RecordValidator validator = new RecordValidator()
+ *     .integer(1, 150)                        // age
+ *     .amount(1, 1_000_000_00L)               // amount in cents
+ *     .type(TransactionType.PAYSHAP, TransactionType.EFT, TransactionType.INTERNATIONAL);
+ * try (RejectChannel rejects = new RejectChannel(FileChannel.open(rejectFile, CREATE, WRITE))) {
+ *     validator.run(inputFile, (line, values) -> ..., rejects);
+ * }
+ * </pre>
+ *
+ * Values passed to the record handler, per column kind:
+ * - amount: cents
+ * - integer: the number
+ * - rate: basis points (7.5 -> 750, i.e. hundredths of a percent)
+ * - type: TransactionType ordinal
+ *
+ * A field may be wrapped in double quotes, so the ',' groups of an amount
+ * like "R 1,500.00" are not taken as separators. Quotes cannot be escaped
+ * inside a field, and a quoted field cannot span lines. Grouped amounts
+ * must be quoted unless the delimiter is something other than ','.
+ *
+ * Blank lines are skipped. Line numbers are 1-based physical lines
+ * (a skipped header is line 1).
+ *
+ * Not thread-safe: use one validator per thread.
+ *
+ * @author Jesse De Oliveira
+ * @since 2026-10-18
+ */
+public class RecordValidator {
+
+    /** Read buffer size; a line must fit in it */
+    public static final int BUFFER_BYTES = 1024 * 1024;
+
+    /** Most columns a validator can declare */
+    public static final int MAX_FIELDS = 16;
+
+    /** Why a line was rejected */
+    public enum Reason {
+        /** Fewer or more fields than declared columns */
+        FIELD_COUNT("Wrong number of fields"),
+        /** Amount, whole number or rate that does not parse */
+        NOT_A_NUMBER("Not a valid number"),
+        /** Number outside the column's range */
+        OUT_OF_RANGE("Value out of range"),
+        /** Type missing, unknown or not allowed in this column */
+        UNKNOWN_TYPE("Invalid transaction type"),
+        /** Line does not fit in the read buffer */
+        LINE_TOO_LONG("Line too long");
+
+        private final String message;
+
+        Reason(String message) {
+            this.message = message;
+        }
+
+        /** @return Human-readable message */
+        public String getMessage() {
+            return message;
+        }
+    }
+
+    /** Receives each valid line. */
+    @FunctionalInterface
+    public interface RecordHandler {
+        /**
+         * @param lineNumber 1-based line number
+         * @param values One value per column (reused: copy what you keep)
+         */
+        void accept(long lineNumber, long[] values) throws IOException;
+    }
+
+    /** Receives each rejected line. */
+    @FunctionalInterface
+    public interface RejectHandler {
+        /**
+         * @param lineNumber 1-based line number
+         * @param column 1-based column that failed (0 for the whole line)
+         * @param reason Why the line was rejected
+         * @param bytes Buffer holding the raw line (reused: copy what you keep)
+         * @param offset Start of the line in bytes
+         * @param length Line length (without the line break)
+         */
+        void reject(long lineNumber, int column, Reason reason, byte[] bytes, int offset, int length)
+                throws IOException;
+    }
+
+    private static final Reason[] REASONS = Reason.values();
+    private static final TransactionType[] TYPES = TransactionType.values();
+    private static final byte[][] TYPE_CODES = new byte[TYPES.length][];
+
+    static {
+        for (TransactionType type : TYPES) {
+            TYPE_CODES[type.ordinal()] = type.getCode().getBytes(StandardCharsets.US_ASCII);
+        }
+    }
+
+    private static final byte AMOUNT = 0;
+    private static final byte INTEGER = 1;
+    private static final byte RATE = 2;
+    private static final byte TYPE = 3;
+
+    // Column declarations
+    private final byte[] kinds = new byte[MAX_FIELDS];
+    private final long[] mins = new long[MAX_FIELDS];
+    private final long[] maxes = new long[MAX_FIELDS];
+    private int columns;
+    private byte delimiter = ',';
+    private boolean skipHeader;
+
+    // Reused per run
+    private final byte[] buffer = new byte[BUFFER_BYTES];
+    private final long[] values = new long[MAX_FIELDS];
+    private long parsed;
+
+    // Counters for the last run
+    private long lines;
+    private long accepted;
+    private final long[] rejectedByReason = new long[REASONS.length];
+
+    //===========================================
+    //COLUMNS
+    //===========================================
+
+    /**
+     * Adds an amount column in rands ("1500", "1500.5", "R 1500.00", or
+     * "R 1,500.00" quoted or with a non-comma delimiter).
+     * @param minCents Smallest accepted amount in cents
+     * @param maxCents Largest accepted amount in cents
+     * @return this validator
+     */
+    public RecordValidator amount(long minCents, long maxCents) {
+        return column(AMOUNT, minCents, maxCents);
+    }
+
+    /**
+     * Adds a whole-number column (age, years).
+     * @return this validator
+     */
+    public RecordValidator integer(long min, long max) {
+        return column(INTEGER, min, max);
+    }
+
+    /**
+     * Adds a percentage column with up to 2 decimals ("7.5" -> 750 basis points).
+     * @param minBasisPoints Smallest accepted rate (750 = 7.50%)
+     * @param maxBasisPoints Largest accepted rate
+     * @return this validator
+     */
+    public RecordValidator rate(long minBasisPoints, long maxBasisPoints) {
+        return column(RATE, minBasisPoints, maxBasisPoints);
+    }
+
+    /**
+     * Adds a type code column (payshap/eft/international/card_purchase, any case).
+     * @param allowed Types accepted in this column (none = all)
+     * @return this validator
+     */
+    public RecordValidator type(TransactionType... allowed) {
+        long mask = 0;
+        for (TransactionType type : allowed) {
+            mask |= 1L << type.ordinal();
+        }
+        return column(TYPE, 0, allowed.length == 0 ? -1L : mask);
+    }
+
+    /**
+     * Sets the field separator (default ',').
+     * @return this validator
+     */
+    public RecordValidator delimiter(char delimiter) {
+        if (delimiter > 0x7F || delimiter == '\n' || delimiter == '\r') {
+            throw new IllegalArgumentException("Delimiter must be a single-byte character other than a line break. Got: "
+                    + (int) delimiter);
+        }
+        this.delimiter = (byte) delimiter;
+        return this;
+    }
+
+    /**
+     * Skips the first line of each input (a column header).
+     * @return this validator
+     */
+    public RecordValidator skipHeader() {
+        this.skipHeader = true;
+        return this;
+    }
+
+    private RecordValidator column(byte kind, long min, long max) {
+        if (columns == MAX_FIELDS) {
+            throw new IllegalStateException("A validator supports at most " + MAX_FIELDS + " columns");
+        }
+        if (kind != TYPE && min > max) {
+            throw new IllegalArgumentException("Column minimum exceeds maximum. Got: " + min + " > " + max);
+        }
+        kinds[columns] = kind;
+        mins[columns] = min;
+        maxes[columns] = max;
+        columns++;
+        return this;
+    }
+
+    //===========================================
+    //RUN
+    //===========================================
+
+    /**
+     * Validates every line of a file.
+     *
+     * @return Number of valid lines
+     */
+    public long run(Path file, RecordHandler records, RejectHandler rejects) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            return run(channel, records, rejects);
+        }
+    }
+
+    /**
+     * Validates every line read from a channel (does not close it).
+     * Time: O(bytes), allocation-free per line
+     *
+     * Counters (getLines(), getAccepted(), getRejected()) are reset first.
+     *
+     * @return Number of valid lines
+     * @throws IllegalStateException if no columns are declared
+     */
+    public long run(ReadableByteChannel in, RecordHandler records, RejectHandler rejects) throws IOException {
+        if (columns == 0) {
+            throw new IllegalStateException("Declare at least one column before running");
+        }
+        lines = 0;
+        accepted = 0;
+        Arrays.fill(rejectedByReason, 0);
+
+        byte[] bytes = buffer;
+        ByteBuffer window = ByteBuffer.wrap(bytes);
+        int start = 0;              // Start of the first unprocessed line
+        int limit = 0;              // End of the bytes read so far
+        boolean overlong = false;   // Discarding the rest of a line that did not fit
+        boolean eof = false;
+
+        while (!eof) {
+            // Move the incomplete line to the front and refill behind it
+            if (start > 0) {
+                System.arraycopy(bytes, start, bytes, 0, limit - start);
+                limit -= start;
+                start = 0;
+            }
+            if (limit == bytes.length) {
+                // One line fills the whole buffer: reject it once, drop bytes until its end
+                lines++;
+                reject(rejects, 0, Reason.LINE_TOO_LONG, 0, 1024);
+                overlong = true;
+                limit = 0;
+            }
+            window.limit(bytes.length).position(limit);
+            eof = in.read(window) < 0;
+            limit = window.position();
+
+            if (overlong) {
+                while (start < limit && bytes[start] != '\n') {
+                    start++;
+                }
+                if (start == limit) {
+                    continue;
+                }
+                overlong = false;
+                start++;
+            }
+            // One pass per line: field and line ends are found while validating
+            int next;
+            while ((next = line(bytes, start, limit, eof, records, rejects)) >= 0) {
+                start = next;
+            }
+        }
+        return accepted;
+    }
+
+    /**
+     * Validates the line starting at 'from'.
+     *
+     * @return Start of the next line, or -1 if the line is not complete before
+     *         'limit' (nothing is recorded; it is retried after the next read)
+     */
+    private int line(byte[] bytes, int from, int limit, boolean eof, RecordHandler records, RejectHandler rejects)
+            throws IOException {
+        if (from == limit) {
+            return -1;
+        }
+        boolean header = skipHeader && lines == 0;
+        Reason reason = header ? Reason.FIELD_COUNT : null;  // Header: only look for the line end
+        int failedColumn = 0;
+        int column = 0;
+        int fieldStart = from;
+        int end;
+        while (true) {
+            int fieldEnd = fieldStart;
+            while (fieldEnd < limit && (bytes[fieldEnd] == ' ' || bytes[fieldEnd] == '\t')) {
+                fieldEnd++;
+            }
+            if (fieldEnd < limit && bytes[fieldEnd] == '"') {
+                // Quoted field: delimiters up to the closing quote are data
+                fieldEnd++;
+                while (fieldEnd < limit && bytes[fieldEnd] != '"' && bytes[fieldEnd] != '\n') {
+                    fieldEnd++;
+                }
+                if (fieldEnd < limit && bytes[fieldEnd] == '"') {
+                    fieldEnd++;
+                }
+            }
+            byte b = 0;
+            while (fieldEnd < limit && (b = bytes[fieldEnd]) != delimiter && b != '\n') {
+                fieldEnd++;
+            }
+            if (fieldEnd == limit && !eof) {
+                return -1;
+            }
+            if (reason == null) {
+                if (column == columns) {
+                    reason = Reason.FIELD_COUNT;
+                } else {
+                    reason = field(column, bytes, fieldStart, fieldEnd);
+                    if (reason != null) {
+                        failedColumn = column + 1;
+                    } else {
+                        values[column] = parsed;
+                    }
+                }
+            }
+            column++;
+            if (fieldEnd == limit || b == '\n') {
+                end = fieldEnd;
+                break;
+            }
+            fieldStart = fieldEnd + 1;
+        }
+
+        lines++;
+        int next = end < limit ? end + 1 : end;
+        if (end > from && bytes[end - 1] == '\r') {
+            end--;
+        }
+        if (header || (column == 1 && isBlank(bytes, from, end))) {
+            return next;
+        }
+        if (reason == null && column != columns) {
+            reason = Reason.FIELD_COUNT;
+        }
+        if (reason != null) {
+            reject(rejects, failedColumn, reason, from, end - from);
+        } else {
+            accepted++;
+            records.accept(lines, values);
+        }
+        return next;
+    }
+
+    private void reject(RejectHandler rejects, int column, Reason reason, int offset, int length)
+            throws IOException {
+        rejectedByReason[reason.ordinal()]++;
+        rejects.reject(lines, column, reason, buffer, offset, length);
+    }
+
+    //===========================================
+    //FIELD PARSERS (no exceptions, value left in 'parsed')
+    //===========================================
+
+    /** @return null if the field is valid (value in 'parsed'), otherwise the reason */
+    private Reason field(int column, byte[] bytes, int from, int to) {
+        // Trim spaces and tabs (and the '\r' of a CRLF line end), then drop quotes
+        from = trimStart(bytes, from, to);
+        to = trimEnd(bytes, from, to);
+        if (to - from >= 2 && bytes[from] == '"' && bytes[to - 1] == '"') {
+            from = trimStart(bytes, from + 1, to - 1);
+            to = trimEnd(bytes, from, to - 1);
+        }
+        switch (kinds[column]) {
+            case AMOUNT:
+                // Plain "1500.00" takes the short path; "R 1,500.00" goes through ZarFormatter
+                if (!parseFixed(bytes, from, to, 2)) {
+                    long cents = ZarFormatter.parseCentsOrInvalid(bytes, from, to - from);
+                    if (cents == ZarFormatter.INVALID) {
+                        return Reason.NOT_A_NUMBER;
+                    }
+                    parsed = cents;
+                }
+                return inRange(column);
+            case INTEGER:
+                return parseFixed(bytes, from, to, 0) ? inRange(column) : Reason.NOT_A_NUMBER;
+            case RATE:
+                return parseFixed(bytes, from, to, 2) ? inRange(column) : Reason.NOT_A_NUMBER;
+            default:
+                int type = lookupType(bytes, from, to);
+                if (type < 0 || (maxes[column] & (1L << type)) == 0) {
+                    return Reason.UNKNOWN_TYPE;
+                }
+                parsed = type;
+                return null;
+        }
+    }
+
+    private static int trimStart(byte[] bytes, int from, int to) {
+        while (from < to && (bytes[from] == ' ' || bytes[from] == '\t')) {
+            from++;
+        }
+        return from;
+    }
+
+    private static int trimEnd(byte[] bytes, int from, int to) {
+        while (to > from && (bytes[to - 1] == ' ' || bytes[to - 1] == '\t' || bytes[to - 1] == '\r')) {
+            to--;
+        }
+        return to;
+    }
+
+    private Reason inRange(int column) {
+        return parsed < mins[column] || parsed > maxes[column] ? Reason.OUT_OF_RANGE : null;
+    }
+
+    /**
+     * Parses [-]digits[.digits] with at most 'scale' decimals, scaled to an integer
+     * ("7.5" with scale 2 -> 750).
+     *
+     * @return false if the text is not such a number or has more than 15 integer digits
+     */
+    private boolean parseFixed(byte[] bytes, int i, int end, int scale) {
+        boolean negative = i < end && bytes[i] == '-';
+        if (negative) {
+            i++;
+        }
+        long value = 0;
+        int digits = 0;
+        while (i < end && bytes[i] >= '0' && bytes[i] <= '9') {
+            if (++digits > 15) {
+                return false;
+            }
+            value = value * 10 + (bytes[i++] - '0');
+        }
+        if (digits == 0) {
+            return false;
+        }
+        int decimals = 0;
+        if (i < end && bytes[i] == '.') {
+            i++;
+            while (i < end && bytes[i] >= '0' && bytes[i] <= '9') {
+                if (++decimals > scale) {
+                    return false;
+                }
+                value = value * 10 + (bytes[i++] - '0');
+            }
+            if (decimals == 0) {
+                return false;
+            }
+        }
+        if (i != end) {
+            return false;
+        }
+        for (; decimals < scale; decimals++) {
+            value *= 10;
+        }
+        parsed = negative ? -value : value;
+        return true;
+    }
+
+    /** @return Type ordinal, or -1 (case-insensitive, no allocation) */
+    private static int lookupType(byte[] bytes, int from, int to) {
+        int length = to - from;
+        for (int t = 0; t < TYPE_CODES.length; t++) {
+            byte[] code = TYPE_CODES[t];
+            if (code.length != length) {
+                continue;
+            }
+            int i = 0;
+            while (i < length) {
+                int b = bytes[from + i];
+                if (b >= 'A' && b <= 'Z') {
+                    b += 'a' - 'A';
+                }
+                if (b != code[i]) {
+                    break;
+                }
+                i++;
+            }
+            if (i == length) {
+                return t;
+            }
+        }
+        return -1;
+    }
+
+    private static boolean isBlank(byte[] bytes, int from, int to) {
+        for (int i = from; i < to; i++) {
+            if (bytes[i] != ' ' && bytes[i] != '\t') {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    //===========================================
+    //COUNTERS (last run)
+    //===========================================
+
+    /** @return Lines read, including blank, header and rejected lines */
+    public long getLines() {
+        return lines;
+    }
+
+    /** @return Valid lines */
+    public long getAccepted() {
+        return accepted;
+    }
+
+    /** @return Rejected lines */
+    public long getRejected() {
+        long total = 0;
+        for (long count : rejectedByReason) {
+            total += count;
+        }
+        return total;
+    }
+
+    /** @return Rejected lines for one reason */
+    public long getRejected(Reason reason) {
+        return rejectedByReason[reason.ordinal()];
+    }
+
+    /**
+     * Returns a one-line summary, e.g. "1000 lines, 990 valid, 10 rejected [NOT_A_NUMBER=6, OUT_OF_RANGE=4]"
+     */
+    @Override
+    public String toString() {
+        StringBuilder sb = new StringBuilder();
+        sb.append(lines).append(" lines, ").append(accepted).append(" valid, ")
+                .append(getRejected()).append(" rejected [");
+        boolean first = true;
+        for (Reason reason : REASONS) {
+            if (rejectedByReason[reason.ordinal()] > 0) {
+                if (!first) {
+                    sb.append(", ");
+                }
+                sb.append(reason).append('=').append(rejectedByReason[reason.ordinal()]);
+                first = false;
+            }
+        }
+        return sb.append(']').toString();
+    }
+
+    //===========================================
+    //REJECT CHANNEL
+    //===========================================
+
+    /**
+     * Writes rejected lines to a channel as "line,column,REASON,raw line".
+     *
+     * Buffers writes in one reusable direct buffer, like ReceiptRenderer.
+     * close() flushes and closes the channel.
+     */
+    public static class RejectChannel implements RejectHandler, Closeable {
+
+        private static final int BUFFER_BYTES = 64 * 1024;
+
+        private final WritableByteChannel channel;
+        private final ByteBuffer out = ByteBuffer.allocateDirect(BUFFER_BYTES);
+        private final byte[] digits = new byte[20];
+        private static final byte[][] REASON_NAMES = new byte[REASONS.length][];
+
+        static {
+            for (Reason reason : REASONS) {
+                REASON_NAMES[reason.ordinal()] = (',' + reason.name() + ',').getBytes(StandardCharsets.US_ASCII);
+            }
+        }
+
+        public RejectChannel(WritableByteChannel channel) {
+            if (channel == null) {
+                throw new IllegalArgumentException("Reject channel cannot be null");
+            }
+            this.channel = channel;
+        }
+
+        @Override
+        public void reject(long lineNumber, int column, Reason reason, byte[] bytes, int offset, int length)
+                throws IOException {
+            if (out.remaining() < 64 + length) {
+                flush();
+            }
+            putNumber(lineNumber);
+            out.put((byte) ',');
+            putNumber(column);
+            out.put(REASON_NAMES[reason.ordinal()]);
+            if (length + 1 <= out.remaining()) {
+                out.put(bytes, offset, length);
+            } else {
+                flush();
+                ByteBuffer line = ByteBuffer.wrap(bytes, offset, length);
+                while (line.hasRemaining()) {
+                    channel.write(line);
+                }
+            }
+            out.put((byte) '\n');
+        }
+
+        private void putNumber(long value) {
+            int count = 0;
+            do {
+                digits[count++] = (byte) ('0' + value % 10);
+                value /= 10;
+            } while (value != 0);
+            while (count > 0) {
+                out.put(digits[--count]);
+            }
+        }
+
+        /** Writes buffered rejects to the channel. */
+        public void flush() throws IOException {
+            out.flip();
+            while (out.hasRemaining()) {
+                channel.write(out);
+            }
+            out.clear();
+        }
+
+        @Override
+        public void close() throws IOException {
+            try {
+                flush();
+            } finally {
+                channel.close();
+            }
+        }
+    }
+
+    /**
+     * Test cases
+     */
+    public static void main(String[] args) throws IOException {
+        // Test 1: The InputValidation prompts as a file: age, amount, type
+        String input = "age,amount,type\n"
+                + "34,1500.00,payshap\n"
+                + "0,250.00,eft\n"              // Age must be > 0
+                + "151,250.00,eft\n"            // Age must be < 150
+                + "abc,250.00,eft\n"            // Not a number
+                + "\n"                          // Blank: skipped
+                + "42, R 999999.99 ,EFT\r\n"    // Spaces, R prefix, CRLF, upper case
+                + "42,1000000.01,eft\n"         // Over R 1,000,000
+                + "42,-5,eft\n"                 // Must be positive
+                + "42,12.345,eft\n"             // Fractions of a cent
+                + "42,100,card_purchase\n"      // Not one of the allowed types
+                + "42,100\n"                    // Missing field
+                + "27,0.01,international";      // No final line break
+        RecordValidator validator = new RecordValidator()
+                .integer(1, 150)
+                .amount(1, 1_000_000_00L)
+                .type(TransactionType.PAYSHAP, TransactionType.EFT, TransactionType.INTERNATIONAL)
+                .skipHeader();
+        ByteArrayOutputStream rejected = new ByteArrayOutputStream();
+        try (RejectChannel rejects = new RejectChannel(Channels.newChannel(rejected))) {
+            validator.run(Channels.newChannel(new ByteArrayInputStream(input.getBytes(StandardCharsets.US_ASCII))),
+                    (line, v) -> System.out.println("Line " + line + ": age " + v[0] + ", "
+                            + ZarFormatter.formatCents(v[1]) + ", " + TransactionType.fromOrdinal((int) v[2])),
+                    rejects);
+        }
+        // Expected: Line 2: age 34, R 1,500.00, PAYSHAP / Line 7: age 42, R 999,999.99, EFT
+        //           / Line 13: age 27, R 0.01, INTERNATIONAL
+        System.out.print(rejected.toString(StandardCharsets.US_ASCII));
+        // Expected: 3,1,OUT_OF_RANGE / 4,1,OUT_OF_RANGE / 5,1,NOT_A_NUMBER / 8,2,OUT_OF_RANGE / 9,2,OUT_OF_RANGE
+        //           / 10,2,NOT_A_NUMBER / 11,3,UNKNOWN_TYPE / 12,0,FIELD_COUNT (each followed by the raw line)
+        System.out.println(validator);
+        // Expected: 13 lines, 3 valid, 8 rejected [FIELD_COUNT=1, NOT_A_NUMBER=2, OUT_OF_RANGE=4, UNKNOWN_TYPE=1]
+
+        // Test 2: Compound interest scenarios: principal, rate %, years
+        RecordValidator scenarios = new RecordValidator().amount(1, 100_000_000_00L).rate(1, 50_00).integer(1, 50);
+        long[] sum = new long[1];
+        scenarios.run(Channels.newChannel(new ByteArrayInputStream(
+                        "10000,7.5,10\n10000,8,5\n10000,50.01,5\n10000,7.555,5\n".getBytes(StandardCharsets.US_ASCII))),
+                (line, v) -> sum[0] += v[1],
+                (line, column, reason, bytes, offset, length) -> System.out.println("Line " + line + ": " + reason.getMessage()));
+        System.out.println("Rates in basis points sum to " + sum[0]);
+        // Expected: Line 3: Value out of range / Line 4: Not a valid number / Rates in basis points sum to 1550
+
+        // Test 3: Grouped amounts ("R 1,500.00") go through ZarFormatter when quoted or ';'-separated
+        RecordValidator grouped = new RecordValidator().amount(1, 100_000_000_00L).type();
+        RejectHandler print = (line, column, reason, bytes, offset, length) ->
+                System.out.println("Line " + line + ", column " + column + ": " + reason);
+        grouped.run(Channels.newChannel(new ByteArrayInputStream(
+                        ("\"R 1,500.00\",eft\n"           // Quoted: one field
+                        + " \" R 12,345,678.9 \" ,payshap\r\n"  // Spaces around and inside the quotes
+                        + "\"R 1,50.00\",eft\n"            // Bad group: rejected by ZarFormatter
+                        + "R 1,500.00,eft\n"                // Unquoted: three fields
+                        + "\"R 1,500.00,eft\n")             // Unclosed quote
+                        .getBytes(StandardCharsets.US_ASCII))),
+                (line, v) -> System.out.println("Line " + line + ": " + ZarFormatter.formatCents(v[0])),
+                print);
+        // Expected: Line 1: R 1,500.00 / Line 2: R 12,345,678.90 / Line 3, column 1: NOT_A_NUMBER
+        //           / Line 4, column 2: UNKNOWN_TYPE ("R 1" is an amount) / Line 5, column 1: NOT_A_NUMBER
+        grouped.delimiter(';').run(Channels.newChannel(new ByteArrayInputStream(
+                        "R 1,500.00;eft\n".getBytes(StandardCharsets.US_ASCII))),
+                (line, v) -> System.out.println("';' delimiter, line " + line + ": " + ZarFormatter.formatCents(v[0])),
+                print);
+        // Expected: ';' delimiter, line 1: R 1,500.00
+
+        // Test 4: Throughput on a generated file vs the Scanner loop
+        long targetBytes = args.length > 0 ? Long.parseLong(args[0]) << 20 : 256L << 20;
+        Path file = Files.createTempFile("records", ".csv");
+        Path rejectFile = Files.createTempFile("records", ".rejects");
+        try {
+            long rows = generate(file, targetBytes);
+            long[] checksum = new long[1];
+            RecordValidator bulk = new RecordValidator().integer(1, 150).amount(1, 1_000_000_00L)
+                    .type(TransactionType.PAYSHAP, TransactionType.EFT, TransactionType.INTERNATIONAL);
+            double best = Double.MAX_VALUE;
+            for (int round = 0; round < 3; round++) {
+                long start = System.nanoTime();
+                try (RejectChannel rejects = new RejectChannel(FileChannel.open(rejectFile,
+                        StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING))) {
+                    bulk.run(file, (line, v) -> checksum[0] += v[1], rejects);
+                }
+                best = Math.min(best, (System.nanoTime() - start) / 1e9);
+            }
+            double megabytes = Files.size(file) / (1024.0 * 1024.0);
+            System.out.printf("%nFile: %,.0f MB, %,d lines%n", megabytes, rows);
+            System.out.println(bulk);
+            System.out.printf("RecordValidator: %.2f s (%,.0f MB/s, %,.0f lines/s) -> 1 GB in ~%.1f s%n",
+                    best, megabytes / best, rows / best, 1024 / (megabytes / best));
+            // Expected: ~5% rejected; 1 GB in a few seconds
+
+            // The Scanner loop from the calculators, on the first 500,000 lines
+            int sample = 500_000;
+            long start = System.nanoTime();
+            int scannerValid = scannerLoop(file, sample);
+            double scannerSeconds = (System.nanoTime() - start) / 1e9;
+            System.out.printf("Scanner loop: %,.0f lines/s (%,d valid of %,d) -> %.0fx slower%n",
+                    sample / scannerSeconds, scannerValid, sample, (rows / best) / (sample / scannerSeconds));
+            // Expected: Scanner an order of magnitude (or more) slower
+        } finally {
+            Files.deleteIfExists(file);
+            Files.deleteIfExists(rejectFile);
+        }
+    }
+
+    /** Writes age,amount,type lines with ~5% bad rows. */
+    private static long generate(Path file, long targetBytes) throws IOException {
+        String[] types = {"payshap", "eft", "international", "EFT"};
+        String[] bad = {"abc,100.00,eft", "42,-5.00,eft", "42,100.00,bitcoin", "200,100.00,eft", "42,100.00"};
+        long rows = 0;
+        long written = 0;
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+            ByteBuffer out = ByteBuffer.allocate(BUFFER_BYTES);
+            StringBuilder line = new StringBuilder(64);
+            long seed = 42;
+            while (written < targetBytes) {
+                seed = seed * 6364136223846793005L + 1442695040888963407L;
+                line.setLength(0);
+                if ((seed >>> 58) < 3) {
+                    line.append(bad[(int) ((seed >>> 20) % bad.length)]);
+                } else {
+                    long cents = 1 + (seed >>> 30) % 99_999_999L;
+                    line.append(18 + (seed >>> 10) % 80).append(',')
+                            .append(cents / 100).append('.').append(cents % 100 / 10).append(cents % 10)
+                            .append(',').append(types[(int) (seed >>> 40) & 3]);
+                }
+                line.append('\n');
+                byte[] bytes = line.toString().getBytes(StandardCharsets.US_ASCII);
+                if (out.remaining() < bytes.length) {
+                    out.flip();
+                    while (out.hasRemaining()) {
+                        channel.write(out);
+                    }
+                    out.clear();
+                }
+                out.put(bytes);
+                written += bytes.length;
+                rows++;
+            }
+            out.flip();
+            while (out.hasRemaining()) {
+                channel.write(out);
+            }
+        }
+        return rows;
+    }
+
+    /** The calculators' approach: Scanner tokens, BigDecimal, exceptions for bad input. */
+    private static int scannerLoop(Path file, int maxLines) throws IOException {
+        int valid = 0;
+        try (Scanner scanner = new Scanner(file, StandardCharsets.US_ASCII)) {
+            for (int i = 0; i < maxLines && scanner.hasNextLine(); i++) {
+                Scanner fields = new Scanner(scanner.nextLine()).useDelimiter(",");
+                try {
+                    int age = fields.nextInt();
+                    BigDecimal amount = fields.nextBigDecimal();
+                    String type = fields.next().toLowerCase().trim();
+                    if (age > 0 && age <= 150 && amount.signum() > 0
+                            && amount.compareTo(new BigDecimal("1000000")) <= 0
+                            && (type.equals("payshap") || type.equals("eft") || type.equals("international"))) {
+                        valid++;
+                    }
+                } catch (Exception e) {
+                    // Bad line: retry with the next one, as the calculators do
+                }
+            }
+        }
+        return valid;
+    }
+}